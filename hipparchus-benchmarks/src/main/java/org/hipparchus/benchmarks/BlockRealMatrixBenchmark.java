@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link BlockRealMatrix} products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockRealMatrixBenchmark {
+
+    /** Matrices dimension. */
+    @Param({"100", "500", "1000"})
+    private int size;
+
+    /** First operand. */
+    private BlockRealMatrix a;
+
+    /** Second operand. */
+    private BlockRealMatrix b;
+
+    /** Vector operand. */
+    private double[] v;
+
+    /** Set up operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x1a2b1c6d2f7e8e46L);
+        a = new BlockRealMatrix(size, size);
+        b = new BlockRealMatrix(size, size);
+        v = new double[size];
+        for (int i = 0; i < size; ++i) {
+            v[i] = random.nextDouble();
+            for (int j = 0; j < size; ++j) {
+                a.setEntry(i, j, random.nextDouble());
+                b.setEntry(i, j, random.nextDouble());
+            }
+        }
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiply(BlockRealMatrix)}.
+     * @return product
+     */
+    @Benchmark
+    public BlockRealMatrix multiply() {
+        return a.multiply(b);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiply(BlockRealMatrix, ForkJoinPool)}
+     * using the common pool.
+     * @return product
+     */
+    @Benchmark
+    public BlockRealMatrix multiplyParallel() {
+        return a.multiply(b, ForkJoinPool.commonPool());
+    }
+
+    /** Benchmark {@link BlockRealMatrix#multiplyTransposed(BlockRealMatrix)}.
+     * @return product
+     */
+    @Benchmark
+    public BlockRealMatrix multiplyTransposed() {
+        return a.multiplyTransposed(b);
+    }
+
+    /** Benchmark {@link BlockRealMatrix#operate(double[])}.
+     * @return product
+     */
+    @Benchmark
+    public double[] operate() {
+        return a.operate(v);
+    }
+
+}
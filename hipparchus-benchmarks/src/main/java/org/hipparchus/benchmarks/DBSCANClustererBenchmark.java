@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.clustering.Cluster;
+import org.hipparchus.clustering.DBSCANClusterer;
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link DBSCANClusterer}.
+ * <p>
+ * The brute-force variant uses a subclass of {@link EuclideanDistance},
+ * which is not recognized by the clusterer and hence disables the spatial index.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DBSCANClustererBenchmark {
+
+    /** Number of points. */
+    @Param({"1000", "10000"})
+    private int size;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Clusterer using the spatial index. */
+    private DBSCANClusterer<DoublePoint> indexed;
+
+    /** Clusterer using brute-force scan. */
+    private DBSCANClusterer<DoublePoint> bruteForce;
+
+    /** Set up operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x7d2a4e91c06b38f5L);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            // geographic-like points spread over a few dense areas
+            final int area = random.nextInt(8);
+            points.add(new DoublePoint(new double[] {
+                10.0 * area + random.nextGaussian(),
+                45.0 + 0.5 * area + random.nextGaussian()
+            }));
+        }
+        indexed    = new DBSCANClusterer<>(0.05, 5);
+        bruteForce = new DBSCANClusterer<>(0.05, 5, new EuclideanDistance() {
+            private static final long serialVersionUID = 1L;
+        });
+    }
+
+    /** Benchmark clustering with spatial index.
+     * @return clusters
+     */
+    @Benchmark
+    public List<Cluster<DoublePoint>> clusterIndexed() {
+        return indexed.cluster(points);
+    }
+
+    /** Benchmark clustering with brute-force scan.
+     * @return clusters
+     */
+    @Benchmark
+    public List<Cluster<DoublePoint>> clusterBruteForce() {
+        return bruteForce.cluster(points);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.transform.DftNormalization;
+import org.hipparchus.transform.FastFourierTransformPlan;
+import org.hipparchus.transform.FastFourierTransformer;
+import org.hipparchus.transform.TransformType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link FastFourierTransformer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastFourierTransformerBenchmark {
+
+    /** Signal length (powers of two, mixed-radix lengths and twice a prime). */
+    @Param({"1024", "4096", "65536", "1000", "3600", "2018"})
+    private int size;
+
+    /** Transformer. */
+    private FastFourierTransformer transformer;
+
+    /** Plan. */
+    private FastFourierTransformPlan plan;
+
+    /** Real signal. */
+    private double[] real;
+
+    /** Work buffer for plan-based transforms. */
+    private double[] buffer;
+
+    /** Complex signal. */
+    private Complex[] complex;
+
+    /** Set up signals.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x5b4e3d9a8f2c1d07L);
+        transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+        plan        = transformer.createPlan(size);
+        buffer      = new double[size];
+        real        = new double[size];
+        complex     = new Complex[size];
+        for (int i = 0; i < size; ++i) {
+            real[i]    = random.nextGaussian();
+            complex[i] = new Complex(real[i], random.nextGaussian());
+        }
+    }
+
+    /** Benchmark forward transform of a real signal.
+     * @return transformed signal
+     */
+    @Benchmark
+    public Complex[] transformReal() {
+        return transformer.transform(real, TransformType.FORWARD);
+    }
+
+    /** Benchmark in-place forward transform of a real signal using a plan.
+     * @return packed half spectrum
+     */
+    @Benchmark
+    public double[] transformRealPlan() {
+        System.arraycopy(real, 0, buffer, 0, size);
+        plan.transformReal(buffer);
+        return buffer;
+    }
+
+    /** Benchmark forward transform of a complex signal.
+     * @return transformed signal
+     */
+    @Benchmark
+    public Complex[] transformComplex() {
+        return transformer.transform(complex, TransformType.FORWARD);
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for elementary functions in {@link FastMath}.
+ * <p>
+ * Each benchmark evaluates the function on a fixed array of arguments
+ * and returns the sum of the values, so the JIT compiler cannot
+ * eliminate the computation.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastMathBenchmark {
+
+    /** Number of arguments. */
+    @Param({"1024"})
+    private int size;
+
+    /** Arguments in [-10, 10]. */
+    private double[] x;
+
+    /** Arguments in ]0, 100]. */
+    private double[] positive;
+
+    /** Set up arguments.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x6e5d3a9ab1c1b1a5L);
+        x        = new double[size];
+        positive = new double[size];
+        for (int i = 0; i < size; ++i) {
+            x[i]        = 20 * random.nextDouble() - 10;
+            positive[i] = 100 * (1 - random.nextDouble());
+        }
+    }
+
+    /** Benchmark {@link FastMath#exp(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double exp() {
+        double sum = 0;
+        for (final double xi : x) {
+            sum += FastMath.exp(xi);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#log(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double log() {
+        double sum = 0;
+        for (final double xi : positive) {
+            sum += FastMath.log(xi);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#pow(double, double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double pow() {
+        double sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += FastMath.pow(positive[i], x[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#sin(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double sin() {
+        double sum = 0;
+        for (final double xi : x) {
+            sum += FastMath.sin(xi);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#cos(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double cos() {
+        double sum = 0;
+        for (final double xi : x) {
+            sum += FastMath.cos(xi);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#atan2(double, double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double atan2() {
+        double sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += FastMath.atan2(x[i], positive[i]);
+        }
+        return sum;
+    }
+
+    /** Benchmark {@link FastMath#sqrt(double)}.
+     * @return sum of values
+     */
+    @Benchmark
+    public double sqrt() {
+        double sum = 0;
+        for (final double xi : positive) {
+            sum += FastMath.sqrt(xi);
+        }
+        return sum;
+    }
+
+}
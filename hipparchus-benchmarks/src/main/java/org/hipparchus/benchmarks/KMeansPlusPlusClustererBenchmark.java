@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.clustering.CentroidCluster;
+import org.hipparchus.clustering.DoublePoint;
+import org.hipparchus.clustering.KMeansPlusPlusClusterer;
+import org.hipparchus.clustering.MultiKMeansPlusPlusClusterer;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link MultiKMeansPlusPlusClusterer}, serial and parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KMeansPlusPlusClustererBenchmark {
+
+    /** Number of points. */
+    @Param({"20000", "200000"})
+    private int size;
+
+    /** Points to cluster. */
+    private List<DoublePoint> points;
+
+    /** Pool for parallel computation. */
+    private ForkJoinPool pool;
+
+    /** Set up operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x39e1c4b70a5d268fL);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            final double[] x = new double[4];
+            final int blob = random.nextInt(16);
+            for (int j = 0; j < x.length; ++j) {
+                x[j] = ((blob >> j) & 0x1) * 4.0 + random.nextGaussian();
+            }
+            points.add(new DoublePoint(x));
+        }
+        pool = new ForkJoinPool();
+    }
+
+    /** Release resources.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /** Build a multi-start clusterer.
+     * @return multi-start clusterer
+     */
+    private MultiKMeansPlusPlusClusterer<DoublePoint> build() {
+        return new MultiKMeansPlusPlusClusterer<>(new KMeansPlusPlusClusterer<>(16, 50, new EuclideanDistance(),
+                                                                                new Well19937a(0x1234L)),
+                                                  4);
+    }
+
+    /** Benchmark serial clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> clusterSerial() {
+        return build().cluster(points);
+    }
+
+    /** Benchmark parallel clustering.
+     * @return clusters
+     */
+    @Benchmark
+    public List<CentroidCluster<DoublePoint>> clusterParallel() {
+        return build().cluster(points, pool);
+    }
+
+}
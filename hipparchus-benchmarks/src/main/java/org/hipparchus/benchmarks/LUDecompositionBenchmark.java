@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link LUDecomposition}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LUDecompositionBenchmark {
+
+    /** Matrix dimension. */
+    @Param({"10", "100", "500"})
+    private int size;
+
+    /** Matrix to decompose. */
+    private RealMatrix matrix;
+
+    /** Solver for the already decomposed matrix. */
+    private DecompositionSolver solver;
+
+    /** Right hand side vector. */
+    private RealVector rhs;
+
+    /** Set up operands.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x3c1f25b8a5bd9e1cL);
+        matrix = new Array2DRowRealMatrix(size, size);
+        rhs    = new ArrayRealVector(size);
+        for (int i = 0; i < size; ++i) {
+            rhs.setEntry(i, random.nextDouble());
+            for (int j = 0; j < size; ++j) {
+                matrix.setEntry(i, j, random.nextDouble());
+            }
+            // ensure the matrix is well conditioned
+            matrix.addToEntry(i, i, size);
+        }
+        solver = new LUDecomposition(matrix).getSolver();
+    }
+
+    /** Benchmark decomposition.
+     * @return decomposition
+     */
+    @Benchmark
+    public LUDecomposition decompose() {
+        return new LUDecomposition(matrix);
+    }
+
+    /** Benchmark solving with an already decomposed matrix.
+     * @return solution
+     */
+    @Benchmark
+    public RealVector solve() {
+        return solver.solve(rhs);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.stat.descriptive.rank.Percentile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for single and multiple quantiles evaluation with {@link Percentile}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PercentileBenchmark {
+
+    /** Quantiles to compute. */
+    private static final double[] QUANTILES = { 50, 90, 99, 99.9 };
+
+    /** Number of values. */
+    @Param({"100000", "10000000"})
+    private int size;
+
+    /** Sample values. */
+    private double[] data;
+
+    /** Work array for in-place evaluation. */
+    private double[] work;
+
+    /** Percentile estimator. */
+    private Percentile percentile;
+
+    /** Set up sample.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x5e2d9c4b1a3f7086L);
+        data = new double[size];
+        for (int i = 0; i < size; ++i) {
+            data[i] = -Math.log(1 - random.nextDouble());
+        }
+        work = new double[size];
+        percentile = new Percentile();
+    }
+
+    /** Benchmark one call per quantile.
+     * @return quantiles
+     */
+    @Benchmark
+    public double[] separate() {
+        final double[] results = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; ++i) {
+            results[i] = percentile.evaluate(data, QUANTILES[i]);
+        }
+        return results;
+    }
+
+    /** Benchmark multiple quantiles evaluation.
+     * @return quantiles
+     */
+    @Benchmark
+    public double[] multiple() {
+        return percentile.evaluate(data, QUANTILES);
+    }
+
+    /** Benchmark in-place multiple quantiles evaluation (including the copy to the work array).
+     * @return quantiles
+     */
+    @Benchmark
+    public double[] multipleInPlace() {
+        System.arraycopy(data, 0, work, 0, size);
+        return percentile.evaluateInPlace(work, QUANTILES);
+    }
+
+}
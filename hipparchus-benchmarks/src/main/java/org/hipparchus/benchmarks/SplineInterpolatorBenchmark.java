@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.analysis.interpolation.SplineInterpolator;
+import org.hipparchus.analysis.polynomials.PolynomialSplineFunction;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for point-wise and batch evaluation of {@link PolynomialSplineFunction}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SplineInterpolatorBenchmark {
+
+    /** Number of knots. */
+    @Param({"100", "10000"})
+    private int knots;
+
+    /** Number of evaluation points. */
+    @Param({"1000000"})
+    private int points;
+
+    /** Interpolated spline. */
+    private PolynomialSplineFunction spline;
+
+    /** Sorted evaluation points. */
+    private double[] x;
+
+    /** Output values. */
+    private double[] y;
+
+    /** Set up spline and evaluation points.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x1d8c3a5f7b2e9046L);
+        final double[] xk = new double[knots];
+        final double[] yk = new double[knots];
+        for (int i = 0; i < knots; ++i) {
+            xk[i] = i;
+            yk[i] = FastMath.sin(0.1 * i) + 0.01 * random.nextGaussian();
+        }
+        spline = new SplineInterpolator().interpolate(xk, yk);
+        x = new double[points];
+        for (int i = 0; i < points; ++i) {
+            x[i] = random.nextDouble() * (knots - 1);
+        }
+        Arrays.sort(x);
+        y = new double[points];
+    }
+
+    /** Benchmark point-wise evaluation.
+     * @return evaluated values
+     */
+    @Benchmark
+    public double[] pointWise() {
+        for (int i = 0; i < points; ++i) {
+            y[i] = spline.value(x[i]);
+        }
+        return y;
+    }
+
+    /** Benchmark batch evaluation.
+     * @return evaluated values
+     */
+    @Benchmark
+    public double[] batch() {
+        spline.value(x, y);
+        return y;
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks for the Hipparchus numerical hot paths.
+ * <p>
+ * The benchmarks are packaged by maven as a self-contained {@code benchmarks.jar}
+ * file in the {@code target} directory of this module. Running
+ * {@code java -jar target/benchmarks.jar -rf json -rff results.json} runs
+ * all suites and stores the results in JSON format, which can be compared
+ * with the reference results stored in {@code src/main/resources/baseline}.
+ * A regular expression can be given to select only some suites, and the
+ * {@code -p} option can restrict the sizes explored, as for example in
+ * {@code java -jar target/benchmarks.jar BlockRealMatrix -p size=500}.
+ * </p>
+ */
+package org.hipparchus.benchmarks;
@@ -29,8 +29,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.hipparchus.clustering.distance.ChebyshevDistance;
 import org.hipparchus.clustering.distance.DistanceMeasure;
 import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
@@ -59,9 +61,22 @@ import org.hipparchus.util.MathUtils;
  * @see <a href="http://en.wikipedia.org/wiki/DBSCAN">DBSCAN (wikipedia)</a>
  * @see <a href="http://www.dbs.ifi.lmu.de/Publikationen/Papers/KDD-96.final.frame.pdf">
  * A Density-Based Algorithm for Discovering Clusters in Large Spatial Databases with Noise</a>
+ * <p>
+ * When the distance measure is one of {@link EuclideanDistance}, {@link ManhattanDistance}
+ * or {@link ChebyshevDistance} and all points share the same dimension, neighborhood
+ * queries are performed using a k-d tree, which avoids computing the distances between
+ * all pairs of points. For other distance measures, a brute-force scan is used. Both
+ * strategies produce exactly the same clusters.
+ * </p>
  */
 public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
 
+    /** Relative margin added to the k-d tree search radius to cover rounding errors. */
+    private static final double RELATIVE_MARGIN = 1.0e-12;
+
+    /** Absolute margin added to the k-d tree search radius to cover underflow in squared differences. */
+    private static final double ABSOLUTE_MARGIN = 1.0e-153;
+
     /** Maximum radius of the neighborhood to be considered. */
     private final double              eps;
 
@@ -141,18 +156,21 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
         // sanity checks
         MathUtils.checkNotNull(points);
 
+        final List<T> list = new ArrayList<>(points);
+        final KDTreeIndex index = isIndexable(list) ? new KDTreeIndex(list) : null;
+
         final List<Cluster<T>> clusters = new ArrayList<>();
         final Map<Clusterable, PointStatus> visited = new HashMap<>();
 
-        for (final T point : points) {
+        for (final T point : list) {
             if (visited.get(point) != null) {
                 continue;
             }
-            final List<T> neighbors = getNeighbors(point, points);
+            final List<T> neighbors = getNeighbors(point, list, index);
             if (neighbors.size() >= minPts) {
                 // DBSCAN does not care about center points
                 final Cluster<T> cluster = new Cluster<>();
-                clusters.add(expandCluster(cluster, point, neighbors, points, visited));
+                clusters.add(expandCluster(cluster, point, neighbors, list, index, visited));
             } else {
                 visited.put(point, PointStatus.NOISE);
             }
@@ -168,25 +186,27 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
      * @param point Point to add to cluster
      * @param neighbors List of neighbors
      * @param points the data set
+     * @param index spatial index of the data set (null if brute-force scan must be used)
      * @param visited the set of already visited points
      * @return the expanded cluster
      */
     private Cluster<T> expandCluster(final Cluster<T> cluster,
                                      final T point,
                                      final List<T> neighbors,
-                                     final Collection<T> points,
+                                     final List<T> points,
+                                     final KDTreeIndex index,
                                      final Map<Clusterable, PointStatus> visited) {
         cluster.addPoint(point);
         visited.put(point, PointStatus.PART_OF_CLUSTER);
 
         List<T> seeds = new ArrayList<>(neighbors);
-        int index = 0;
-        while (index < seeds.size()) {
-            final T current = seeds.get(index);
+        int i = 0;
+        while (i < seeds.size()) {
+            final T current = seeds.get(i);
             PointStatus pStatus = visited.get(current);
             // only check non-visited points
             if (pStatus == null) {
-                final List<T> currentNeighbors = getNeighbors(current, points);
+                final List<T> currentNeighbors = getNeighbors(current, points, index);
                 if (currentNeighbors.size() >= minPts) {
                     seeds = merge(seeds, currentNeighbors);
                 }
@@ -197,23 +217,53 @@ public class DBSCANClusterer<T extends Clusterable> extends Clusterer<T> {
                 cluster.addPoint(current);
             }
 
-            index++;
+            i++;
         }
         return cluster;
     }
 
+    /**
+     * Check if a spatial index can be used for neighborhood queries.
+     *
+     * @param points the data set
+     * @return true if a spatial index can be used
+     */
+    private boolean isIndexable(final List<T> points) {
+        final DistanceMeasure measure = getDistanceMeasure();
+        return (measure.getClass() == EuclideanDistance.class ||
+                measure.getClass() == ManhattanDistance.class ||
+                measure.getClass() == ChebyshevDistance.class) &&
+               KDTreeIndex.canIndex(points);
+    }
+
     /**
      * Returns a list of density-reachable neighbors of a {@code point}.
+     * <p>
+     * The neighbors are always returned in the order of the data set, regardless
+     * of the use of a spatial index, so the clusters do not depend on it.
+     * </p>
      *
      * @param point the point to look for
      * @param points possible neighbors
+     * @param index spatial index of the data set (null if brute-force scan must be used)
      * @return the List of neighbors
      */
-    private List<T> getNeighbors(final T point, final Collection<T> points) {
+    private List<T> getNeighbors(final T point, final List<T> points, final KDTreeIndex index) {
         final List<T> neighbors = new ArrayList<>();
-        for (final T neighbor : points) {
-            if (point != neighbor && distance(neighbor, point) <= eps) {
-                neighbors.add(neighbor);
+        if (index == null) {
+            for (final T neighbor : points) {
+                if (point != neighbor && distance(neighbor, point) <= eps) {
+                    neighbors.add(neighbor);
+                }
+            }
+        } else {
+            // the box query only preselects candidates, the exact distance check is still performed
+            final double radius = eps * (1 + RELATIVE_MARGIN) + ABSOLUTE_MARGIN;
+            for (final int candidate : index.query(point.getPoint(), radius)) {
+                final T neighbor = points.get(candidate);
+                if (point != neighbor && distance(neighbor, point) <= eps) {
+                    neighbors.add(neighbor);
+                }
             }
         }
         return neighbors;
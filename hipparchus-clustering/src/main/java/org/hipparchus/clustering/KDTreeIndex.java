@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Static k-d tree used to speed up fixed-radius neighborhood queries.
+ * <p>
+ * The tree is built once from a list of points sharing the same dimension
+ * and answers box queries: it returns the indices (in the original list) of
+ * all points whose coordinates all lie within a given radius of a center.
+ * For the L<sub>1</sub>, L<sub>2</sub> and L<sub>&infin;</sub> norms, this box
+ * is a superset of the ball of the same radius, so the result is a candidate
+ * set that must still be filtered by the caller using the exact distance.
+ * </p>
+ * <p>
+ * The tree is stored implicitly: the points in a range {@code [lo, hi)} of the
+ * permutation array are partitioned around the median element at index
+ * {@code (lo + hi) / 2}, which is the node for this range.
+ * </p>
+ * @since 4.0
+ */
+class KDTreeIndex {
+
+    /** Coordinates of the points. */
+    private final double[][] coordinates;
+
+    /** Permutation of the point indices arranged as an implicit tree. */
+    private final int[] permutation;
+
+    /** Split dimension for each node, indexed by node position. */
+    private final int[] splitDimension;
+
+    /** Simple constructor.
+     * @param points points to index (they must all have the same dimension)
+     * @param <T> type of the points
+     */
+    <T extends Clusterable> KDTreeIndex(final List<T> points) {
+        final int n = points.size();
+        coordinates    = new double[n][];
+        permutation    = new int[n];
+        splitDimension = new int[n];
+        for (int i = 0; i < n; ++i) {
+            coordinates[i] = points.get(i).getPoint();
+            permutation[i] = i;
+        }
+        build(0, n);
+    }
+
+    /** Check if points can be indexed.
+     * @param points points to check
+     * @param <T> type of the points
+     * @return true if all points share the same non-zero dimension
+     * and have finite coordinates
+     */
+    static <T extends Clusterable> boolean canIndex(final List<T> points) {
+        if (points.isEmpty()) {
+            return false;
+        }
+        final int dimension = points.get(0).getPoint().length;
+        if (dimension == 0) {
+            return false;
+        }
+        for (final T point : points) {
+            final double[] x = point.getPoint();
+            if (x.length != dimension) {
+                return false;
+            }
+            for (final double xi : x) {
+                if (!Double.isFinite(xi)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Find the indices of all points lying within a box.
+     * <p>
+     * A point with coordinates x<sub>i</sub> is selected if
+     * |x<sub>i</sub> - c<sub>i</sub>| &le; radius for all i, where the differences
+     * are computed in floating point arithmetic exactly as the distance measures do.
+     * </p>
+     * @param center center of the box
+     * @param radius half-width of the box
+     * @return indices of the selected points, sorted in increasing order
+     */
+    int[] query(final double[] center, final double radius) {
+        final IndicesBuffer found = new IndicesBuffer();
+        query(0, permutation.length, center, radius, found);
+        final int[] result = Arrays.copyOf(found.indices, found.size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** Recursively find the indices of points lying within a box.
+     * @param lo start of the range (inclusive)
+     * @param hi end of the range (exclusive)
+     * @param center center of the box
+     * @param radius half-width of the box
+     * @param found buffer where selected indices are stored
+     */
+    private void query(final int lo, final int hi, final double[] center, final double radius,
+                       final IndicesBuffer found) {
+
+        if (lo >= hi) {
+            return;
+        }
+
+        final int      mid   = (lo + hi) >>> 1;
+        final int      index = permutation[mid];
+        final double[] x     = coordinates[index];
+
+        boolean inside = true;
+        for (int i = 0; inside && i < x.length; ++i) {
+            inside = FastMath.abs(x[i] - center[i]) <= radius;
+        }
+        if (inside) {
+            found.add(index);
+        }
+
+        // as floating point subtraction is monotonic, points in the lower part
+        // have a difference smaller than the node, and points in the upper part
+        // have a difference larger than the node
+        final int    d     = splitDimension[mid];
+        final double delta = x[d] - center[d];
+        if (delta >= -radius) {
+            query(lo, mid, center, radius, found);
+        }
+        if (delta <= radius) {
+            query(mid + 1, hi, center, radius, found);
+        }
+
+    }
+
+    /** Recursively build the implicit tree.
+     * @param lo start of the range (inclusive)
+     * @param hi end of the range (exclusive)
+     */
+    private void build(final int lo, final int hi) {
+
+        if (hi - lo < 2) {
+            if (hi > lo) {
+                splitDimension[lo] = 0;
+            }
+            return;
+        }
+
+        // split along the dimension with largest spread
+        final int dimension = coordinates[permutation[lo]].length;
+        int    d      = 0;
+        double spread = -1;
+        for (int k = 0; k < dimension; ++k) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; ++i) {
+                final double xk = coordinates[permutation[i]][k];
+                min = FastMath.min(min, xk);
+                max = FastMath.max(max, xk);
+            }
+            if (max - min > spread) {
+                spread = max - min;
+                d      = k;
+            }
+        }
+
+        final int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, d);
+        splitDimension[mid] = d;
+
+        build(lo, mid);
+        build(mid + 1, hi);
+
+    }
+
+    /** Partially sort a range so that its k-th element is at its final place.
+     * <p>
+     * After this call, all elements before k have a coordinate smaller than
+     * or equal to the one of element k, and all elements after k have a
+     * coordinate larger than or equal to it.
+     * </p>
+     * @param left start of the range (inclusive)
+     * @param right end of the range (inclusive)
+     * @param k index of the element to select
+     * @param d dimension along which coordinates are compared
+     */
+    private void select(final int left, final int right, final int k, final int d) {
+        int l = left;
+        int r = right;
+        while (r > l) {
+            final double pivot = coordinates[permutation[(l + r) >>> 1]][d];
+            int i = l;
+            int j = r;
+            while (i <= j) {
+                while (coordinates[permutation[i]][d] < pivot) {
+                    ++i;
+                }
+                while (coordinates[permutation[j]][d] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    final int tmp = permutation[i];
+                    permutation[i++] = permutation[j];
+                    permutation[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                r = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /** Growable buffer for point indices. */
+    private static class IndicesBuffer {
+
+        /** Stored indices. */
+        private int[] indices = new int[16];
+
+        /** Number of stored indices. */
+        private int size;
+
+        /** Add an index.
+         * @param index index to add
+         */
+        void add(final int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, 2 * size);
+            }
+            indices[size++] = index;
+        }
+
+    }
+
+}
@@ -26,6 +26,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 import org.hipparchus.clustering.distance.DistanceMeasure;
 import org.hipparchus.clustering.distance.EuclideanDistance;
@@ -39,6 +42,15 @@ import org.hipparchus.util.MathUtils;
 
 /**
  * Clustering algorithm based on David Arthur and Sergei Vassilvitski k-means++ algorithm.
+ * <p>
+ * The {@link #cluster(Collection, ForkJoinPool)} method spreads the distance computations
+ * (both during initial centers selection and during points assignment to clusters) across
+ * the workers of a fork/join pool. The random generator is used only from the calling
+ * thread and all reductions are performed in points order, so the result is exactly
+ * the same as the one computed by {@link #cluster(Collection)}. The distance measure
+ * must be thread-safe for this to work, which is the case for all measures provided
+ * by Hipparchus.
+ * </p>
  * @param <T> type of the points to cluster
  * @see <a href="http://en.wikipedia.org/wiki/K-means%2B%2B">K-means++ (wikipedia)</a>
  */
@@ -61,6 +73,9 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
     }
 
+    /** Maximum number of points handled by one task in parallel computations. */
+    private static final int POINTS_GRAIN = 256;
+
     /** The number of clusters. */
     private final int k;
 
@@ -198,6 +213,44 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     @Override
     public List<CentroidCluster<T>> cluster(final Collection<T> points)
         throws MathIllegalArgumentException, MathIllegalStateException {
+        return doCluster(points, null);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm, using a fork/join pool.
+     * <p>
+     * The distance computations are spread across the workers of the pool.
+     * The result is exactly the same as the one computed by {@link #cluster(Collection)}.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param pool pool to use for computation
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *     of clusters is larger than the number of data points
+     * @throws MathIllegalStateException if an empty cluster is encountered and the
+     * {@link #emptyStrategy} is set to {@code ERROR}
+     * @since 4.0
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points, final ForkJoinPool pool)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        MathUtils.checkNotNull(pool);
+        return doCluster(points, pool);
+    }
+
+    /**
+     * Runs the K-means++ clustering algorithm.
+     *
+     * @param points the points to cluster
+     * @param pool pool to use for computation (null for serial computation)
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *     of clusters is larger than the number of data points
+     * @throws MathIllegalStateException if an empty cluster is encountered and the
+     * {@link #emptyStrategy} is set to {@code ERROR}
+     */
+    private List<CentroidCluster<T>> doCluster(final Collection<T> points, final ForkJoinPool pool)
+        throws MathIllegalArgumentException, MathIllegalStateException {
 
         // sanity checks
         MathUtils.checkNotNull(points);
@@ -208,13 +261,17 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                                                    points.size(), k);
         }
 
+        // Convert to list for indexed access. Make it unmodifiable, since removal of items
+        // would screw up the logic of this algorithm.
+        final List<T> pointList = Collections.unmodifiableList(new ArrayList<T> (points));
+
         // create the initial clusters
-        List<CentroidCluster<T>> clusters = chooseInitialCenters(points);
+        List<CentroidCluster<T>> clusters = chooseInitialCenters(pointList, pool);
 
         // create an array containing the latest assignment of a point to a cluster
         // no need to initialize the array, as it will be filled with the first assignment
-        int[] assignments = new int[points.size()];
-        assignPointsToClusters(clusters, points, assignments);
+        int[] assignments = new int[pointList.size()];
+        assignPointsToClusters(clusters, pointList, assignments, pool);
 
         // iterate through updating the centers until we're done
         final int max = (maxIterations < 0) ? Integer.MAX_VALUE : maxIterations;
@@ -243,7 +300,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 }
                 newClusters.add(new CentroidCluster<T>(newCenter));
             }
-            int changes = assignPointsToClusters(newClusters, points, assignments);
+            int changes = assignPointsToClusters(newClusters, pointList, assignments, pool);
             clusters = newClusters;
 
             // if there were no more changes in the point-to-cluster assignment
@@ -261,15 +318,28 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
      * @param clusters the {@link Cluster}s to add the points to
      * @param points the points to add to the given {@link Cluster}s
      * @param assignments points assignments to clusters
+     * @param pool pool to use for computation (null for serial computation)
      * @return the number of points assigned to different clusters as the iteration before
      */
     private int assignPointsToClusters(final List<CentroidCluster<T>> clusters,
-                                       final Collection<T> points,
-                                       final int[] assignments) {
+                                       final List<T> points,
+                                       final int[] assignments,
+                                       final ForkJoinPool pool) {
+
+        // find the nearest clusters in parallel, points will be added to them serially
+        final int[] nearest;
+        if (pool == null) {
+            nearest = null;
+        } else {
+            nearest = new int[points.size()];
+            pool.invoke(new PointsAction(0, nearest.length,
+                                         i -> nearest[i] = getNearestCluster(clusters, points.get(i))));
+        }
+
         int assignedDifferently = 0;
         int pointIndex = 0;
         for (final T p : points) {
-            int clusterIndex = getNearestCluster(clusters, p);
+            int clusterIndex = nearest == null ? getNearestCluster(clusters, p) : nearest[pointIndex];
             if (clusterIndex != assignments[pointIndex]) {
                 assignedDifferently++;
             }
@@ -285,14 +355,11 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
     /**
      * Use K-means++ to choose the initial centers.
      *
-     * @param points the points to choose the initial centers from
+     * @param pointList the points to choose the initial centers from
+     * @param pool pool to use for computation (null for serial computation)
      * @return the initial centers
      */
-    private List<CentroidCluster<T>> chooseInitialCenters(final Collection<T> points) {
-
-        // Convert to list for indexed access. Make it unmodifiable, since removal of items
-        // would screw up the logic of this method.
-        final List<T> pointList = Collections.unmodifiableList(new ArrayList<T> (points));
+    private List<CentroidCluster<T>> chooseInitialCenters(final List<T> pointList, final ForkJoinPool pool) {
 
         // The number of points in the list.
         final int numPoints = pointList.size();
@@ -320,12 +387,12 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
 
         // Initialize the elements.  Since the only point in resultSet is firstPoint,
         // this is very easy.
-        for (int i = 0; i < numPoints; i++) {
+        forEachPoint(numPoints, pool, i -> {
             if (i != firstPointIndex) { // That point isn't considered
                 double d = distance(firstPoint, pointList.get(i));
                 minDistSquared[i] = d*d;
             }
-        }
+        });
 
         while (resultSet.size() < k) {
 
@@ -384,7 +451,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                 if (resultSet.size() < k) {
                     // Now update elements of minDistSquared.  We only have to compute
                     // the distance to the new center to do this.
-                    for (int j = 0; j < numPoints; j++) {
+                    forEachPoint(numPoints, pool, j -> {
                         // Only have to worry about the points still not taken.
                         if (!taken[j]) {
                             double d = distance(p, pointList.get(j));
@@ -393,7 +460,7 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
                                 minDistSquared[j] = d2;
                             }
                         }
-                    }
+                    });
                 }
 
             } else {
@@ -545,6 +612,23 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return minCluster;
     }
 
+    /**
+     * Apply a kernel to all point indices.
+     *
+     * @param numPoints number of points
+     * @param pool pool to use for computation (null for serial computation)
+     * @param kernel kernel to apply to each point index
+     */
+    private void forEachPoint(final int numPoints, final ForkJoinPool pool, final IntConsumer kernel) {
+        if (pool == null) {
+            for (int i = 0; i < numPoints; ++i) {
+                kernel.accept(i);
+            }
+        } else {
+            pool.invoke(new PointsAction(0, numPoints, kernel));
+        }
+    }
+
     /**
      * Computes the centroid for a set of points.
      *
@@ -566,4 +650,46 @@ public class KMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T>
         return new DoublePoint(centroid);
     }
 
+    /** Recursive action applying a kernel to a range of point indices. */
+    private static class PointsAction extends RecursiveAction {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20241017L;
+
+        /** Start index (inclusive). */
+        private final int start;
+
+        /** End index (exclusive). */
+        private final int end;
+
+        /** Kernel to apply to each index. */
+        private final transient IntConsumer kernel;
+
+        /** Simple constructor.
+         * @param start start index (inclusive)
+         * @param end end index (exclusive)
+         * @param kernel kernel to apply to each index
+         */
+        PointsAction(final int start, final int end, final IntConsumer kernel) {
+            this.start  = start;
+            this.end    = end;
+            this.kernel = kernel;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= POINTS_GRAIN) {
+                for (int index = start; index < end; ++index) {
+                    kernel.accept(index);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new PointsAction(start, middle, kernel),
+                          new PointsAction(middle, end, kernel));
+            }
+        }
+
+    }
+
 }
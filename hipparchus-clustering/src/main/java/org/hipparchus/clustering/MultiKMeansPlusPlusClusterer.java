@@ -22,17 +22,33 @@
 
 package org.hipparchus.clustering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.hipparchus.clustering.evaluation.ClusterEvaluator;
 import org.hipparchus.clustering.evaluation.SumOfClusterVariances;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937c;
+import org.hipparchus.util.MathUtils;
 
 /**
  * A wrapper around a k-means++ clustering algorithm which performs multiple trials
  * and returns the best solution.
+ * <p>
+ * The {@link #cluster(Collection, ForkJoinPool)} method runs the trials concurrently
+ * in a fork/join pool. As the random generator of the embedded clusterer cannot be
+ * shared between concurrent trials, it is used only to draw one seed per trial, in
+ * trial order, before the trials start. Each trial then uses its own {@link Well19937c}
+ * generator initialized from its seed. The result is therefore reproducible (it depends
+ * only on the state of the embedded clusterer generator, not on threads scheduling), but
+ * it is different from the result of {@link #cluster(Collection)}, where all trials
+ * share the embedded clusterer generator.
+ * </p>
  * @param <T> type of the points to cluster
  */
 public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Clusterer<T> {
@@ -134,4 +150,92 @@ public class MultiKMeansPlusPlusClusterer<T extends Clusterable> extends Cluster
 
     }
 
+    /**
+     * Runs the K-means++ clustering algorithm, using a fork/join pool.
+     * <p>
+     * Trials run concurrently, each one with its own random generator seeded from
+     * the embedded clusterer generator, and each one also spreads its own distance
+     * computations across the workers of the pool. When several trials have the same
+     * score, the first one in trial order is selected, regardless of completion order.
+     * The cluster evaluator must be thread-safe, which is the case for all evaluators
+     * provided by Hipparchus.
+     * </p>
+     *
+     * @param points the points to cluster
+     * @param pool pool to use for computation
+     * @return a list of clusters containing the points
+     * @throws MathIllegalArgumentException if the data points are null or the number
+     *   of clusters is larger than the number of data points
+     * @throws MathIllegalStateException if an empty cluster is encountered and the
+     *   underlying {@link KMeansPlusPlusClusterer} has its
+     *   {@link KMeansPlusPlusClusterer.EmptyClusterStrategy} is set to {@code ERROR}.
+     * @since 4.0
+     */
+    public List<CentroidCluster<T>> cluster(final Collection<T> points, final ForkJoinPool pool)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        // sanity checks
+        MathUtils.checkNotNull(points);
+        MathUtils.checkNotNull(pool);
+
+        // draw independent seeds for all trials, in trial order
+        final RandomGenerator random = clusterer.getRandomGenerator();
+        final long[] seeds = new long[numTrials];
+        for (int i = 0; i < numTrials; ++i) {
+            seeds[i] = random.nextLong();
+        }
+
+        // run all trials concurrently
+        final List<ForkJoinTask<Trial<T>>> tasks = new ArrayList<>(numTrials);
+        for (int i = 0; i < numTrials; ++i) {
+            final long seed = seeds[i];
+            tasks.add(pool.submit(() -> {
+                final KMeansPlusPlusClusterer<T> trialClusterer =
+                        new KMeansPlusPlusClusterer<>(clusterer.getK(), clusterer.getMaxIterations(),
+                                                      clusterer.getDistanceMeasure(), new Well19937c(seed),
+                                                      clusterer.getEmptyClusterStrategy());
+                final List<CentroidCluster<T>> clusters = trialClusterer.cluster(points, pool);
+                return new Trial<>(clusters, evaluator.score(clusters));
+            }));
+        }
+
+        // select the best trial, in trial order
+        List<CentroidCluster<T>> best = null;
+        double bestVarianceSum = Double.POSITIVE_INFINITY;
+        for (final ForkJoinTask<Trial<T>> task : tasks) {
+            final Trial<T> trial = task.join();
+            if (evaluator.isBetterScore(trial.score, bestVarianceSum)) {
+                // this one is the best we have found so far, remember it
+                best            = trial.clusters;
+                bestVarianceSum = trial.score;
+            }
+        }
+
+        // return the best clusters list found
+        return best;
+
+    }
+
+    /** Container for the result of one trial.
+     * @param <T> type of the points to cluster
+     */
+    private static class Trial<T extends Clusterable> {
+
+        /** Clusters found. */
+        private final List<CentroidCluster<T>> clusters;
+
+        /** Score of the clusters. */
+        private final double score;
+
+        /** Simple constructor.
+         * @param clusters clusters found
+         * @param score score of the clusters
+         */
+        Trial(final List<CentroidCluster<T>> clusters, final double score) {
+            this.clusters = clusters;
+            this.score    = score;
+        }
+
+    }
+
 }
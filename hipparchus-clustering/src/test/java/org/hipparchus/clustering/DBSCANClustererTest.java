@@ -21,14 +21,23 @@
  */
 package org.hipparchus.clustering;
 
+import org.hipparchus.clustering.distance.ChebyshevDistance;
+import org.hipparchus.clustering.distance.DistanceMeasure;
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.clustering.distance.ManhattanDistance;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -167,6 +176,88 @@ class DBSCANClustererTest {
         assertTrue(clusters.get(0).getPoints().containsAll(clusterOne));
     }
 
+    @Test
+    void testIndexedEuclidean() {
+        // anonymous subclasses are not recognized, hence force brute-force scan
+        checkIndexedVersusBruteForce(new EuclideanDistance(), new EuclideanDistance() {
+            private static final long serialVersionUID = 1L;
+        });
+    }
+
+    @Test
+    void testIndexedManhattan() {
+        checkIndexedVersusBruteForce(new ManhattanDistance(), new ManhattanDistance() {
+            private static final long serialVersionUID = 1L;
+        });
+    }
+
+    @Test
+    void testIndexedChebyshev() {
+        checkIndexedVersusBruteForce(new ChebyshevDistance(), new ChebyshevDistance() {
+            private static final long serialVersionUID = 1L;
+        });
+    }
+
+    @Test
+    void testIndexedGridBoundaries() {
+        // points exactly at distance eps from each other, with duplicates
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 12; ++i) {
+            for (int j = 0; j < 12; ++j) {
+                if ((i / 4 + j / 4) % 2 == 0) {
+                    points.add(new DoublePoint(new double[] { 0.1 * i, 0.1 * j }));
+                    if (i == j) {
+                        points.add(new DoublePoint(new double[] { 0.1 * i, 0.1 * j }));
+                    }
+                }
+            }
+        }
+        for (final double eps : new double[] { 0.0, 0.1, 0.1 * FastMath.sqrt(2), 0.2 }) {
+            for (final int minPts : new int[] { 0, 1, 3, 5 }) {
+                final DistanceMeasure brute = new EuclideanDistance() {
+                    private static final long serialVersionUID = 1L;
+                };
+                checkSameClusters(new DBSCANClusterer<DoublePoint>(eps, minPts).cluster(points),
+                                  new DBSCANClusterer<DoublePoint>(eps, minPts, brute).cluster(points));
+            }
+        }
+    }
+
+    private void checkIndexedVersusBruteForce(final DistanceMeasure indexed, final DistanceMeasure brute) {
+        final RandomGenerator random = new Well19937a(0x5e3a9c1b27d4f806L);
+        for (final int dimension : new int[] { 1, 2, 3, 5 }) {
+            final List<DoublePoint> points = new ArrayList<>();
+            for (int i = 0; i < 1000; ++i) {
+                // a few dense blobs plus some noise
+                final double[] x = new double[dimension];
+                final int blob = random.nextInt(5);
+                for (int k = 0; k < dimension; ++k) {
+                    x[k] = blob < 4 ? blob * 3.0 + random.nextGaussian() : 20 * random.nextDouble();
+                }
+                points.add(new DoublePoint(x));
+            }
+            for (final double eps : new double[] { 0.25, 0.5, 1.0 }) {
+                final List<Cluster<DoublePoint>> c1 =
+                        new DBSCANClusterer<DoublePoint>(eps, 4, indexed).cluster(points);
+                final List<Cluster<DoublePoint>> c2 =
+                        new DBSCANClusterer<DoublePoint>(eps, 4, brute).cluster(points);
+                checkSameClusters(c1, c2);
+            }
+        }
+    }
+
+    private void checkSameClusters(final List<Cluster<DoublePoint>> c1, final List<Cluster<DoublePoint>> c2) {
+        assertEquals(c1.size(), c2.size());
+        for (int i = 0; i < c1.size(); ++i) {
+            final List<DoublePoint> p1 = c1.get(i).getPoints();
+            final List<DoublePoint> p2 = c2.get(i).getPoints();
+            assertEquals(p1.size(), p2.size());
+            for (int j = 0; j < p1.size(); ++j) {
+                assertSame(p1.get(j), p2.get(j));
+            }
+        }
+    }
+
     @Test
     void testGetEps() {
         final DBSCANClusterer<DoublePoint> transformer = new DBSCANClusterer<DoublePoint>(2.0, 5);
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.clustering;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KDTreeIndexTest {
+
+    @Test
+    void testQueryMatchesScan() {
+        final RandomGenerator random = new Well1024a(0x3c71e0a4b9d2f855L);
+        for (final int dimension : new int[] { 1, 2, 4 }) {
+            final List<DoublePoint> points = new ArrayList<>();
+            for (int i = 0; i < 500; ++i) {
+                final double[] x = new double[dimension];
+                for (int k = 0; k < dimension; ++k) {
+                    // coarse values to get many ties
+                    x[k] = FastMath.floor(10 * random.nextDouble()) * 0.5;
+                }
+                points.add(new DoublePoint(x));
+            }
+            final KDTreeIndex index = new KDTreeIndex(points);
+            for (int q = 0; q < 50; ++q) {
+                final double[] center = points.get(random.nextInt(points.size())).getPoint();
+                final double radius = 2 * random.nextDouble();
+                assertArrayEquals(scan(points, center, radius), index.query(center, radius));
+            }
+        }
+    }
+
+    @Test
+    void testCanIndex() {
+        assertFalse(KDTreeIndex.canIndex(new ArrayList<DoublePoint>()));
+        assertFalse(KDTreeIndex.canIndex(Arrays.asList(new DoublePoint(new double[0]))));
+        assertFalse(KDTreeIndex.canIndex(Arrays.asList(new DoublePoint(new double[] { 1.0, 2.0 }),
+                                                       new DoublePoint(new double[] { 1.0 }))));
+        assertFalse(KDTreeIndex.canIndex(Arrays.asList(new DoublePoint(new double[] { 1.0, Double.NaN }))));
+        assertTrue(KDTreeIndex.canIndex(Arrays.asList(new DoublePoint(new double[] { 1.0, 2.0 }),
+                                                      new DoublePoint(new double[] { 3.0, 4.0 }))));
+    }
+
+    private int[] scan(final List<DoublePoint> points, final double[] center, final double radius) {
+        final List<Integer> selected = new ArrayList<>();
+        for (int i = 0; i < points.size(); ++i) {
+            final double[] x = points.get(i).getPoint();
+            boolean inside = true;
+            for (int k = 0; k < x.length; ++k) {
+                inside &= FastMath.abs(x[k] - center[k]) <= radius;
+            }
+            if (inside) {
+                selected.add(i);
+            }
+        }
+        return selected.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+}
@@ -26,6 +26,7 @@ import org.hipparchus.clustering.distance.EuclideanDistance;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.random.JDKRandomGenerator;
 import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -33,8 +34,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -199,4 +203,47 @@ class KMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    void testParallelSameAsSerial() {
+        final RandomGenerator pointsGenerator = new Well19937a(0x2b6d4f1a93c0e857L);
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            final int blob = pointsGenerator.nextInt(6);
+            points.add(new DoublePoint(new double[] {
+                blob + 0.3 * pointsGenerator.nextGaussian(),
+                blob * blob + 0.3 * pointsGenerator.nextGaussian(),
+                pointsGenerator.nextDouble()
+            }));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final KMeansPlusPlusClusterer.EmptyClusterStrategy strategy :
+                 KMeansPlusPlusClusterer.EmptyClusterStrategy.values()) {
+                if (strategy == KMeansPlusPlusClusterer.EmptyClusterStrategy.ERROR) {
+                    continue;
+                }
+                final List<CentroidCluster<DoublePoint>> serial =
+                        new KMeansPlusPlusClusterer<DoublePoint>(8, 50, new EuclideanDistance(),
+                                                                 new Well19937a(0x17L), strategy).
+                        cluster(points);
+                final List<CentroidCluster<DoublePoint>> parallel =
+                        new KMeansPlusPlusClusterer<DoublePoint>(8, 50, new EuclideanDistance(),
+                                                                 new Well19937a(0x17L), strategy).
+                        cluster(points, pool);
+                assertEquals(serial.size(), parallel.size());
+                for (int i = 0; i < serial.size(); ++i) {
+                    assertArrayEquals(serial.get(i).getCenter().getPoint(),
+                                      parallel.get(i).getCenter().getPoint(), 0.0);
+                    assertEquals(serial.get(i).getPoints().size(), parallel.get(i).getPoints().size());
+                    for (int j = 0; j < serial.get(i).getPoints().size(); ++j) {
+                        assertSame(serial.get(i).getPoints().get(j), parallel.get(i).getPoints().get(j));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -22,11 +22,17 @@
 
 package org.hipparchus.clustering;
 
+import org.hipparchus.clustering.distance.EuclideanDistance;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -101,4 +107,44 @@ class MultiKMeansPlusPlusClustererTest {
 
     }
 
+    @Test
+    void testParallelReproducible() {
+        final RandomGenerator pointsGenerator = new Well19937a(0x4c8a1e6f2d09b735L);
+        final List<DoublePoint> points = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            final int blob = pointsGenerator.nextInt(5);
+            points.add(new DoublePoint(new double[] {
+                3 * blob + pointsGenerator.nextGaussian(),
+                pointsGenerator.nextGaussian()
+            }));
+        }
+
+        // the result depends only on the seed, not on the number of threads
+        List<CentroidCluster<DoublePoint>> reference = null;
+        for (final int threads : new int[] { 1, 2, 4 }) {
+            final ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                final MultiKMeansPlusPlusClusterer<DoublePoint> clusterer =
+                        new MultiKMeansPlusPlusClusterer<>(new KMeansPlusPlusClusterer<>(5, 100,
+                                                                                         new EuclideanDistance(),
+                                                                                         new Well19937a(0x5eedL)),
+                                                           6);
+                final List<CentroidCluster<DoublePoint>> clusters = clusterer.cluster(points, pool);
+                assertEquals(5, clusters.size());
+                if (reference == null) {
+                    reference = clusters;
+                } else {
+                    for (int i = 0; i < clusters.size(); ++i) {
+                        assertArrayEquals(reference.get(i).getCenter().getPoint(),
+                                          clusters.get(i).getCenter().getPoint(), 0.0);
+                        assertEquals(reference.get(i).getPoints(), clusters.get(i).getPoints());
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+    }
+
 }
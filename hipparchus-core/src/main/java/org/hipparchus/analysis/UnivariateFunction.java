@@ -21,6 +21,9 @@
  */
 package org.hipparchus.analysis;
 
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
 /**
  * An interface representing a univariate real function.
  * <p>
@@ -83,4 +86,31 @@ public interface UnivariateFunction {
      * the method.
      */
     double value(double x);
+
+    /**
+     * Compute the values of the function at several points.
+     * <p>
+     * The default implementation simply calls {@link #value(double)} for
+     * each point. Implementations that can share work between points (for
+     * example locating intervals in sorted abscissae or hoisting coefficients
+     * out of the loop) should override it. This method does not allocate any
+     * array, and {@code x} and {@code out} may be the same array, in which
+     * case the abscissae are replaced by the function values.
+     * </p>
+     *
+     * @param x Points at which the function values should be computed.
+     * @param out placeholder where to put the function values (must have
+     * the same length as {@code x})
+     * @throws MathIllegalArgumentException if arrays lengths differ
+     * @see #value(double)
+     * @since 4.0
+     */
+    default void value(final double[] x, final double[] out)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(out.length, x.length);
+        for (int i = 0; i < x.length; ++i) {
+            out[i] = value(x[i]);
+        }
+    }
+
 }
@@ -100,6 +100,46 @@ public class PolynomialFunction implements UnivariateDifferentiableFunction, Fie
        return evaluate(coefficients, x);
     }
 
+    /**
+     * Compute the values of the polynomial at several points.
+     * <p>
+     * Values are computed using Horner's method, exactly as in {@link #value(double)},
+     * but with the loop over coefficients moved outside of the loop over points
+     * when {@code x} and {@code out} are distinct arrays, which allows the
+     * virtual machine to vectorize the evaluation.
+     * </p>
+     * @param x Points at which the function values should be computed.
+     * @param out placeholder where to put the function values (must have
+     * the same length as {@code x}, may be {@code x} itself)
+     * @throws MathIllegalArgumentException if arrays lengths differ
+     * @since 4.0
+     */
+    @Override
+    public void value(final double[] x, final double[] out)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(out.length, x.length);
+        final int n = coefficients.length;
+        if (x == out) {
+            // in-place evaluation, points must be handled one at a time
+            for (int i = 0; i < x.length; ++i) {
+                double result = coefficients[n - 1];
+                final double xi = x[i];
+                for (int j = n - 2; j >= 0; j--) {
+                    result = xi * result + coefficients[j];
+                }
+                out[i] = result;
+            }
+        } else {
+            Arrays.fill(out, coefficients[n - 1]);
+            for (int j = n - 2; j >= 0; j--) {
+                final double cj = coefficients[j];
+                for (int i = 0; i < x.length; ++i) {
+                    out[i] = x[i] * out[i] + cj;
+                }
+            }
+        }
+    }
+
     /**
      * Returns the degree of the polynomial.
      *
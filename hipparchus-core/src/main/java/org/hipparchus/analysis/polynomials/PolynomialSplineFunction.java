@@ -148,6 +148,61 @@ public class PolynomialSplineFunction implements UnivariateDifferentiableFunctio
         return polynomials[i].value(v - knots[i]);
     }
 
+    /**
+     * Compute the values of the function at several points.
+     * <p>
+     * The segment containing each point is searched starting from the segment
+     * of the previous point, first checking the same segment and the next one,
+     * and only falling back to a binary search if the point is farther away.
+     * This makes evaluation at sorted (or nearly sorted) points much faster than
+     * repeated calls to {@link #value(double)}, while still giving exactly the same
+     * results for arbitrary points.
+     * </p>
+     *
+     * @param x Points at which the function values should be computed.
+     * @param out placeholder where to put the function values (must have
+     * the same length as {@code x}, may be {@code x} itself)
+     * @throws MathIllegalArgumentException if arrays lengths differ or if
+     * one point is outside of the domain of the spline function
+     * @since 4.0
+     */
+    @Override
+    public void value(final double[] x, final double[] out)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(out.length, x.length);
+        int i = 0;
+        for (int k = 0; k < x.length; ++k) {
+            final double v = x[k];
+            MathUtils.checkRangeInclusive(v, knots[0], knots[n]);
+            if (!inSegment(i, v)) {
+                if (i + 1 < n && inSegment(i + 1, v)) {
+                    ++i;
+                } else {
+                    i = Arrays.binarySearch(knots, v);
+                    if (i < 0) {
+                        i = -i - 2;
+                    }
+                    if (i >= n) {
+                        i--;
+                    }
+                }
+            }
+            out[k] = polynomials[i].value(v - knots[i]);
+        }
+    }
+
+    /** Check if a point belongs to a segment.
+     * <p>
+     * The last segment includes its upper bound, as in {@link #value(double)}.
+     * </p>
+     * @param i segment index
+     * @param v point, known to be within the spline domain
+     * @return true if point belongs to segment
+     */
+    private boolean inSegment(final int i, final double v) {
+        return knots[i] <= v && (v < knots[i + 1] || i == n - 1);
+    }
+
     /**
      * Get the derivative of the polynomial spline function.
      *
@@ -270,6 +270,23 @@ public class SmoothStepFactory {
             return super.value(xNormalized);
         }
 
+        /**
+         * Compute the values of the smoothstep for several arguments normalized between edges.
+         *
+         * @param xNormalized Normalized arguments for which the function values should be computed. They are expected
+         * to be between [0:1] and will throw an exception otherwise.
+         * @param out placeholder where to put the function values (must have the same length as {@code xNormalized})
+         *
+         * @since 4.0
+         */
+        @Override
+        public void value(final double[] xNormalized, final double[] out) {
+            for (final double x : xNormalized) {
+                checkBetweenZeroAndOneIncluded(x);
+            }
+            super.value(xNormalized, out);
+        }
+
         /**
          * Compute the value of the smoothstep function for the given edges and argument.
          * <p>
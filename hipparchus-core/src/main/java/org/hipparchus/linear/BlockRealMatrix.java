@@ -24,6 +24,9 @@ package org.hipparchus.linear;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -67,12 +70,24 @@ import org.hipparchus.util.MathUtils;
  * arrays is negligible for small matrices (about 1%). The gain from cache efficiency leads
  * to up to 3-fold improvements for matrices of moderate to large size.
  * </p>
+ * <p>
+ * Some operations ({@link #add(BlockRealMatrix, ForkJoinPool) addition},
+ * {@link #subtract(BlockRealMatrix, ForkJoinPool) subtraction},
+ * {@link #multiply(BlockRealMatrix, ForkJoinPool) multiplication},
+ * {@link #multiplyTransposed(BlockRealMatrix, ForkJoinPool) multiplication by transposed}
+ * and {@link #operate(double[], ForkJoinPool) operation on vectors}) can also
+ * be performed in parallel, with the blocks spread across the workers of a
+ * user-provided {@link ForkJoinPool}. As each block is computed exactly the same way
+ * as in the serial operations, the results are identical.
+ * </p>
  */
 public class BlockRealMatrix extends AbstractRealMatrix implements Serializable {
     /** Block size. */
     public static final int BLOCK_SIZE = 52;
     /** Serializable version identifier */
     private static final long serialVersionUID = 4991895511313664478L;
+    /** Minimum number of blocks handled by one task for light entry-wise operations. */
+    private static final int ENTRYWISE_GRAIN = 16;
     /** Blocks of matrix entries. */
     private final double[][] blocks;
     /** Number of rows of the matrix. */
@@ -355,17 +370,54 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform addition block-wise, to ensure good cache behavior
         for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
-            final double[] outBlock = out.blocks[blockIndex];
-            final double[] tBlock = blocks[blockIndex];
-            final double[] mBlock = m.blocks[blockIndex];
-            for (int k = 0; k < outBlock.length; ++k) {
-                outBlock[k] = tBlock[k] + mBlock[k];
-            }
+            addBlock(m, out, blockIndex);
         }
 
         return out;
     }
 
+    /**
+     * Compute the sum of this matrix and {@code m}, using a fork/join pool.
+     * <p>
+     * The output blocks are spread across the workers of the pool. The
+     * result is exactly the same as the one computed by {@link #add(BlockRealMatrix)}.
+     * </p>
+     *
+     * @param m Matrix to be added.
+     * @param pool pool to use for computation
+     * @return {@code this} + m.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as this matrix.
+     * @since 4.0
+     */
+    public BlockRealMatrix add(final BlockRealMatrix m, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        // safety check
+        MathUtils.checkNotNull(pool);
+        MatrixUtils.checkAdditionCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
+        pool.invoke(new BlocksAction(0, out.blocks.length, ENTRYWISE_GRAIN,
+                                     blockIndex -> addBlock(m, out, blockIndex)));
+
+        return out;
+    }
+
+    /**
+     * Compute one block of the sum of this matrix and {@code m}.
+     * @param m Matrix to be added.
+     * @param out output matrix
+     * @param blockIndex index of the block to compute
+     */
+    private void addBlock(final BlockRealMatrix m, final BlockRealMatrix out, final int blockIndex) {
+        final double[] outBlock = out.blocks[blockIndex];
+        final double[] tBlock = blocks[blockIndex];
+        final double[] mBlock = m.blocks[blockIndex];
+        for (int k = 0; k < outBlock.length; ++k) {
+            outBlock[k] = tBlock[k] + mBlock[k];
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix subtract(final RealMatrix m)
@@ -423,17 +475,54 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform subtraction block-wise, to ensure good cache behavior
         for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
-            final double[] outBlock = out.blocks[blockIndex];
-            final double[] tBlock = blocks[blockIndex];
-            final double[] mBlock = m.blocks[blockIndex];
-            for (int k = 0; k < outBlock.length; ++k) {
-                outBlock[k] = tBlock[k] - mBlock[k];
-            }
+            subtractBlock(m, out, blockIndex);
         }
 
         return out;
     }
 
+    /**
+     * Subtract {@code m} from this matrix, using a fork/join pool.
+     * <p>
+     * The output blocks are spread across the workers of the pool. The
+     * result is exactly the same as the one computed by {@link #subtract(BlockRealMatrix)}.
+     * </p>
+     *
+     * @param m Matrix to be subtracted.
+     * @param pool pool to use for computation
+     * @return {@code this} - m.
+     * @throws MathIllegalArgumentException if {@code m} is not the
+     * same size as this matrix.
+     * @since 4.0
+     */
+    public BlockRealMatrix subtract(final BlockRealMatrix m, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        // safety check
+        MathUtils.checkNotNull(pool);
+        MatrixUtils.checkSubtractionCompatible(this, m);
+
+        final BlockRealMatrix out = new BlockRealMatrix(rows, columns);
+        pool.invoke(new BlocksAction(0, out.blocks.length, ENTRYWISE_GRAIN,
+                                     blockIndex -> subtractBlock(m, out, blockIndex)));
+
+        return out;
+    }
+
+    /**
+     * Compute one block of the difference of this matrix and {@code m}.
+     * @param m Matrix to be subtracted.
+     * @param out output matrix
+     * @param blockIndex index of the block to compute
+     */
+    private void subtractBlock(final BlockRealMatrix m, final BlockRealMatrix out, final int blockIndex) {
+        final double[] outBlock = out.blocks[blockIndex];
+        final double[] tBlock = blocks[blockIndex];
+        final double[] mBlock = m.blocks[blockIndex];
+        for (int k = 0; k < outBlock.length; ++k) {
+            outBlock[k] = tBlock[k] - mBlock[k];
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix scalarAdd(final double d) {
@@ -538,57 +627,93 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
+            multiplyBlock(m, out, blockIndex);
+        }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
+    /**
+     * Returns the result of postmultiplying this by {@code m}, using a fork/join pool.
+     * <p>
+     * The output blocks are spread across the workers of the pool. Each output
+     * block is computed exactly as in {@link #multiply(BlockRealMatrix)}, so the
+     * result is identical to the serial one.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param pool pool to use for computation
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     * @since 4.0
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        // safety check
+        MathUtils.checkNotNull(pool);
+        MatrixUtils.checkMultiplicationCompatible(this, m);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        pool.invoke(new BlocksAction(0, out.blocks.length, 1,
+                                     blockIndex -> multiplyBlock(m, out, blockIndex)));
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        return out;
+    }
+
+    /**
+     * Compute one block of the product of this matrix and {@code m}.
+     * @param m Matrix to postmultiply by.
+     * @param out output matrix
+     * @param blockIndex index of the block to compute
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out, final int blockIndex) {
+
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /**
@@ -607,53 +732,89 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.rows);
 
         // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        for (int blockIndex = 0; blockIndex < out.blocks.length; ++blockIndex) {
+            multiplyTransposedBlock(m, out, blockIndex);
+        }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        return out;
+    }
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m^T}, using a fork/join pool.
+     * <p>
+     * The output blocks are spread across the workers of the pool. Each output
+     * block is computed exactly as in {@link #multiplyTransposed(BlockRealMatrix)},
+     * so the result is identical to the serial one.
+     * </p>
+     * @param m matrix to first transpose and second postmultiply by
+     * @param pool pool to use for computation
+     * @return {@code this * m^T}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 4.0
+     */
+    public BlockRealMatrix multiplyTransposed(final BlockRealMatrix m, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        // safety check
+        MathUtils.checkNotNull(pool);
+        MatrixUtils.checkSameColumnDimension(this, m);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final BlockRealMatrix out = new BlockRealMatrix(rows, m.rows);
+        pool.invoke(new BlocksAction(0, out.blocks.length, 1,
+                                     blockIndex -> multiplyTransposedBlock(m, out, blockIndex)));
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l]     * mBlock[n]     +
-                                       tBlock[l + 1] * mBlock[n + 1] +
-                                       tBlock[l + 2] * mBlock[n + 2] +
-                                       tBlock[l + 3] * mBlock[n + 3];
-                                l += 4;
-                                n += 4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n++];
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        return out;
+    }
+
+    /**
+     * Compute one block of the product of this matrix and {@code m^T}.
+     * @param m matrix to first transpose and second postmultiply by
+     * @param out output matrix
+     * @param blockIndex index of the block to compute
+     */
+    private void multiplyTransposedBlock(final BlockRealMatrix m, final BlockRealMatrix out, final int blockIndex) {
+
+        final int iBlock = blockIndex / out.blockColumns;
+        final int jBlock = blockIndex - iBlock * out.blockColumns;
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+
+        // select current block
+        final double[] outBlock = out.blocks[blockIndex];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l]     * mBlock[n]     +
+                               tBlock[l + 1] * mBlock[n + 1] +
+                               tBlock[l + 2] * mBlock[n + 2] +
+                               tBlock[l + 3] * mBlock[n + 3];
+                        l += 4;
+                        n += 4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n++];
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1548,35 +1709,72 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
-            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
-                final double[] block  = blocks[iBlock * blockColumns + jBlock];
-                final int qStart = jBlock * BLOCK_SIZE;
-                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
-                int k = 0;
-                for (int p = pStart; p < pEnd; ++p) {
-                    double sum = 0;
-                    int q = qStart;
-                    while (q < qEnd - 3) {
-                        sum += block[k]     * v[q]     +
-                               block[k + 1] * v[q + 1] +
-                               block[k + 2] * v[q + 2] +
-                               block[k + 3] * v[q + 3];
-                        k += 4;
-                        q += 4;
-                    }
-                    while (q < qEnd) {
-                        sum += block[k++] * v[q++];
-                    }
-                    out[p] += sum;
-                }
-            }
+            operateBlockRow(v, out, iBlock);
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the result of multiplying this by the vector {@code v}, using a fork/join pool.
+     * <p>
+     * The rows of blocks are spread across the workers of the pool. The
+     * result is exactly the same as the one computed by {@link #operate(double[])}.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param pool pool to use for computation
+     * @return {@code this * v}
+     * @throws MathIllegalArgumentException if the length of {@code v} does not
+     * match the column dimension of {@code this}.
+     * @since 4.0
+     */
+    public double[] operate(final double[] v, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(pool);
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
         }
+        final double[] out = new double[rows];
+        pool.invoke(new BlocksAction(0, blockRows, 1, iBlock -> operateBlockRow(v, out, iBlock)));
 
         return out;
     }
 
+    /**
+     * Compute the part of the product of this matrix and a vector corresponding to one row of blocks.
+     * @param v the vector to operate on
+     * @param out output vector
+     * @param iBlock row index (in block sense) of the blocks to use
+     */
+    private void operateBlockRow(final double[] v, final double[] out, final int iBlock) {
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+        for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+            final double[] block  = blocks[iBlock * blockColumns + jBlock];
+            final int qStart = jBlock * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                double sum = 0;
+                int q = qStart;
+                while (q < qEnd - 3) {
+                    sum += block[k]     * v[q]     +
+                           block[k + 1] * v[q + 1] +
+                           block[k + 2] * v[q + 2] +
+                           block[k + 3] * v[q + 3];
+                    k += 4;
+                    q += 4;
+                }
+                while (q < qEnd) {
+                    sum += block[k++] * v[q++];
+                }
+                out[p] += sum;
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -1861,4 +2059,51 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return (blockColumn == blockColumns - 1) ? columns - blockColumn * BLOCK_SIZE : BLOCK_SIZE;
     }
 
+    /** Recursive action applying a kernel to a range of block indices. */
+    private static class BlocksAction extends RecursiveAction {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20241017L;
+
+        /** Start index (inclusive). */
+        private final int start;
+
+        /** End index (exclusive). */
+        private final int end;
+
+        /** Maximum number of indices handled without splitting. */
+        private final int grain;
+
+        /** Kernel to apply to each index. */
+        private final transient IntConsumer kernel;
+
+        /** Simple constructor.
+         * @param start start index (inclusive)
+         * @param end end index (exclusive)
+         * @param grain maximum number of indices handled without splitting
+         * @param kernel kernel to apply to each index
+         */
+        BlocksAction(final int start, final int end, final int grain, final IntConsumer kernel) {
+            this.start  = start;
+            this.end    = end;
+            this.grain  = grain;
+            this.kernel = kernel;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                for (int index = start; index < end; ++index) {
+                    kernel.accept(index);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new BlocksAction(start, middle, grain, kernel),
+                          new BlocksAction(middle, end, grain, kernel));
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Sparse matrix implementation based on Compressed Sparse Column (CSC) storage.
+ * <p>
+ * The non-zero entries are stored column by column in contiguous primitive arrays,
+ * sorted by increasing row index within each column. This layout is well suited for
+ * column traversal and for {@link #preMultiply(double[]) transposed matrix-vector products}.
+ * It is the column-oriented counterpart of {@link CompressedSparseRowRealMatrix}, and
+ * conversion between the two layouts only costs a linear pass over the non-zero entries.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @see CompressedSparseRowRealMatrix
+ * @since 4.0
+ */
+public class CompressedSparseColumnRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20241017L;
+
+    /** Storage for (sparse) matrix elements, with columns as the major dimension. */
+    private final CompressedSparseStorage storage;
+
+    /**
+     * Build a sparse matrix with the supplied row and column dimensions.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public CompressedSparseColumnRealMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(columnDimension, rowDimension);
+    }
+
+    /**
+     * Build a sparse matrix from coordinates lists.
+     * <p>
+     * Entries with the same coordinates are summed up. Entries
+     * that are zero are not stored.
+     * </p>
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param rowIndices row indices of the entries
+     * @param columnIndices column indices of the entries
+     * @param entries values of the entries
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive, if arrays lengths are inconsistent or if some index is out of range
+     */
+    public CompressedSparseColumnRealMatrix(final int rowDimension, final int columnDimension,
+                                            final int[] rowIndices, final int[] columnIndices,
+                                            final double[] entries)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        CompressedSparseRowRealMatrix.checkCoordinates(rowDimension, columnDimension, rowIndices, columnIndices, entries);
+        this.storage = CompressedSparseStorage.fromCoordinates(columnDimension, rowDimension,
+                                                               columnIndices, rowIndices,
+                                                               entries, entries.length);
+    }
+
+    /**
+     * Build a sparse matrix by copying or converting another matrix.
+     * <p>
+     * Conversion from {@link OpenMapRealMatrix} and {@link CompressedSparseRowRealMatrix}
+     * only visits the non-zero entries. Conversion from other matrices visits all entries.
+     * </p>
+     *
+     * @param matrix matrix to copy.
+     */
+    public CompressedSparseColumnRealMatrix(final RealMatrix matrix) {
+        this(matrix instanceof CompressedSparseColumnRealMatrix ?
+             new CompressedSparseStorage(((CompressedSparseColumnRealMatrix) matrix).storage) :
+             new CompressedSparseRowRealMatrix(matrix).getStorage().swapped());
+    }
+
+    /**
+     * Build a matrix from a storage.
+     * @param storage storage to use (referenced, not copied)
+     */
+    CompressedSparseColumnRealMatrix(final CompressedSparseStorage storage) {
+        super(storage.getMinor(), storage.getMajor());
+        this.storage = storage;
+    }
+
+    /** Get the underlying storage.
+     * @return underlying storage (a reference, not a copy)
+     */
+    CompressedSparseStorage getStorage() {
+        return storage;
+    }
+
+    /** Get the number of non-zero entries.
+     * @return number of non-zero entries
+     */
+    public int getNonZeroCount() {
+        return storage.getNonZeroCount();
+    }
+
+    /** Convert the matrix to Compressed Sparse Row storage.
+     * @return a new matrix with the same entries, in CSR storage
+     */
+    public CompressedSparseRowRealMatrix toCompressedSparseRow() {
+        return new CompressedSparseRowRealMatrix(storage.swapped());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseColumnRealMatrix copy() {
+        return new CompressedSparseColumnRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseColumnRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CompressedSparseColumnRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMinor();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMajor();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.get(column, row);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.set(column, row, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.add(column, row, increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.multiply(column, row, factor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getColumn(final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkColumnIndex(this, column);
+        final int[]    pointers = storage.getPointers();
+        final int[]    indices  = storage.getIndices();
+        final double[] values   = storage.getValues();
+        final double[] out      = new double[getRowDimension()];
+        for (int k = pointers[column]; k < pointers[column + 1]; ++k) {
+            out[indices[k]] = values[k];
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseColumnRealMatrix) {
+            return add((CompressedSparseColumnRealMatrix) m);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /**
+     * Compute the sum of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this} + {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedSparseColumnRealMatrix add(final CompressedSparseColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedSparseColumnRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseColumnRealMatrix) {
+            return subtract((CompressedSparseColumnRealMatrix) m);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this} - {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedSparseColumnRealMatrix subtract(final CompressedSparseColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        return new CompressedSparseColumnRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseColumnRealMatrix scalarMultiply(final double d) {
+        return new CompressedSparseColumnRealMatrix(storage.scalarMultiply(d));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseColumnRealMatrix) {
+            return multiply((CompressedSparseColumnRealMatrix) m);
+        } else if (m instanceof CompressedSparseRowRealMatrix) {
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+            // (this * m)^T = m^T * this^T, and CSC storage of a matrix is CSR storage of its transpose
+            final CompressedSparseStorage mT = ((CompressedSparseRowRealMatrix) m).getStorage().swapped();
+            return new CompressedSparseColumnRealMatrix(mT.multiply(storage));
+        } else {
+            return toCompressedSparseRow().multiply(m);
+        }
+    }
+
+    /**
+     * Postmultiply this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @return {@code this} * {@code m}.
+     * @throws MathIllegalArgumentException if the number of rows of {@code m}
+     * differ from the number of columns of {@code this} matrix.
+     */
+    public CompressedSparseColumnRealMatrix multiply(final CompressedSparseColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        // (this * m)^T = m^T * this^T, and CSC storage of a matrix is CSR storage of its transpose
+        return new CompressedSparseColumnRealMatrix(m.storage.multiply(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRowRealMatrix transpose() {
+        // the CSC storage of a matrix is the CSR storage of its transpose
+        return new CompressedSparseRowRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, getColumnDimension());
+        }
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, getRowDimension());
+        }
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x)
+        throws MathIllegalArgumentException {
+        return preMultiply(x);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+}
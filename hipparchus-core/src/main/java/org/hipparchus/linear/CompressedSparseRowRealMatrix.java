@@ -0,0 +1,464 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.OpenIntToDoubleHashMap;
+
+/**
+ * Sparse matrix implementation based on Compressed Sparse Row (CSR) storage.
+ * <p>
+ * The non-zero entries are stored row by row in contiguous primitive arrays,
+ * sorted by increasing column index within each row. This layout is well suited for
+ * row traversal, {@link #operate(double[]) matrix-vector products} and
+ * {@link #multiply(CompressedSparseRowRealMatrix) sparse-sparse products}, which are
+ * the operations iterative solvers like {@link ConjugateGradient} or {@link SymmLQ}
+ * spend most of their time in. It also uses much less memory per non-zero entry than
+ * {@link OpenMapRealMatrix}. Random modifications of the sparsity pattern, on the other
+ * hand, are costly as they require shifting the stored entries, so matrices should
+ * preferably be built {@link #CompressedSparseRowRealMatrix(int, int, int[], int[], double[])
+ * from coordinates lists} or {@link #CompressedSparseRowRealMatrix(RealMatrix) converted}
+ * from another matrix.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @see CompressedSparseColumnRealMatrix
+ * @since 4.0
+ */
+public class CompressedSparseRowRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20241017L;
+
+    /** Storage for (sparse) matrix elements, with rows as the major dimension. */
+    private final CompressedSparseStorage storage;
+
+    /**
+     * Build a sparse matrix with the supplied row and column dimensions.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public CompressedSparseRowRealMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(rowDimension, columnDimension);
+    }
+
+    /**
+     * Build a sparse matrix from coordinates lists.
+     * <p>
+     * Entries with the same coordinates are summed up. Entries
+     * that are zero are not stored.
+     * </p>
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param rowIndices row indices of the entries
+     * @param columnIndices column indices of the entries
+     * @param entries values of the entries
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive, if arrays lengths are inconsistent or if some index is out of range
+     */
+    public CompressedSparseRowRealMatrix(final int rowDimension, final int columnDimension,
+                                         final int[] rowIndices, final int[] columnIndices,
+                                         final double[] entries)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        checkCoordinates(rowDimension, columnDimension, rowIndices, columnIndices, entries);
+        this.storage = CompressedSparseStorage.fromCoordinates(rowDimension, columnDimension,
+                                                               rowIndices, columnIndices,
+                                                               entries, entries.length);
+    }
+
+    /**
+     * Build a sparse matrix by copying or converting another matrix.
+     * <p>
+     * Conversion from {@link OpenMapRealMatrix} and {@link CompressedSparseColumnRealMatrix}
+     * only visits the non-zero entries. Conversion from other matrices visits all entries.
+     * </p>
+     *
+     * @param matrix matrix to copy.
+     */
+    public CompressedSparseRowRealMatrix(final RealMatrix matrix) {
+        this(storageOf(matrix));
+    }
+
+    /**
+     * Build a matrix from a storage.
+     * @param storage storage to use (referenced, not copied)
+     */
+    CompressedSparseRowRealMatrix(final CompressedSparseStorage storage) {
+        super(storage.getMajor(), storage.getMinor());
+        this.storage = storage;
+    }
+
+    /** Get the CSR storage of any matrix.
+     * @param matrix matrix to convert
+     * @return CSR storage of the matrix
+     */
+    private static CompressedSparseStorage storageOf(final RealMatrix matrix) {
+        if (matrix instanceof CompressedSparseRowRealMatrix) {
+            return new CompressedSparseStorage(((CompressedSparseRowRealMatrix) matrix).storage);
+        } else if (matrix instanceof CompressedSparseColumnRealMatrix) {
+            return ((CompressedSparseColumnRealMatrix) matrix).getStorage().swapped();
+        } else if (matrix instanceof OpenMapRealMatrix) {
+            final OpenMapRealMatrix openMap = (OpenMapRealMatrix) matrix;
+            final int columns = openMap.getColumnDimension();
+            final int n       = openMap.getNonZeroCount();
+            final int[]    rowIndices    = new int[n];
+            final int[]    columnIndices = new int[n];
+            final double[] entries       = new double[n];
+            int k = 0;
+            for (final OpenIntToDoubleHashMap.Iterator iterator = openMap.nonZeroIterator(); iterator.hasNext();) {
+                iterator.advance();
+                rowIndices[k]    = iterator.key() / columns;
+                columnIndices[k] = iterator.key() - rowIndices[k] * columns;
+                entries[k++]     = iterator.value();
+            }
+            return CompressedSparseStorage.fromCoordinates(openMap.getRowDimension(), columns,
+                                                           rowIndices, columnIndices, entries, n);
+        } else {
+            final int rows    = matrix.getRowDimension();
+            final int columns = matrix.getColumnDimension();
+            int[]    rowIndices    = new int[16];
+            int[]    columnIndices = new int[16];
+            double[] entries       = new double[16];
+            int n = 0;
+            for (int i = 0; i < rows; ++i) {
+                for (int j = 0; j < columns; ++j) {
+                    final double value = matrix.getEntry(i, j);
+                    if (value != 0.0) {
+                        if (n == entries.length) {
+                            rowIndices    = Arrays.copyOf(rowIndices,    2 * n);
+                            columnIndices = Arrays.copyOf(columnIndices, 2 * n);
+                            entries       = Arrays.copyOf(entries,       2 * n);
+                        }
+                        rowIndices[n]    = i;
+                        columnIndices[n] = j;
+                        entries[n++]     = value;
+                    }
+                }
+            }
+            return CompressedSparseStorage.fromCoordinates(rows, columns, rowIndices, columnIndices, entries, n);
+        }
+    }
+
+    /** Check coordinates lists.
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param rowIndices row indices of the entries
+     * @param columnIndices column indices of the entries
+     * @param entries values of the entries
+     * @throws MathIllegalArgumentException if arrays lengths are inconsistent
+     * or if some index is out of range
+     */
+    static void checkCoordinates(final int rowDimension, final int columnDimension,
+                                 final int[] rowIndices, final int[] columnIndices,
+                                 final double[] entries)
+        throws MathIllegalArgumentException {
+        if (rowIndices.length != entries.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   rowIndices.length, entries.length);
+        }
+        if (columnIndices.length != entries.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   columnIndices.length, entries.length);
+        }
+        for (int k = 0; k < entries.length; ++k) {
+            if (rowIndices[k] < 0 || rowIndices[k] >= rowDimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX,
+                                                       rowIndices[k], 0, rowDimension - 1);
+            }
+            if (columnIndices[k] < 0 || columnIndices[k] >= columnDimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.COLUMN_INDEX,
+                                                       columnIndices[k], 0, columnDimension - 1);
+            }
+        }
+    }
+
+    /** Get the underlying storage.
+     * @return underlying storage (a reference, not a copy)
+     */
+    CompressedSparseStorage getStorage() {
+        return storage;
+    }
+
+    /** Get the number of non-zero entries.
+     * @return number of non-zero entries
+     */
+    public int getNonZeroCount() {
+        return storage.getNonZeroCount();
+    }
+
+    /** Convert the matrix to Compressed Sparse Column storage.
+     * @return a new matrix with the same entries, in CSC storage
+     */
+    public CompressedSparseColumnRealMatrix toCompressedSparseColumn() {
+        return new CompressedSparseColumnRealMatrix(storage.swapped());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRowRealMatrix copy() {
+        return new CompressedSparseRowRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRowRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CompressedSparseRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMajor();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMinor();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.get(row, column);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.set(row, column, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.add(row, column, increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.multiply(row, column, factor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getRow(final int row) throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        final int[]    pointers = storage.getPointers();
+        final int[]    indices  = storage.getIndices();
+        final double[] values   = storage.getValues();
+        final double[] out      = new double[getColumnDimension()];
+        for (int k = pointers[row]; k < pointers[row + 1]; ++k) {
+            out[indices[k]] = values[k];
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRowRealMatrix) {
+            return add((CompressedSparseRowRealMatrix) m);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /**
+     * Compute the sum of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this} + {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedSparseRowRealMatrix add(final CompressedSparseRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedSparseRowRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRowRealMatrix) {
+            return subtract((CompressedSparseRowRealMatrix) m);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this} - {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedSparseRowRealMatrix subtract(final CompressedSparseRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        return new CompressedSparseRowRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseRowRealMatrix scalarMultiply(final double d) {
+        return new CompressedSparseRowRealMatrix(storage.scalarMultiply(d));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedSparseRowRealMatrix) {
+            return multiply((CompressedSparseRowRealMatrix) m);
+        } else if (m instanceof CompressedSparseColumnRealMatrix) {
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+            return new CompressedSparseRowRealMatrix(storage.multiply(((CompressedSparseColumnRealMatrix) m).getStorage().swapped()));
+        } else {
+
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+
+            final int      rows     = getRowDimension();
+            final int      outCols  = m.getColumnDimension();
+            final int[]    pointers = storage.getPointers();
+            final int[]    indices  = storage.getIndices();
+            final double[] values   = storage.getValues();
+            final RealMatrix out    = m.createMatrix(rows, outCols);
+            final double[] outRow   = new double[outCols];
+            for (int i = 0; i < rows; ++i) {
+                if (pointers[i + 1] > pointers[i]) {
+                    Arrays.fill(outRow, 0.0);
+                    for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                        final double value = values[k];
+                        final int    l     = indices[k];
+                        for (int j = 0; j < outCols; ++j) {
+                            outRow[j] += value * m.getEntry(l, j);
+                        }
+                    }
+                    for (int j = 0; j < outCols; ++j) {
+                        out.setEntry(i, j, outRow[j]);
+                    }
+                }
+            }
+
+            return out;
+
+        }
+    }
+
+    /**
+     * Postmultiply this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @return {@code this} * {@code m}.
+     * @throws MathIllegalArgumentException if the number of rows of {@code m}
+     * differ from the number of columns of {@code this} matrix.
+     */
+    public CompressedSparseRowRealMatrix multiply(final CompressedSparseRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        return new CompressedSparseRowRealMatrix(storage.multiply(m.storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedSparseColumnRealMatrix transpose() {
+        // the CSR storage of a matrix is the CSC storage of its transpose
+        return new CompressedSparseColumnRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, getColumnDimension());
+        }
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, getRowDimension());
+        }
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(preMultiply(v.toArray()), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x)
+        throws MathIllegalArgumentException {
+        return preMultiply(x);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,498 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Compressed storage shared by {@link CompressedSparseRowRealMatrix} and
+ * {@link CompressedSparseColumnRealMatrix}.
+ * <p>
+ * The storage is organized along a <em>major</em> dimension (rows for CSR, columns for CSC)
+ * and a <em>minor</em> dimension (columns for CSR, rows for CSC). The non-zero entries
+ * of major line {@code i} are stored at indices {@code pointers[i]} (included) to
+ * {@code pointers[i + 1]} (excluded) in the {@code indices} and {@code values} arrays,
+ * sorted by increasing minor index. Explicit zeros are never stored.
+ * </p>
+ * @since 4.0
+ */
+class CompressedSparseStorage implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20241017L;
+
+    /** Major dimension. */
+    private final int major;
+
+    /** Minor dimension. */
+    private final int minor;
+
+    /** Start of each major line in the indices and values arrays (size major + 1). */
+    private final int[] pointers;
+
+    /** Minor indices of non-zero entries. */
+    private int[] indices;
+
+    /** Values of non-zero entries. */
+    private double[] values;
+
+    /** Build an empty storage.
+     * @param major major dimension
+     * @param minor minor dimension
+     */
+    CompressedSparseStorage(final int major, final int minor) {
+        this(major, minor, new int[major + 1], new int[0], new double[0]);
+    }
+
+    /** Build a storage from its components.
+     * <p>
+     * The arrays are referenced, not copied.
+     * </p>
+     * @param major major dimension
+     * @param minor minor dimension
+     * @param pointers start of each major line in the indices and values arrays
+     * @param indices minor indices of non-zero entries
+     * @param values values of non-zero entries
+     */
+    private CompressedSparseStorage(final int major, final int minor,
+                                    final int[] pointers, final int[] indices, final double[] values) {
+        this.major    = major;
+        this.minor    = minor;
+        this.pointers = pointers;
+        this.indices  = indices;
+        this.values   = values;
+    }
+
+    /** Build a storage by copying another one.
+     * @param storage storage to copy
+     */
+    CompressedSparseStorage(final CompressedSparseStorage storage) {
+        this(storage.major, storage.minor,
+             storage.pointers.clone(),
+             Arrays.copyOf(storage.indices, storage.getNonZeroCount()),
+             Arrays.copyOf(storage.values,  storage.getNonZeroCount()));
+    }
+
+    /** Build a storage from coordinates lists.
+     * <p>
+     * Duplicated coordinates are summed up, and zero entries are dropped.
+     * </p>
+     * @param major major dimension
+     * @param minor minor dimension
+     * @param majorIndices major indices of entries
+     * @param minorIndices minor indices of entries
+     * @param entries values of entries
+     * @param n number of entries to use from the arrays
+     * @return storage containing the entries
+     */
+    static CompressedSparseStorage fromCoordinates(final int major, final int minor,
+                                                   final int[] majorIndices, final int[] minorIndices,
+                                                   final double[] entries, final int n) {
+
+        // first pass: counting sort on minor index
+        final int[] byMinor = new int[n];
+        final int[] minorCount = new int[minor + 1];
+        for (int k = 0; k < n; ++k) {
+            ++minorCount[minorIndices[k] + 1];
+        }
+        for (int j = 0; j < minor; ++j) {
+            minorCount[j + 1] += minorCount[j];
+        }
+        for (int k = 0; k < n; ++k) {
+            byMinor[minorCount[minorIndices[k]]++] = k;
+        }
+
+        // second pass: stable counting sort on major index
+        final int[] sorted = new int[n];
+        final int[] majorCount = new int[major + 1];
+        for (int k = 0; k < n; ++k) {
+            ++majorCount[majorIndices[k] + 1];
+        }
+        for (int i = 0; i < major; ++i) {
+            majorCount[i + 1] += majorCount[i];
+        }
+        for (final int k : byMinor) {
+            sorted[majorCount[majorIndices[k]]++] = k;
+        }
+
+        // merge duplicates and drop zeros
+        final int[]    pointers = new int[major + 1];
+        final int[]    indices  = new int[n];
+        final double[] values   = new double[n];
+        int nnz = 0;
+        int s   = 0;
+        for (int i = 0; i < major; ++i) {
+            while (s < n && majorIndices[sorted[s]] == i) {
+                final int j = minorIndices[sorted[s]];
+                double sum = 0;
+                while (s < n && majorIndices[sorted[s]] == i && minorIndices[sorted[s]] == j) {
+                    sum += entries[sorted[s++]];
+                }
+                if (sum != 0.0) {
+                    indices[nnz]  = j;
+                    values[nnz++] = sum;
+                }
+            }
+            pointers[i + 1] = nnz;
+        }
+
+        return new CompressedSparseStorage(major, minor, pointers,
+                                           Arrays.copyOf(indices, nnz), Arrays.copyOf(values, nnz));
+
+    }
+
+    /** Get the major dimension.
+     * @return major dimension
+     */
+    int getMajor() {
+        return major;
+    }
+
+    /** Get the minor dimension.
+     * @return minor dimension
+     */
+    int getMinor() {
+        return minor;
+    }
+
+    /** Get the number of non-zero entries.
+     * @return number of non-zero entries
+     */
+    int getNonZeroCount() {
+        return pointers[major];
+    }
+
+    /** Get a reference to the line pointers.
+     * @return reference to the line pointers
+     */
+    int[] getPointers() {
+        return pointers;
+    }
+
+    /** Get a reference to the minor indices.
+     * <p>
+     * Beware that the array may be larger than the number of non-zero entries.
+     * </p>
+     * @return reference to the minor indices
+     */
+    int[] getIndices() {
+        return indices;
+    }
+
+    /** Get a reference to the values.
+     * <p>
+     * Beware that the array may be larger than the number of non-zero entries.
+     * </p>
+     * @return reference to the values
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /** Get an entry.
+     * @param i major index
+     * @param j minor index
+     * @return value of the entry
+     */
+    double get(final int i, final int j) {
+        final int pos = find(i, j);
+        return pos < 0 ? 0.0 : values[pos];
+    }
+
+    /** Set an entry.
+     * @param i major index
+     * @param j minor index
+     * @param value new value of the entry
+     */
+    void set(final int i, final int j, final double value) {
+        final int pos = find(i, j);
+        if (pos >= 0) {
+            if (value == 0.0) {
+                remove(i, pos);
+            } else {
+                values[pos] = value;
+            }
+        } else if (value != 0.0) {
+            insert(i, -(pos + 1), j, value);
+        }
+    }
+
+    /** Add an increment to an entry.
+     * @param i major index
+     * @param j minor index
+     * @param increment value to add
+     */
+    void add(final int i, final int j, final double increment) {
+        final int pos = find(i, j);
+        if (pos >= 0) {
+            final double value = values[pos] + increment;
+            if (value == 0.0) {
+                remove(i, pos);
+            } else {
+                values[pos] = value;
+            }
+        } else if (increment != 0.0) {
+            insert(i, -(pos + 1), j, increment);
+        }
+    }
+
+    /** Multiply an entry by a factor.
+     * @param i major index
+     * @param j minor index
+     * @param factor multiplication factor
+     */
+    void multiply(final int i, final int j, final double factor) {
+        final int pos = find(i, j);
+        if (pos >= 0) {
+            final double value = values[pos] * factor;
+            if (value == 0.0) {
+                remove(i, pos);
+            } else {
+                values[pos] = value;
+            }
+        }
+    }
+
+    /** Multiply all entries by a factor.
+     * @param factor multiplication factor
+     * @return new storage
+     */
+    CompressedSparseStorage scalarMultiply(final double factor) {
+        if (factor == 0.0) {
+            return new CompressedSparseStorage(major, minor);
+        }
+        final CompressedSparseStorage out = new CompressedSparseStorage(this);
+        for (int k = 0; k < out.values.length; ++k) {
+            out.values[k] *= factor;
+        }
+        return out;
+    }
+
+    /** Build the storage with swapped major and minor dimensions.
+     * <p>
+     * This converts a CSR storage of a matrix into its CSC storage and conversely.
+     * </p>
+     * @return storage with swapped major and minor dimensions
+     */
+    CompressedSparseStorage swapped() {
+        final int      nnz        = getNonZeroCount();
+        final int[]    tPointers  = new int[minor + 1];
+        final int[]    tIndices   = new int[nnz];
+        final double[] tValues    = new double[nnz];
+        for (int k = 0; k < nnz; ++k) {
+            ++tPointers[indices[k] + 1];
+        }
+        for (int j = 0; j < minor; ++j) {
+            tPointers[j + 1] += tPointers[j];
+        }
+        final int[] next = Arrays.copyOf(tPointers, minor);
+        for (int i = 0; i < major; ++i) {
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final int dest = next[indices[k]]++;
+                tIndices[dest] = i;
+                tValues[dest]  = values[k];
+            }
+        }
+        return new CompressedSparseStorage(minor, major, tPointers, tIndices, tValues);
+    }
+
+    /** Compute a linear combination {@code this + factor * other}.
+     * @param other other storage, with the same dimensions
+     * @param factor multiplication factor for the other storage
+     * @return linear combination
+     */
+    CompressedSparseStorage combine(final CompressedSparseStorage other, final double factor) {
+
+        final int[]    cPointers = new int[major + 1];
+        final int[]    cIndices  = new int[getNonZeroCount() + other.getNonZeroCount()];
+        final double[] cValues   = new double[cIndices.length];
+
+        int nnz = 0;
+        for (int i = 0; i < major; ++i) {
+            int ka = pointers[i];
+            int kb = other.pointers[i];
+            final int endA = pointers[i + 1];
+            final int endB = other.pointers[i + 1];
+            while (ka < endA || kb < endB) {
+                final int    j;
+                final double value;
+                if (kb >= endB || ka < endA && indices[ka] < other.indices[kb]) {
+                    j     = indices[ka];
+                    value = values[ka++];
+                } else if (ka >= endA || other.indices[kb] < indices[ka]) {
+                    j     = other.indices[kb];
+                    value = factor * other.values[kb++];
+                } else {
+                    j     = indices[ka];
+                    value = values[ka++] + factor * other.values[kb++];
+                }
+                if (value != 0.0) {
+                    cIndices[nnz]  = j;
+                    cValues[nnz++] = value;
+                }
+            }
+            cPointers[i + 1] = nnz;
+        }
+
+        return new CompressedSparseStorage(major, minor, cPointers,
+                                           Arrays.copyOf(cIndices, nnz), Arrays.copyOf(cValues, nnz));
+
+    }
+
+    /** Compute the product {@code this * other}, both storages being seen as major-oriented.
+     * <p>
+     * This method uses Gustavson's algorithm, with a dense accumulator for the
+     * current major line.
+     * </p>
+     * @param other other storage, with a major dimension equal to this minor dimension
+     * @return product
+     */
+    CompressedSparseStorage multiply(final CompressedSparseStorage other) {
+
+        final int      outMinor    = other.minor;
+        final int[]    cPointers   = new int[major + 1];
+        int[]          cIndices    = new int[FastMath.max(getNonZeroCount(), other.getNonZeroCount())];
+        double[]       cValues     = new double[cIndices.length];
+        final double[] accumulator = new double[outMinor];
+        final int[]    marker      = new int[outMinor];
+        Arrays.fill(marker, -1);
+        final int[]    pattern     = new int[outMinor];
+
+        int nnz = 0;
+        for (int i = 0; i < major; ++i) {
+
+            // scatter the contributions of line i
+            int count = 0;
+            for (int ka = pointers[i]; ka < pointers[i + 1]; ++ka) {
+                final int    k = indices[ka];
+                final double a = values[ka];
+                for (int kb = other.pointers[k]; kb < other.pointers[k + 1]; ++kb) {
+                    final int j = other.indices[kb];
+                    if (marker[j] != i) {
+                        marker[j]        = i;
+                        pattern[count++] = j;
+                        accumulator[j]   = a * other.values[kb];
+                    } else {
+                        accumulator[j] += a * other.values[kb];
+                    }
+                }
+            }
+
+            // gather the line, sorted by minor index
+            Arrays.sort(pattern, 0, count);
+            if (nnz + count > cIndices.length) {
+                final int newLength = FastMath.max(nnz + count, 2 * cIndices.length);
+                cIndices = Arrays.copyOf(cIndices, newLength);
+                cValues  = Arrays.copyOf(cValues,  newLength);
+            }
+            for (int c = 0; c < count; ++c) {
+                final int j = pattern[c];
+                if (accumulator[j] != 0.0) {
+                    cIndices[nnz]  = j;
+                    cValues[nnz++] = accumulator[j];
+                }
+            }
+            cPointers[i + 1] = nnz;
+
+        }
+
+        return new CompressedSparseStorage(major, outMinor, cPointers,
+                                           Arrays.copyOf(cIndices, nnz), Arrays.copyOf(cValues, nnz));
+
+    }
+
+    /** Compute the product of the storage, seen as major-oriented, by a vector.
+     * @param v vector (size must be the minor dimension)
+     * @return product (size is the major dimension)
+     */
+    double[] gather(final double[] v) {
+        final double[] out = new double[major];
+        for (int i = 0; i < major; ++i) {
+            double sum = 0;
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                sum += values[k] * v[indices[k]];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** Compute the product of the transposed storage, seen as major-oriented, by a vector.
+     * @param v vector (size must be the major dimension)
+     * @return product (size is the minor dimension)
+     */
+    double[] scatter(final double[] v) {
+        final double[] out = new double[minor];
+        for (int i = 0; i < major; ++i) {
+            final double vi = v[i];
+            if (vi != 0.0) {
+                for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                    out[indices[k]] += values[k] * vi;
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Find the position of an entry.
+     * @param i major index
+     * @param j minor index
+     * @return position of the entry if it is present, {@code -(insertion point) - 1} otherwise
+     */
+    private int find(final int i, final int j) {
+        return Arrays.binarySearch(indices, pointers[i], pointers[i + 1], j);
+    }
+
+    /** Insert an entry.
+     * @param i major index
+     * @param pos insertion position
+     * @param j minor index
+     * @param value value of the entry
+     */
+    private void insert(final int i, final int pos, final int j, final double value) {
+        final int nnz = getNonZeroCount();
+        if (nnz == indices.length) {
+            final int newLength = FastMath.max(8, nnz + (nnz >> 1));
+            indices = Arrays.copyOf(indices, newLength);
+            values  = Arrays.copyOf(values,  newLength);
+        }
+        System.arraycopy(indices, pos, indices, pos + 1, nnz - pos);
+        System.arraycopy(values,  pos, values,  pos + 1, nnz - pos);
+        indices[pos] = j;
+        values[pos]  = value;
+        for (int l = i + 1; l <= major; ++l) {
+            ++pointers[l];
+        }
+    }
+
+    /** Remove an entry.
+     * @param i major index
+     * @param pos position of the entry
+     */
+    private void remove(final int i, final int pos) {
+        final int nnz = getNonZeroCount();
+        System.arraycopy(indices, pos + 1, indices, pos, nnz - pos - 1);
+        System.arraycopy(values,  pos + 1, values,  pos, nnz - pos - 1);
+        for (int l = i + 1; l <= major; ++l) {
+            --pointers[l];
+        }
+    }
+
+}
@@ -356,6 +356,27 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         }
     }
 
+    /**
+     * Get the number of non-zero entries.
+     * @return number of non-zero entries
+     * @since 4.0
+     */
+    int getNonZeroCount() {
+        return entries.size();
+    }
+
+    /**
+     * Get an iterator over the non-zero entries.
+     * <p>
+     * The keys of the iterator are {@code row * columnDimension + column}.
+     * </p>
+     * @return iterator over the non-zero entries
+     * @since 4.0
+     */
+    OpenIntToDoubleHashMap.Iterator nonZeroIterator() {
+        return entries.iterator();
+    }
+
     /**
      * Compute the key to access a matrix element
      * @param row row index of the matrix element
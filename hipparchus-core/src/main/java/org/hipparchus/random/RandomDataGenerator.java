@@ -55,6 +55,14 @@ import org.hipparchus.util.ResizableDoubleArray;
 
 /**
  * A class for generating random data.
+ * <p>
+ * Instances created with {@link #of(RandomGenerator, boolean)} and the ziggurat
+ * flag set generate normal and exponential deviates, and the gamma, beta,
+ * log-normal and Poisson deviates built on them, using the {@link ZigguratSampler
+ * ziggurat method}. This is several times faster, but the sequences generated
+ * differ from the ones of instances without the flag, which use the algorithms
+ * of the underlying generator.
+ * </p>
  */
 public class RandomDataGenerator extends ForwardingRandomGenerator
     implements RandomGenerator, Serializable {
@@ -93,6 +101,9 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
     /** Source of random data */
     private final RandomGenerator randomGenerator;
 
+    /** Indicator for ziggurat generation of normal and exponential deviates. */
+    private final boolean ziggurat;
+
     /** The sampler to be used for the nextZipF method */
     private transient ZipfRejectionInversionSampler zipfSampler;
 
@@ -249,6 +260,20 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
     private RandomDataGenerator(RandomGenerator randomGenerator) {
         MathUtils.checkNotNull(randomGenerator);
         this.randomGenerator = randomGenerator;
+        this.ziggurat        = false;
+    }
+
+    /**
+     * Construct a RandomDataGenerator using the given RandomGenerator as its source of random data.
+     *
+     * @param randomGenerator the underlying PRNG
+     * @param ziggurat if true, normal and exponential deviates are generated using the ziggurat method
+     * @throws MathIllegalArgumentException if randomGenerator is null
+     */
+    private RandomDataGenerator(RandomGenerator randomGenerator, boolean ziggurat) {
+        MathUtils.checkNotNull(randomGenerator);
+        this.randomGenerator = randomGenerator;
+        this.ziggurat        = ziggurat;
     }
 
     /**
@@ -263,12 +288,59 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
         return new RandomDataGenerator(randomGenerator);
     }
 
+    /**
+     * Factory method to create a {@code RandomData} instance using the supplied
+     * {@code RandomGenerator}, optionally using the ziggurat method.
+     * <p>
+     * With the ziggurat method, {@link #nextGaussian()}, {@link #nextNormal(double, double)},
+     * {@link #nextExponential(double)}, {@link #nextGamma(double, double)},
+     * {@link #nextBeta(double, double)}, {@link #nextLogNormal(double, double)} and
+     * {@link #nextPoisson(double)} are several times faster, but they generate different
+     * sequences than instances created without it, even for the same seed.
+     * </p>
+     *
+     * @param randomGenerator source of random bits
+     * @param ziggurat if true, normal and exponential deviates are generated using
+     * the {@link ZigguratSampler ziggurat method}
+     * @return a RandomData using the given RandomGenerator to source bits
+     * @throws MathIllegalArgumentException if randomGenerator is null
+     * @since 4.0
+     */
+    public static RandomDataGenerator of(RandomGenerator randomGenerator, boolean ziggurat) {
+        return new RandomDataGenerator(randomGenerator, ziggurat);
+    }
+
+    /**
+     * Check if normal and exponential deviates are generated using the ziggurat method.
+     *
+     * @return true if normal and exponential deviates are generated using the ziggurat method
+     * @since 4.0
+     */
+    public boolean isZiggurat() {
+        return ziggurat;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RandomGenerator delegate() {
         return randomGenerator;
     }
 
+    /**
+     * Returns the next pseudo-random, standard normally distributed deviate.
+     * <p>
+     * If this instance {@link #isZiggurat() uses the ziggurat method}, the deviate
+     * is generated by {@link ZigguratSampler#nextGaussian(RandomGenerator)}, otherwise
+     * it is generated by the underlying generator.
+     * </p>
+     * @return standard normally distributed deviate
+     * @since 4.0
+     */
+    @Override
+    public double nextGaussian() {
+        return ziggurat ? ZigguratSampler.nextGaussian(randomGenerator) : randomGenerator.nextGaussian();
+    }
+
     /**
      * Returns the next pseudo-random beta-distributed value with the given
      * shape and scale parameters.
@@ -278,6 +350,12 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
      * @return beta-distributed random deviate
      */
     public double nextBeta(double alpha, double beta) {
+        if (ziggurat && alpha > 1 && beta > 1) {
+            // ratio of gamma deviates, which are fast for shapes greater than 1
+            final double x = nextGamma(alpha, 1);
+            final double y = nextGamma(beta, 1);
+            return x / (x + y);
+        }
         return ChengBetaSampler.sample(randomGenerator, alpha, beta);
     }
 
@@ -291,6 +369,9 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
         if (mean <= 0) {
             throw new MathIllegalArgumentException(LocalizedCoreFormats.MEAN, mean);
         }
+        if (ziggurat) {
+            return mean * ZigguratSampler.nextExponential(randomGenerator);
+        }
         // Step 1:
         double a = 0;
         double u = randomGenerator.nextDouble();
@@ -338,6 +419,13 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
      */
     public double nextGamma(double shape, double scale) {
         if (shape < 1) {
+            if (ziggurat) {
+                // G. Marsaglia and W. W. Tsang boosting: if X ~ Gamma(shape + 1, 1)
+                // and U ~ Uniform(0, 1), then X U^(1/shape) ~ Gamma(shape, 1)
+                final double u = 1.0 - randomGenerator.nextDouble();
+                return nextGamma(shape + 1, scale) * FastMath.exp(FastMath.log(u) / shape);
+            }
+
             // [1]: p. 228, Algorithm GS
 
             while (true) {
@@ -380,7 +468,7 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
         final double c = 1 / (3 * FastMath.sqrt(d));
 
         while (true) {
-            final double x = randomGenerator.nextGaussian();
+            final double x = nextGaussian();
             final double v = (1 + c * x) * (1 + c * x) * (1 + c * x);
 
             if (v <= 0) {
@@ -483,7 +571,7 @@ public class RandomDataGenerator extends ForwardingRandomGenerator
             for (;;) {
                 final double u = randomGenerator.nextDouble();
                 if (u <= p1) {
-                    final double n = randomGenerator.nextGaussian();
+                    final double n = nextGaussian();
                     x = n * FastMath.sqrt(lambda + halfDelta) - 0.5d;
                     if (x > delta || x < -lambda) {
                         continue;
@@ -24,6 +24,8 @@ package org.hipparchus.util;
 import java.io.Serializable;
 import java.util.Arrays;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 
 
@@ -116,6 +118,120 @@ public class KthSelector implements Serializable {
         return work[k];
     }
 
+    /**
+     * Select several K<sup>th</sup> values in the array at once.
+     * <p>
+     * After the call, for each index k in {@code indices}, {@code work[k]} holds
+     * the value {@link #select(double[], int[], int) select(work, pivotsHeap, k)}
+     * would return. All values are found in a single recursive partitioning pass
+     * that only descends into partitions containing requested indices, which is
+     * faster than selecting them one at a time.
+     * </p>
+     *
+     * @param work work array to use to find out the K<sup>th</sup> values
+     * @param length number of leading elements of the work array to consider
+     * @param pivotsHeap cached pivots heap that can be used for efficient estimation
+     * (may be null)
+     * @param indices indices whose values in the array are of interest, in any order
+     * @throws MathIllegalArgumentException if length is larger than the work array
+     * or if one index is not in the [0, length - 1] range
+     * @since 4.0
+     */
+    public void selectAll(final double[] work, final int length,
+                          final int[] pivotsHeap, final int... indices)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(work);
+        MathUtils.checkNotNull(indices);
+        if (length < 0 || length > work.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   length, 0, work.length);
+        }
+        final int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        for (final int k : sorted) {
+            if (k < 0 || k >= length) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                       k, 0, length - 1);
+            }
+        }
+        selectAll(work, 0, length, 0, pivotsHeap, sorted, 0, sorted.length);
+    }
+
+    /**
+     * Select several K<sup>th</sup> values in an array slice.
+     *
+     * @param work work array
+     * @param begin index of the first element of the slice of work array
+     * @param end index after the last element of the slice of work array
+     * @param node index of the slice partitioning pivot in the pivots heap
+     * @param pivotsHeap cached pivots heap (may be null)
+     * @param sorted sorted indices
+     * @param from index of the first index in the slice
+     * @param to index after the last index in the slice
+     */
+    private void selectAll(final double[] work, final int begin, final int end, final int node,
+                           final int[] pivotsHeap, final int[] sorted, final int from, final int to) {
+
+        final boolean usePivotsHeap = pivotsHeap != null;
+        int b    = begin;
+        int e    = end;
+        int n    = node;
+        int f    = from;
+        int t    = to;
+        while (f < t) {
+
+            if (e - b <= MIN_SELECT_SIZE) {
+                Arrays.sort(work, b, e);
+                return;
+            }
+
+            final int pivot;
+            if (usePivotsHeap && n < pivotsHeap.length && pivotsHeap[n] >= 0) {
+                // the pivot has already been found in a previous call
+                // and the array has already been partitioned around it
+                pivot = pivotsHeap[n];
+            } else {
+                // select a pivot and partition work array around it
+                pivot = partition(work, b, e, pivotingStrategy.pivotIndex(work, b, e));
+                if (usePivotsHeap && n < pivotsHeap.length) {
+                    pivotsHeap[n] = pivot;
+                }
+            }
+
+            // split the indices between left and right partitions,
+            // indices equal to the pivot are already at their final place
+            int lo = f;
+            while (lo < t && sorted[lo] < pivot) {
+                ++lo;
+            }
+            int hi = lo;
+            while (hi < t && sorted[hi] == pivot) {
+                ++hi;
+            }
+            final int leftNode  = FastMath.min(2 * n + 1, usePivotsHeap ? pivotsHeap.length : e);
+            final int rightNode = FastMath.min(2 * n + 2, usePivotsHeap ? pivotsHeap.length : e);
+
+            // recurse into the partition with fewer indices and loop on the other one,
+            // so recursion depth is logarithmic in the number of indices
+            if (lo - f <= t - hi) {
+                if (lo > f) {
+                    selectAll(work, b, pivot, leftNode, pivotsHeap, sorted, f, lo);
+                }
+                b = pivot + 1;
+                n = rightNode;
+                f = hi;
+            } else {
+                if (t > hi) {
+                    selectAll(work, pivot + 1, e, rightNode, pivotsHeap, sorted, hi, t);
+                }
+                e = pivot;
+                n = leftNode;
+                t = lo;
+            }
+
+        }
+    }
+
     /**
      * Partition an array slice around a pivot.Partitioning exchanges array
      * elements such that all elements smaller than pivot are before it and
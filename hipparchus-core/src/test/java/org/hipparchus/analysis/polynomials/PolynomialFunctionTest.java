@@ -22,6 +22,7 @@
 package org.hipparchus.analysis.polynomials;
 
 import org.hipparchus.UnitTestUtils;
+import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.random.RandomDataGenerator;
 import org.hipparchus.util.Binary64;
@@ -335,6 +336,36 @@ public final class PolynomialFunctionTest {
         });
     }
 
+    @Test
+    void testBatchValues() {
+        final PolynomialFunction p = new PolynomialFunction(new double[] { -1.5, 0.25, 3.0, -0.75, 0.125 });
+        final double[] x = new double[37];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = -3.0 + 0.17 * i;
+        }
+
+        // separate output array
+        final double[] out = new double[x.length];
+        p.value(x, out);
+        for (int i = 0; i < x.length; ++i) {
+            assertEquals(p.value(x[i]), out[i], 0.0);
+        }
+
+        // in-place evaluation
+        final double[] inPlace = x.clone();
+        p.value(inPlace, inPlace);
+        assertArrayEquals(out, inPlace, 0.0);
+
+        // default implementation from UnivariateFunction
+        final UnivariateFunction f = p::value;
+        final double[] viaDefault = new double[x.length];
+        f.value(x, viaDefault);
+        assertArrayEquals(out, viaDefault, 0.0);
+
+        assertThrows(MathIllegalArgumentException.class, () -> p.value(x, new double[x.length - 1]));
+        assertThrows(MathIllegalArgumentException.class, () -> f.value(x, new double[x.length + 1]));
+    }
+
     public void checkPolynomial(PolynomialFunction p, String reference) {
         assertEquals(reference, p.toString());
     }
@@ -28,6 +28,7 @@ import org.hipparchus.util.Binary64;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -138,6 +139,61 @@ class PolynomialSplineFunctionTest {
         }
     }
 
+    @Test
+    void testBatchValues() {
+        PolynomialSplineFunction spline =
+            new PolynomialSplineFunction(knots, polynomials);
+
+        // sorted points, including all knots and repeated points
+        double[] sorted = new double[25];
+        for (int i = 0; i < sorted.length; ++i) {
+            sorted[i] = knots[0] + (i / 2) * 0.25;
+        }
+        checkBatch(spline, sorted);
+
+        // reversed and random points
+        double[] reversed = new double[sorted.length];
+        for (int i = 0; i < sorted.length; ++i) {
+            reversed[i] = sorted[sorted.length - 1 - i];
+        }
+        checkBatch(spline, reversed);
+        Random random = new Random(0x2f6a3c1b9e08d754L);
+        double[] shuffled = new double[1000];
+        for (int i = 0; i < shuffled.length; ++i) {
+            shuffled[i] = knots[0] + random.nextDouble() * (knots[knots.length - 1] - knots[0]);
+        }
+        checkBatch(spline, shuffled);
+
+        // in-place evaluation
+        double[] inPlace = sorted.clone();
+        spline.value(inPlace, inPlace);
+        for (int i = 0; i < sorted.length; ++i) {
+            assertEquals(spline.value(sorted[i]), inPlace[i], 0.0);
+        }
+
+        try { // outside of domain
+            spline.value(new double[] { 0.5, 2.5 }, new double[2]);
+            fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+
+        try { // dimension mismatch
+            spline.value(new double[] { 0.5, 1.5 }, new double[1]);
+            fail("Expecting MathIllegalArgumentException");
+        } catch (MathIllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    private void checkBatch(final PolynomialSplineFunction spline, final double[] x) {
+        final double[] out = new double[x.length];
+        spline.value(x, out);
+        for (int i = 0; i < x.length; ++i) {
+            assertEquals(spline.value(x[i]), out[i], 0.0, "batch evaluation failed for x=" + x[i]);
+        }
+    }
+
     @Test
     void testIsValidPoint() {
         final PolynomialSplineFunction spline =
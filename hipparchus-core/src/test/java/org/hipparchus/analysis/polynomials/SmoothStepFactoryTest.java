@@ -41,6 +41,24 @@ class SmoothStepFactoryTest {
         });
     }
 
+    @Test
+    void testBatchExceptionOverBoundary() {
+        final SmoothStepFactory.SmoothStepFunction smoothstep = SmoothStepFactory.getGeneralOrder(1);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> smoothstep.value(new double[] { 0.25, 1.5 }, new double[2]));
+    }
+
+    @Test
+    void testBatchValues() {
+        final SmoothStepFactory.SmoothStepFunction smoothstep = SmoothStepFactory.getGeneralOrder(3);
+        final double[] x   = { 0.0, 0.1, 0.35, 0.5, 0.8, 1.0 };
+        final double[] out = new double[x.length];
+        smoothstep.value(x, out);
+        for (int i = 0; i < x.length; ++i) {
+            assertEquals(smoothstep.value(x[i]), out[i], THRESHOLD);
+        }
+    }
+
     @Test
     void testExceptionOverBoundary() {
         assertThrows(MathIllegalArgumentException.class, () -> {
@@ -32,11 +32,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -499,6 +502,51 @@ final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    void testParallelOperations() {
+        final int p = (7 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        final int q = (5 * BlockRealMatrix.BLOCK_SIZE) / 2;
+        final int r =  3 * BlockRealMatrix.BLOCK_SIZE + 3;
+        final Random random = new Random(0x2c8bc5a7e18c1e05l);
+        final BlockRealMatrix m1 = createRandomMatrix(random, p, q);
+        final BlockRealMatrix m2 = createRandomMatrix(random, q, r);
+        final BlockRealMatrix m3 = createRandomMatrix(random, r, q);
+        final BlockRealMatrix m4 = createRandomMatrix(random, p, q);
+        final double[] v = m3.getRow(0);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // results must be exactly identical to the serial ones
+            checkIdentical(m1.multiply(m2),           m1.multiply(m2, pool));
+            checkIdentical(m1.multiplyTransposed(m3), m1.multiplyTransposed(m3, pool));
+            checkIdentical(m1.add(m4),                m1.add(m4, pool));
+            checkIdentical(m1.subtract(m4),           m1.subtract(m4, pool));
+            assertArrayEquals(m1.operate(v), m1.operate(v, pool), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelOperationsWrongDimensions() {
+        final BlockRealMatrix m1 = new BlockRealMatrix(3, 2);
+        final BlockRealMatrix m2 = new BlockRealMatrix(3, 3);
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThrows(MathIllegalArgumentException.class, () -> m1.multiply(m2, pool));
+        assertThrows(MathIllegalArgumentException.class, () -> m1.multiplyTransposed(m2, pool));
+        assertThrows(MathIllegalArgumentException.class, () -> m1.add(m2, pool));
+        assertThrows(MathIllegalArgumentException.class, () -> m1.subtract(m2, pool));
+        assertThrows(MathIllegalArgumentException.class, () -> m1.operate(new double[3], pool));
+        assertThrows(NullArgumentException.class, () -> m1.multiply(m1.transpose(), null));
+    }
+
+    private void checkIdentical(final BlockRealMatrix expected, final BlockRealMatrix actual) {
+        assertEquals(expected.getRowDimension(),    actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            assertArrayEquals(expected.getRow(i), actual.getRow(i), 0.0);
+        }
+    }
+
     /** test issue MATH-209 */
     @Test
     void testMath209() {
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.hipparchus.linear.CompressedSparseRowRealMatrixTest.checkEquals;
+import static org.hipparchus.linear.CompressedSparseRowRealMatrixTest.createRandomSparse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressedSparseColumnRealMatrixTest {
+
+    @Test
+    void testCoordinates() {
+        final CompressedSparseColumnRealMatrix m =
+                        new CompressedSparseColumnRealMatrix(3, 4,
+                                                             new int[]    { 2,   0,   1,    2,   0,   1  },
+                                                             new int[]    { 3,   1,   0,    3,   2,   0  },
+                                                             new double[] { 1.0, 2.0, 3.0, -1.0, 4.0, 5.0 });
+        assertEquals(3, m.getRowDimension());
+        assertEquals(4, m.getColumnDimension());
+        assertEquals(3, m.getNonZeroCount());
+        assertEquals(2.0, m.getEntry(0, 1), 0.0);
+        assertEquals(4.0, m.getEntry(0, 2), 0.0);
+        assertEquals(8.0, m.getEntry(1, 0), 0.0);
+        assertEquals(0.0, m.getEntry(2, 3), 0.0);
+        assertArrayEquals(new double[] { 0.0, 8.0, 0.0 }, m.getColumn(0), 0.0);
+    }
+
+    @Test
+    void testSetEntries() {
+        final CompressedSparseColumnRealMatrix m = new CompressedSparseColumnRealMatrix(4, 3);
+        m.setEntry(3, 2, 1.5);
+        m.addToEntry(0, 2, 2.0);
+        m.addToEntry(3, 2, -1.5);
+        m.multiplyEntry(0, 2, 3.0);
+        assertEquals(1, m.getNonZeroCount());
+        assertEquals(6.0, m.getEntry(0, 2), 0.0);
+        assertEquals(0.0, m.getEntry(3, 2), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> m.setEntry(4, 0, 1.0));
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well19937a(0x4e6a3c2b1d0f9e8aL);
+        final RealMatrix reference = createRandomSparse(random, 21, 14, 0.2);
+        final CompressedSparseColumnRealMatrix m = new CompressedSparseColumnRealMatrix(reference);
+        final double[] v = new double[14];
+        final double[] w = new double[21];
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = random.nextDouble();
+        }
+        for (int i = 0; i < w.length; ++i) {
+            w[i] = random.nextDouble();
+        }
+        assertArrayEquals(reference.operate(v),     m.operate(v),     1.0e-14);
+        assertArrayEquals(reference.preMultiply(w), m.preMultiply(w), 1.0e-14);
+        assertArrayEquals(reference.preMultiply(w),
+                          m.operateTranspose(new ArrayRealVector(w)).toArray(), 1.0e-14);
+        assertThrows(MathIllegalArgumentException.class, () -> m.operate(w));
+    }
+
+    @Test
+    void testArithmetic() {
+        final RandomGenerator random = new Well19937a(0x1f2e3d4c5b6a7980L);
+        final RealMatrix a = createRandomSparse(random, 12, 16, 0.2);
+        final RealMatrix b = createRandomSparse(random, 12, 16, 0.2);
+        final RealMatrix c = createRandomSparse(random, 16, 9, 0.2);
+        final CompressedSparseColumnRealMatrix ma = new CompressedSparseColumnRealMatrix(a);
+        final CompressedSparseColumnRealMatrix mb = new CompressedSparseColumnRealMatrix(b);
+        final CompressedSparseColumnRealMatrix mc = new CompressedSparseColumnRealMatrix(c);
+        checkEquals(a.add(b),              ma.add(mb),                             1.0e-15);
+        checkEquals(a.subtract(b),         ma.subtract(mb),                        1.0e-15);
+        checkEquals(a.scalarMultiply(-3),  ma.scalarMultiply(-3),                  1.0e-15);
+        checkEquals(a.multiply(c),         ma.multiply(mc),                        1.0e-14);
+        checkEquals(a.multiply(c),         ma.multiply(mc.toCompressedSparseRow()), 1.0e-14);
+        checkEquals(a.multiply(c),         ma.multiply(c),                         1.0e-14);
+        checkEquals(a.transpose(),         ma.transpose(),                         0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> ma.multiply(mb));
+    }
+
+    @Test
+    void testSerial() {
+        final CompressedSparseColumnRealMatrix m =
+                        new CompressedSparseColumnRealMatrix(createRandomSparse(new Well19937a(0x5cL), 6, 8, 0.4));
+        assertEquals(m, UnitTestUtils.serializeAndRecover(m));
+    }
+
+}
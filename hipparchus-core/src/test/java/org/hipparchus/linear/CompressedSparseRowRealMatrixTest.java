@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedSparseRowRealMatrixTest {
+
+    @Test
+    void testCoordinates() {
+        final CompressedSparseRowRealMatrix m =
+                        new CompressedSparseRowRealMatrix(3, 4,
+                                                          new int[]    { 2,   0,   1,    2,   0,   1  },
+                                                          new int[]    { 3,   1,   0,    3,   2,   0  },
+                                                          new double[] { 1.0, 2.0, 3.0, -1.0, 4.0, 5.0 });
+        assertEquals(3, m.getRowDimension());
+        assertEquals(4, m.getColumnDimension());
+        // duplicates are summed up, zero entries are dropped
+        assertEquals(3, m.getNonZeroCount());
+        assertEquals(0.0, m.getEntry(0, 0), 0.0);
+        assertEquals(2.0, m.getEntry(0, 1), 0.0);
+        assertEquals(4.0, m.getEntry(0, 2), 0.0);
+        assertEquals(8.0, m.getEntry(1, 0), 0.0);
+        assertEquals(0.0, m.getEntry(2, 3), 0.0);
+    }
+
+    @Test
+    void testCoordinatesErrors() {
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new CompressedSparseRowRealMatrix(3, 4, new int[2], new int[3], new double[3]));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new CompressedSparseRowRealMatrix(3, 4, new int[3], new int[2], new double[3]));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new CompressedSparseRowRealMatrix(3, 4, new int[] { 3 }, new int[] { 0 }, new double[] { 1 }));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new CompressedSparseRowRealMatrix(3, 4, new int[] { 0 }, new int[] { -1 }, new double[] { 1 }));
+    }
+
+    @Test
+    void testSetEntries() {
+        final CompressedSparseRowRealMatrix m = new CompressedSparseRowRealMatrix(5, 6);
+        final RealMatrix reference = new Array2DRowRealMatrix(5, 6);
+        final RandomGenerator random = new Well19937a(0x7f4f6f17ad1ad5a4L);
+        for (int k = 0; k < 200; ++k) {
+            final int    i     = random.nextInt(5);
+            final int    j     = random.nextInt(6);
+            final double value = random.nextInt(4) - 1.0;
+            switch (random.nextInt(3)) {
+                case 0 :
+                    m.setEntry(i, j, value);
+                    reference.setEntry(i, j, value);
+                    break;
+                case 1 :
+                    m.addToEntry(i, j, value);
+                    reference.addToEntry(i, j, value);
+                    break;
+                default :
+                    m.multiplyEntry(i, j, value);
+                    reference.multiplyEntry(i, j, value);
+            }
+            checkEquals(reference, m, 0.0);
+        }
+        int nonZero = 0;
+        for (final double[] row : reference.getData()) {
+            for (final double x : row) {
+                if (x != 0.0) {
+                    ++nonZero;
+                }
+            }
+        }
+        assertEquals(nonZero, m.getNonZeroCount());
+        assertThrows(MathIllegalArgumentException.class, () -> m.setEntry(5, 0, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(0, 6));
+    }
+
+    @Test
+    void testConversions() {
+        final RandomGenerator random = new Well19937a(0x3b5b1fcd30a0f2c2L);
+        final RealMatrix reference = createRandomSparse(random, 17, 11, 0.2);
+        final OpenMapRealMatrix openMap = new OpenMapRealMatrix(17, 11);
+        for (int i = 0; i < 17; ++i) {
+            for (int j = 0; j < 11; ++j) {
+                openMap.setEntry(i, j, reference.getEntry(i, j));
+            }
+        }
+        final CompressedSparseRowRealMatrix fromDense   = new CompressedSparseRowRealMatrix(reference);
+        final CompressedSparseRowRealMatrix fromOpenMap = new CompressedSparseRowRealMatrix(openMap);
+        final CompressedSparseColumnRealMatrix csc      = fromDense.toCompressedSparseColumn();
+        checkEquals(reference, fromDense,   0.0);
+        checkEquals(reference, fromOpenMap, 0.0);
+        checkEquals(reference, csc,         0.0);
+        checkEquals(reference, new CompressedSparseRowRealMatrix(csc), 0.0);
+        checkEquals(reference, csc.toCompressedSparseRow(), 0.0);
+        checkEquals(reference.transpose(), fromDense.transpose(), 0.0);
+        assertEquals(fromDense.getNonZeroCount(), fromOpenMap.getNonZeroCount());
+        assertEquals(fromDense.getNonZeroCount(), csc.getNonZeroCount());
+
+        // copies are independent
+        final CompressedSparseRowRealMatrix copy = fromDense.copy();
+        copy.setEntry(0, 0, copy.getEntry(0, 0) + 1.0);
+        checkEquals(reference, fromDense, 0.0);
+        assertEquals(reference.getEntry(0, 0) + 1.0, copy.getEntry(0, 0), 0.0);
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well19937a(0xd1c1b4e2b65f3f6eL);
+        final RealMatrix reference = createRandomSparse(random, 23, 19, 0.15);
+        final CompressedSparseRowRealMatrix m = new CompressedSparseRowRealMatrix(reference);
+        final double[] v = new double[19];
+        final double[] w = new double[23];
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = random.nextDouble();
+        }
+        for (int i = 0; i < w.length; ++i) {
+            w[i] = random.nextDouble();
+        }
+        assertArrayEquals(reference.operate(v),    m.operate(v),    1.0e-14);
+        assertArrayEquals(reference.preMultiply(w), m.preMultiply(w), 1.0e-14);
+        assertArrayEquals(reference.operate(v),
+                          m.operate(new OpenMapRealVector(v)).toArray(), 1.0e-14);
+        assertArrayEquals(reference.preMultiply(w),
+                          m.operateTranspose(new ArrayRealVector(w)).toArray(), 1.0e-14);
+        assertTrue(m.isTransposable());
+        assertThrows(MathIllegalArgumentException.class, () -> m.operate(w));
+        assertThrows(MathIllegalArgumentException.class, () -> m.preMultiply(v));
+    }
+
+    @Test
+    void testAddSubtract() {
+        final RandomGenerator random = new Well19937a(0x2f3e5d7c9b1a0f8eL);
+        final RealMatrix a = createRandomSparse(random, 13, 9, 0.3);
+        final RealMatrix b = createRandomSparse(random, 13, 9, 0.3);
+        final CompressedSparseRowRealMatrix ma = new CompressedSparseRowRealMatrix(a);
+        final CompressedSparseRowRealMatrix mb = new CompressedSparseRowRealMatrix(b);
+        checkEquals(a.add(b),      ma.add(mb),      1.0e-15);
+        checkEquals(a.subtract(b), ma.subtract(mb), 1.0e-15);
+        checkEquals(a.add(b),      ma.add(b),       1.0e-15);
+        assertEquals(0, ma.subtract(ma).getNonZeroCount());
+        checkEquals(a.scalarMultiply(2.5), ma.scalarMultiply(2.5), 1.0e-15);
+        assertEquals(0, ma.scalarMultiply(0.0).getNonZeroCount());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> ma.add(new CompressedSparseRowRealMatrix(9, 13)));
+    }
+
+    @Test
+    void testMultiply() {
+        final RandomGenerator random = new Well19937a(0x6a8c2e1f3b5d7a90L);
+        final RealMatrix a = createRandomSparse(random, 31, 17, 0.1);
+        final RealMatrix b = createRandomSparse(random, 17, 25, 0.1);
+        final CompressedSparseRowRealMatrix ma = new CompressedSparseRowRealMatrix(a);
+        final CompressedSparseRowRealMatrix mb = new CompressedSparseRowRealMatrix(b);
+        final RealMatrix product = a.multiply(b);
+        checkEquals(product, ma.multiply(mb), 1.0e-14);
+        checkEquals(product, ma.multiply(mb.toCompressedSparseColumn()), 1.0e-14);
+        checkEquals(product, ma.multiply(b), 1.0e-14);
+        checkEquals(product, ma.multiply(new BlockRealMatrix(b.getData())), 1.0e-14);
+        checkEquals(a.multiplyTransposed(a), ma.multiplyTransposed(ma), 1.0e-14);
+        checkEquals(a.transposeMultiply(a), ma.transposeMultiply(ma), 1.0e-14);
+        assertThrows(MathIllegalArgumentException.class, () -> ma.multiply(ma));
+    }
+
+    @Test
+    void testConjugateGradient() {
+        // tridiagonal symmetric positive definite matrix
+        final int n = 200;
+        final int[]    rows    = new int[3 * n - 2];
+        final int[]    columns = new int[3 * n - 2];
+        final double[] entries = new double[3 * n - 2];
+        int k = 0;
+        for (int i = 0; i < n; ++i) {
+            rows[k]      = i;
+            columns[k]   = i;
+            entries[k++] = 4.0;
+            if (i > 0) {
+                rows[k]      = i;
+                columns[k]   = i - 1;
+                entries[k++] = -1.0;
+                rows[k]      = i - 1;
+                columns[k]   = i;
+                entries[k++] = -1.0;
+            }
+        }
+        final CompressedSparseRowRealMatrix a = new CompressedSparseRowRealMatrix(n, n, rows, columns, entries);
+        final RealVector x = new ArrayRealVector(n, 1.0);
+        final RealVector b = a.operate(x);
+        final RealVector solution = new ConjugateGradient(100, 1.0e-12, true).solve(a, b);
+        assertEquals(0.0, solution.subtract(x).getLInfNorm(), 1.0e-10);
+    }
+
+    @Test
+    void testSerial() {
+        final CompressedSparseRowRealMatrix m =
+                        new CompressedSparseRowRealMatrix(createRandomSparse(new Well19937a(0x4bL), 7, 5, 0.4));
+        assertEquals(m, UnitTestUtils.serializeAndRecover(m));
+    }
+
+    /** Check matrices are equal.
+     * @param expected expected matrix
+     * @param actual actual matrix
+     * @param tolerance tolerance on entries
+     */
+    static void checkEquals(final RealMatrix expected, final RealMatrix actual, final double tolerance) {
+        assertEquals(expected.getRowDimension(),    actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            assertArrayEquals(expected.getRow(i), actual.getRow(i), tolerance);
+        }
+    }
+
+    /** Create a random sparse matrix.
+     * @param random random generator
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param density fraction of non-zero entries
+     * @return random matrix, in dense storage
+     */
+    static RealMatrix createRandomSparse(final RandomGenerator random,
+                                         final int rows, final int columns, final double density) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                if (random.nextDouble() < density) {
+                    m.setEntry(i, j, 2 * random.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+
+}
@@ -22,6 +22,7 @@
 package org.hipparchus.random;
 
 import org.hipparchus.UnitTestUtils;
+import org.hipparchus.distribution.RealDistribution;
 import org.hipparchus.distribution.continuous.BetaDistribution;
 import org.hipparchus.distribution.continuous.EnumeratedRealDistribution;
 import org.hipparchus.distribution.continuous.ExponentialDistribution;
@@ -38,6 +39,7 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.DoubleSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -640,6 +642,48 @@ public class RandomDataGeneratorTest {
         UnitTestUtils.customAssertChiSquareAccept(expected, counts, 0.001);
     }
 
+    @Test
+    void testDefaultGaussianStream() {
+        // without the ziggurat flag, the gaussian sequence is the one of the underlying generator
+        final RandomGenerator reference = new Well19937c(1000);
+        final RandomDataGenerator generator = RandomDataGenerator.of(new Well19937c(1000));
+        assertFalse(generator.isZiggurat());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextGaussian(), generator.nextGaussian(), 0.0);
+        }
+    }
+
+    @Test
+    void testZiggurat() {
+        final RandomDataGenerator generator = RandomDataGenerator.of(new Well19937c(1000), true);
+        assertTrue(generator.isZiggurat());
+        checkQuartiles(new NormalDistribution(0, 1),      () -> generator.nextGaussian());
+        checkQuartiles(new NormalDistribution(3, 2),      () -> generator.nextNormal(3, 2));
+        checkQuartiles(new ExponentialDistribution(5),    () -> generator.nextExponential(5));
+        checkQuartiles(new GammaDistribution(4, 2),       () -> generator.nextGamma(4, 2));
+        checkQuartiles(new GammaDistribution(0.3, 3),     () -> generator.nextGamma(0.3, 3));
+        checkQuartiles(new BetaDistribution(2, 5),        () -> generator.nextBeta(2, 5));
+        checkQuartiles(new BetaDistribution(0.5, 3),      () -> generator.nextBeta(0.5, 3));
+
+        // large mean Poisson deviates use normal deviates
+        final double lambda = 1000;
+        final int    n      = 10000;
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += generator.nextPoisson(lambda);
+        }
+        assertEquals(lambda, sum / n, 4 * FastMath.sqrt(lambda / n));
+    }
+
+    private void checkQuartiles(final RealDistribution distribution, final DoubleSupplier sampler) {
+        final double[] quartiles = UnitTestUtils.getDistributionQuartiles(distribution);
+        final long[] counts = new long[4];
+        for (int i = 0; i < 1000; i++) {
+            UnitTestUtils.updateCounts(sampler.getAsDouble(), counts, quartiles);
+        }
+        UnitTestUtils.customAssertChiSquareAccept(expected, counts, 0.001);
+    }
+
     /** test reseeding, algorithm/provider games */
     @Test
     void testConfig() {
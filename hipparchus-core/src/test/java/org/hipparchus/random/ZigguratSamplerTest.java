@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.random;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.distribution.RealDistribution;
+import org.hipparchus.distribution.continuous.ExponentialDistribution;
+import org.hipparchus.distribution.continuous.NormalDistribution;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ZigguratSamplerTest {
+
+    @Test
+    void testGaussianDistribution() {
+        checkDistribution(new NormalDistribution(0, 1), ZigguratSampler::nextGaussian);
+    }
+
+    @Test
+    void testExponentialDistribution() {
+        checkDistribution(new ExponentialDistribution(1), ZigguratSampler::nextExponential);
+    }
+
+    @Test
+    void testGaussianTail() {
+        // the tail beyond 3.442619855899 is handled by a separate algorithm
+        checkTail(new NormalDistribution(0, 1), ZigguratSampler::nextGaussian, 3.5);
+        checkTail(new NormalDistribution(0, 1), g -> -ZigguratSampler.nextGaussian(g), 3.5);
+    }
+
+    @Test
+    void testExponentialTail() {
+        // the tail beyond 7.697117470131487 is handled by a separate algorithm
+        checkTail(new ExponentialDistribution(1), ZigguratSampler::nextExponential, 8.0);
+    }
+
+    @Test
+    void testReproducible() {
+        final RandomGenerator g1 = new Well19937c(0x8b3ae0bdd5c87a4eL);
+        final RandomGenerator g2 = new Well19937c(0x8b3ae0bdd5c87a4eL);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ZigguratSampler.nextGaussian(g1),    ZigguratSampler.nextGaussian(g2),    0.0);
+            assertEquals(ZigguratSampler.nextExponential(g1), ZigguratSampler.nextExponential(g2), 0.0);
+        }
+    }
+
+    /** Check sample frequencies on 20 equiprobable bins. */
+    private void checkDistribution(final RealDistribution distribution,
+                                   final ToDoubleFunction<RandomGenerator> sampler) {
+        final int      nBins      = 20;
+        final int      sampleSize = 100000;
+        final double[] bounds     = new double[nBins - 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = distribution.inverseCumulativeProbability((i + 1.0) / nBins);
+        }
+        final double[] expected = new double[nBins];
+        Arrays.fill(expected, ((double) sampleSize) / nBins);
+        final long[] observed = new long[nBins];
+        final RandomGenerator generator = new Well19937c(0x3d2c4f1e8b7a6950L);
+        for (int i = 0; i < sampleSize; i++) {
+            final int index = Arrays.binarySearch(bounds, sampler.applyAsDouble(generator));
+            ++observed[index < 0 ? -index - 1 : index];
+        }
+        UnitTestUtils.customAssertChiSquareAccept(expected, observed, 0.001);
+    }
+
+    /** Check tail probability beyond a threshold. */
+    private void checkTail(final RealDistribution distribution,
+                           final ToDoubleFunction<RandomGenerator> sampler,
+                           final double threshold) {
+        final int sampleSize = 2000000;
+        final RandomGenerator generator = new Well19937c(0x7e1f4a9c2b3d5e60L);
+        int count = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            if (sampler.applyAsDouble(generator) > threshold) {
+                ++count;
+            }
+        }
+        final double p     = 1.0 - distribution.cumulativeProbability(threshold);
+        final double mean  = p * sampleSize;
+        final double sigma = FastMath.sqrt(mean * (1 - p));
+        assertEquals(mean, count, 4 * sigma);
+    }
+
+}
@@ -16,12 +16,14 @@
  */
 package org.hipparchus.util;
 
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class KthSelectorTest {
 
@@ -53,4 +55,60 @@ class KthSelectorTest {
             }
         }
     }
+
+    @Test
+    void testSelectAll() {
+        final Random rnd = new Random(0);
+        for (int i = 0; i < 2000; ++i) {
+
+            final int dataSize = 1 + rnd.nextInt(2000);
+            final double[] data = new double[dataSize];
+            for (int j = 0; j < dataSize; ++j) {
+                // many duplicates to exercise equal pivots
+                data[j] = rnd.nextInt(dataSize / 4 + 1);
+            }
+            final double[] dataSorted = Arrays.copyOf(data, data.length);
+            Arrays.sort(dataSorted);
+
+            final int[] indices = new int[1 + rnd.nextInt(6)];
+            for (int j = 0; j < indices.length; ++j) {
+                indices[j] = rnd.nextInt(dataSize);
+            }
+
+            final int[] pivotsHeap = new int[(i % 2 == 0) ? 1023 : 3];
+            Arrays.fill(pivotsHeap, -1);
+            final double[] work = Arrays.copyOf(data, data.length);
+            final KthSelector selector = new KthSelector(PivotingStrategy.values()[i % PivotingStrategy.values().length]);
+            selector.selectAll(work, work.length, i % 3 == 0 ? null : pivotsHeap, indices);
+            for (final int k : indices) {
+                assertEquals(dataSorted[k], work[k], 0.0);
+            }
+
+            // the partitioned array and pivots remain usable for further selections
+            for (int j = 0; j < 5; ++j) {
+                final int k = rnd.nextInt(dataSize);
+                assertEquals(dataSorted[k], selector.select(work, i % 3 == 0 ? null : pivotsHeap, k), 0.0);
+            }
+
+        }
+    }
+
+    @Test
+    void testSelectAllPrefix() {
+        final double[] work = { 9, 8, 7, 6, 5, 4, 3, 2, 1, 0, -1, -2, -3, -4, -5, -6, -7, -8, -9, -10, 100, 200 };
+        new KthSelector().selectAll(work, 20, null, 0, 19, 10);
+        assertEquals(-10, work[0], 0.0);
+        assertEquals(0, work[10], 0.0);
+        assertEquals(9, work[19], 0.0);
+        assertEquals(100, work[20], 0.0);
+        assertEquals(200, work[21], 0.0);
+    }
+
+    @Test
+    void testSelectAllErrors() {
+        final double[] work = new double[10];
+        assertThrows(MathIllegalArgumentException.class, () -> new KthSelector().selectAll(work, 11, null, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> new KthSelector().selectAll(work, 5, null, 5));
+        assertThrows(MathIllegalArgumentException.class, () -> new KthSelector().selectAll(work, 5, null, -1));
+    }
 }
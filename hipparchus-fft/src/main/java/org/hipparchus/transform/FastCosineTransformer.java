@@ -26,8 +26,8 @@ import java.io.Serializable;
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
-import org.hipparchus.util.ArithmeticUtils;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.SinCos;
 
@@ -61,9 +61,12 @@ import org.hipparchus.util.SinCos;
  * &nbsp;&nbsp;&nbsp;&nbsp;k = 0, &hellip;, N-1.
  * <p>
  * The present implementation of the discrete cosine transform as a fast cosine
- * transform requires the length of the data set to be a power of two plus one
- * (N&nbsp;=&nbsp;2<sup>n</sup>&nbsp;+&nbsp;1). Besides, it implicitly assumes
- * that the sampled function is even.
+ * transform accepts any data set with at least two elements. It is fastest when
+ * N&nbsp;-&nbsp;1 is even, as a real Fourier transform of size N&nbsp;-&nbsp;1 is
+ * used, and it is fastest of all when N&nbsp;-&nbsp;1 is a power of two. When
+ * N&nbsp;-&nbsp;1 is odd, the Fourier transform of the extended data set is
+ * computed directly. Besides, it implicitly assumes that the sampled function
+ * is even.
  *
  */
 public class FastCosineTransformer implements RealTransformer, Serializable {
@@ -88,8 +91,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
     /**
      * {@inheritDoc}
      *
-     * @throws MathIllegalArgumentException if the length of the data array is
-     * not a power of two plus one
+     * @throws MathIllegalArgumentException if the data array has less than two elements
      */
     @Override
     public double[] transform(final double[] f, final TransformType type)
@@ -119,7 +121,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
      * @throws org.hipparchus.exception.MathIllegalArgumentException
      * if the number of sample points is negative
      * @throws MathIllegalArgumentException if the number of sample points is
-     * not a power of two plus one
+     * less than two
      */
     @Override
     public double[] transform(final UnivariateFunction f,
@@ -135,8 +137,7 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
      *
      * @param f the real data array to be transformed
      * @return the real transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is
-     * not a power of two plus one
+     * @throws MathIllegalArgumentException if the data array has less than two elements
      */
     protected double[] fct(double[] f)
         throws MathIllegalArgumentException {
@@ -144,15 +145,31 @@ public class FastCosineTransformer implements RealTransformer, Serializable {
         final double[] transformed = new double[f.length];
 
         final int n = f.length - 1;
-        if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_POWER_OF_TWO_PLUS_ONE,
-                                                   Integer.valueOf(f.length));
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   f.length, 2);
         }
         if (n == 1) {       // trivial case
             transformed[0] = 0.5 * (f[0] + f[1]);
             transformed[1] = 0.5 * (f[0] - f[1]);
             return transformed;
         }
+        if (n % 2 == 1) {
+            // transform the even extension of the data set directly
+            final double[] x = new double[2 * n];
+            for (int i = 0; i <= n; i++) {
+                x[i] = f[i];
+            }
+            for (int i = n + 1; i < 2 * n; i++) {
+                x[i] = f[2 * n - i];
+            }
+            final FastFourierTransformer transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+            final Complex[] y = transformer.transform(x, TransformType.FORWARD);
+            for (int i = 0; i <= n; i++) {
+                transformed[i] = 0.5 * y[i].getReal();
+            }
+            return transformed;
+        }
 
         // construct a new array and perform FFT on it
         final double[] x = new double[n];
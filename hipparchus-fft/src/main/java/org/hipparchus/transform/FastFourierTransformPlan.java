@@ -0,0 +1,811 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.util.ArithmeticUtils;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Precomputed plan for Fast Fourier Transforms of a fixed size.
+ * <p>
+ * A plan computes once the twiddle factors and permutations for its size,
+ * and reuses them for all transforms. All transforms are performed in place
+ * in caller-supplied arrays. Plans are immutable and hence can be shared
+ * between threads.
+ * </p>
+ * <p>
+ * Any size is supported. Sizes that are powers of two use a radix-2 algorithm
+ * that does not allocate any memory during transforms. Sizes whose only prime
+ * factors are 2, 3 and 5 use a mixed-radix (2, 3, 4, 5) self-sorting algorithm.
+ * Other sizes use Bluestein's algorithm, which expresses the transform as a
+ * convolution computed by power of two transforms. These last two algorithms
+ * allocate one work array per transform.
+ * </p>
+ * <p>
+ * Complex data are stored interleaved: {@code data[2 * k]} is the real part
+ * and {@code data[2 * k + 1]} is the imaginary part of the {@code k}-th point.
+ * </p>
+ * <p>
+ * Real data are transformed into a packed half spectrum of the same length
+ * {@code n}, using a complex transform of size {@code n / 2}, so {@code n}
+ * must be even (or 1) for real transforms. As the spectrum {@code X} of a
+ * real signal is Hermitian ({@code X[n - k] = conj(X[k])}), only the points
+ * {@code 0} to {@code n / 2} are stored:
+ * </p>
+ * <ul>
+ *   <li>{@code data[0]} is {@code X[0]} (which is real),</li>
+ *   <li>{@code data[1]} is {@code X[n / 2]} (which is real),</li>
+ *   <li>{@code data[2 * k]} and {@code data[2 * k + 1]} are the real and
+ *   imaginary parts of {@code X[k]}, for {@code 0 < k < n / 2}.</li>
+ * </ul>
+ * <p>
+ * Normalization conventions are the same as in {@link FastFourierTransformer}.
+ * </p>
+ *
+ * @see FastFourierTransformer#createPlan(int)
+ * @since 4.0
+ */
+public class FastFourierTransformPlan implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20241017L;
+
+    /** Cosine of 2&pi;/5. */
+    private static final double C51 = FastMath.cos(0.4 * FastMath.PI);
+
+    /** Cosine of 4&pi;/5. */
+    private static final double C52 = FastMath.cos(0.8 * FastMath.PI);
+
+    /** Sine of 2&pi;/5. */
+    private static final double S51 = FastMath.sin(0.4 * FastMath.PI);
+
+    /** Sine of 4&pi;/5. */
+    private static final double S52 = FastMath.sin(0.8 * FastMath.PI);
+
+    /** Sine of &pi;/3. */
+    private static final double S3 = FastMath.sqrt(0.75);
+
+    /** Size of the transform. */
+    private final int n;
+
+    /** Normalization to apply. */
+    private final DftNormalization normalization;
+
+    /** Cosines of twiddle factors: cos(2 &pi; k / n) for 0 &le; k &lt; n. */
+    private final double[] cos;
+
+    /** Sines of twiddle factors: sin(2 &pi; k / n) for 0 &le; k &lt; n. */
+    private final double[] sin;
+
+    /** Bit reversal swaps for power of two sizes (pairs of interleaved indices, null otherwise). */
+    private final int[] swaps;
+
+    /** Radix factors for mixed-radix sizes (null otherwise). */
+    private final int[] factors;
+
+    /** Power of two plan for Bluestein convolutions (null if not needed). */
+    private final FastFourierTransformPlan convolution;
+
+    /** Bluestein chirp: exp(-i &pi; k<sup>2</sup> / n), interleaved (null if not needed). */
+    private final double[] chirp;
+
+    /** Scaled spectrum of the Bluestein convolution kernel, interleaved (null if not needed). */
+    private final double[] kernel;
+
+    /** Plan of half size for real transforms (null if size is odd). */
+    private final FastFourierTransformPlan half;
+
+    /**
+     * Creates a new plan.
+     *
+     * @param n size of the transforms (number of complex points for complex
+     * transforms, number of real points for real transforms)
+     * @param normalization the type of normalization to be applied to the
+     * transformed data
+     * @throws MathIllegalArgumentException if {@code n} is not strictly positive
+     */
+    public FastFourierTransformPlan(final int n, final DftNormalization normalization)
+        throws MathIllegalArgumentException {
+        this(n, normalization, true);
+    }
+
+    /**
+     * Creates a new plan.
+     *
+     * @param n size of the transforms
+     * @param normalization the type of normalization to be applied to the
+     * transformed data
+     * @param realSupport if true, prepare the plan for real transforms
+     * @throws MathIllegalArgumentException if {@code n} is not strictly positive
+     */
+    FastFourierTransformPlan(final int n, final DftNormalization normalization,
+                             final boolean realSupport)
+        throws MathIllegalArgumentException {
+
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, n, 1);
+        }
+        MathUtils.checkNotNull(normalization);
+
+        this.n             = n;
+        this.normalization = normalization;
+
+        // twiddle factors
+        this.cos = new double[n];
+        this.sin = new double[n];
+        final double[] cs = new double[2];
+        for (int k = 0; k < n; ++k) {
+            unitRoot(k, n, cs);
+            cos[k] = cs[0];
+            sin[k] = cs[1];
+        }
+
+        if (ArithmeticUtils.isPowerOfTwo(n)) {
+            swaps       = bitReversalSwaps(n);
+            factors     = null;
+            convolution = null;
+            chirp       = null;
+            kernel      = null;
+        } else {
+            swaps = null;
+            final int[] radices = radixFactors(n);
+            if (radices != null) {
+                factors     = radices;
+                convolution = null;
+                chirp       = null;
+                kernel      = null;
+            } else {
+                factors     = null;
+                final int m = Integer.highestOneBit(2 * n - 1) << 1;
+                convolution = new FastFourierTransformPlan(m, DftNormalization.STANDARD, false);
+                chirp       = new double[2 * n];
+                kernel      = new double[2 * m];
+                for (int k = 0; k < n; ++k) {
+                    // exp(-i π k² / n) = exp(-2 i π (k² mod 2n) / 2n)
+                    unitRoot((long) k * k % (2L * n), 2L * n, cs);
+                    chirp[2 * k]     = cs[0];
+                    chirp[2 * k + 1] = -cs[1];
+                    kernel[2 * k]     = cs[0];
+                    kernel[2 * k + 1] = cs[1];
+                    if (k > 0) {
+                        kernel[2 * (m - k)]     = cs[0];
+                        kernel[2 * (m - k) + 1] = cs[1];
+                    }
+                }
+                convolution.fft(kernel, false);
+                final double scale = 1.0 / m;
+                for (int i = 0; i < kernel.length; ++i) {
+                    kernel[i] *= scale;
+                }
+            }
+        }
+
+        half = (realSupport && n % 2 == 0) ? new FastFourierTransformPlan(n / 2, normalization, false) : null;
+
+    }
+
+    /** Get the size of the transforms.
+     * @return size of the transforms
+     */
+    public int getSize() {
+        return n;
+    }
+
+    /** Get the normalization applied to transformed data.
+     * @return normalization applied to transformed data
+     */
+    public DftNormalization getNormalization() {
+        return normalization;
+    }
+
+    /**
+     * Computes in place the (forward, inverse) transform of complex data.
+     *
+     * @param data interleaved real and imaginary parts of the data
+     * (length must be {@code 2 * n})
+     * @param type the type of transform (forward, inverse) to be performed
+     * @throws MathIllegalArgumentException if data length is not {@code 2 * n}
+     */
+    public void transform(final double[] data, final TransformType type)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(data.length, 2 * n);
+        final boolean inverse = type == TransformType.INVERSE;
+        fft(data, inverse);
+        scale(data, normalizationFactor(inverse));
+    }
+
+    /**
+     * Computes in place the forward transform of real data.
+     * <p>
+     * On output, the array contains the packed half spectrum, as described
+     * in the class documentation.
+     * </p>
+     *
+     * @param data real data on input, packed half spectrum on output
+     * (length must be {@code n})
+     * @throws MathIllegalArgumentException if data length is not {@code n},
+     * or if {@code n} is odd and larger than 1
+     */
+    public void transformReal(final double[] data)
+        throws MathIllegalArgumentException {
+
+        checkRealLength(data);
+        if (n == 1) {
+            scale(data, normalizationFactor(false));
+            return;
+        }
+
+        // transform the even/odd samples as one complex signal of half size
+        final int h = n / 2;
+        half.fft(data, false);
+
+        // split the spectrum of the combined signal
+        final double z0R = data[0];
+        final double z0I = data[1];
+        data[0] = z0R + z0I;
+        data[1] = z0R - z0I;
+        for (int k = 1; 2 * k <= h; ++k) {
+            final int    i   = 2 * k;
+            final int    j   = 2 * (h - k);
+            final double aR  = data[i];
+            final double aI  = data[i + 1];
+            final double bR  = data[j];
+            final double bI  = -data[j + 1];
+            final double eR  = 0.5 * (aR + bR);
+            final double eI  = 0.5 * (aI + bI);
+            final double oR  = 0.5 * (aR - bR);
+            final double oI  = 0.5 * (aI - bI);
+            // t = -i W^k O, with W = exp(-2iπ/n)
+            final double wR  = cos[k];
+            final double wI  = -sin[k];
+            final double woR = wR * oR - wI * oI;
+            final double woI = wR * oI + wI * oR;
+            final double tR  = woI;
+            final double tI  = -woR;
+            // X[k] = E + t, X[h - k] = conj(E - t)
+            data[j]     = eR - tR;
+            data[j + 1] = tI - eI;
+            data[i]     = eR + tR;
+            data[i + 1] = eI + tI;
+        }
+
+        scale(data, normalizationFactor(false));
+
+    }
+
+    /**
+     * Computes in place the inverse transform of a packed half spectrum.
+     * <p>
+     * This method is the inverse of {@link #transformReal(double[])}.
+     * </p>
+     *
+     * @param data packed half spectrum on input, real data on output
+     * (length must be {@code n})
+     * @throws MathIllegalArgumentException if data length is not {@code n},
+     * or if {@code n} is odd and larger than 1
+     */
+    public void inverseTransformReal(final double[] data)
+        throws MathIllegalArgumentException {
+
+        checkRealLength(data);
+        if (n == 1) {
+            scale(data, normalizationFactor(true));
+            return;
+        }
+
+        // merge the half spectrum into the spectrum of a complex signal of half size
+        final int h = n / 2;
+        final double x0 = data[0];
+        final double xh = data[1];
+        data[0] = 0.5 * (x0 + xh);
+        data[1] = 0.5 * (x0 - xh);
+        for (int k = 1; 2 * k <= h; ++k) {
+            final int    i   = 2 * k;
+            final int    j   = 2 * (h - k);
+            final double aR  = data[i];
+            final double aI  = data[i + 1];
+            final double bR  = data[j];
+            final double bI  = -data[j + 1];
+            // E = (X[k] + conj(X[h - k])) / 2, t = (X[k] - conj(X[h - k])) / 2
+            final double eR  = 0.5 * (aR + bR);
+            final double eI  = 0.5 * (aI + bI);
+            final double tR  = 0.5 * (aR - bR);
+            final double tI  = 0.5 * (aI - bI);
+            // O = i conj(W^k) t, with W = exp(-2iπ/n)
+            final double wR  = cos[k];
+            final double wI  = sin[k];
+            final double wtR = wR * tR - wI * tI;
+            final double wtI = wR * tI + wI * tR;
+            final double oR  = -wtI;
+            final double oI  = wtR;
+            // Z[k] = E + O, Z[h - k] = conj(E - O)
+            data[j]     = eR - oR;
+            data[j + 1] = oI - eI;
+            data[i]     = eR + oR;
+            data[i + 1] = eI + oI;
+        }
+
+        // the inverse complex transform of half size interleaves even and odd samples
+        half.fft(data, true);
+
+        // the unnormalized inverse of size h is h times the standard inverse
+        scale(data, normalizationFactor(true) * n / h);
+
+    }
+
+    /** Check data length for real transforms.
+     * @param data data array
+     * @throws MathIllegalArgumentException if data length is not {@code n},
+     * or if {@code n} is odd and larger than 1
+     */
+    private void checkRealLength(final double[] data)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(data.length, n);
+        if (n > 1 && half == null) {
+            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_EVEN, n);
+        }
+    }
+
+    /** Get the normalization factor.
+     * @param inverse if true, the factor is for an inverse transform
+     * @return normalization factor
+     */
+    private double normalizationFactor(final boolean inverse) {
+        switch (normalization) {
+            case STANDARD:
+                return inverse ? 1.0 / n : 1.0;
+            case UNITARY:
+                return 1.0 / FastMath.sqrt(n);
+            default:
+                // This should never occur in normal conditions. However this
+                // clause has been added as a safeguard if other types of
+                // normalizations are ever implemented, and the corresponding
+                // test is forgotten in the present switch.
+                throw MathRuntimeException.createInternalError();
+        }
+    }
+
+    /** Scale data.
+     * @param data data to scale
+     * @param factor scaling factor
+     */
+    private static void scale(final double[] data, final double factor) {
+        if (factor != 1.0) {
+            for (int i = 0; i < data.length; ++i) {
+                data[i] *= factor;
+            }
+        }
+    }
+
+    /** Unnormalized in-place complex transform.
+     * @param data interleaved real and imaginary parts of the {@code n} points
+     * (may be longer than {@code 2 * n}, extra elements are ignored)
+     * @param inverse if true, the inverse transform is computed
+     */
+    void fft(final double[] data, final boolean inverse) {
+        if (swaps != null) {
+            radix2(data, inverse);
+        } else {
+            // the inverse transform is the conjugate of the forward transform of the conjugate
+            if (inverse) {
+                conjugate(data);
+            }
+            if (factors != null) {
+                mixedRadix(data);
+            } else {
+                bluestein(data);
+            }
+            if (inverse) {
+                conjugate(data);
+            }
+        }
+    }
+
+    /** Conjugate complex data in place.
+     * @param data interleaved real and imaginary parts of the {@code n} points
+     */
+    private void conjugate(final double[] data) {
+        for (int i = 1; i < 2 * n; i += 2) {
+            data[i] = -data[i];
+        }
+    }
+
+    /** Unnormalized in-place radix-2 complex transform.
+     * @param data interleaved real and imaginary parts
+     * @param inverse if true, the inverse transform is computed
+     */
+    private void radix2(final double[] data, final boolean inverse) {
+
+        // bit reversal permutation
+        for (int p = 0; p < swaps.length; p += 2) {
+            final int    i  = swaps[p];
+            final int    j  = swaps[p + 1];
+            final double tR = data[i];
+            final double tI = data[i + 1];
+            data[i]     = data[j];
+            data[i + 1] = data[j + 1];
+            data[j]     = tR;
+            data[j + 1] = tI;
+        }
+
+        // butterflies
+        final double sign = inverse ? 1.0 : -1.0;
+        for (int span = 1; span < n; span <<= 1) {
+            final int step   = n / (2 * span);
+            final int stride = 4 * span;
+            if (span < n / span) {
+                // many short groups: iterate over groups first
+                for (int start = 0; start < 2 * n; start += stride) {
+                    for (int m = 0; m < span; ++m) {
+                        butterfly(data, start + 2 * m, 2 * span, cos[m * step], sign * sin[m * step]);
+                    }
+                }
+            } else {
+                // few long groups: iterate over twiddle factors first
+                for (int m = 0; m < span; ++m) {
+                    final double wR = cos[m * step];
+                    final double wI = sign * sin[m * step];
+                    for (int a = 2 * m; a < 2 * n; a += stride) {
+                        butterfly(data, a, 2 * span, wR, wI);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /** Radix-2 butterfly.
+     * @param data interleaved real and imaginary parts
+     * @param a interleaved index of the first point
+     * @param offset interleaved offset of the second point
+     * @param wR real part of the twiddle factor
+     * @param wI imaginary part of the twiddle factor
+     */
+    private static void butterfly(final double[] data, final int a, final int offset,
+                                  final double wR, final double wI) {
+        final int    b  = a + offset;
+        final double bR = data[b];
+        final double bI = data[b + 1];
+        final double tR = wR * bR - wI * bI;
+        final double tI = wR * bI + wI * bR;
+        data[b]     = data[a]     - tR;
+        data[b + 1] = data[a + 1] - tI;
+        data[a]     += tR;
+        data[a + 1] += tI;
+    }
+
+    /** Unnormalized forward mixed-radix complex transform.
+     * <p>
+     * This is a self-sorting (Stockham) decimation in frequency algorithm,
+     * alternating between the data array and one work array.
+     * </p>
+     * @param data interleaved real and imaginary parts
+     */
+    private void mixedRadix(final double[] data) {
+        double[] x = data;
+        double[] y = new double[2 * n];
+        int length = n;
+        int stride = 1;
+        for (final int p : factors) {
+            final int m     = length / p;
+            final int tStep = n / length;
+            switch (p) {
+                case 2 :
+                    pass2(x, y, m, stride, tStep);
+                    break;
+                case 3 :
+                    pass3(x, y, m, stride, tStep);
+                    break;
+                case 4 :
+                    pass4(x, y, m, stride, tStep);
+                    break;
+                case 5 :
+                    pass5(x, y, m, stride, tStep);
+                    break;
+                default :
+                    // this should never happen
+                    throw MathRuntimeException.createInternalError();
+            }
+            final double[] tmp = x;
+            x       = y;
+            y       = tmp;
+            length  = m;
+            stride *= p;
+        }
+        if (x != data) {
+            System.arraycopy(x, 0, data, 0, 2 * n);
+        }
+    }
+
+    /** Store one output point of a mixed-radix pass, multiplied by a twiddle factor.
+     * @param y output array
+     * @param o interleaved index of the output point
+     * @param r real part of the point
+     * @param i imaginary part of the point
+     * @param t index of the twiddle factor exp(-2 i &pi; t / n)
+     */
+    private void store(final double[] y, final int o, final double r, final double i, final int t) {
+        final double c = cos[t];
+        final double s = sin[t];
+        y[o]     = r * c + i * s;
+        y[o + 1] = i * c - r * s;
+    }
+
+    /** Radix-2 pass of the mixed-radix transform.
+     * @param x input array
+     * @param y output array
+     * @param m size of the sub-transforms after this pass
+     * @param s stride of the sub-transforms before this pass
+     * @param tStep step between twiddle factors indices
+     */
+    private void pass2(final double[] x, final double[] y, final int m, final int s, final int tStep) {
+        for (int j = 0; j < m; ++j) {
+            final int t1 = j * tStep;
+            for (int q = 0; q < s; ++q) {
+                final int    i0 = 2 * (q + s * j);
+                final int    i1 = i0 + 2 * s * m;
+                final int    o  = 2 * (q + s * 2 * j);
+                final double aR = x[i0];
+                final double aI = x[i0 + 1];
+                final double bR = x[i1];
+                final double bI = x[i1 + 1];
+                y[o]     = aR + bR;
+                y[o + 1] = aI + bI;
+                store(y, o + 2 * s, aR - bR, aI - bI, t1);
+            }
+        }
+    }
+
+    /** Radix-3 pass of the mixed-radix transform.
+     * @param x input array
+     * @param y output array
+     * @param m size of the sub-transforms after this pass
+     * @param s stride of the sub-transforms before this pass
+     * @param tStep step between twiddle factors indices
+     */
+    private void pass3(final double[] x, final double[] y, final int m, final int s, final int tStep) {
+        for (int j = 0; j < m; ++j) {
+            final int t1 = j * tStep;
+            final int t2 = 2 * t1;
+            for (int q = 0; q < s; ++q) {
+                final int    i0 = 2 * (q + s * j);
+                final int    i1 = i0 + 2 * s * m;
+                final int    i2 = i1 + 2 * s * m;
+                final int    o  = 2 * (q + s * 3 * j);
+                final double a0R = x[i0];
+                final double a0I = x[i0 + 1];
+                final double tR  = x[i1]     + x[i2];
+                final double tI  = x[i1 + 1] + x[i2 + 1];
+                final double dR  = S3 * (x[i1]     - x[i2]);
+                final double dI  = S3 * (x[i1 + 1] - x[i2 + 1]);
+                final double cR  = a0R - 0.5 * tR;
+                final double cI  = a0I - 0.5 * tI;
+                y[o]     = a0R + tR;
+                y[o + 1] = a0I + tI;
+                // A1 = c - i d, A2 = c + i d
+                store(y, o + 2 * s, cR + dI, cI - dR, t1);
+                store(y, o + 4 * s, cR - dI, cI + dR, t2);
+            }
+        }
+    }
+
+    /** Radix-4 pass of the mixed-radix transform.
+     * @param x input array
+     * @param y output array
+     * @param m size of the sub-transforms after this pass
+     * @param s stride of the sub-transforms before this pass
+     * @param tStep step between twiddle factors indices
+     */
+    private void pass4(final double[] x, final double[] y, final int m, final int s, final int tStep) {
+        for (int j = 0; j < m; ++j) {
+            final int t1 = j * tStep;
+            final int t2 = 2 * t1;
+            final int t3 = 3 * t1;
+            for (int q = 0; q < s; ++q) {
+                final int    i0  = 2 * (q + s * j);
+                final int    i1  = i0 + 2 * s * m;
+                final int    i2  = i1 + 2 * s * m;
+                final int    i3  = i2 + 2 * s * m;
+                final int    o   = 2 * (q + s * 4 * j);
+                final double p02R = x[i0]     + x[i2];
+                final double p02I = x[i0 + 1] + x[i2 + 1];
+                final double m02R = x[i0]     - x[i2];
+                final double m02I = x[i0 + 1] - x[i2 + 1];
+                final double p13R = x[i1]     + x[i3];
+                final double p13I = x[i1 + 1] + x[i3 + 1];
+                final double m13R = x[i1]     - x[i3];
+                final double m13I = x[i1 + 1] - x[i3 + 1];
+                y[o]     = p02R + p13R;
+                y[o + 1] = p02I + p13I;
+                // A1 = (a0 - a2) - i (a1 - a3), A2 = (a0 + a2) - (a1 + a3), A3 = (a0 - a2) + i (a1 - a3)
+                store(y, o + 2 * s, m02R + m13I, m02I - m13R, t1);
+                store(y, o + 4 * s, p02R - p13R, p02I - p13I, t2);
+                store(y, o + 6 * s, m02R - m13I, m02I + m13R, t3);
+            }
+        }
+    }
+
+    /** Radix-5 pass of the mixed-radix transform.
+     * @param x input array
+     * @param y output array
+     * @param m size of the sub-transforms after this pass
+     * @param s stride of the sub-transforms before this pass
+     * @param tStep step between twiddle factors indices
+     */
+    private void pass5(final double[] x, final double[] y, final int m, final int s, final int tStep) {
+        for (int j = 0; j < m; ++j) {
+            final int t1 = j * tStep;
+            final int t2 = 2 * t1;
+            final int t3 = 3 * t1;
+            final int t4 = 4 * t1;
+            for (int q = 0; q < s; ++q) {
+                final int    i0  = 2 * (q + s * j);
+                final int    i1  = i0 + 2 * s * m;
+                final int    i2  = i1 + 2 * s * m;
+                final int    i3  = i2 + 2 * s * m;
+                final int    i4  = i3 + 2 * s * m;
+                final int    o   = 2 * (q + s * 5 * j);
+                final double a0R = x[i0];
+                final double a0I = x[i0 + 1];
+                final double t1R = x[i1]     + x[i4];
+                final double t1I = x[i1 + 1] + x[i4 + 1];
+                final double t2R = x[i2]     + x[i3];
+                final double t2I = x[i2 + 1] + x[i3 + 1];
+                final double d1R = x[i1]     - x[i4];
+                final double d1I = x[i1 + 1] - x[i4 + 1];
+                final double d2R = x[i2]     - x[i3];
+                final double d2I = x[i2 + 1] - x[i3 + 1];
+                final double c1R = a0R + C51 * t1R + C52 * t2R;
+                final double c1I = a0I + C51 * t1I + C52 * t2I;
+                final double c2R = a0R + C52 * t1R + C51 * t2R;
+                final double c2I = a0I + C52 * t1I + C51 * t2I;
+                final double e1R = S51 * d1R + S52 * d2R;
+                final double e1I = S51 * d1I + S52 * d2I;
+                final double e2R = S52 * d1R - S51 * d2R;
+                final double e2I = S52 * d1I - S51 * d2I;
+                y[o]     = a0R + t1R + t2R;
+                y[o + 1] = a0I + t1I + t2I;
+                // A1 = c1 - i e1, A4 = c1 + i e1, A2 = c2 - i e2, A3 = c2 + i e2
+                store(y, o + 2 * s, c1R + e1I, c1I - e1R, t1);
+                store(y, o + 4 * s, c2R + e2I, c2I - e2R, t2);
+                store(y, o + 6 * s, c2R - e2I, c2I + e2R, t3);
+                store(y, o + 8 * s, c1R - e1I, c1I + e1R, t4);
+            }
+        }
+    }
+
+    /** Unnormalized forward complex transform using Bluestein's algorithm.
+     * @param data interleaved real and imaginary parts
+     */
+    private void bluestein(final double[] data) {
+
+        // multiply by chirp and zero pad
+        final double[] work = new double[kernel.length];
+        for (int k = 0; k < 2 * n; k += 2) {
+            final double cR = chirp[k];
+            final double cI = chirp[k + 1];
+            work[k]     = data[k] * cR - data[k + 1] * cI;
+            work[k + 1] = data[k] * cI + data[k + 1] * cR;
+        }
+
+        // convolve with conjugate chirp
+        convolution.fft(work, false);
+        for (int k = 0; k < work.length; k += 2) {
+            final double wR = work[k];
+            final double wI = work[k + 1];
+            work[k]     = wR * kernel[k] - wI * kernel[k + 1];
+            work[k + 1] = wR * kernel[k + 1] + wI * kernel[k];
+        }
+        convolution.fft(work, true);
+
+        // multiply by chirp
+        for (int k = 0; k < 2 * n; k += 2) {
+            final double cR = chirp[k];
+            final double cI = chirp[k + 1];
+            data[k]     = work[k] * cR - work[k + 1] * cI;
+            data[k + 1] = work[k] * cI + work[k + 1] * cR;
+        }
+
+    }
+
+    /** Compute a root of unity accurately.
+     * <p>
+     * The angle is reduced to the first octant using exact integer
+     * arithmetic before calling trigonometric functions.
+     * </p>
+     * @param k index of the root (0 &le; k &lt; m)
+     * @param m order of the root
+     * @param cs placeholder for cos(2 &pi; k / m) and sin(2 &pi; k / m)
+     */
+    private static void unitRoot(final long k, final long m, final double[] cs) {
+        // use sin(2π - θ) = -sin(θ) to reduce angle to [0, π]
+        final boolean negate = 2 * k > m;
+        final long    kk     = negate ? m - k : k;
+        final long    octant = (8 * kk) / m;
+        final double  c;
+        final double  s;
+        if (octant == 0) {
+            final double angle = 2.0 * FastMath.PI * kk / m;
+            c = FastMath.cos(angle);
+            s = FastMath.sin(angle);
+        } else if (octant == 1) {
+            // θ in [π/4, π/2): use π/2 - θ
+            final double angle = 2.0 * FastMath.PI * (m - 4 * kk) / (4.0 * m);
+            c = FastMath.sin(angle);
+            s = FastMath.cos(angle);
+        } else if (octant == 2) {
+            // θ in [π/2, 3π/4): use θ - π/2
+            final double angle = 2.0 * FastMath.PI * (4 * kk - m) / (4.0 * m);
+            c = -FastMath.sin(angle);
+            s = FastMath.cos(angle);
+        } else {
+            // θ in [3π/4, π]: use π - θ
+            final double angle = 2.0 * FastMath.PI * (m - 2 * kk) / (2.0 * m);
+            c = -FastMath.cos(angle);
+            s = FastMath.sin(angle);
+        }
+        cs[0] = c;
+        cs[1] = negate ? -s : s;
+    }
+
+    /** Factor a size into radices 4, 2, 3 and 5.
+     * @param size size to factor
+     * @return radices (with 4 first), or null if size has other prime factors
+     */
+    private static int[] radixFactors(final int size) {
+        final int[] radices = new int[32];
+        int count = 0;
+        int remaining = size;
+        for (final int p : new int[] { 4, 2, 3, 5 }) {
+            while (remaining % p == 0) {
+                radices[count++] = p;
+                remaining /= p;
+            }
+        }
+        if (remaining != 1) {
+            return null;
+        }
+        final int[] trimmed = new int[count];
+        System.arraycopy(radices, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /** Compute the bit reversal swaps for a given size.
+     * @param size number of complex points (power of two)
+     * @return pairs of interleaved indices to swap
+     */
+    private static int[] bitReversalSwaps(final int size) {
+        final int   bits  = Integer.numberOfTrailingZeros(size);
+        final int[] swaps = new int[size - (1 << ((bits + 1) / 2))];
+        int p = 0;
+        for (int i = 0; i < size; ++i) {
+            final int j = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+            if (i < j) {
+                swaps[p++] = 2 * i;
+                swaps[p++] = 2 * j;
+            }
+        }
+        return swaps;
+    }
+
+}
@@ -26,6 +26,7 @@ import java.io.Serializable;
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.util.ArithmeticUtils;
@@ -42,15 +43,27 @@ import org.hipparchus.util.MathUtils;
  * normalization conventions, which are specified by the parameter
  * {@link DftNormalization}.
  * <p>
- * The current implementation of the discrete Fourier transform as a fast
- * Fourier transform requires the length of the data set to be a power of 2.
- * This greatly simplifies and speeds up the code. Users can pad the data with
- * zeros to meet this requirement. There are other flavors of FFT, for
- * reference, see S. Winograd,
+ * The length of the data set may be any strictly positive integer. Lengths
+ * that are powers of 2 use a dedicated radix-2 algorithm, which is the fastest
+ * one. Lengths whose only prime factors are 2, 3 and 5 use a mixed-radix
+ * algorithm, and other lengths (for example large primes) use Bluestein's
+ * chirp-z algorithm, which computes the transform as a convolution using
+ * power of 2 transforms, see L. I. Bluestein, <i>A linear filtering approach
+ * to the computation of discrete Fourier transform</i>, IEEE Transactions on
+ * Audio and Electroacoustics, 18 (1970), 451 - 455. For other flavors of FFT,
+ * see S. Winograd,
  * <i>On computing the discrete Fourier transform</i>, Mathematics of
  * Computation, 32 (1978), 175 - 199.
+ * <p>
+ * When many transforms of the same size must be computed, a {@link
+ * FastFourierTransformPlan plan} built by {@link #createPlan(int)} avoids
+ * recomputing twiddle factors, works in place in caller-supplied arrays
+ * and provides a real-to-complex transform of half cost. This is especially
+ * important for lengths that are not powers of 2, as the transform methods
+ * of this class build a new plan at each call for such lengths.
  *
  * @see DftNormalization
+ * @see FastFourierTransformPlan
  */
 public class FastFourierTransformer implements Serializable {
 
@@ -117,6 +130,20 @@ public class FastFourierTransformer implements Serializable {
         this.normalization = normalization;
     }
 
+    /**
+     * Creates a reusable plan for transforms of a fixed size, using the
+     * same normalization as this transformer.
+     *
+     * @param n size of the transforms
+     * @return plan for transforms of size {@code n}
+     * @throws MathIllegalArgumentException if {@code n} is not strictly positive
+     * @since 4.0
+     */
+    public FastFourierTransformPlan createPlan(final int n)
+        throws MathIllegalArgumentException {
+        return new FastFourierTransformPlan(n, normalization);
+    }
+
     /**
      * Performs identical index bit reversal shuffles on two arrays of identical
      * size. Each element in the array is swapped with another element based on
@@ -208,8 +235,7 @@ public class FastFourierTransformer implements Serializable {
      * @param type the type of transform (forward, inverse) to be performed
      * @throws MathIllegalArgumentException if the number of rows of the specified
      *   array is not two, or the array is not rectangular
-     * @throws MathIllegalArgumentException if the number of data points is not
-     *   a power of two
+     * @throws MathIllegalArgumentException if there are no data points
      */
     public static void transformInPlace(final double[][] dataRI,
         final DftNormalization normalization, final TransformType type) {
@@ -220,9 +246,13 @@ public class FastFourierTransformer implements Serializable {
         MathArrays.checkEqualLength(dataR, dataI);
 
         final int n = dataR.length;
+        if (n < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, n, 1);
+        }
         if (!ArithmeticUtils.isPowerOfTwo(n)) {
-            throw new MathIllegalArgumentException(LocalizedFFTFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                                                   Integer.valueOf(n));
+            transformInPlaceWithPlan(dataRI, type);
+            normalizeTransformedData(dataRI, normalization, type);
+            return;
         }
 
         if (n == 1) {
@@ -353,13 +383,42 @@ public class FastFourierTransformer implements Serializable {
         normalizeTransformedData(dataRI, normalization, type);
     }
 
+    /**
+     * Computes the unnormalized transform of data whose length is not a power of two.
+     *
+     * @param dataRI the two dimensional array of real and imaginary parts of the data
+     * @param type the type of transform (forward, inverse) to be performed
+     */
+    private static void transformInPlaceWithPlan(final double[][] dataRI, final TransformType type) {
+
+        final double[] dataR = dataRI[0];
+        final double[] dataI = dataRI[1];
+        final int      n     = dataR.length;
+
+        // plans are not cached here, callers performing many transforms
+        // of the same size should hold a plan built by createPlan
+        final FastFourierTransformPlan plan = new FastFourierTransformPlan(n, DftNormalization.STANDARD, false);
+
+        final double[] data = new double[2 * n];
+        for (int i = 0; i < n; ++i) {
+            data[2 * i]     = dataR[i];
+            data[2 * i + 1] = dataI[i];
+        }
+        plan.fft(data, type == TransformType.INVERSE);
+        for (int i = 0; i < n; ++i) {
+            dataR[i] = data[2 * i];
+            dataI[i] = data[2 * i + 1];
+        }
+
+    }
+
     /**
      * Returns the (forward, inverse) transform of the specified real data set.
      *
      * @param f the real data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
+     * @throws MathIllegalArgumentException if the data array is empty
      */
     public Complex[] transform(final double[] f, final TransformType type) {
         final double[][] dataRI = { f.clone(), new double[f.length] };
@@ -381,8 +440,6 @@ public class FastFourierTransformer implements Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.hipparchus.exception.MathIllegalArgumentException
      *   if the number of sample points {@code n} is negative
-     * @throws MathIllegalArgumentException if the number of sample points
-     *   {@code n} is not a power of two
      */
     public Complex[] transform(final UnivariateFunction f,
                                final double min, final double max, final int n,
@@ -398,7 +455,7 @@ public class FastFourierTransformer implements Serializable {
      * @param f the complex data array to be transformed
      * @param type the type of transform (forward, inverse) to be performed
      * @return the complex transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is not a power of two
+     * @throws MathIllegalArgumentException if the data array is empty
      */
     public Complex[] transform(final Complex[] f, final TransformType type) {
         final double[][] dataRI = TransformUtils.createRealImaginaryArray(f);
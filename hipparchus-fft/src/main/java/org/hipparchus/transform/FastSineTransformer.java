@@ -26,8 +26,8 @@ import java.io.Serializable;
 import org.hipparchus.analysis.FunctionUtils;
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
-import org.hipparchus.util.ArithmeticUtils;
 import org.hipparchus.util.FastMath;
 
 /**
@@ -63,8 +63,11 @@ import org.hipparchus.util.FastMath;
  * &nbsp;&nbsp;&nbsp;&nbsp;k = 0, &hellip;, N-1.
  * <p>
  * The present implementation of the discrete sine transform as a fast sine
- * transform requires the length of the data to be a power of two. Besides,
- * it implicitly assumes that the sampled function is odd. In particular, the
+ * transform accepts data of any non-zero length N. It is fastest when N is
+ * even, as a real Fourier transform of size N is used, and it is fastest of
+ * all when N is a power of two. When N is odd, the Fourier transform of the
+ * extended data set is computed directly. Besides, it implicitly assumes that
+ * the sampled function is odd. In particular, the
  * first element of the data set must be 0, which is enforced in
  * {@link #transform(UnivariateFunction, double, double, int, TransformType)},
  * after sampling.
@@ -92,8 +95,8 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *
      * The first element of the specified data set is required to be {@code 0}.
      *
-     * @throws MathIllegalArgumentException if the length of the data array is
-     *   not a power of two, or the first element of the data array is not zero
+     * @throws MathIllegalArgumentException if the data array is empty,
+     *   or the first element of the data array is not zero
      */
     @Override
     public double[] transform(final double[] f, final TransformType type) {
@@ -117,7 +120,7 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *   if the lower bound is greater than, or equal to the upper bound
      * @throws org.hipparchus.exception.MathIllegalArgumentException
      *   if the number of sample points is negative
-     * @throws MathIllegalArgumentException if the number of sample points is not a power of two
+     * @throws MathIllegalArgumentException if the number of sample points is zero
      */
     @Override
     public double[] transform(final UnivariateFunction f,
@@ -135,17 +138,16 @@ public class FastSineTransformer implements RealTransformer, Serializable {
      *
      * @param f the real data array to be transformed
      * @return the real transformed array
-     * @throws MathIllegalArgumentException if the length of the data array is
-     *   not a power of two, or the first element of the data array is not zero
+     * @throws MathIllegalArgumentException if the data array is empty,
+     *   or the first element of the data array is not zero
      */
     protected double[] fst(double[] f) throws MathIllegalArgumentException {
 
         final double[] transformed = new double[f.length];
 
-        if (!ArithmeticUtils.isPowerOfTwo(f.length)) {
-            throw new MathIllegalArgumentException(
-                    LocalizedFFTFormats.NOT_POWER_OF_TWO_CONSIDER_PADDING,
-                    Integer.valueOf(f.length));
+        if (f.length < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   f.length, 1);
         }
         if (f[0] != 0.0) {
             throw new MathIllegalArgumentException(
@@ -157,6 +159,20 @@ public class FastSineTransformer implements RealTransformer, Serializable {
             transformed[0] = 0.0;
             return transformed;
         }
+        if (n % 2 == 1) {
+            // transform the odd extension of the data set directly
+            final double[] x = new double[2 * n];
+            for (int i = 1; i < n; i++) {
+                x[i]         = f[i];
+                x[2 * n - i] = -f[i];
+            }
+            final FastFourierTransformer transformer = new FastFourierTransformer(DftNormalization.STANDARD);
+            final Complex[] y = transformer.transform(x, TransformType.FORWARD);
+            for (int i = 1; i < n; i++) {
+                transformed[i] = -0.5 * y[i].getImaginary();
+            }
+            return transformed;
+        }
 
         // construct a new array and perform FFT on it
         final double[] x = new double[n];
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.transform;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test case for fast Fourier transform plans.
+ */
+final class FastFourierTransformPlanTest {
+
+    /** The common seed of all random number generators used in this test. */
+    private final static long SEED = 20241017L;
+
+    /** Sizes covering radix-2, mixed-radix and Bluestein algorithms. */
+    private final static int[] SIZES = {
+        1, 2, 4, 8, 64, 1024, 4096,
+        3, 5, 6, 12, 15, 20, 100, 360, 1000, 3600,
+        7, 11, 14, 97, 194, 1009, 2018
+    };
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new FastFourierTransformPlan(0, DftNormalization.STANDARD));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new FastFourierTransformer(DftNormalization.UNITARY).createPlan(-4));
+        final FastFourierTransformPlan odd = new FastFourierTransformPlan(15, DftNormalization.STANDARD);
+        assertThrows(MathIllegalArgumentException.class, () -> odd.transformReal(new double[15]));
+        assertThrows(MathIllegalArgumentException.class, () -> odd.inverseTransformReal(new double[15]));
+    }
+
+    @Test
+    void testComplexOnly() {
+        // complex-only plans do not allocate the half size plan used by real transforms
+        final FastFourierTransformPlan complexOnly = new FastFourierTransformPlan(12, DftNormalization.STANDARD, false);
+        assertThrows(MathIllegalArgumentException.class, () -> complexOnly.transformReal(new double[12]));
+        final FastFourierTransformPlan full = new FastFourierTransformPlan(12, DftNormalization.STANDARD);
+        final double[] data = new double[24];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = FastMath.sin(0.7 * i) + 0.25 * i;
+        }
+        final double[] expected = data.clone();
+        full.transform(expected, TransformType.FORWARD);
+        complexOnly.transform(data, TransformType.FORWARD);
+        assertArrayEquals(expected, data, 0.0);
+    }
+
+    @Test
+    void testWrongDataLength() {
+        final FastFourierTransformPlan plan = new FastFourierTransformPlan(16, DftNormalization.STANDARD);
+        assertEquals(16, plan.getSize());
+        assertEquals(DftNormalization.STANDARD, plan.getNormalization());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> plan.transform(new double[16], TransformType.FORWARD));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> plan.transformReal(new double[32]));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> plan.inverseTransformReal(new double[8]));
+    }
+
+    @Test
+    void testComplex() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer transformer = new FastFourierTransformer(normalization);
+            for (final int n : SIZES) {
+                final FastFourierTransformPlan plan = transformer.createPlan(n);
+                for (final TransformType type : TransformType.values()) {
+                    final Complex[] x        = createComplexData(n);
+                    final Complex[] expected = transformer.transform(x, type);
+                    final double[]  data     = new double[2 * n];
+                    for (int k = 0; k < n; ++k) {
+                        data[2 * k]     = x[k].getReal();
+                        data[2 * k + 1] = x[k].getImaginary();
+                    }
+                    plan.transform(data, type);
+                    final double tol = 1.0e-12 * FastMath.max(1, n);
+                    for (int k = 0; k < n; ++k) {
+                        assertEquals(expected[k].getReal(),      data[2 * k],     tol);
+                        assertEquals(expected[k].getImaginary(), data[2 * k + 1], tol);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReal() {
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer transformer = new FastFourierTransformer(normalization);
+            for (final int n : SIZES) {
+                if (n > 1 && n % 2 == 1) {
+                    continue;
+                }
+                final FastFourierTransformPlan plan = transformer.createPlan(n);
+                final double[]  x        = createRealData(n);
+                final Complex[] expected = transformer.transform(x, TransformType.FORWARD);
+                final double[]  data     = x.clone();
+                plan.transformReal(data);
+                final double tol = 1.0e-12 * FastMath.max(1, n);
+                assertEquals(expected[0].getReal(), data[0], tol);
+                if (n > 1) {
+                    assertEquals(expected[n / 2].getReal(), data[1], tol);
+                }
+                for (int k = 1; k < n / 2; ++k) {
+                    assertEquals(expected[k].getReal(),      data[2 * k],     tol);
+                    assertEquals(expected[k].getImaginary(), data[2 * k + 1], tol);
+                }
+
+                // round trip
+                plan.inverseTransformReal(data);
+                for (int k = 0; k < n; ++k) {
+                    assertEquals(x[k], data[k], 1.0e-14 * FastMath.max(1, n));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInverseRealAgainstComplex() {
+        // inverse transform of a Hermitian spectrum, given as its packed half
+        for (final DftNormalization normalization : DftNormalization.values()) {
+            final FastFourierTransformer transformer = new FastFourierTransformer(normalization);
+            final int n = 256;
+            final FastFourierTransformPlan plan = transformer.createPlan(n);
+            final Random random = new Random(SEED);
+            final Complex[] spectrum = new Complex[n];
+            spectrum[0]     = new Complex(random.nextDouble() - 0.5);
+            spectrum[n / 2] = new Complex(random.nextDouble() - 0.5);
+            for (int k = 1; k < n / 2; ++k) {
+                spectrum[k]     = new Complex(random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+                spectrum[n - k] = spectrum[k].conjugate();
+            }
+            final Complex[] expected = transformer.transform(spectrum, TransformType.INVERSE);
+            final double[] data = new double[n];
+            data[0] = spectrum[0].getReal();
+            data[1] = spectrum[n / 2].getReal();
+            for (int k = 1; k < n / 2; ++k) {
+                data[2 * k]     = spectrum[k].getReal();
+                data[2 * k + 1] = spectrum[k].getImaginary();
+            }
+            plan.inverseTransformReal(data);
+            for (int k = 0; k < n; ++k) {
+                assertEquals(0.0, expected[k].getImaginary(), 1.0e-14);
+                assertEquals(expected[k].getReal(), data[k], 1.0e-13);
+            }
+        }
+    }
+
+    private static Complex[] createComplexData(final int n) {
+        final Random random = new Random(SEED);
+        final Complex[] data = new Complex[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = new Complex(2 * random.nextDouble() - 1, 2 * random.nextDouble() - 1);
+        }
+        return data;
+    }
+
+    private static double[] createRealData(final int n) {
+        final Random random = new Random(SEED);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = 2 * random.nextDouble() - 1;
+        }
+        return data;
+    }
+
+}
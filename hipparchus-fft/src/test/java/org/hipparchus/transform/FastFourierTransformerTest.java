@@ -50,8 +50,8 @@ final class FastFourierTransformerTest {
      */
 
     @Test
-    void testTransformComplexSizeNotAPowerOfTwo() {
-        final int n = 127;
+    void testTransformComplexEmpty() {
+        final int n = 0;
         final Complex[] x = createComplexData(n);
         final DftNormalization[] norm;
         norm = DftNormalization.values();
@@ -73,8 +73,8 @@ final class FastFourierTransformerTest {
     }
 
     @Test
-    void testTransformRealSizeNotAPowerOfTwo() {
-        final int n = 127;
+    void testTransformRealEmpty() {
+        final int n = 0;
         final double[] x = createRealData(n);
         final DftNormalization[] norm;
         norm = DftNormalization.values();
@@ -95,29 +95,6 @@ final class FastFourierTransformerTest {
         }
     }
 
-    @Test
-    void testTransformFunctionSizeNotAPowerOfTwo() {
-        final int n = 127;
-        final UnivariateFunction f = new Sin();
-        final DftNormalization[] norm;
-        norm = DftNormalization.values();
-        final TransformType[] type;
-        type = TransformType.values();
-        for (int i = 0; i < norm.length; i++) {
-            for (int j = 0; j < type.length; j++) {
-                final FastFourierTransformer fft;
-                fft = new FastFourierTransformer(norm[i]);
-                try {
-                    fft.transform(f, 0.0, Math.PI, n, type[j]);
-                    fail(norm[i] + ", " + type[j] +
-                        ": MathIllegalArgumentException was expected");
-                } catch (MathIllegalArgumentException e) {
-                    // Expected behaviour
-                }
-            }
-        }
-    }
-
     @Test
     void testTransformFunctionNotStrictlyPositiveNumberOfSamples() {
         final int n = -128;
@@ -369,6 +346,51 @@ final class FastFourierTransformerTest {
         }
     }
 
+    @Test
+    void testTransformComplexMixedRadix() {
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : new int[] { 3, 5, 6, 9, 10, 12, 15, 25, 60, 100, 360, 1000 }) {
+                    doTestTransformComplex(n, 1.0E-11, norm, type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTransformComplexBluestein() {
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : new int[] { 7, 11, 14, 97, 127, 210, 1009 }) {
+                    doTestTransformComplex(n, 1.0E-10, norm, type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTransformRealNotAPowerOfTwo() {
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : new int[] { 3, 6, 7, 100, 127, 1000 }) {
+                    doTestTransformReal(n, 1.0E-10, norm, type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTransformFunctionNotAPowerOfTwo() {
+        final UnivariateFunction f = new Sinc();
+        for (final DftNormalization norm : DftNormalization.values()) {
+            for (final TransformType type : TransformType.values()) {
+                for (final int n : new int[] { 30, 127 }) {
+                    doTestTransformFunction(f, -FastMath.PI, FastMath.PI, n, 1.0E-10, norm, type);
+                }
+            }
+        }
+    }
+
     @Test
     void testStandardTransformReal() {
         final DftNormalization[] norm;
@@ -139,6 +139,19 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
         detectorBasedEventsStates.clear();
     }
 
+    /** Get the states of the event detectors.
+     * <p>
+     * The states are in the same order as {@link #getEventDetectors()}, they
+     * provide statistics about switching functions evaluations during the last
+     * integration, like {@link DetectorBasedEventState#getEvaluations()}.
+     * </p>
+     * @return unmodifiable view of the states of the event detectors
+     * @since 4.0
+     */
+    public List<DetectorBasedEventState> getEventStates() {
+        return Collections.unmodifiableList(detectorBasedEventsStates);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void addStepEndHandler(ODEStepEndHandler handler) {
@@ -397,6 +410,7 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
                         final ODEState newState = occurrence.getNewState();
                         final double[] y = newState.getCompleteState();
                         final double[] yDot = computeDerivatives(newState.getTime(), y);
+                        detectorBasedEventsStates.forEach(DetectorBasedEventState::clearEventFreeInterval);
                         resetOccurred = true;
                         return equations.getMapper().mapStateAndDerivative(newState.getTime(), y, yDot);
                     }
@@ -407,6 +421,7 @@ public abstract class AbstractIntegrator implements ODEIntegrator {
                     restricted = restricted.restrictStep(eventState, currentState);
 
                     if (action == Action.RESET_EVENTS) {
+                        detectorBasedEventsStates.forEach(DetectorBasedEventState::clearEventFreeInterval);
                         continue resetEvents;
                     }
 
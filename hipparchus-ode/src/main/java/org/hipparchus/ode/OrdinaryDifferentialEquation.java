@@ -73,4 +73,22 @@ public interface OrdinaryDifferentialEquation {
      */
     double[] computeDerivatives(double t, double[] y);
 
+    /** Compute the current time derivative of the state vector in place.
+     * <p>
+     * This method is used by allocation-free integration loops such as
+     * {@link org.hipparchus.ode.nonstiff.RungeKuttaWorkspace}. The default
+     * implementation delegates to {@link #computeDerivatives(double, double[])}
+     * and copies the result, so it allocates; problems that are integrated
+     * a very large number of times should override it.
+     * </p>
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the state vector
+     * @param yDot placeholder array where to put the time derivative of the state vector
+     * @since 4.0
+     */
+    default void computeDerivatives(double t, double[] y, double[] yDot) {
+        final double[] d = computeDerivatives(t, y);
+        System.arraycopy(d, 0, yDot, 0, yDot.length);
+    }
+
 }
@@ -0,0 +1,715 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Memory-efficient variant of {@link DenseOutputModel}.
+ *
+ * <p>Whereas {@link DenseOutputModel} keeps one {@link ODEStateInterpolator}
+ * object per step, with all its arrays and references, this class converts
+ * each step into Chebyshev polynomial coefficients as soon as it is handled,
+ * and packs the coefficients of all steps in contiguous primitive arrays.
+ * Interpolation first locates the step using binary search on step times,
+ * then evaluates the polynomials using Clenshaw recurrence.</p>
+ *
+ * <p>For each step, the complete state (primary and secondary components) and
+ * its derivative are sampled from the interpolator at the {@code degree + 1}
+ * Chebyshev-Lobatto points of the step, which include both step ends. The
+ * interpolating polynomials are exact (up to rounding) when the interpolator
+ * itself is a polynomial of degree at most {@code degree} in time, which is the
+ * case for Runge-Kutta integrators up to {@link
+ * org.hipparchus.ode.nonstiff.DormandPrince853Integrator Dormand-Prince 8(5,3)}
+ * with the default degree of 7. For other interpolators, they are high accuracy
+ * approximations that match the integrator states exactly at step ends.</p>
+ *
+ * <p>Coefficients can optionally be stored in a memory-mapped file instead of
+ * the Java heap, so very long integrations can be interpolated without holding
+ * all steps in memory. Only two times per step remain on the heap in this case.
+ * The file is created (or truncated) when the model is built, and the model
+ * should be {@link #close() closed} once it is not needed anymore.</p>
+ *
+ * <p>As {@link DenseOutputModel}, this class is {@link Serializable}. Models
+ * using a memory-mapped file are deserialized as heap-based models.</p>
+ *
+ * @see DenseOutputModel
+ * @since 4.0
+ */
+public class PackedDenseOutputModel implements ODEStepHandler, Serializable, Closeable {
+
+    /** Default degree of the interpolating polynomials. */
+    public static final int DEFAULT_DEGREE = 7;
+
+    /** Serializable version identifier */
+    private static final long serialVersionUID = 20241017L;
+
+    /** Number of bytes per double. */
+    private static final int DOUBLE_BYTES = 8;
+
+    /** Target size of heap chunks (in doubles). */
+    private static final int HEAP_CHUNK_SIZE = 1 << 17;
+
+    /** Target size of memory-mapped chunks (in doubles). */
+    private static final int MAPPED_CHUNK_SIZE = 1 << 23;
+
+    /** Degree of the interpolating polynomials. */
+    private final int degree;
+
+    /** Cosine table for Chebyshev transform: cos(&pi; j k / degree). */
+    private final double[][] cosTable;
+
+    /** Dimensions of the primary and secondary states (null before first step). */
+    private int[] dimensions;
+
+    /** Dimension of the complete state. */
+    private int completeDimension;
+
+    /** Initial integration time. */
+    private double initialTime;
+
+    /** Final integration time. */
+    private double finalTime;
+
+    /** Integration direction indicator. */
+    private boolean forward;
+
+    /** Number of stored steps. */
+    private int nbSteps;
+
+    /** Start times of the steps. */
+    private double[] startTimes;
+
+    /** End times of the steps. */
+    private double[] endTimes;
+
+    /** Current step index. */
+    private int index;
+
+    /** Storage for coefficients. */
+    private transient Storage storage;
+
+    /** Simple constructor.
+     * Build an empty heap-based model, with {@link #DEFAULT_DEGREE default degree}.
+     */
+    public PackedDenseOutputModel() {
+        this(DEFAULT_DEGREE);
+    }
+
+    /** Simple constructor.
+     * Build an empty heap-based model.
+     * @param degree degree of the interpolating polynomials
+     * @exception MathIllegalArgumentException if degree is smaller than 1
+     */
+    public PackedDenseOutputModel(final int degree) throws MathIllegalArgumentException {
+        this(degree, new HeapStorage());
+    }
+
+    /** Simple constructor.
+     * Build an empty model storing coefficients in a memory-mapped file.
+     * @param degree degree of the interpolating polynomials
+     * @param file file to use (will be created, or truncated if it already exists)
+     * @exception MathIllegalArgumentException if degree is smaller than 1
+     * @exception IOException if file cannot be created
+     */
+    public PackedDenseOutputModel(final int degree, final Path file)
+        throws MathIllegalArgumentException, IOException {
+        this(degree, new MappedStorage(file));
+    }
+
+    /** Simple constructor.
+     * @param degree degree of the interpolating polynomials
+     * @param storage storage for coefficients
+     * @exception MathIllegalArgumentException if degree is smaller than 1
+     */
+    private PackedDenseOutputModel(final int degree, final Storage storage)
+        throws MathIllegalArgumentException {
+        if (degree < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+        }
+        this.degree      = degree;
+        this.cosTable    = new double[degree + 1][degree + 1];
+        for (int j = 0; j <= degree; ++j) {
+            for (int k = 0; k <= degree; ++k) {
+                cosTable[j][k] = FastMath.cos(FastMath.PI * ((j * k) % (2 * degree)) / degree);
+            }
+        }
+        this.startTimes  = new double[16];
+        this.endTimes    = new double[16];
+        this.initialTime = Double.NaN;
+        this.finalTime   = Double.NaN;
+        this.forward     = true;
+        this.storage     = storage;
+        clear();
+    }
+
+    /** Get the degree of the interpolating polynomials.
+     * @return degree of the interpolating polynomials
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the number of stored steps.
+     * @return number of stored steps
+     */
+    public int getNumberOfSteps() {
+        return nbSteps;
+    }
+
+    /** Append another model at the end of the instance.
+     * @param model model to add at the end of the instance
+     * @exception MathIllegalArgumentException if the model to append is not
+     * compatible with the instance (degree, dimension of the state vector,
+     * propagation direction, hole between the dates)
+     */
+    public void append(final PackedDenseOutputModel model)
+        throws MathIllegalArgumentException {
+
+        if (model.nbSteps == 0) {
+            return;
+        }
+
+        if (model.degree != degree) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   model.degree, degree);
+        }
+
+        if (nbSteps == 0) {
+            initialTime = model.initialTime;
+            forward     = model.forward;
+            setDimensions(model.dimensions);
+        } else {
+
+            checkDimensionsEquality(dimensions.length, model.dimensions.length);
+            for (int i = 0; i < dimensions.length; ++i) {
+                checkDimensionsEquality(dimensions[i], model.dimensions[i]);
+            }
+
+            if (forward ^ model.forward) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH);
+            }
+
+            final double current  = endTimes[nbSteps - 1];
+            final double previous = startTimes[nbSteps - 1];
+            final double step = current - previous;
+            final double gap = model.getInitialTime() - current;
+            if (FastMath.abs(gap) > 1.0e-3 * FastMath.abs(step)) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES,
+                                                       FastMath.abs(gap));
+            }
+
+        }
+
+        final int      recordSize = recordSize();
+        final double[] record     = new double[recordSize];
+        for (int i = 0; i < model.nbSteps; ++i) {
+            model.storage.read((long) i * recordSize, record);
+            addRecord(model.startTimes[i], model.endTimes[i], record);
+        }
+
+        index     = nbSteps - 1;
+        finalTime = endTimes[index];
+
+    }
+
+    /** Check dimensions equality.
+     * @param d1 first dimension
+     * @param d2 second dimension
+     * @exception MathIllegalArgumentException if dimensions do not match
+     */
+    private void checkDimensionsEquality(final int d1, final int d2)
+        throws MathIllegalArgumentException {
+        if (d1 != d2) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   d2, d1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final ODEStateAndDerivative initialState, final double targetTime) {
+        initialTime    = initialState.getTime();
+        this.finalTime = targetTime;
+        forward        = true;
+        clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleStep(final ODEStateInterpolator interpolator) {
+
+        final ODEStateAndDerivative previous = interpolator.getPreviousState();
+        final ODEStateAndDerivative current  = interpolator.getCurrentState();
+        if (nbSteps == 0) {
+            initialTime = previous.getTime();
+            forward     = interpolator.isForward();
+            final int[] dims = new int[previous.getNumberOfSecondaryStates() + 1];
+            for (int i = 0; i < dims.length; ++i) {
+                dims[i] = previous.getSecondaryStateDimension(i);
+            }
+            setDimensions(dims);
+        }
+
+        // sample the step at Chebyshev-Lobatto points, from step end (x = +1) to step start (x = -1)
+        final double   t0      = previous.getTime();
+        final double   t1      = current.getTime();
+        final double[][] y     = new double[degree + 1][];
+        final double[][] yDot  = new double[degree + 1][];
+        for (int k = 0; k <= degree; ++k) {
+            final ODEStateAndDerivative state;
+            if (k == 0) {
+                state = current;
+            } else if (k == degree) {
+                state = previous;
+            } else {
+                final double x = cosTable[1][k];
+                state = interpolator.getInterpolatedState(0.5 * ((1 - x) * t0 + (1 + x) * t1));
+            }
+            y[k]    = state.getCompleteState();
+            yDot[k] = state.getCompleteDerivative();
+        }
+
+        // convert samples to Chebyshev coefficients
+        final int      n      = degree + 1;
+        final double[] record = new double[recordSize()];
+        for (int c = 0; c < completeDimension; ++c) {
+            final int offset = 2 * c * n;
+            for (int j = 0; j <= degree; ++j) {
+                double sY    = 0.5 * (y[0][c]    * cosTable[j][0] + y[degree][c]    * cosTable[j][degree]);
+                double sYDot = 0.5 * (yDot[0][c] * cosTable[j][0] + yDot[degree][c] * cosTable[j][degree]);
+                for (int k = 1; k < degree; ++k) {
+                    sY    += y[k][c]    * cosTable[j][k];
+                    sYDot += yDot[k][c] * cosTable[j][k];
+                }
+                final double scale = (j == 0 || j == degree) ? 1.0 / degree : 2.0 / degree;
+                record[offset + j]     = scale * sY;
+                record[offset + n + j] = scale * sYDot;
+            }
+        }
+
+        addRecord(t0, t1, record);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void finish(final ODEStateAndDerivative finalState) {
+        finalTime = finalState.getTime();
+        index     = nbSteps - 1;
+    }
+
+    /**
+     * Get the initial integration time.
+     * @return initial integration time
+     */
+    public double getInitialTime() {
+        return initialTime;
+    }
+
+    /**
+     * Get the final integration time.
+     * @return final integration time
+     */
+    public double getFinalTime() {
+        return finalTime;
+    }
+
+    /**
+     * Get the state at interpolated time.
+     * <p>
+     * Points outside of the integration interval are extrapolated
+     * using the polynomials of the first or last step.
+     * </p>
+     * @param time time of the interpolated point
+     * @return state at interpolated time
+     * @exception MathIllegalStateException if no step has been stored
+     */
+    public ODEStateAndDerivative getInterpolatedState(final double time)
+        throws MathIllegalStateException {
+
+        if (nbSteps == 0) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.NO_DATA);
+        }
+
+        final int step = locateStep(time);
+
+        // read coefficients
+        final int      n      = degree + 1;
+        final double[] record = new double[recordSize()];
+        storage.read((long) step * record.length, record);
+
+        // evaluate polynomials
+        final double t0 = startTimes[step];
+        final double t1 = endTimes[step];
+        final double x  = (2 * time - (t0 + t1)) / (t1 - t0);
+        final double[] y    = new double[completeDimension];
+        final double[] yDot = new double[completeDimension];
+        for (int c = 0; c < completeDimension; ++c) {
+            y[c]    = clenshaw(record, 2 * c * n, x);
+            yDot[c] = clenshaw(record, 2 * c * n + n, x);
+        }
+
+        // split complete state
+        final double[] primary    = Arrays.copyOf(y, dimensions[0]);
+        final double[] primaryDot = Arrays.copyOf(yDot, dimensions[0]);
+        if (dimensions.length == 1) {
+            return new ODEStateAndDerivative(time, primary, primaryDot);
+        }
+        final double[][] secondary    = new double[dimensions.length - 1][];
+        final double[][] secondaryDot = new double[dimensions.length - 1][];
+        int offset = dimensions[0];
+        for (int i = 1; i < dimensions.length; ++i) {
+            secondary[i - 1]    = Arrays.copyOfRange(y, offset, offset + dimensions[i]);
+            secondaryDot[i - 1] = Arrays.copyOfRange(yDot, offset, offset + dimensions[i]);
+            offset += dimensions[i];
+        }
+        return new ODEStateAndDerivative(time, primary, primaryDot, secondary, secondaryDot);
+
+    }
+
+    /** Release the resources associated with the memory-mapped file, if any.
+     * <p>
+     * The model cannot be used for interpolation after it has been closed.
+     * The file itself is not deleted.
+     * </p>
+     * @exception IOException if file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        storage.close();
+    }
+
+    /** Locate the step containing a time.
+     * @param time time to locate
+     * @return index of the step containing the time (first or last step if time is outside of range)
+     */
+    private int locateStep(final double time) {
+
+        // check cached step first, as access is often sequential
+        if (index >= 0 && index < nbSteps && contains(index, time)) {
+            return index;
+        }
+
+        // binary search for the first step whose end is after time (according to direction)
+        int low  = 0;
+        int high = nbSteps - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (forward ? endTimes[mid] < time : endTimes[mid] > time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        index = low;
+        return index;
+
+    }
+
+    /** Check if a step contains a time.
+     * @param step step index
+     * @param time time to check
+     * @return true if step contains time
+     */
+    private boolean contains(final int step, final double time) {
+        if (forward) {
+            return startTimes[step] <= time && time <= endTimes[step];
+        } else {
+            return endTimes[step] <= time && time <= startTimes[step];
+        }
+    }
+
+    /** Evaluate a Chebyshev series using Clenshaw recurrence.
+     * @param coefficients array containing the coefficients
+     * @param offset offset of the first coefficient in the array
+     * @param x normalized abscissa
+     * @return value of the series
+     */
+    private double clenshaw(final double[] coefficients, final int offset, final double x) {
+        double bK1 = 0;
+        double bK2 = 0;
+        for (int j = degree; j > 0; --j) {
+            final double bK = coefficients[offset + j] + 2 * x * bK1 - bK2;
+            bK2 = bK1;
+            bK1 = bK;
+        }
+        return coefficients[offset] + x * bK1 - bK2;
+    }
+
+    /** Set the state dimensions.
+     * @param dims dimensions of the primary and secondary states
+     */
+    private void setDimensions(final int[] dims) {
+        dimensions = dims.clone();
+        completeDimension = 0;
+        for (final int d : dimensions) {
+            completeDimension += d;
+        }
+    }
+
+    /** Get the number of doubles per step.
+     * @return number of doubles per step
+     */
+    private int recordSize() {
+        return 2 * completeDimension * (degree + 1);
+    }
+
+    /** Add one step record.
+     * @param t0 step start time
+     * @param t1 step end time
+     * @param record step coefficients
+     */
+    private void addRecord(final double t0, final double t1, final double[] record) {
+        if (nbSteps == startTimes.length) {
+            startTimes = Arrays.copyOf(startTimes, 2 * nbSteps);
+            endTimes   = Arrays.copyOf(endTimes,   2 * nbSteps);
+        }
+        startTimes[nbSteps] = t0;
+        endTimes[nbSteps]   = t1;
+        storage.write((long) nbSteps * record.length, record);
+        ++nbSteps;
+    }
+
+    /** Remove all steps.
+     */
+    private void clear() {
+        nbSteps    = 0;
+        index      = 0;
+        dimensions = null;
+        completeDimension = 0;
+        storage.clear();
+    }
+
+    /** Serialize the instance.
+     * @param oos stream where object should be written
+     * @throws IOException if object cannot be written to stream
+     */
+    private void writeObject(final ObjectOutputStream oos)
+        throws IOException {
+        oos.defaultWriteObject();
+        if (nbSteps > 0) {
+            final double[] record = new double[recordSize()];
+            for (int i = 0; i < nbSteps; ++i) {
+                storage.read((long) i * record.length, record);
+                for (final double r : record) {
+                    oos.writeDouble(r);
+                }
+            }
+        }
+    }
+
+    /** Deserialize the instance.
+     * @param ois stream from which the object should be read
+     * @throws ClassNotFoundException if a class in the stream cannot be found
+     * @throws IOException if object cannot be read from the stream
+     */
+    private void readObject(final ObjectInputStream ois)
+      throws ClassNotFoundException, IOException {
+        ois.defaultReadObject();
+        storage = new HeapStorage();
+        if (nbSteps > 0) {
+            final double[] record = new double[recordSize()];
+            for (int i = 0; i < nbSteps; ++i) {
+                for (int j = 0; j < record.length; ++j) {
+                    record[j] = ois.readDouble();
+                }
+                storage.write((long) i * record.length, record);
+            }
+        }
+    }
+
+    /** Storage for steps coefficients, split in chunks. */
+    private abstract static class Storage {
+
+        /** Chunks. */
+        private final List<DoubleBuffer> chunks;
+
+        /** Size of chunks (in doubles). */
+        private final int chunkSize;
+
+        /** Simple constructor.
+         * @param chunkSize size of chunks (in doubles)
+         */
+        Storage(final int chunkSize) {
+            this.chunks    = new ArrayList<>();
+            this.chunkSize = chunkSize;
+        }
+
+        /** Allocate a new chunk.
+         * @param chunkIndex index of the chunk
+         * @param size size of the chunk (in doubles)
+         * @return allocated chunk
+         * @exception IOException if chunk cannot be allocated
+         */
+        protected abstract DoubleBuffer allocate(int chunkIndex, int size) throws IOException;
+
+        /** Remove all data.
+         */
+        void clear() {
+            chunks.clear();
+        }
+
+        /** Release resources.
+         * @exception IOException if resources cannot be released
+         */
+        void close() throws IOException {
+            chunks.clear();
+        }
+
+        /** Write a record.
+         * <p>
+         * Records are written sequentially, and a record never straddles two chunks.
+         * </p>
+         * @param start index of the first double in the record
+         * @param record record to write
+         */
+        void write(final long start, final double[] record) {
+            final int perChunk = recordsPerChunk(record.length);
+            final int recordIndex = (int) (start / record.length);
+            final int chunkIndex  = recordIndex / perChunk;
+            if (chunkIndex == chunks.size()) {
+                try {
+                    chunks.add(allocate(chunkIndex, perChunk * record.length));
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            }
+            final DoubleBuffer chunk = chunks.get(chunkIndex);
+            final int offset = (recordIndex % perChunk) * record.length;
+            for (int i = 0; i < record.length; ++i) {
+                chunk.put(offset + i, record[i]);
+            }
+        }
+
+        /** Read a record.
+         * @param start index of the first double in the record
+         * @param record placeholder where to put the record
+         */
+        void read(final long start, final double[] record) {
+            final int perChunk = recordsPerChunk(record.length);
+            final int recordIndex = (int) (start / record.length);
+            final DoubleBuffer chunk = chunks.get(recordIndex / perChunk);
+            final int offset = (recordIndex % perChunk) * record.length;
+            for (int i = 0; i < record.length; ++i) {
+                record[i] = chunk.get(offset + i);
+            }
+        }
+
+        /** Get the number of records per chunk.
+         * @param recordSize size of records (in doubles)
+         * @return number of records per chunk
+         */
+        private int recordsPerChunk(final int recordSize) {
+            return FastMath.max(1, chunkSize / recordSize);
+        }
+
+    }
+
+    /** Storage on the Java heap. */
+    private static class HeapStorage extends Storage {
+
+        /** Simple constructor.
+         */
+        HeapStorage() {
+            super(HEAP_CHUNK_SIZE);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected DoubleBuffer allocate(final int chunkIndex, final int size) {
+            return DoubleBuffer.wrap(new double[size]);
+        }
+
+    }
+
+    /** Storage in a memory-mapped file. */
+    private static class MappedStorage extends Storage {
+
+        /** File channel. */
+        private final FileChannel channel;
+
+        /** Size of chunks in the file (in bytes), set at first allocation. */
+        private long chunkBytes;
+
+        /** Simple constructor.
+         * @param file file to use
+         * @exception IOException if file cannot be created
+         */
+        MappedStorage(final Path file) throws IOException {
+            super(MAPPED_CHUNK_SIZE);
+            MathUtils.checkNotNull(file);
+            channel = FileChannel.open(file,
+                                       StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                       StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected DoubleBuffer allocate(final int chunkIndex, final int size) throws IOException {
+            if (chunkIndex == 0) {
+                chunkBytes = (long) size * DOUBLE_BYTES;
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, chunkIndex * chunkBytes, chunkBytes).
+                   order(ByteOrder.nativeOrder()).
+                   asDoubleBuffer();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void clear() {
+            super.clear();
+            try {
+                channel.truncate(0);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void close() throws IOException {
+            super.close();
+            channel.close();
+        }
+
+    }
+
+}
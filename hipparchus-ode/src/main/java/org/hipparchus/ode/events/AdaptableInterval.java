@@ -37,4 +37,30 @@ public interface AdaptableInterval {
      */
     double currentInterval(ODEStateAndDerivative state, boolean isForward);
 
+    /**
+     * Get a duration during which the switching function is guaranteed not to change sign.
+     * <p>
+     * This hint allows the integrator to skip the evaluation of the switching function
+     * for all the steps that end before the returned duration has elapsed. It is a much
+     * stronger statement than {@link #currentInterval(ODEStateAndDerivative, boolean)}:
+     * if the switching function does change sign in this duration, the event is missed.
+     * It is typically computed from the current value of the switching function and a
+     * bound on its rate of change, for example a satellite elevation below the horizon
+     * and the maximum elevation rate.
+     * </p>
+     * <p>
+     * The default implementation returns 0, meaning the switching function must be
+     * evaluated at each step.
+     * </p>
+     * @param state current state
+     * @param g value of the switching function at current state
+     * @param isForward true if propagation is forward in independent variable, false otherwise
+     * @return duration (always positive or zero, regardless of propagation direction)
+     * during which the switching function cannot change sign
+     * @since 4.0
+     */
+    default double eventFreeInterval(final ODEStateAndDerivative state, final double g, final boolean isForward) {
+        return 0.0;
+    }
+
 }
@@ -105,6 +105,26 @@ public class DetectorBasedEventState implements EventState {
      */
     private boolean increasing;
 
+    /** End of the interval during which the switching function cannot change sign (NaN if unknown).
+     * @since 4.0
+     */
+    private double eventFreeEnd;
+
+    /** Number of switching function evaluations.
+     * @since 4.0
+     */
+    private int evaluations;
+
+    /** Number of root finder evaluations.
+     * @since 4.0
+     */
+    private int rootFinderEvaluations;
+
+    /** Number of steps for which switching function evaluation was skipped.
+     * @since 4.0
+     */
+    private int skippedSteps;
+
     /** Simple constructor.
      * @param detector event detector
      * @since 3.0
@@ -125,6 +145,7 @@ public class DetectorBasedEventState implements EventState {
         earliestTimeConsidered = Double.NaN;
         afterEvent = Double.NaN;
         afterG = Double.NaN;
+        eventFreeEnd = Double.NaN;
     }
 
     /** Get the underlying event detector.
@@ -141,6 +162,66 @@ public class DetectorBasedEventState implements EventState {
         detector.init(s0, t);
         lastT = Double.NEGATIVE_INFINITY;
         lastG = Double.NaN;
+        eventFreeEnd          = Double.NaN;
+        evaluations           = 0;
+        rootFinderEvaluations = 0;
+        skippedSteps          = 0;
+    }
+
+    /** Get the number of switching function evaluations since integration start.
+     * @return number of switching function evaluations since integration start
+     * @since 4.0
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** Get the number of root finder evaluations since integration start.
+     * <p>
+     * These evaluations are a subset of the ones counted by {@link #getEvaluations()}.
+     * </p>
+     * @return number of root finder evaluations since integration start
+     * @since 4.0
+     */
+    public int getRootFinderEvaluations() {
+        return rootFinderEvaluations;
+    }
+
+    /** Get the number of steps for which switching function evaluation was skipped.
+     * @return number of steps for which switching function evaluation was skipped
+     * thanks to {@link AdaptableInterval#eventFreeInterval(ODEStateAndDerivative, double, boolean)}
+     * @since 4.0
+     */
+    public int getSkippedSteps() {
+        return skippedSteps;
+    }
+
+    /** Forget the interval during which the switching function cannot change sign.
+     * <p>
+     * This method must be called when the state is reset or when the switching
+     * function itself is changed, as the interval is not reliable anymore.
+     * </p>
+     * @since 4.0
+     */
+    public void clearEventFreeInterval() {
+        eventFreeEnd = Double.NaN;
+    }
+
+    /** Update the interval during which the switching function cannot change sign.
+     * @param s state at which switching function has been evaluated
+     * @param g value of the switching function
+     */
+    private void updateEventFreeInterval(final ODEStateAndDerivative s, final double g) {
+        final double duration = detector.getMaxCheckInterval().eventFreeInterval(s, g, forward);
+        eventFreeEnd = duration > 0 ? shiftedBy(s.getTime(), duration) : Double.NaN;
+    }
+
+    /** Check if a time is within the interval during which the switching function cannot change sign.
+     * @param t time to check
+     * @return true if switching function cannot change sign at time t
+     */
+    private boolean isEventFree(final double t) {
+        return !Double.isNaN(eventFreeEnd) && !strictlyAfter(eventFreeEnd, t);
     }
 
     /** Compute the value of the switching function.
@@ -151,6 +232,7 @@ public class DetectorBasedEventState implements EventState {
      */
     private double g(final ODEStateAndDerivative s) {
         if (s.getTime() != lastT) {
+            ++evaluations;
             lastG = detector.g(s);
             lastT = s.getTime();
         }
@@ -166,7 +248,7 @@ public class DetectorBasedEventState implements EventState {
         throws MathIllegalStateException {
 
         forward = interpolator.isForward();
-        final ODEStateAndDerivative s0 = interpolator.getPreviousState();
+        ODEStateAndDerivative s0 = interpolator.getPreviousState();
         t0 = s0.getTime();
         g0 = g(s0);
         while (g0 == 0) {
@@ -190,11 +272,13 @@ public class DetectorBasedEventState implements EventState {
                 tStart = nextAfter(t0);
             }
             t0 = tStart;
-            g0 = g(interpolator.getInterpolatedState(tStart));
+            s0 = interpolator.getInterpolatedState(tStart);
+            g0 = g(s0);
         }
         g0Positive = g0 > 0;
         // "last" event was increasing
         increasing = g0Positive;
+        updateEventFreeInterval(s0, g0);
 
     }
 
@@ -215,6 +299,14 @@ public class DetectorBasedEventState implements EventState {
             return false;
         }
 
+        if (isEventFree(t1)) {
+            // the switching function cannot change sign during this step
+            ++skippedSteps;
+            pendingEvent     = false;
+            pendingEventTime = Double.NaN;
+            return false;
+        }
+
         double ta = t0;
         double ga = g0;
         for (ODEStateAndDerivative sb = nextCheck(s0, s1, interpolator);
@@ -362,6 +454,7 @@ public class DetectorBasedEventState implements EventState {
                     try {
                         final Interval interval =
                                         solver.solveInterval(maxIterationCount, f, loopT, tb);
+                        rootFinderEvaluations += solver.getEvaluations();
                         beforeRootT = interval.getLeftAbscissa();
                         beforeRootG = interval.getLeftValue();
                         afterRootT = interval.getRightAbscissa();
@@ -376,6 +469,7 @@ public class DetectorBasedEventState implements EventState {
                     try {
                         final Interval interval =
                                         solver.solveInterval(maxIterationCount, f, tb, loopT);
+                        rootFinderEvaluations += solver.getEvaluations();
                         beforeRootT = interval.getRightAbscissa();
                         beforeRootG = interval.getRightValue();
                         afterRootT = interval.getLeftAbscissa();
@@ -470,6 +564,9 @@ public class DetectorBasedEventState implements EventState {
         if (strictlyAfter(t, earliestTimeConsidered)) {
             // just found an event and we know the next time we want to search again
             meFirst = false;
+        } else if (isEventFree(t)) {
+            // the switching function cannot have changed sign
+            meFirst = false;
         } else {
             // check g function to see if there is a new event
             final double g = g(state);
@@ -478,6 +575,7 @@ public class DetectorBasedEventState implements EventState {
             if (positive == g0Positive) {
                 // g function has expected sign
                 g0 = g; // g0Positive is the same
+                updateEventFreeInterval(state, g);
                 meFirst = false;
             } else {
                 // found a root we didn't expect -> find precise location
@@ -516,6 +614,7 @@ public class DetectorBasedEventState implements EventState {
         pendingEventTime = Double.NaN;
         // setup for next search
         earliestTimeConsidered = afterEvent;
+        eventFreeEnd = Double.NaN;
         t0 = afterEvent;
         g0 = afterG;
         g0Positive = increasing;
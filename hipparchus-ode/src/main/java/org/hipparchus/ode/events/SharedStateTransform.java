@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.events;
+
+import java.util.function.Function;
+
+import org.hipparchus.ode.ODEStateAndDerivative;
+
+/** State transform shared by several event detectors.
+ *
+ * <p>Many event detectors often depend on the same expensive transform of the
+ * state, for example converting a satellite state into a rotating frame before
+ * computing the elevation with respect to many ground stations. This class allows
+ * all these detectors to evaluate their switching functions in a batch: the first
+ * detector evaluated at one state triggers the transform, the other ones reuse the
+ * cached result.</p>
+ *
+ * <p>At each step end, the integrator passes the same state instance to all event
+ * detectors, so the cache is keyed on the state instance. States interpolated during
+ * root finding are different instances, so the transform is recomputed for them.</p>
+ *
+ * <p>Instances of this class are not thread-safe, they should not be shared by
+ * integrators running in parallel.</p>
+ *
+ * @param <T> type of the transformed state
+ * @since 4.0
+ */
+public class SharedStateTransform<T> {
+
+    /** Underlying transform. */
+    private final Function<ODEStateAndDerivative, T> transform;
+
+    /** Last transformed state. */
+    private ODEStateAndDerivative lastState;
+
+    /** Last transform result. */
+    private T lastValue;
+
+    /** Number of transforms actually computed. */
+    private int evaluations;
+
+    /** Simple constructor.
+     * @param transform underlying transform
+     */
+    public SharedStateTransform(final Function<ODEStateAndDerivative, T> transform) {
+        this.transform = transform;
+    }
+
+    /** Get the transform of a state.
+     * @param state state to transform
+     * @return transformed state, from cache if the same state has just been transformed
+     */
+    public T value(final ODEStateAndDerivative state) {
+        if (state != lastState) {
+            ++evaluations;
+            lastValue = transform.apply(state);
+            lastState = state;
+        }
+        return lastValue;
+    }
+
+    /** Get the number of transforms actually computed.
+     * @return number of transforms actually computed
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+}
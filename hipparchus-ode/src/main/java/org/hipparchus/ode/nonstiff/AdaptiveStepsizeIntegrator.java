@@ -198,10 +198,36 @@ public abstract class AdaptiveStepsizeIntegrator
             return forward ? stepsizeHelper.getInitialStep() : -stepsizeHelper.getInitialStep();
         }
 
-        // very rough first guess : h = 0.01 * ||y/scale|| / ||y'/scale||
-        // this guess will be used to perform an Euler step
+        // perform an Euler step using a rough first guess
         final double[] y0    = state0.getCompleteState();
         final double[] yDot0 = state0.getCompleteDerivative();
+        final double   h     = guessEulerStep(forward, scale, y0, yDot0);
+        final double[] y1    = new double[y0.length];
+        for (int j = 0; j < y0.length; ++j) {
+            y1[j] = y0[j] + h * yDot0[j];
+        }
+        final double[] yDot1 = computeDerivatives(state0.getTime() + h, y1);
+
+        return refineInitialStep(forward, order, scale, state0.getTime(), h, yDot0, yDot1);
+
+    }
+
+    /** Compute the rough guess of the initial step used to perform an Euler step.
+     * <p>
+     * This is the first part of {@link #initializeStep(boolean, int, double[], ODEStateAndDerivative)},
+     * it is also used by integration loops that manage their own arrays.
+     * </p>
+     * @param forward forward integration indicator
+     * @param scale scaling vector for the state vector (can be shorter than state vector)
+     * @param y0 state vector at integration start time
+     * @param yDot0 derivative of the state vector at integration start time
+     * @return signed step for the Euler step
+     * @since 4.0
+     */
+    protected double guessEulerStep(final boolean forward, final double[] scale,
+                                    final double[] y0, final double[] yDot0) {
+
+        // very rough first guess : h = 0.01 * ||y/scale|| / ||y'/scale||
         double yOnScale2 = 0;
         double yDotOnScale2 = 0;
         for (int j = 0; j < scale.length; ++j) {
@@ -216,22 +242,38 @@ public abstract class AdaptiveStepsizeIntegrator
         if (h > getMaxStep()) {
             h = getMaxStep();
         }
-        if (! forward) {
-            h = -h;
-        }
+        return forward ? h : -h;
 
-        // perform an Euler step using the preceding rough guess
-        final double[] y1 = new double[y0.length];
-        for (int j = 0; j < y0.length; ++j) {
-            y1[j] = y0[j] + h * yDot0[j];
-        }
-        final double[] yDot1 = computeDerivatives(state0.getTime() + h, y1);
+    }
+
+    /** Compute the initial step from the result of an Euler step.
+     * <p>
+     * This is the second part of {@link #initializeStep(boolean, int, double[], ODEStateAndDerivative)},
+     * it is also used by integration loops that manage their own arrays.
+     * </p>
+     * @param forward forward integration indicator
+     * @param order order of the method
+     * @param scale scaling vector for the state vector (can be shorter than state vector)
+     * @param t0 integration start time
+     * @param h signed step used for the Euler step, as returned by
+     * {@link #guessEulerStep(boolean, double[], double[], double[])}
+     * @param yDot0 derivative of the state vector at integration start time
+     * @param yDot1 derivative of the state vector at the end of the Euler step
+     * @return first integration step
+     * @since 4.0
+     */
+    protected double refineInitialStep(final boolean forward, final int order, final double[] scale,
+                                       final double t0, final double h,
+                                       final double[] yDot0, final double[] yDot1) {
 
         // estimate the second derivative of the solution
+        double yDotOnScale2 = 0;
         double yDDotOnScale = 0;
         for (int j = 0; j < scale.length; ++j) {
+            final double ratioDot    = yDot0[j] / scale[j];
+            yDotOnScale2            += ratioDot * ratioDot;
             final double ratioDotDot = (yDot1[j] - yDot0[j]) / scale[j];
-            yDDotOnScale += ratioDotDot * ratioDotDot;
+            yDDotOnScale            += ratioDotDot * ratioDotDot;
         }
         yDDotOnScale = FastMath.sqrt(yDDotOnScale) / h;
 
@@ -241,19 +283,15 @@ public abstract class AdaptiveStepsizeIntegrator
         final double h1 = (maxInv2 < 1.0e-15) ?
                            FastMath.max(1.0e-6, 0.001 * FastMath.abs(h)) :
                            FastMath.pow(0.01 / maxInv2, 1.0 / order);
-        h = FastMath.min(100.0 * FastMath.abs(h), h1);
-        h = FastMath.max(h, 1.0e-12 * FastMath.abs(state0.getTime()));  // avoids cancellation when computing t1 - t0
-        if (h < getMinStep()) {
-            h = getMinStep();
+        double hInit = FastMath.min(100.0 * FastMath.abs(h), h1);
+        hInit = FastMath.max(hInit, 1.0e-12 * FastMath.abs(t0));  // avoids cancellation when computing t1 - t0
+        if (hInit < getMinStep()) {
+            hInit = getMinStep();
         }
-        if (h > getMaxStep()) {
-            h = getMaxStep();
+        if (hInit > getMaxStep()) {
+            hInit = getMaxStep();
         }
-        if (! forward) {
-            h = -h;
-        }
-
-        return h;
+        return forward ? hInit : -hInit;
 
     }
 
@@ -171,6 +171,14 @@ public abstract class EmbeddedRungeKuttaIntegrator
      */
     public abstract int getOrder();
 
+    /** Get the index of the pre-computed derivative for <i>fsal</i> methods.
+     * @return index of the pre-computed derivative, or -1 if method is not <i>fsal</i>
+     * @since 4.0
+     */
+    int getFsal() {
+        return fsal;
+    }
+
     /** Get the safety factor for stepsize control.
      * @return safety factor
      */
@@ -0,0 +1,812 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.DetectorBasedEventState;
+import org.hipparchus.ode.events.EventOccurrence;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+import org.hipparchus.util.FastMath;
+
+/** Integrator for ensembles of initial conditions of the same differential equations.
+ * <p>
+ * This class propagates many initial states of the same {@link OrdinaryDifferentialEquation}
+ * together, as needed for example by sigma-points or Monte-Carlo uncertainty propagation.
+ * It uses the Butcher arrays, error estimation, step size control settings and
+ * interpolators of an underlying {@link EmbeddedRungeKuttaIntegrator}, so any embedded
+ * Runge-Kutta method can be used without a dedicated ensemble implementation.
+ * </p>
+ * <p>
+ * Members are split in blocks. Within one block, states and stages are stored in a
+ * structure-of-arrays layout (one array per state component, indexed by member), so
+ * the Butcher arrays weights are applied to all members of the block in tight loops.
+ * Each member has its own step size control and its own event states, members whose
+ * step is rejected simply retry with a smaller step while other members proceed. Blocks
+ * are independent and can be spread across the workers of a fork/join pool.
+ * </p>
+ * <p>
+ * For each member, the result is exactly the same as the one computed by calling
+ * {@link EmbeddedRungeKuttaIntegrator#integrate(OrdinaryDifferentialEquation, ODEState, double)
+ * integrate} on the underlying integrator with the same event detectors, regardless of
+ * the block size and of the use of a pool. Step handlers, step end handlers and secondary
+ * equations are not supported.
+ * </p>
+ * <p>
+ * The differential equations and the event detectors (with their handlers) are shared by all
+ * members: they should not hold member-specific state and they must be thread-safe if a pool
+ * is used. The {@link OrdinaryDifferentialEquation#init(double, double[], double) init} methods
+ * of equations, detectors and handlers are called once for each member.
+ * </p>
+ * @since 4.0
+ */
+public class EnsembleRungeKuttaIntegrator {
+
+    /** Default number of members per block. */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /** Underlying integrator. */
+    private final EmbeddedRungeKuttaIntegrator integrator;
+
+    /** Number of members per block. */
+    private final int blockSize;
+
+    /** Event detectors. */
+    private final List<ODEEventDetector> detectors;
+
+    /** Build an ensemble integrator with default block size.
+     * @param integrator underlying integrator, providing Butcher arrays and step size control
+     */
+    public EnsembleRungeKuttaIntegrator(final EmbeddedRungeKuttaIntegrator integrator) {
+        this(integrator, DEFAULT_BLOCK_SIZE);
+    }
+
+    /** Build an ensemble integrator.
+     * @param integrator underlying integrator, providing Butcher arrays and step size control
+     * @param blockSize number of members per block
+     * @exception MathIllegalArgumentException if block size is not strictly positive
+     */
+    public EnsembleRungeKuttaIntegrator(final EmbeddedRungeKuttaIntegrator integrator, final int blockSize)
+        throws MathIllegalArgumentException {
+        if (blockSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, blockSize, 1);
+        }
+        this.integrator = integrator;
+        this.blockSize  = blockSize;
+        this.detectors  = new ArrayList<>();
+    }
+
+    /** Get the underlying integrator.
+     * @return underlying integrator
+     */
+    public EmbeddedRungeKuttaIntegrator getIntegrator() {
+        return integrator;
+    }
+
+    /** Get the number of members per block.
+     * @return number of members per block
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /** Add an event detector, shared by all members.
+     * @param detector event detector
+     */
+    public void addEventDetector(final ODEEventDetector detector) {
+        detectors.add(detector);
+    }
+
+    /** Get all the event detectors that have been added.
+     * @return an unmodifiable list of the event detectors
+     */
+    public List<ODEEventDetector> getEventDetectors() {
+        return Collections.unmodifiableList(detectors);
+    }
+
+    /** Remove all the event detectors that have been added. */
+    public void clearEventDetectors() {
+        detectors.clear();
+    }
+
+    /** Integrate all members of the ensemble up to the given time.
+     * @param equations differential equations shared by all members
+     * @param initialStates initial states of the members (primary states only)
+     * @param finalTime target time for the integration
+     * @return final states of the members, in the same order as initial states
+     * (members stopped by an event end before target time)
+     * @exception MathIllegalArgumentException if dimensions do not match equations,
+     * if integration span is too small or if integration step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * or if NaN appears during integration
+     */
+    public ODEStateAndDerivative[] integrate(final OrdinaryDifferentialEquation equations,
+                                             final ODEState[] initialStates, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        return doIntegrate(equations, initialStates, finalTime, null);
+    }
+
+    /** Integrate all members of the ensemble up to the given time, using a fork/join pool.
+     * <p>
+     * Blocks of members are spread across the workers of the pool. The result is exactly the
+     * same as the one computed by {@link #integrate(OrdinaryDifferentialEquation, ODEState[], double)}.
+     * </p>
+     * @param equations differential equations shared by all members
+     * @param initialStates initial states of the members (primary states only)
+     * @param finalTime target time for the integration
+     * @param pool pool to use for computation
+     * @return final states of the members, in the same order as initial states
+     * (members stopped by an event end before target time)
+     * @exception MathIllegalArgumentException if dimensions do not match equations,
+     * if integration span is too small or if integration step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * or if NaN appears during integration
+     */
+    public ODEStateAndDerivative[] integrate(final OrdinaryDifferentialEquation equations,
+                                             final ODEState[] initialStates, final double finalTime,
+                                             final ForkJoinPool pool)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        if (pool == null) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NULL_NOT_ALLOWED);
+        }
+        return doIntegrate(equations, initialStates, finalTime, pool);
+    }
+
+    /** Integrate all members of the ensemble up to the given time.
+     * @param equations differential equations shared by all members
+     * @param initialStates initial states of the members (primary states only)
+     * @param finalTime target time for the integration
+     * @param pool pool to use for computation (null for sequential computation)
+     * @return final states of the members, in the same order as initial states
+     */
+    private ODEStateAndDerivative[] doIntegrate(final OrdinaryDifferentialEquation equations,
+                                                final ODEState[] initialStates, final double finalTime,
+                                                final ForkJoinPool pool) {
+
+        // sanity checks
+        final int dimension = equations.getDimension();
+        for (final ODEState state : initialStates) {
+            if (state.getPrimaryStateDimension() != dimension || state.getNumberOfSecondaryStates() != 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       state.getCompleteStateDimension(), dimension);
+            }
+            final double threshold = 1000 * FastMath.ulp(FastMath.max(FastMath.abs(state.getTime()),
+                                                                      FastMath.abs(finalTime)));
+            final double dt = FastMath.abs(state.getTime() - finalTime);
+            if (dt < threshold) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.TOO_SMALL_INTEGRATION_INTERVAL,
+                                                       dt, threshold, false);
+            }
+        }
+        integrator.getStepSizeHelper().setMainSetDimension(dimension);
+
+        final EquationsMapper         mapper  = new ExpandableODE(equations).getMapper();
+        final ODEStateAndDerivative[] results = new ODEStateAndDerivative[initialStates.length];
+        final int nbBlocks = (initialStates.length + blockSize - 1) / blockSize;
+        if (pool == null) {
+            final Block block = new Block(dimension);
+            for (int i = 0; i < nbBlocks; ++i) {
+                block.integrate(equations, mapper, initialStates, i * blockSize, finalTime, results);
+            }
+        } else if (nbBlocks > 0) {
+            pool.invoke(new BlocksTask(equations, mapper, initialStates, finalTime, results, 0, nbBlocks));
+        }
+
+        return results;
+
+    }
+
+    /** Task integrating a range of blocks. */
+    private class BlocksTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Differential equations shared by all members. */
+        private final transient OrdinaryDifferentialEquation equations;
+
+        /** Mapper for the equations. */
+        private final transient EquationsMapper mapper;
+
+        /** Initial states of all members. */
+        private final transient ODEState[] initialStates;
+
+        /** Target time for the integration. */
+        private final double finalTime;
+
+        /** Placeholder for final states of all members. */
+        private final transient ODEStateAndDerivative[] results;
+
+        /** Index of first block (included). */
+        private final int from;
+
+        /** Index of last block (excluded). */
+        private final int to;
+
+        /** Simple constructor.
+         * @param equations differential equations shared by all members
+         * @param mapper mapper for the equations
+         * @param initialStates initial states of all members
+         * @param finalTime target time for the integration
+         * @param results placeholder for final states of all members
+         * @param from index of first block (included)
+         * @param to index of last block (excluded)
+         */
+        BlocksTask(final OrdinaryDifferentialEquation equations, final EquationsMapper mapper,
+                   final ODEState[] initialStates, final double finalTime,
+                   final ODEStateAndDerivative[] results, final int from, final int to) {
+            this.equations     = equations;
+            this.mapper        = mapper;
+            this.initialStates = initialStates;
+            this.finalTime     = finalTime;
+            this.results       = results;
+            this.from          = from;
+            this.to            = to;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                final Block block = new Block(equations.getDimension());
+                for (int i = from; i < to; ++i) {
+                    block.integrate(equations, mapper, initialStates, i * blockSize, finalTime, results);
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new BlocksTask(equations, mapper, initialStates, finalTime, results, from, middle),
+                          new BlocksTask(equations, mapper, initialStates, finalTime, results, middle, to));
+            }
+        }
+
+    }
+
+    /** Working arrays and per-member integration state for one block of members. */
+    private class Block {
+
+        /** Dimension of the state vector. */
+        private final int dimension;
+
+        /** State vectors at step start, indexed by component then member. */
+        private final double[][] y;
+
+        /** State vectors at intermediate stages and at step end, indexed by component then member. */
+        private final double[][] yTmp;
+
+        /** Slopes at the intermediate points, indexed by stage, component then member. */
+        private final double[][][] yDotK;
+
+        /** Partial sums of the weighted slopes, indexed by member. */
+        private final double[] sum;
+
+        /** Current time of each member. */
+        private final double[] t;
+
+        /** Current step size of each member. */
+        private final double[] h;
+
+        /** Next step size of each member. */
+        private final double[] hNew;
+
+        /** Integration direction of each member. */
+        private final boolean[] forward;
+
+        /** Activity indicator of each member. */
+        private final boolean[] active;
+
+        /** Number of evaluations of each member. */
+        private final int[] evaluations;
+
+        /** States at step start of each member (only used with event detectors). */
+        private final ODEStateAndDerivative[] stepStart;
+
+        /** Event states of each member. */
+        private final DetectorBasedEventState[][] eventStates;
+
+        /** Indicators for initialized event states of each member. */
+        private final boolean[] statesInitialized;
+
+        /** Single member state vector. */
+        private final double[] yM;
+
+        /** Single member state vector derivative. */
+        private final double[] yDotM;
+
+        /** Single member state vector at step end. */
+        private final double[] y1M;
+
+        /** Single member slopes at the intermediate points. */
+        private final double[][] yDotKM;
+
+        /** Single member scaling vector for step initialization. */
+        private final double[] scaleM;
+
+        /** Indicator for last step of current member. */
+        private boolean isLastStep;
+
+        /** Simple constructor.
+         * @param dimension dimension of the state vector
+         */
+        Block(final int dimension) {
+            final int stages = integrator.getNumberOfStages();
+            this.dimension         = dimension;
+            this.y                 = new double[dimension][blockSize];
+            this.yTmp              = new double[dimension][blockSize];
+            this.yDotK             = new double[stages][dimension][blockSize];
+            this.sum               = new double[blockSize];
+            this.t                 = new double[blockSize];
+            this.h                 = new double[blockSize];
+            this.hNew              = new double[blockSize];
+            this.forward           = new boolean[blockSize];
+            this.active            = new boolean[blockSize];
+            this.evaluations       = new int[blockSize];
+            this.stepStart         = new ODEStateAndDerivative[blockSize];
+            this.eventStates       = new DetectorBasedEventState[blockSize][];
+            this.statesInitialized = new boolean[blockSize];
+            this.yM                = new double[dimension];
+            this.yDotM             = new double[dimension];
+            this.y1M               = new double[dimension];
+            this.yDotKM            = new double[stages][dimension];
+            this.scaleM            = new double[dimension];
+        }
+
+        /** Integrate the members of the block.
+         * @param equations differential equations shared by all members
+         * @param mapper mapper for the equations
+         * @param initialStates initial states of all members
+         * @param offset index of the first member of the block
+         * @param finalTime target time for the integration
+         * @param results placeholder for final states of all members
+         */
+        void integrate(final OrdinaryDifferentialEquation equations, final EquationsMapper mapper,
+                       final ODEState[] initialStates, final int offset, final double finalTime,
+                       final ODEStateAndDerivative[] results) {
+
+            final double[]   c        = integrator.getC();
+            final double[][] a        = integrator.getA();
+            final double[]   b        = integrator.getB();
+            final int        fsal     = integrator.getFsal();
+            final int        stages   = c.length + 1;
+            final int        count    = FastMath.min(blockSize, initialStates.length - offset);
+            int              nbActive = 0;
+
+            // initialize members
+            for (int m = 0; m < count; ++m) {
+                initializeMember(equations, mapper, initialStates[offset + m], m, finalTime);
+                ++nbActive;
+            }
+
+            // main integration loop
+            while (nbActive > 0) {
+
+                // set up step sizes
+                for (int m = 0; m < count; ++m) {
+                    if (active[m]) {
+                        h[m] = hNew[m];
+                        if (forward[m]) {
+                            if (t[m] + h[m] >= finalTime) {
+                                h[m] = finalTime - t[m];
+                            }
+                        } else {
+                            if (t[m] + h[m] <= finalTime) {
+                                h[m] = finalTime - t[m];
+                            }
+                        }
+                    }
+                }
+
+                // internal stages, applied to all members of the block at once
+                for (int k = 1; k < stages; ++k) {
+                    applyWeights(a[k - 1], k, count);
+                    for (int m = 0; m < count; ++m) {
+                        if (active[m]) {
+                            gather(yTmp, m, yM);
+                            computeDerivatives(equations, m, t[m] + h[m] * c[k - 1], yM, yDotM);
+                            scatter(yDotM, yDotK[k], m);
+                        }
+                    }
+                }
+
+                // state at step end
+                applyWeights(b, stages, count);
+
+                // per-member error control
+                for (int m = 0; m < count; ++m) {
+                    if (active[m] && !controlStep(equations, mapper, m, fsal, finalTime)) {
+                        // the member has reached its final state
+                        results[offset + m] = stepStart[m] != null ?
+                                              stepStart[m] :
+                                              mapper.mapStateAndDerivative(t[m], yM.clone(), yDotM.clone());
+                        active[m] = false;
+                        --nbActive;
+                    }
+                }
+
+            }
+
+        }
+
+        /** Initialize one member.
+         * @param equations differential equations shared by all members
+         * @param mapper mapper for the equations
+         * @param initialState initial state of the member
+         * @param m index of the member in the block
+         * @param finalTime target time for the integration
+         */
+        private void initializeMember(final OrdinaryDifferentialEquation equations, final EquationsMapper mapper,
+                                      final ODEState initialState, final int m, final double finalTime) {
+
+            final double[] y0 = initialState.getPrimaryState();
+            t[m]           = initialState.getTime();
+            forward[m]     = finalTime > t[m];
+            active[m]      = true;
+            evaluations[m] = 0;
+            equations.init(t[m], y0.clone(), finalTime);
+
+            // first derivative
+            System.arraycopy(y0, 0, yM, 0, dimension);
+            computeDerivatives(equations, m, t[m], yM, yDotM);
+            scatter(yM, y, m);
+            scatter(yDotM, yDotK[0], m);
+
+            // events
+            if (detectors.isEmpty()) {
+                stepStart[m] = null;
+            } else {
+                stepStart[m]         = mapper.mapStateAndDerivative(t[m], yM.clone(), yDotM.clone());
+                eventStates[m]       = new DetectorBasedEventState[detectors.size()];
+                statesInitialized[m] = false;
+                for (int i = 0; i < eventStates[m].length; ++i) {
+                    final ODEEventDetector detector = detectors.get(i);
+                    eventStates[m][i] = new DetectorBasedEventState(detector);
+                    eventStates[m][i].init(stepStart[m], finalTime);
+                    detector.getHandler().init(stepStart[m], finalTime, detector);
+                }
+            }
+
+            // initial step
+            final StepsizeHelper helper = integrator.getStepSizeHelper();
+            if (helper.getInitialStep() > 0) {
+                // use the user provided value
+                hNew[m] = forward[m] ? helper.getInitialStep() : -helper.getInitialStep();
+            } else {
+                for (int j = 0; j < dimension; ++j) {
+                    scaleM[j] = helper.getTolerance(j, FastMath.abs(yM[j]));
+                }
+                final double hEuler = integrator.guessEulerStep(forward[m], scaleM, yM, yDotM);
+                for (int j = 0; j < dimension; ++j) {
+                    y1M[j] = yM[j] + hEuler * yDotM[j];
+                }
+                final double[] yDot1 = yDotKM[0];
+                computeDerivatives(equations, m, t[m] + hEuler, y1M, yDot1);
+                hNew[m] = integrator.refineInitialStep(forward[m], integrator.getOrder(), scaleM,
+                                                       t[m], hEuler, yDotM, yDot1);
+            }
+
+        }
+
+        /** Apply Butcher array weights to the slopes of all members.
+         * <p>
+         * The weighted slopes are added to the state at step start and stored in {@link #yTmp}.
+         * </p>
+         * @param weights weights to apply
+         * @param nbStages number of stages to combine
+         * @param count number of members in the block
+         */
+        private void applyWeights(final double[] weights, final int nbStages, final int count) {
+            for (int j = 0; j < dimension; ++j) {
+                final double[] k0 = yDotK[0][j];
+                for (int m = 0; m < count; ++m) {
+                    sum[m] = k0[m] * weights[0];
+                }
+                for (int l = 1; l < nbStages; ++l) {
+                    final double[] kl = yDotK[l][j];
+                    final double   w  = weights[l];
+                    for (int m = 0; m < count; ++m) {
+                        sum[m] += kl[m] * w;
+                    }
+                }
+                final double[] yj    = y[j];
+                final double[] yTmpj = yTmp[j];
+                for (int m = 0; m < count; ++m) {
+                    yTmpj[m] = yj[m] + h[m] * sum[m];
+                }
+            }
+        }
+
+        /** Control the step of one member, and accept it if error is small enough.
+         * <p>
+         * On return, {@link #yM} and {@link #yDotM} contain the state and derivative at
+         * the start of next step.
+         * </p>
+         * @param equations differential equations shared by all members
+         * @param mapper mapper for the equations
+         * @param m index of the member in the block
+         * @param fsal index of the pre-computed derivative for <i>fsal</i> methods
+         * @param finalTime target time for the integration
+         * @return true if the member must continue, false if it has reached its final state
+         */
+        private boolean controlStep(final OrdinaryDifferentialEquation equations, final EquationsMapper mapper,
+                                    final int m, final int fsal, final double finalTime) {
+
+            // estimate the error at the end of the step
+            for (int k = 0; k < yDotKM.length; ++k) {
+                gather(yDotK[k], m, yDotKM[k]);
+            }
+            gather(y, m, yM);
+            gather(yTmp, m, y1M);
+            final double error = integrator.estimateError(yDotKM, yM, y1M, h[m]);
+            if (Double.isNaN(error)) {
+                throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                    t[m] + h[m]);
+            }
+            if (error >= 1.0) {
+                // reject the step and attempt to reduce error by stepsize control
+                hNew[m] = integrator.getStepSizeHelper().filterStep(h[m] * computeFactor(error), forward[m], false);
+                return true;
+            }
+
+            // local error is small enough: accept the step
+            final double stepEnd = t[m] + h[m];
+            if (fsal >= 0) {
+                System.arraycopy(yDotKM[fsal], 0, yDotM, 0, dimension);
+            } else {
+                computeDerivatives(equations, m, stepEnd, y1M, yDotM);
+            }
+            if (stepStart[m] == null) {
+                System.arraycopy(y1M, 0, yM, 0, dimension);
+                t[m]       = stepEnd;
+                isLastStep = FastMath.abs(t[m] - finalTime) < FastMath.ulp(finalTime);
+            } else {
+                // trigger events
+                final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, y1M.clone(), yDotM.clone());
+                stepStart[m] = acceptStep(equations, mapper, m,
+                                          integrator.createInterpolator(forward[m], yDotKM, stepStart[m], stateTmp, mapper),
+                                          finalTime);
+                System.arraycopy(stepStart[m].getCompleteState(),      0, yM,    0, dimension);
+                System.arraycopy(stepStart[m].getCompleteDerivative(), 0, yDotM, 0, dimension);
+                t[m] = stepStart[m].getTime();
+            }
+            scatter(yM,    y,        m);
+            scatter(yDotM, yDotK[0], m);
+
+            if (isLastStep) {
+                return false;
+            }
+
+            // stepsize control for next step
+            final double  scaledH    = h[m] * computeFactor(error);
+            final double  nextT      = t[m] + scaledH;
+            final boolean nextIsLast = forward[m] ? (nextT >= finalTime) : (nextT <= finalTime);
+            hNew[m] = integrator.getStepSizeHelper().filterStep(scaledH, forward[m], nextIsLast);
+
+            final double  filteredNextT      = t[m] + hNew[m];
+            final boolean filteredNextIsLast = forward[m] ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
+            if (filteredNextIsLast) {
+                hNew[m] = finalTime - t[m];
+            }
+
+            return true;
+
+        }
+
+        /** Accept a step of one member, triggering events.
+         * <p>
+         * This follows the same logic as {@link org.hipparchus.ode.AbstractIntegrator}, without step handlers.
+         * </p>
+         * @param equations differential equations shared by all members
+         * @param mapper mapper for the equations
+         * @param m index of the member in the block
+         * @param interpolator step interpolator
+         * @param tEnd final integration time
+         * @return state at end of step
+         */
+        private ODEStateAndDerivative acceptStep(final OrdinaryDifferentialEquation equations,
+                                                 final EquationsMapper mapper, final int m,
+                                                 final AbstractODEStateInterpolator interpolator,
+                                                 final double tEnd) {
+
+            final DetectorBasedEventState[] states = eventStates[m];
+            ODEStateAndDerivative previousState = interpolator.getGlobalPreviousState();
+            final ODEStateAndDerivative currentState = interpolator.getGlobalCurrentState();
+            AbstractODEStateInterpolator restricted = interpolator;
+
+            // initialize the events states if needed
+            if (!statesInitialized[m]) {
+                for (final DetectorBasedEventState state : states) {
+                    state.reinitializeBegin(interpolator);
+                }
+                statesInitialized[m] = true;
+            }
+
+            // search for next events that may occur during the step
+            final int orderingSign = interpolator.isForward() ? +1 : -1;
+            final Queue<DetectorBasedEventState> occurringEvents =
+                            new PriorityQueue<>((es0, es1) -> orderingSign * Double.compare(es0.getEventTime(),
+                                                                                             es1.getEventTime()));
+
+            isLastStep = false;
+            boolean doneWithStep = false;
+            resetEvents:
+            do {
+
+                // evaluate all event detectors for events
+                occurringEvents.clear();
+                for (final DetectorBasedEventState state : states) {
+                    if (state.evaluateStep(restricted)) {
+                        // the event occurs during the current step
+                        occurringEvents.add(state);
+                    }
+                }
+
+                do {
+
+                    eventLoop:
+                    while (!occurringEvents.isEmpty()) {
+
+                        // handle the chronologically first event
+                        final DetectorBasedEventState currentEvent = occurringEvents.poll();
+
+                        // get state at event time
+                        final ODEStateAndDerivative eventState =
+                                        restricted.getInterpolatedState(currentEvent.getEventTime());
+
+                        // restrict the interpolator to the first part of the step, up to the event
+                        restricted = restricted.restrictStep(previousState, eventState);
+
+                        // try to advance all event states to current time
+                        for (final DetectorBasedEventState state : states) {
+                            if (state != currentEvent && state.tryAdvance(eventState, interpolator)) {
+                                // we need to handle another event first
+                                occurringEvents.remove(state);
+                                occurringEvents.add(state);
+                                occurringEvents.add(currentEvent);
+                                continue eventLoop;
+                            }
+                        }
+                        // all event detectors agree we can advance to the current event time
+
+                        // acknowledge event occurrence
+                        final EventOccurrence occurrence = currentEvent.doEvent(eventState);
+                        final Action action = occurrence.getAction();
+
+                        if (action == Action.STOP) {
+                            // ensure the event is after the root, as regular integrators do
+                            isLastStep = true;
+                            return interpolator.getInterpolatedState(occurrence.getStopTime());
+                        }
+
+                        if (action == Action.RESET_DERIVATIVES || action == Action.RESET_STATE) {
+                            // some event handler has triggered changes that
+                            // invalidate the derivatives, we need to recompute them
+                            final ODEState newState = occurrence.getNewState();
+                            final double[] yNew     = newState.getCompleteState();
+                            final double[] yDotNew  = new double[yNew.length];
+                            computeDerivatives(equations, m, newState.getTime(), yNew, yDotNew);
+                            for (final DetectorBasedEventState state : states) {
+                                state.clearEventFreeInterval();
+                            }
+                            return mapper.mapStateAndDerivative(newState.getTime(), yNew, yDotNew);
+                        }
+                        // at this point action == Action.CONTINUE or Action.RESET_EVENTS
+
+                        // prepare handling of the remaining part of the step
+                        previousState = eventState;
+                        restricted    = restricted.restrictStep(eventState, currentState);
+
+                        if (action == Action.RESET_EVENTS) {
+                            for (final DetectorBasedEventState state : states) {
+                                state.clearEventFreeInterval();
+                            }
+                            continue resetEvents;
+                        }
+
+                        // at this point action == Action.CONTINUE
+                        // check if the same event occurs again in the remaining part of the step
+                        if (currentEvent.evaluateStep(restricted)) {
+                            occurringEvents.add(currentEvent);
+                        }
+
+                    }
+
+                    // advance all event states to the end of the step
+                    for (final DetectorBasedEventState state : states) {
+                        if (state.tryAdvance(currentState, interpolator)) {
+                            occurringEvents.add(state);
+                        }
+                    }
+
+                } while (!occurringEvents.isEmpty());
+
+                doneWithStep = true;
+            } while (!doneWithStep);
+
+            isLastStep = FastMath.abs(currentState.getTime() - tEnd) < FastMath.ulp(tEnd);
+            return currentState;
+
+        }
+
+        /** Compute the step size scaling factor.
+         * @param error error ratio
+         * @return scaling factor to apply to current step size
+         */
+        private double computeFactor(final double error) {
+            return FastMath.min(integrator.getMaxGrowth(),
+                                FastMath.max(integrator.getMinReduction(),
+                                             integrator.getSafety() * FastMath.pow(error, -1.0 / integrator.getOrder())));
+        }
+
+        /** Compute the derivatives of one member and check the number of evaluations.
+         * @param equations differential equations shared by all members
+         * @param m index of the member in the block
+         * @param time current value of the independent <I>time</I> variable
+         * @param yCurrent array containing the current value of the state vector
+         * @param yDot placeholder array where to put the time derivative of the state vector
+         */
+        private void computeDerivatives(final OrdinaryDifferentialEquation equations, final int m,
+                                        final double time, final double[] yCurrent, final double[] yDot) {
+            if (evaluations[m] >= integrator.getMaxEvaluations()) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED,
+                                                    integrator.getMaxEvaluations());
+            }
+            ++evaluations[m];
+            equations.computeDerivatives(time, yCurrent, yDot);
+        }
+
+        /** Gather the components of one member.
+         * @param soa structure-of-arrays, indexed by component then member
+         * @param m index of the member in the block
+         * @param member placeholder for the components of the member
+         */
+        private void gather(final double[][] soa, final int m, final double[] member) {
+            for (int j = 0; j < dimension; ++j) {
+                member[j] = soa[j][m];
+            }
+        }
+
+        /** Scatter the components of one member.
+         * @param member components of the member
+         * @param soa structure-of-arrays, indexed by component then member
+         * @param m index of the member in the block
+         */
+        private void scatter(final double[] member, final double[][] soa, final int m) {
+            for (int j = 0; j < dimension; ++j) {
+                soa[j][m] = member[j];
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,445 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.util.FastMath;
+
+/** Reusable workspace for allocation-free explicit Runge-Kutta integration.
+ * <p>
+ * This class runs the same integration loop as {@link RungeKuttaIntegrator}
+ * and {@link EmbeddedRungeKuttaIntegrator}, with the same Butcher arrays,
+ * the same initial step guess and the same step size control, but without
+ * any of the rich features of general integrators (no step handlers, no
+ * events handlers, no secondary equations, no interpolators). All working
+ * arrays are allocated once at construction and reused for all steps and all
+ * calls to {@link #integrate(OrdinaryDifferentialEquation, double, double[], double)},
+ * so integrating a problem that implements the in-place
+ * {@link OrdinaryDifferentialEquation#computeDerivatives(double, double[], double[])
+ * computeDerivatives} method does not allocate anything once the initial step
+ * has been selected. This is intended for use cases where a huge number of
+ * short integrations are performed, like Monte-Carlo simulations.
+ * </p>
+ * <p>
+ * With fixed step integrators, the results are exactly the same as the ones
+ * computed by the underlying integrator. With embedded integrators, the step
+ * size scaling factor is computed without {@link FastMath#pow(double, double)}
+ * (which allocates a temporary array), so step sizes may differ from the ones
+ * selected by the integrator in the last bits. The step size control settings
+ * are read from the integrator at each call, so they can be changed between calls.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe, each thread should use its own workspace.
+ * </p>
+ * @since 4.0
+ */
+public class RungeKuttaWorkspace {
+
+    /** Underlying integrator. */
+    private final ExplicitRungeKuttaIntegrator integrator;
+
+    /** Underlying integrator as an embedded integrator (null for fixed step integrators). */
+    private final EmbeddedRungeKuttaIntegrator embedded;
+
+    /** Fixed step (NaN for embedded integrators). */
+    private final double step;
+
+    /** Time steps from Butcher array (without the first zero). */
+    private final double[] c;
+
+    /** Internal weights from Butcher array (without the first empty row). */
+    private final double[][] a;
+
+    /** External weights for the high order method from Butcher array. */
+    private final double[] b;
+
+    /** Index of the pre-computed derivative for <i>fsal</i> methods. */
+    private final int fsal;
+
+    /** Dimension of the state vector. */
+    private final int dimension;
+
+    /** State vector at step start. */
+    private double[] y;
+
+    /** State vector at intermediate stages and at step end. */
+    private double[] yTmp;
+
+    /** Slopes at the intermediate points. */
+    private final double[][] yDotK;
+
+    /** Scaling vector for step initialization. */
+    private final double[] scale;
+
+    /** Number of evaluations during last integration. */
+    private int evaluations;
+
+    /** Maximal number of evaluations. */
+    private int maxEvaluations;
+
+    /** Build a workspace for a fixed step integrator.
+     * @param integrator fixed step Runge-Kutta integrator
+     * @param dimension dimension of the state vector
+     */
+    public RungeKuttaWorkspace(final RungeKuttaIntegrator integrator, final int dimension) {
+        this(integrator, null, integrator.getDefaultStep(), -1, dimension);
+    }
+
+    /** Build a workspace for an embedded integrator.
+     * @param integrator embedded Runge-Kutta integrator
+     * @param dimension dimension of the state vector
+     */
+    public RungeKuttaWorkspace(final EmbeddedRungeKuttaIntegrator integrator, final int dimension) {
+        this(integrator, integrator, Double.NaN, integrator.getFsal(), dimension);
+    }
+
+    /** Build a workspace.
+     * @param integrator underlying integrator
+     * @param embedded underlying integrator as an embedded integrator (null for fixed step integrators)
+     * @param step fixed step (NaN for embedded integrators)
+     * @param fsal index of the pre-computed derivative for <i>fsal</i> methods
+     * @param dimension dimension of the state vector
+     */
+    private RungeKuttaWorkspace(final ExplicitRungeKuttaIntegrator integrator,
+                                final EmbeddedRungeKuttaIntegrator embedded,
+                                final double step, final int fsal, final int dimension) {
+        if (dimension < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, dimension, 1);
+        }
+        this.integrator = integrator;
+        this.embedded   = embedded;
+        this.step       = step;
+        this.c          = integrator.getC();
+        this.a          = integrator.getA();
+        this.b          = integrator.getB();
+        this.fsal       = fsal;
+        this.dimension  = dimension;
+        this.y          = new double[dimension];
+        this.yTmp       = new double[dimension];
+        this.yDotK      = new double[c.length + 1][dimension];
+        this.scale      = new double[dimension];
+    }
+
+    /** Get the dimension of the state vector.
+     * @return dimension of the state vector
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /** Get the number of evaluations of the differential equations during last integration.
+     * @return number of evaluations during last integration
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** Integrate the differential equations up to the given time.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param state state vector, containing the initial state at {@code t0}
+     * on entry and replaced by the state at {@code finalTime} on return
+     * @param finalTime target time for the integration
+     * (can be set to a value smaller than {@code t0} for backward integration)
+     * @exception MathIllegalArgumentException if dimensions do not match the workspace,
+     * if integration span is too small or if integration step is too small
+     * @exception MathIllegalStateException if the number of functions evaluations is exceeded
+     * or if NaN appears during integration
+     */
+    public void integrate(final OrdinaryDifferentialEquation equations, final double t0,
+                          final double[] state, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        // sanity checks
+        if (equations.getDimension() != dimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   equations.getDimension(), dimension);
+        }
+        if (state.length != dimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   state.length, dimension);
+        }
+        final double threshold = 1000 * FastMath.ulp(FastMath.max(FastMath.abs(t0), FastMath.abs(finalTime)));
+        final double dt = FastMath.abs(t0 - finalTime);
+        if (dt < threshold) {
+            throw new MathIllegalArgumentException(LocalizedODEFormats.TOO_SMALL_INTEGRATION_INTERVAL,
+                                                   dt, threshold, false);
+        }
+
+        // initialize integration
+        equations.init(t0, state, finalTime);
+        evaluations    = 0;
+        maxEvaluations = integrator.getMaxEvaluations();
+        System.arraycopy(state, 0, y, 0, dimension);
+        computeDerivatives(equations, t0, y, yDotK[0]);
+
+        if (embedded == null) {
+            integrateFixedStep(equations, t0, finalTime);
+        } else {
+            integrateAdaptiveStep(equations, t0, finalTime);
+        }
+
+        System.arraycopy(y, 0, state, 0, dimension);
+
+    }
+
+    /** Run the integration loop of fixed step integrators.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param finalTime target time for the integration
+     */
+    private void integrateFixedStep(final OrdinaryDifferentialEquation equations,
+                                    final double t0, final double finalTime) {
+
+        final boolean forward = finalTime > t0;
+
+        double h;
+        if (forward) {
+            h = (t0 + step >= finalTime) ? finalTime - t0 : step;
+        } else {
+            h = (t0 - step <= finalTime) ? finalTime - t0 : -step;
+        }
+
+        double  t          = t0;
+        boolean isLastStep = false;
+        while (!isLastStep) {
+
+            computeStages(equations, t, h);
+            final double stepEnd = t + h;
+            for (int j = 0; j < dimension; ++j) {
+                if (Double.isNaN(yTmp[j])) {
+                    throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                        stepEnd);
+                }
+            }
+
+            // accept the step
+            computeDerivatives(equations, stepEnd, yTmp, yDotK[0]);
+            swapStates();
+            t          = stepEnd;
+            isLastStep = FastMath.abs(t - finalTime) < FastMath.ulp(finalTime);
+
+            if (!isLastStep) {
+                final double  nextT      = t + h;
+                final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+                if (nextIsLast) {
+                    h = finalTime - t;
+                }
+            }
+
+        }
+
+    }
+
+    /** Run the integration loop of embedded integrators.
+     * @param equations differential equations to integrate
+     * @param t0 initial time
+     * @param finalTime target time for the integration
+     */
+    private void integrateAdaptiveStep(final OrdinaryDifferentialEquation equations,
+                                       final double t0, final double finalTime) {
+
+        final boolean        forward      = finalTime > t0;
+        final StepsizeHelper helper       = embedded.getStepSizeHelper();
+        final double         exp          = -1.0 / embedded.getOrder();
+        final double         safety       = embedded.getSafety();
+        final double         minReduction = embedded.getMinReduction();
+        final double         maxGrowth    = embedded.getMaxGrowth();
+        helper.setMainSetDimension(dimension);
+
+        double  t          = t0;
+        double  h          = 0;
+        double  hNew       = initializeStep(equations, forward, t0);
+        boolean isLastStep = false;
+        while (!isLastStep) {
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            double error = 10;
+            while (error >= 1.0) {
+
+                h = hNew;
+                if (forward) {
+                    if (t + h >= finalTime) {
+                        h = finalTime - t;
+                    }
+                } else {
+                    if (t + h <= finalTime) {
+                        h = finalTime - t;
+                    }
+                }
+
+                computeStages(equations, t, h);
+
+                // estimate the error at the end of the step
+                error = embedded.estimateError(yDotK, y, yTmp, h);
+                if (Double.isNaN(error)) {
+                    throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                        t + h);
+                }
+                if (error >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    final double factor = computeStepFactor(error, exp, safety, minReduction, maxGrowth);
+                    hNew = helper.filterStep(h * factor, forward, false);
+                }
+
+            }
+
+            // accept the step
+            final double stepEnd = t + h;
+            if (fsal >= 0) {
+                final double[] tmp = yDotK[0];
+                yDotK[0]    = yDotK[fsal];
+                yDotK[fsal] = tmp;
+            } else {
+                computeDerivatives(equations, stepEnd, yTmp, yDotK[0]);
+            }
+            swapStates();
+            t          = stepEnd;
+            isLastStep = FastMath.abs(t - finalTime) < FastMath.ulp(finalTime);
+
+            if (!isLastStep) {
+
+                // stepsize control for next step
+                final double  factor     = computeStepFactor(error, exp, safety, minReduction, maxGrowth);
+                final double  scaledH    = h * factor;
+                final double  nextT      = t + scaledH;
+                final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+                hNew = helper.filterStep(scaledH, forward, nextIsLast);
+
+                final double  filteredNextT      = t + hNew;
+                final boolean filteredNextIsLast = forward ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
+                if (filteredNextIsLast) {
+                    hNew = finalTime - t;
+                }
+
+            }
+
+        }
+
+    }
+
+    /** Initialize the integration step.
+     * @param equations differential equations to integrate
+     * @param forward forward integration indicator
+     * @param t0 initial time
+     * @return first integration step
+     */
+    private double initializeStep(final OrdinaryDifferentialEquation equations,
+                                  final boolean forward, final double t0) {
+
+        final StepsizeHelper helper = embedded.getStepSizeHelper();
+        if (helper.getInitialStep() > 0) {
+            // use the user provided value
+            return forward ? helper.getInitialStep() : -helper.getInitialStep();
+        }
+
+        // perform an Euler step using a rough guess
+        for (int j = 0; j < dimension; ++j) {
+            scale[j] = helper.getTolerance(j, FastMath.abs(y[j]));
+        }
+        final double h = embedded.guessEulerStep(forward, scale, y, yDotK[0]);
+        for (int j = 0; j < dimension; ++j) {
+            yTmp[j] = y[j] + h * yDotK[0][j];
+        }
+        computeDerivatives(equations, t0 + h, yTmp, yDotK[1]);
+
+        return embedded.refineInitialStep(forward, embedded.getOrder(), scale, t0, h, yDotK[0], yDotK[1]);
+
+    }
+
+    /** Compute the step size scaling factor.
+     * <p>
+     * The power of the error ratio is computed as an exponential of a logarithm
+     * because {@link FastMath#pow(double, double)} allocates a temporary array
+     * at each call.
+     * </p>
+     * @param error error ratio
+     * @param exp stepsize control exponent
+     * @param safety safety factor for stepsize control
+     * @param minReduction minimal reduction factor for stepsize control
+     * @param maxGrowth maximal growth factor for stepsize control
+     * @return scaling factor to apply to current step size
+     */
+    private static double computeStepFactor(final double error, final double exp, final double safety,
+                                            final double minReduction, final double maxGrowth) {
+        return FastMath.min(maxGrowth, FastMath.max(minReduction, safety * FastMath.exp(exp * FastMath.log(error))));
+    }
+
+    /** Compute all stages of one step and the state at step end.
+     * <p>
+     * On return, {@link #yDotK} contains the slopes at the intermediate points
+     * and {@link #yTmp} contains the state at step end.
+     * </p>
+     * @param equations differential equations to integrate
+     * @param t step start time
+     * @param h step size
+     */
+    private void computeStages(final OrdinaryDifferentialEquation equations, final double t, final double h) {
+
+        final int stages = yDotK.length;
+
+        // internal stages
+        for (int k = 1; k < stages; ++k) {
+            for (int j = 0; j < dimension; ++j) {
+                double sum = yDotK[0][j] * a[k - 1][0];
+                for (int l = 1; l < k; ++l) {
+                    sum += yDotK[l][j] * a[k - 1][l];
+                }
+                yTmp[j] = y[j] + h * sum;
+            }
+            computeDerivatives(equations, t + h * c[k - 1], yTmp, yDotK[k]);
+        }
+
+        // state at step end
+        for (int j = 0; j < dimension; ++j) {
+            double sum = yDotK[0][j] * b[0];
+            for (int l = 1; l < stages; ++l) {
+                sum += yDotK[l][j] * b[l];
+            }
+            yTmp[j] = y[j] + h * sum;
+        }
+
+    }
+
+    /** Compute the derivatives and check the number of evaluations.
+     * @param equations differential equations to integrate
+     * @param t current value of the independent <I>time</I> variable
+     * @param yCurrent array containing the current value of the state vector
+     * @param yDot placeholder array where to put the time derivative of the state vector
+     */
+    private void computeDerivatives(final OrdinaryDifferentialEquation equations, final double t,
+                                    final double[] yCurrent, final double[] yDot) {
+        if (evaluations >= maxEvaluations) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, maxEvaluations);
+        }
+        ++evaluations;
+        equations.computeDerivatives(t, yCurrent, yDot);
+    }
+
+    /** Swap state at step start and state at step end. */
+    private void swapStates() {
+        final double[] tmp = y;
+        y    = yTmp;
+        yTmp = tmp;
+    }
+
+}
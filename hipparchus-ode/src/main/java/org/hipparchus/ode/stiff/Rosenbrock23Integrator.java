@@ -0,0 +1,517 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.StepsizeHelper;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * This class implements a linearly implicit Rosenbrock 2(3) integrator for
+ * stiff Ordinary Differential Equations.
+ *
+ * <p>This is the modified Rosenbrock formula of order 2 with an error estimator
+ * of order 3 from L. F. Shampine and M. W. Reichelt, <a
+ * href="https://doi.org/10.1137/S1064827594276424">The MATLAB ODE Suite</a>,
+ * SIAM Journal on Scientific Computing 18(1), 1997. With W = I - h d J,
+ * d = 1 / (2 + &radic;2), J an approximation of the Jacobian &part;f/&part;y
+ * and T an approximation of &part;f/&part;t, a step reads:</p>
+ * <pre>
+ *   F<sub>0</sub> = f(t<sub>n</sub>, y<sub>n</sub>)
+ *   W k<sub>1</sub> = F<sub>0</sub> + h d T
+ *   F<sub>1</sub> = f(t<sub>n</sub> + h/2, y<sub>n</sub> + h/2 k<sub>1</sub>)
+ *   W (k<sub>2</sub> - k<sub>1</sub>) = F<sub>1</sub> - k<sub>1</sub>
+ *   y<sub>n+1</sub> = y<sub>n</sub> + h k<sub>2</sub>
+ *   F<sub>2</sub> = f(t<sub>n</sub> + h, y<sub>n+1</sub>)
+ *   W k<sub>3</sub> = F<sub>2</sub> - (6 + &radic;2) (k<sub>2</sub> - F<sub>1</sub>) - 2 (k<sub>1</sub> - F<sub>0</sub>) + h d T
+ *   error = h (k<sub>1</sub> - 2 k<sub>2</sub> + k<sub>3</sub>) / 6
+ * </pre>
+ *
+ * <p>The method is L-stable, so it can use step sizes far larger than the stiffness
+ * limit of explicit methods. The Jacobian and the LU decomposition of W are computed
+ * once per step and shared by the three stages and by all attempts of a rejected
+ * step. If the Jacobian is declared {@link #setConstantJacobian(boolean) constant},
+ * the LU decomposition is also reused across steps as long as the step size does
+ * not change. The last evaluation of the derivatives in one step is the same as the
+ * first in the next step, so each step costs two evaluations, plus one for the time
+ * derivative and the Jacobian evaluations.</p>
+ *
+ * <p>If the primary equation implements {@link ODEJacobiansProvider} and there are
+ * no secondary equations, the Jacobian is computed analytically, otherwise it is
+ * computed by finite differences. The time derivative is always computed by
+ * finite differences. Dense output is provided by the free interpolant of the method,
+ * so all features of {@link org.hipparchus.ode.AbstractIntegrator} (step handlers,
+ * events, {@link org.hipparchus.ode.DenseOutputModel}) are available.</p>
+ *
+ * @since 4.0
+ */
+
+public class Rosenbrock23Integrator extends AdaptiveStepsizeIntegrator {
+
+    /** Name of integration scheme. */
+    public static final String METHOD_NAME = "Rosenbrock 2 (3)";
+
+    /** Diagonal coefficient of the method. */
+    static final double D = 1.0 / (2.0 + FastMath.sqrt(2.0));
+
+    /** Coefficient of the third stage. */
+    static final double E32 = 6.0 + FastMath.sqrt(2.0);
+
+    /** Stepsize control exponent. */
+    private static final double EXP = -1.0 / 3.0;
+
+    /** Maximal growth factor for which step size is kept to reuse LU decomposition. */
+    private static final double REUSE_RATIO = 1.2;
+
+    /** Safety factor for stepsize control. */
+    private double safety;
+
+    /** Minimal reduction factor for stepsize control. */
+    private double minReduction;
+
+    /** Maximal growth factor for stepsize control. */
+    private double maxGrowth;
+
+    /** Indicator for constant Jacobian. */
+    private boolean constantJacobian;
+
+    /** Number of Jacobian evaluations during last integration. */
+    private int jacobianEvaluations;
+
+    /** Number of LU decompositions during last integration. */
+    private int decompositions;
+
+    /** Simple constructor.
+     * Build a Rosenbrock 2(3) integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param scalAbsoluteTolerance allowed absolute error
+     * @param scalRelativeTolerance allowed relative error
+     */
+    public Rosenbrock23Integrator(final double minStep, final double maxStep,
+                                  final double scalAbsoluteTolerance,
+                                  final double scalRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, scalAbsoluteTolerance, scalRelativeTolerance);
+        setDefaultControlParameters();
+    }
+
+    /** Simple constructor.
+     * Build a Rosenbrock 2(3) integrator with the given step bounds
+     * @param minStep minimal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param maxStep maximal step (sign is irrelevant, regardless of
+     * integration direction, forward or backward), the last step can
+     * be smaller than this
+     * @param vecAbsoluteTolerance allowed absolute error
+     * @param vecRelativeTolerance allowed relative error
+     */
+    public Rosenbrock23Integrator(final double minStep, final double maxStep,
+                                  final double[] vecAbsoluteTolerance,
+                                  final double[] vecRelativeTolerance) {
+        super(METHOD_NAME, minStep, maxStep, vecAbsoluteTolerance, vecRelativeTolerance);
+        setDefaultControlParameters();
+    }
+
+    /** Set the default values of the algorithm control parameters. */
+    private void setDefaultControlParameters() {
+        setSafety(0.9);
+        setMinReduction(0.2);
+        setMaxGrowth(5.0);
+    }
+
+    /** Get the order of the method.
+     * @return order of the method
+     */
+    public int getOrder() {
+        return 2;
+    }
+
+    /** Get the safety factor for stepsize control.
+     * @return safety factor
+     */
+    public double getSafety() {
+        return safety;
+    }
+
+    /** Set the safety factor for stepsize control.
+     * @param safety safety factor
+     */
+    public void setSafety(final double safety) {
+        this.safety = safety;
+    }
+
+    /** Get the minimal reduction factor for stepsize control.
+     * @return minimal reduction factor
+     */
+    public double getMinReduction() {
+        return minReduction;
+    }
+
+    /** Set the minimal reduction factor for stepsize control.
+     * @param minReduction minimal reduction factor
+     */
+    public void setMinReduction(final double minReduction) {
+        this.minReduction = minReduction;
+    }
+
+    /** Get the maximal growth factor for stepsize control.
+     * @return maximal growth factor
+     */
+    public double getMaxGrowth() {
+        return maxGrowth;
+    }
+
+    /** Set the maximal growth factor for stepsize control.
+     * @param maxGrowth maximal growth factor
+     */
+    public void setMaxGrowth(final double maxGrowth) {
+        this.maxGrowth = maxGrowth;
+    }
+
+    /** Check if the Jacobian is considered constant.
+     * @return true if the Jacobian is considered constant
+     * @see #setConstantJacobian(boolean)
+     */
+    public boolean isConstantJacobian() {
+        return constantJacobian;
+    }
+
+    /** Set the constant Jacobian indicator.
+     * <p>
+     * By default, the Jacobian is evaluated at the start of each step, as the error
+     * estimator of the method relies on an accurate Jacobian. If the problem is known
+     * to have a constant Jacobian (for example linear problems), it can be evaluated
+     * only once at integration start. In this case, the step size is kept unchanged
+     * when the step size control would increase it by less than 20%, so the LU
+     * decomposition of W is reused across steps.
+     * </p>
+     * @param constantJacobian if true, the Jacobian is evaluated only at integration start
+     */
+    public void setConstantJacobian(final boolean constantJacobian) {
+        this.constantJacobian = constantJacobian;
+    }
+
+    /** Get the number of Jacobian evaluations during last integration.
+     * @return number of Jacobian evaluations during last integration
+     */
+    public int getJacobianEvaluations() {
+        return jacobianEvaluations;
+    }
+
+    /** Get the number of LU decompositions during last integration.
+     * @return number of LU decompositions during last integration
+     */
+    public int getDecompositions() {
+        return decompositions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative integrate(final ExpandableODE equations,
+                                           final ODEState initialState, final double finalTime)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+
+        sanityChecks(initialState, finalTime);
+        setStepStart(initIntegration(equations, initialState, finalTime));
+        final boolean         forward = finalTime > initialState.getTime();
+        final EquationsMapper mapper  = equations.getMapper();
+        final int             n       = mapper.getTotalDimension();
+
+        // LU decomposition is reused as long as Jacobian and step size do not change
+        double[][]          jacobian    = null;
+        final double[]      dfdt        = new double[n];
+        DecompositionSolver solver      = null;
+        double              factorizedH = Double.NaN;
+        jacobianEvaluations = 0;
+        decompositions      = 0;
+
+        // set up integration control objects
+        double  hNew      = 0;
+        boolean firstTime = true;
+
+        // main integration loop
+        setIsLastStep(false);
+        do {
+
+            final double   t0 = getStepStart().getTime();
+            final double[] y0 = getStepStart().getCompleteState();
+            final double[] f0 = getStepStart().getCompleteDerivative();
+            double[] k1    = null;
+            double[] k2    = null;
+            double[] y1    = null;
+            double[] f2    = null;
+            double   error = 10;
+
+            // update Jacobian and time derivative
+            if (jacobian == null || !constantJacobian) {
+                jacobian = computeJacobian(equations, t0, y0, f0);
+                solver   = null;
+            }
+            computeTimeDerivative(forward, t0, y0, f0, dfdt);
+
+            // iterate over step size, ensuring local normalized error is smaller than 1
+            while (error >= 1.0) {
+
+                if (firstTime) {
+                    final StepsizeHelper helper = getStepSizeHelper();
+                    final double[] scale = new double[helper.getMainSetDimension()];
+                    for (int i = 0; i < scale.length; ++i) {
+                        scale[i] = helper.getTolerance(i, FastMath.abs(y0[i]));
+                    }
+                    hNew = initializeStep(forward, getOrder() + 1, scale, getStepStart());
+                    firstTime = false;
+                }
+
+                setStepSize(hNew);
+                if (forward) {
+                    if (t0 + getStepSize() >= finalTime) {
+                        setStepSize(finalTime - t0);
+                    }
+                } else {
+                    if (t0 + getStepSize() <= finalTime) {
+                        setStepSize(finalTime - t0);
+                    }
+                }
+                final double h = getStepSize();
+
+                // update decomposition if needed
+                if (solver == null || h != factorizedH) {
+                    solver      = decompose(jacobian, h);
+                    factorizedH = h;
+                }
+                if (!solver.isNonSingular()) {
+                    // W is singular for this step size, try a smaller one
+                    hNew = getStepSizeHelper().filterStep(0.5 * h, forward, false);
+                    continue;
+                }
+
+                // stages
+                final double   hd   = h * D;
+                final double[] rhs  = new double[n];
+                final double[] yTmp = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = f0[i] + hd * dfdt[i];
+                }
+                k1 = solve(solver, rhs);
+
+                for (int i = 0; i < n; ++i) {
+                    yTmp[i] = y0[i] + 0.5 * h * k1[i];
+                }
+                final double[] f1 = computeDerivatives(t0 + 0.5 * h, yTmp);
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = f1[i] - k1[i];
+                }
+                k2 = solve(solver, rhs);
+                y1 = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    k2[i] += k1[i];
+                    y1[i]  = y0[i] + h * k2[i];
+                }
+
+                f2 = computeDerivatives(t0 + h, y1);
+                for (int i = 0; i < n; ++i) {
+                    rhs[i] = f2[i] - E32 * (k2[i] - f1[i]) - 2 * (k1[i] - f0[i]) + hd * dfdt[i];
+                }
+                final double[] k3 = solve(solver, rhs);
+
+                // estimate the error at the end of the step
+                error = estimateError(h, k1, k2, k3, y0, y1);
+                if (Double.isNaN(error)) {
+                    throw new MathIllegalStateException(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION,
+                                                        t0 + h);
+                }
+                if (error >= 1.0) {
+                    // reject the step and attempt to reduce error by stepsize control
+                    hNew = getStepSizeHelper().filterStep(h * computeFactor(error), forward, false);
+                }
+
+            }
+
+            // local error is small enough: accept the step, trigger events and step handlers
+            final double                stepEnd  = t0 + getStepSize();
+            final ODEStateAndDerivative stateTmp = mapper.mapStateAndDerivative(stepEnd, y1, f2);
+            setStepStart(acceptStep(new Rosenbrock23StateInterpolator(forward, k1, k2,
+                                                                      getStepStart(), stateTmp,
+                                                                      getStepStart(), stateTmp,
+                                                                      mapper),
+                                    finalTime));
+
+            if (!isLastStep()) {
+
+                // stepsize control for next step
+                double factor = computeFactor(error);
+                if (constantJacobian && factor >= 1.0 && factor <= REUSE_RATIO) {
+                    // keep the current step size, so LU decomposition can be reused
+                    factor = 1.0;
+                }
+                final double  scaledH    = getStepSize() * factor;
+                final double  nextT      = getStepStart().getTime() + scaledH;
+                final boolean nextIsLast = forward ? (nextT >= finalTime) : (nextT <= finalTime);
+                hNew = getStepSizeHelper().filterStep(scaledH, forward, nextIsLast);
+
+                final double  filteredNextT      = getStepStart().getTime() + hNew;
+                final boolean filteredNextIsLast = forward ? (filteredNextT >= finalTime) : (filteredNextT <= finalTime);
+                if (filteredNextIsLast) {
+                    hNew = finalTime - getStepStart().getTime();
+                }
+
+            }
+
+        } while (!isLastStep());
+
+        final ODEStateAndDerivative finalState = getStepStart();
+        resetInternalState();
+        return finalState;
+
+    }
+
+    /** Compute the step size scaling factor.
+     * @param error error ratio
+     * @return scaling factor to apply to current step size
+     */
+    private double computeFactor(final double error) {
+        return FastMath.min(maxGrowth, FastMath.max(minReduction, safety * FastMath.pow(error, EXP)));
+    }
+
+    /** Compute the error ratio.
+     * @param h current step
+     * @param k1 first stage
+     * @param k2 second stage
+     * @param k3 third stage
+     * @param y0 estimate of the step at the start of the step
+     * @param y1 estimate of the step at the end of the step
+     * @return error ratio, greater than 1 if step should be rejected
+     */
+    private double estimateError(final double h, final double[] k1, final double[] k2, final double[] k3,
+                                 final double[] y0, final double[] y1) {
+
+        final StepsizeHelper helper = getStepSizeHelper();
+        double error = 0;
+
+        for (int j = 0; j < helper.getMainSetDimension(); ++j) {
+            final double errSum = k1[j] - 2 * k2[j] + k3[j];
+            final double tol    = helper.getTolerance(j, FastMath.max(FastMath.abs(y0[j]), FastMath.abs(y1[j])));
+            final double ratio  = h * errSum / (6 * tol);
+            error += ratio * ratio;
+        }
+
+        return FastMath.sqrt(error / helper.getMainSetDimension());
+
+    }
+
+    /** Compute the partial derivative of the derivative with respect to time.
+     * @param forward forward integration indicator
+     * @param t current time
+     * @param y current complete state
+     * @param yDot current complete derivative
+     * @param dfdt placeholder for partial derivative of the derivative with respect to time
+     */
+    private void computeTimeDerivative(final boolean forward, final double t,
+                                       final double[] y, final double[] yDot, final double[] dfdt) {
+        final double   delta = FastMath.sqrt(Precision.EPSILON * FastMath.max(1.0e-5, FastMath.abs(t)));
+        final double   tPlus = forward ? t + delta : t - delta;
+        final double[] fT    = computeDerivatives(tPlus, y);
+        for (int i = 0; i < dfdt.length; ++i) {
+            dfdt[i] = (fT[i] - yDot[i]) / (tPlus - t);
+        }
+    }
+
+    /** Compute the Jacobian of the complete derivative with respect to complete state.
+     * <p>
+     * Finite differences increments follow E. Hairer and G. Wanner RADAU5 code.
+     * </p>
+     * @param equations complete set of differential equations to integrate
+     * @param t current time
+     * @param y current complete state
+     * @param yDot current complete derivative
+     * @return Jacobian of the complete derivative with respect to complete state
+     */
+    private double[][] computeJacobian(final ExpandableODE equations,
+                                       final double t, final double[] y, final double[] yDot) {
+
+        ++jacobianEvaluations;
+        final int n = y.length;
+
+        if (equations.getMapper().getNumberOfEquations() == 1 &&
+            equations.getPrimary() instanceof ODEJacobiansProvider) {
+            // analytical Jacobian
+            return ((ODEJacobiansProvider) equations.getPrimary()).computeMainStateJacobian(t, y, yDot);
+        }
+
+        // finite differences Jacobian
+        final double[][] jacobian = new double[n][n];
+        final double[]   yPlus    = y.clone();
+        for (int j = 0; j < n; ++j) {
+            yPlus[j] = y[j] + FastMath.sqrt(Precision.EPSILON * FastMath.max(1.0e-5, FastMath.abs(y[j])));
+            final double   dy = yPlus[j] - y[j];
+            final double[] fY = computeDerivatives(t, yPlus);
+            for (int i = 0; i < n; ++i) {
+                jacobian[i][j] = (fY[i] - yDot[i]) / dy;
+            }
+            yPlus[j] = y[j];
+        }
+        return jacobian;
+
+    }
+
+    /** Decompose W = I - h d J.
+     * @param jacobian Jacobian of the complete derivative with respect to complete state
+     * @param h step size
+     * @return solver for W
+     */
+    private DecompositionSolver decompose(final double[][] jacobian, final double h) {
+        ++decompositions;
+        final int n = jacobian.length;
+        final double[][] w = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                w[i][j] = -h * D * jacobian[i][j];
+            }
+            w[i][i] += 1.0;
+        }
+        return new LUDecomposition(new Array2DRowRealMatrix(w, false)).getSolver();
+    }
+
+    /** Solve a linear system.
+     * @param solver solver for W
+     * @param rhs right hand side
+     * @return solution
+     */
+    private static double[] solve(final DecompositionSolver solver, final double[] rhs) {
+        return solver.solve(new ArrayRealVector(rhs, false)).toArray();
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.ode.EquationsMapper;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.AbstractODEStateInterpolator;
+
+/**
+ * This class implements an interpolator for the Rosenbrock 2(3) integrator.
+ *
+ * <p>This interpolator computes dense output inside the last step computed,
+ * using the free interpolant of the method, which is a quadratic polynomial
+ * built from the two first stages:</p>
+ * <pre>
+ *   y(t<sub>n</sub> + &theta; h) = y (t<sub>n</sub>) + h [&theta; (1 - &theta;) k<sub>1</sub> + &theta; (&theta; - 2d) k<sub>2</sub>] / (1 - 2d)
+ * </pre>
+ *
+ * <p>where &theta; belongs to [0 ; 1] and d = 1 / (2 + &radic;2).</p>
+ *
+ * @see Rosenbrock23Integrator
+ * @since 4.0
+ */
+
+class Rosenbrock23StateInterpolator extends AbstractODEStateInterpolator {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** First stage. */
+    private final double[] k1;
+
+    /** Second stage. */
+    private final double[] k2;
+
+    /** Simple constructor.
+     * @param forward integration direction indicator
+     * @param k1 first stage
+     * @param k2 second stage
+     * @param globalPreviousState start of the global step
+     * @param globalCurrentState end of the global step
+     * @param softPreviousState start of the restricted step
+     * @param softCurrentState end of the restricted step
+     * @param mapper equations mapper for the all equations
+     */
+    Rosenbrock23StateInterpolator(final boolean forward, final double[] k1, final double[] k2,
+                                  final ODEStateAndDerivative globalPreviousState,
+                                  final ODEStateAndDerivative globalCurrentState,
+                                  final ODEStateAndDerivative softPreviousState,
+                                  final ODEStateAndDerivative softCurrentState,
+                                  final EquationsMapper mapper) {
+        super(forward, globalPreviousState, globalCurrentState, softPreviousState, softCurrentState, mapper);
+        this.k1 = k1;
+        this.k2 = k2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Rosenbrock23StateInterpolator create(final boolean newForward,
+                                                   final ODEStateAndDerivative newGlobalPreviousState,
+                                                   final ODEStateAndDerivative newGlobalCurrentState,
+                                                   final ODEStateAndDerivative newSoftPreviousState,
+                                                   final ODEStateAndDerivative newSoftCurrentState,
+                                                   final EquationsMapper newMapper) {
+        return new Rosenbrock23StateInterpolator(newForward, k1, k2,
+                                                 newGlobalPreviousState, newGlobalCurrentState,
+                                                 newSoftPreviousState, newSoftCurrentState,
+                                                 newMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected ODEStateAndDerivative computeInterpolatedStateAndDerivatives(final EquationsMapper mapper,
+                                                                           final double time, final double theta,
+                                                                           final double thetaH, final double oneMinusThetaH) {
+
+        final double   scale  = 1.0 / (1.0 - 2.0 * Rosenbrock23Integrator.D);
+        final double   c1     = thetaH * (1.0 - theta) * scale;
+        final double   c2     = thetaH * (theta - 2.0 * Rosenbrock23Integrator.D) * scale;
+        final double   d1     = (1.0 - 2.0 * theta) * scale;
+        final double   d2     = 2.0 * (theta - Rosenbrock23Integrator.D) * scale;
+        final double[] y0     = getGlobalPreviousState().getCompleteState();
+        final double[] y      = new double[y0.length];
+        final double[] yDot   = new double[y0.length];
+        for (int i = 0; i < y0.length; ++i) {
+            y[i]    = y0[i] + c1 * k1[i] + c2 * k2[i];
+            yDot[i] = d1 * k1[i] + d2 * k2[i];
+        }
+
+        return mapper.mapStateAndDerivative(time, y, yDot);
+
+    }
+
+}
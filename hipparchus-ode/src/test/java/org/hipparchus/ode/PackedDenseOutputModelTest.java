@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackedDenseOutputModelTest {
+
+    TestProblem3 pb;
+    ODEIntegrator integ;
+
+    @Test
+    void testSameAsDenseOutputModel() {
+        PackedDenseOutputModel packed = new PackedDenseOutputModel();
+        DenseOutputModel       dom    = new DenseOutputModel();
+        integ.addStepHandler(packed);
+        integ.addStepHandler(dom);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        assertTrue(packed.getNumberOfSteps() > 10);
+        assertEquals(dom.getInitialTime(), packed.getInitialTime(), 1.0e-15);
+        assertEquals(dom.getFinalTime(),   packed.getFinalTime(),   1.0e-15);
+        checkSame(dom, packed, 1.0e-11);
+    }
+
+    @Test
+    void testRandomAccess() {
+        PackedDenseOutputModel packed = new PackedDenseOutputModel(5);
+        integ.addStepHandler(packed);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        checkTheoretical(packed, 1.0e-5, 1.0e-4);
+    }
+
+    @Test
+    void testMappedFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("dense-output.bin");
+        DenseOutputModel dom = new DenseOutputModel();
+        try (PackedDenseOutputModel packed = new PackedDenseOutputModel(7, file)) {
+            integ.addStepHandler(packed);
+            integ.addStepHandler(dom);
+            integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+            assertTrue(Files.size(file) > 0);
+            checkSame(dom, packed, 1.0e-11);
+        }
+    }
+
+    @Test
+    void testBoundaries() {
+        PackedDenseOutputModel packed = new PackedDenseOutputModel();
+        integ.addStepHandler(packed);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        double tBefore = 2.0 * pb.getInitialTime() - pb.getFinalTime();
+        assertEquals(tBefore, packed.getInterpolatedState(tBefore).getTime(), 1.0e-10);
+        double tAfter = 2.0 * pb.getFinalTime() - pb.getInitialTime();
+        assertEquals(tAfter, packed.getInterpolatedState(tAfter).getTime(), 1.0e-10);
+        checkTheoretical(packed, 1.0e-5, 1.0e-4);
+    }
+
+    @Test
+    void testModelsMerging() {
+
+        // theoretical solution: y[0] = cos(t), y[1] = sin(t)
+        OrdinaryDifferentialEquation problem =
+                        new OrdinaryDifferentialEquation() {
+            @Override
+            public double[] computeDerivatives(double t, double[] y) {
+                return new double[] { -y[1], y[0] };
+            }
+            @Override
+            public int getDimension() {
+                return 2;
+            }
+        };
+
+        // integrate backward from &pi; to 0;
+        PackedDenseOutputModel dom1 = new PackedDenseOutputModel();
+        ODEIntegrator integ1 = new DormandPrince853Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        integ1.addStepHandler(dom1);
+        integ1.integrate(problem, new ODEState(FastMath.PI, new double[] { -1.0, 0.0 }), 0);
+
+        // integrate backward from 2&pi; to &pi;
+        PackedDenseOutputModel dom2 = new PackedDenseOutputModel();
+        ODEIntegrator integ2 = new DormandPrince853Integrator(0, 0.1, 1.0e-12, 1.0e-12);
+        integ2.addStepHandler(dom2);
+        integ2.integrate(problem, new ODEState(2.0 * FastMath.PI, new double[] { 1.0, 0.0 }), FastMath.PI);
+
+        // merge the two half circles
+        PackedDenseOutputModel dom = new PackedDenseOutputModel();
+        dom.append(dom2);
+        dom.append(new PackedDenseOutputModel());
+        dom.append(dom1);
+        assertEquals(dom1.getNumberOfSteps() + dom2.getNumberOfSteps(), dom.getNumberOfSteps());
+
+        // check circle, in both directions to exercise step location
+        assertEquals(2.0 * FastMath.PI, dom.getInitialTime(), 1.0e-12);
+        assertEquals(0, dom.getFinalTime(), 1.0e-12);
+        for (double t = 0; t < 2.0 * FastMath.PI; t += 0.1) {
+            final ODEStateAndDerivative s = dom.getInterpolatedState(t);
+            assertEquals(FastMath.cos(t),  s.getPrimaryState()[0],      1.0e-7);
+            assertEquals(FastMath.sin(t),  s.getPrimaryState()[1],      1.0e-7);
+            assertEquals(-FastMath.sin(t), s.getPrimaryDerivative()[0], 1.0e-6);
+            assertEquals(FastMath.cos(t),  s.getPrimaryDerivative()[1], 1.0e-6);
+        }
+        for (double t = 2.0 * FastMath.PI; t > 0; t -= 0.1) {
+            final double[] y = dom.getInterpolatedState(t).getPrimaryState();
+            assertEquals(FastMath.cos(t), y[0], 1.0e-7);
+            assertEquals(FastMath.sin(t), y[1], 1.0e-7);
+        }
+
+    }
+
+    @Test
+    void testErrorConditions() {
+
+        assertThrows(MathIllegalArgumentException.class, () -> new PackedDenseOutputModel(0));
+        assertThrows(MathIllegalStateException.class,
+                     () -> new PackedDenseOutputModel().getInterpolatedState(0.0));
+
+        PackedDenseOutputModel dom = new PackedDenseOutputModel();
+        integ.addStepHandler(dom);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+
+        // degree mismatch
+        PackedDenseOutputModel other = new PackedDenseOutputModel(5);
+        integ.clearStepHandlers();
+        integ.addStepHandler(other);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        assertThrows(MathIllegalArgumentException.class, () -> dom.append(other));
+
+        // hole between time ranges
+        PackedDenseOutputModel same = new PackedDenseOutputModel();
+        integ.clearStepHandlers();
+        integ.addStepHandler(same);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        assertThrows(MathIllegalArgumentException.class, () -> dom.append(same));
+
+    }
+
+    @Test
+    void testSerialization() throws IOException, ClassNotFoundException {
+        PackedDenseOutputModel packed = new PackedDenseOutputModel();
+        DenseOutputModel       dom    = new DenseOutputModel();
+        integ.addStepHandler(packed);
+        integ.addStepHandler(dom);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(packed);
+        ByteArrayOutputStream bosRef = new ByteArrayOutputStream();
+        ObjectOutputStream    oosRef = new ObjectOutputStream(bosRef);
+        oosRef.writeObject(dom);
+        assertTrue(bos.size() < bosRef.size(), "size = " + bos.size());
+
+        ByteArrayInputStream  bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream     ois = new ObjectInputStream(bis);
+        PackedDenseOutputModel deserialized  = (PackedDenseOutputModel) ois.readObject();
+        assertEquals(packed.getNumberOfSteps(), deserialized.getNumberOfSteps());
+        checkSame(dom, deserialized, 1.0e-11);
+
+    }
+
+    private void checkSame(DenseOutputModel reference, PackedDenseOutputModel packed, double tolerance) {
+        Random random = new Random(347588535632l);
+        for (int i = 0; i < 1000; ++i) {
+            double r = random.nextDouble();
+            double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            ODEStateAndDerivative expected = reference.getInterpolatedState(time);
+            ODEStateAndDerivative actual   = packed.getInterpolatedState(time);
+            assertEquals(time, actual.getTime(), 1.0e-15);
+            for (int k = 0; k < expected.getPrimaryStateDimension(); ++k) {
+                final double y    = expected.getPrimaryState()[k];
+                final double yDot = expected.getPrimaryDerivative()[k];
+                assertEquals(y,    actual.getPrimaryState()[k],      tolerance * FastMath.max(1.0, FastMath.abs(y)));
+                assertEquals(yDot, actual.getPrimaryDerivative()[k], tolerance * FastMath.max(1.0, FastMath.abs(yDot)));
+            }
+        }
+    }
+
+    private void checkTheoretical(PackedDenseOutputModel packed, double tolerance, double toleranceDot) {
+        Random random = new Random(347588535632l);
+        double maxError    = 0.0;
+        double maxErrorDot = 0.0;
+        for (int i = 0; i < 1000; ++i) {
+            double r = random.nextDouble();
+            double time = r * pb.getInitialTime() + (1.0 - r) * pb.getFinalTime();
+            ODEStateAndDerivative sd = packed.getInterpolatedState(time);
+            double[] theoreticalY    = pb.computeTheoreticalState(time);
+            double[] theoreticalYDot = pb.doComputeDerivatives(time, theoreticalY);
+            for (int k = 0; k < theoreticalY.length; ++k) {
+                maxError    = FastMath.max(maxError,    FastMath.abs(sd.getPrimaryState()[k]      - theoreticalY[k]));
+                maxErrorDot = FastMath.max(maxErrorDot, FastMath.abs(sd.getPrimaryDerivative()[k] - theoreticalYDot[k]));
+            }
+        }
+        assertEquals(0.0, maxError,    tolerance);
+        assertEquals(0.0, maxErrorDot, toleranceDot);
+    }
+
+    @BeforeEach
+    void setUp() {
+        pb = new TestProblem3(0.9);
+        double minStep = 0;
+        double maxStep = pb.getFinalTime() - pb.getInitialTime();
+        integ = new DormandPrince853Integrator(minStep, maxStep, 1.0e-10, 1.0e-10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pb    = null;
+        integ = null;
+    }
+
+}
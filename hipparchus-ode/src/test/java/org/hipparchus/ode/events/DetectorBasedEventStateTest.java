@@ -34,18 +34,25 @@ import org.hipparchus.ode.ODEState;
 import org.hipparchus.ode.ODEStateAndDerivative;
 import org.hipparchus.ode.OrdinaryDifferentialEquation;
 import org.hipparchus.ode.SecondaryODE;
+import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
 import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
 import org.hipparchus.ode.nonstiff.LutherIntegrator;
 import org.hipparchus.ode.sampling.DummyStepInterpolator;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DetectorBasedEventStateTest {
@@ -361,6 +368,148 @@ class DetectorBasedEventStateTest {
         }
     }
 
+    @Test
+    void testEventFreeInterval() {
+
+        // the same switching function, with and without event free interval hint
+        final HintedDetector plain  = new HintedDetector(false);
+        final HintedDetector hinted = new HintedDetector(true);
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        integrator.addEventDetector(plain);
+        integrator.addEventDetector(hinted);
+        integrator.integrate(new Clock(), new ODEState(0.0, new double[] { 0.0 }), 20.0);
+
+        // all events are found
+        assertEquals(7, plain.events.size());
+        assertEquals(plain.events.size(), hinted.events.size());
+        for (int i = 0; i < plain.events.size(); ++i) {
+            assertEquals(plain.events.get(i), hinted.events.get(i), 1.0e-10);
+        }
+
+        // with a lot less evaluations
+        final List<DetectorBasedEventState> states = integrator.getEventStates();
+        assertEquals(2, states.size());
+        assertSame(plain,  states.get(0).getEventDetector());
+        assertSame(hinted, states.get(1).getEventDetector());
+        assertEquals(0, states.get(0).getSkippedSteps());
+        assertTrue(states.get(1).getSkippedSteps() > 1500);
+        assertTrue(states.get(0).getEvaluations() > 2000);
+        assertTrue(states.get(1).getEvaluations() < 500);
+        for (final DetectorBasedEventState state : states) {
+            assertTrue(state.getRootFinderEvaluations() > 0);
+            assertTrue(state.getRootFinderEvaluations() < state.getEvaluations());
+        }
+        assertThrows(UnsupportedOperationException.class, () -> states.remove(0));
+
+    }
+
+    @Test
+    void testEventFreeIntervalReset() {
+
+        // a detector with a long event free interval, invalidated by a state reset
+        final HintedDetector hinted = new HintedDetector(true);
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        integrator.addEventDetector(hinted);
+        integrator.addEventDetector(new ShiftingDetector(0.5));
+        integrator.integrate(new Clock(), new ODEState(0.0, new double[] { 0.0 }), 1.0);
+
+        // the reset makes the state jump past the root of the hinted detector
+        assertEquals(1, hinted.events.size());
+        assertEquals(0.5, hinted.events.get(0), 1.0e-10);
+
+    }
+
+    /** Clock-like equation, the state is the time. */
+    private static class Clock implements OrdinaryDifferentialEquation {
+        public int getDimension() {
+            return 1;
+        }
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { 1.0 };
+        }
+    }
+
+    /** Detector shifting the state by one unit at a fixed time. */
+    private static class ShiftingDetector implements ODEEventDetector {
+
+        private final double tEvent;
+
+        ShiftingDetector(final double tEvent) {
+            this.tEvent = tEvent;
+        }
+
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 1.0;
+        }
+
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-12, 0, 5);
+        }
+
+        public ODEEventHandler getHandler() {
+            return new ODEEventHandler() {
+                public Action eventOccurred(final ODEStateAndDerivative s, final ODEEventDetector detector,
+                                            final boolean increasing) {
+                    return Action.RESET_STATE;
+                }
+                public ODEState resetState(final ODEEventDetector detector, final ODEStateAndDerivative s) {
+                    return new ODEState(s.getTime(), new double[] { s.getPrimaryState()[0] + 1.0 });
+                }
+            };
+        }
+
+        public double g(final ODEStateAndDerivative s) {
+            return s.getTime() - tEvent;
+        }
+
+    }
+
+    /** Detector for cos(y) = 1/2, which rate of change is bounded by 1. */
+    private static class HintedDetector implements ODEEventDetector {
+
+        final List<Double> events = new ArrayList<>();
+        private final boolean useHint;
+
+        HintedDetector(final boolean useHint) {
+            this.useHint = useHint;
+        }
+
+        public AdaptableInterval getMaxCheckInterval() {
+            return new AdaptableInterval() {
+                public double currentInterval(final ODEStateAndDerivative state, final boolean isForward) {
+                    return 1.0;
+                }
+                public double eventFreeInterval(final ODEStateAndDerivative state, final double g, final boolean isForward) {
+                    return useHint ? FastMath.abs(g) : 0.0;
+                }
+            };
+        }
+
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-12, 0, 5);
+        }
+
+        public ODEEventHandler getHandler() {
+            return (s, detector, increasing) -> {
+                events.add(s.getTime());
+                return Action.CONTINUE;
+            };
+        }
+
+        public double g(final ODEStateAndDerivative s) {
+            return FastMath.cos(s.getPrimaryState()[0]) - 0.5;
+        }
+
+    }
+
     private static ODEStateAndDerivative getStateAndDerivative(final double time) {
         return new ODEStateAndDerivative(time, new double[] {time}, new double[1]);
     }
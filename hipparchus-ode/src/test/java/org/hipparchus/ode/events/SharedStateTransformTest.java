@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.events;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.SinCos;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedStateTransformTest {
+
+    @Test
+    void testCache() {
+        final SharedStateTransform<double[]> transform =
+            new SharedStateTransform<>(s -> new double[] { 2 * s.getTime() });
+        final ODEStateAndDerivative s1 = new ODEStateAndDerivative(1.0, new double[1], new double[1]);
+        final ODEStateAndDerivative s2 = new ODEStateAndDerivative(1.0, new double[1], new double[1]);
+        final double[] t1 = transform.value(s1);
+        assertEquals(2.0, t1[0], 1.0e-15);
+        assertSame(t1, transform.value(s1));
+        assertEquals(1, transform.getEvaluations());
+        assertEquals(2.0, transform.value(s2)[0], 1.0e-15);
+        assertEquals(2, transform.getEvaluations());
+    }
+
+    @Test
+    void testSharedByDetectors() {
+
+        // harmonic oscillator, detectors are crossings of several lines through origin
+        final OrdinaryDifferentialEquation oscillator = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return 2;
+            }
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { y[1], -y[0] };
+            }
+        };
+        final SharedStateTransform<Double> angle =
+            new SharedStateTransform<>(s -> FastMath.atan2(s.getPrimaryState()[1], s.getPrimaryState()[0]));
+
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-3, 1.0, 1.0e-10, 1.0e-10);
+        final int nbDetectors = 20;
+        for (int i = 0; i < nbDetectors; ++i) {
+            integrator.addEventDetector(new LineCrossingDetector(angle, FastMath.PI * (i + 0.5) / nbDetectors - 0.5 * FastMath.PI));
+        }
+        integrator.integrate(oscillator, new ODEState(0.0, new double[] { 1.0, 0.0 }), 10.0);
+
+        int gEvaluations = 0;
+        for (final DetectorBasedEventState state : integrator.getEventStates()) {
+            gEvaluations += state.getEvaluations();
+        }
+
+        // step end evaluations are shared, only interpolated states used for root finding are not
+        assertTrue(angle.getEvaluations() < gEvaluations / 2);
+
+    }
+
+    /** Detector for crossing of a line through origin. */
+    private static class LineCrossingDetector implements ODEEventDetector {
+
+        private final SharedStateTransform<Double> angle;
+        private final SinCos                       sc;
+
+        LineCrossingDetector(final SharedStateTransform<Double> angle, final double lineAngle) {
+            this.angle = angle;
+            this.sc    = FastMath.sinCos(lineAngle);
+        }
+
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 0.5;
+        }
+
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(0, 1.0e-10, 0, 5);
+        }
+
+        public ODEEventHandler getHandler() {
+            return (s, detector, increasing) -> Action.CONTINUE;
+        }
+
+        public double g(final ODEStateAndDerivative s) {
+            return FastMath.sin(angle.value(s) - FastMath.atan2(sc.sin(), sc.cos()));
+        }
+
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.events.Action;
+import org.hipparchus.ode.events.AdaptableInterval;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.events.ODEEventHandler;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+class EnsembleRungeKuttaIntegratorTest {
+
+    @Test
+    void testSameAsSingleIntegrations() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 8);
+        assertEquals(8, ensemble.getBlockSize());
+        assertTrue(integrator == ensemble.getIntegrator());
+        checkSameAsSingleIntegrations(integrator, ensemble, createMembers(37), 20.0, null);
+    }
+
+    @Test
+    void testNonFsal() {
+        final HighamHall54Integrator integrator = new HighamHall54Integrator(1.0e-8, 100.0, 1.0e-9, 1.0e-9);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator);
+        assertEquals(EnsembleRungeKuttaIntegrator.DEFAULT_BLOCK_SIZE, ensemble.getBlockSize());
+        checkSameAsSingleIntegrations(integrator, ensemble, createMembers(20), 20.0, null);
+    }
+
+    @Test
+    void testBackward() {
+        final DormandPrince54Integrator integrator = new DormandPrince54Integrator(1.0e-8, 100.0, 1.0e-9, 1.0e-9);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 4);
+        checkSameAsSingleIntegrations(integrator, ensemble, createMembers(10), -7.0, null);
+    }
+
+    @Test
+    void testEvents() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 5);
+        final ODEEventDetector crossing = new Crossing(Action.RESET_STATE);
+        final ODEEventDetector stop     = new Stop(1.8);
+        ensemble.addEventDetector(crossing);
+        ensemble.addEventDetector(stop);
+        assertEquals(2, ensemble.getEventDetectors().size());
+        integrator.addEventDetector(crossing);
+        integrator.addEventDetector(stop);
+
+        final ODEState[] members = createMembers(23);
+        final ODEStateAndDerivative[] results =
+                        checkSameAsSingleIntegrations(integrator, ensemble, members, 30.0, null);
+
+        // the outermost orbits are stopped before final time
+        int stopped = 0;
+        for (final ODEStateAndDerivative result : results) {
+            if (result.getTime() < 30.0) {
+                assertEquals(1.8, FastMath.hypot(result.getPrimaryState()[0], result.getPrimaryState()[1]), 1.0e-6);
+                ++stopped;
+            }
+        }
+        assertTrue(stopped > 0);
+        assertTrue(stopped < members.length);
+
+        ensemble.clearEventDetectors();
+        assertTrue(ensemble.getEventDetectors().isEmpty());
+    }
+
+    @Test
+    void testContinueEvents() {
+        final DormandPrince54Integrator integrator = new DormandPrince54Integrator(1.0e-8, 100.0, 1.0e-9, 1.0e-9);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 6);
+        final ODEEventDetector crossing = new Crossing(Action.CONTINUE);
+        ensemble.addEventDetector(crossing);
+        integrator.addEventDetector(crossing);
+        checkSameAsSingleIntegrations(integrator, ensemble, createMembers(13), 15.0, null);
+    }
+
+    @Test
+    void testParallel() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 3);
+        final ODEEventDetector crossing = new Crossing(Action.RESET_STATE);
+        ensemble.addEventDetector(crossing);
+        integrator.addEventDetector(crossing);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkSameAsSingleIntegrations(integrator, ensemble, createMembers(41), 20.0, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEmptyEnsemble() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator, 3);
+        assertEquals(0, ensemble.integrate(new Kepler(), new ODEState[0], 1.0).length);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(0, ensemble.integrate(new Kepler(), new ODEState[0], 1.0, pool).length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testErrors() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final EnsembleRungeKuttaIntegrator ensemble = new EnsembleRungeKuttaIntegrator(integrator);
+        final Kepler kepler = new Kepler();
+
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new EnsembleRungeKuttaIntegrator(integrator, 0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> ensemble.integrate(kepler, new ODEState[] { new ODEState(0.0, new double[3]) }, 1.0));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> ensemble.integrate(kepler, createMembers(2), 0.0));
+        assertEquals(LocalizedODEFormats.TOO_SMALL_INTEGRATION_INTERVAL, miae.getSpecifier());
+
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> ensemble.integrate(kepler, createMembers(2), 1.0, null));
+        assertEquals(LocalizedCoreFormats.NULL_NOT_ALLOWED, miae.getSpecifier());
+
+        assertEquals(0, ensemble.integrate(kepler, new ODEState[0], 1.0).length);
+    }
+
+    private ODEState[] createMembers(final int n) {
+        final ODEState[] members = new ODEState[n];
+        for (int i = 0; i < n; ++i) {
+            final double e = 0.05 + 0.8 * i / n;
+            members[i] = new ODEState(0.0, new double[] { 1 - e, 0, 0, FastMath.sqrt((1 + e) / (1 - e)) });
+        }
+        return members;
+    }
+
+    private ODEStateAndDerivative[] checkSameAsSingleIntegrations(final EmbeddedRungeKuttaIntegrator integrator,
+                                                                  final EnsembleRungeKuttaIntegrator ensemble,
+                                                                  final ODEState[] members, final double finalTime,
+                                                                  final ForkJoinPool pool) {
+        final Kepler kepler = new Kepler();
+        final ODEStateAndDerivative[] results = pool == null ?
+                                                ensemble.integrate(kepler, members, finalTime) :
+                                                ensemble.integrate(kepler, members, finalTime, pool);
+        assertEquals(members.length, results.length);
+        for (int i = 0; i < members.length; ++i) {
+            final ODEStateAndDerivative reference = integrator.integrate(kepler, members[i], finalTime);
+            assertEquals(reference.getTime(), results[i].getTime(), 0.0);
+            assertArrayEquals(reference.getPrimaryState(), results[i].getPrimaryState(), 0.0);
+            assertArrayEquals(reference.getPrimaryDerivative(), results[i].getPrimaryDerivative(), 0.0);
+        }
+        return results;
+    }
+
+    /** Kepler problem. */
+    private static class Kepler implements OrdinaryDifferentialEquation {
+
+        public int getDimension() {
+            return 4;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] y) {
+            final double[] yDot = new double[4];
+            computeDerivatives(t, y, yDot);
+            return yDot;
+        }
+
+        @Override
+        public void computeDerivatives(final double t, final double[] y, final double[] yDot) {
+            final double r2 = y[0] * y[0] + y[1] * y[1];
+            final double r3 = r2 * FastMath.sqrt(r2);
+            yDot[0] = y[2];
+            yDot[1] = y[3];
+            yDot[2] = -y[0] / r3;
+            yDot[3] = -y[1] / r3;
+        }
+
+    }
+
+    /** Base class for stateless detectors. */
+    private static abstract class BaseDetector implements ODEEventDetector, ODEEventHandler {
+
+        public AdaptableInterval getMaxCheckInterval() {
+            return (s, isForward) -> 0.5;
+        }
+
+        public int getMaxIterationCount() {
+            return 100;
+        }
+
+        public BracketedUnivariateSolver<UnivariateFunction> getSolver() {
+            return new BracketingNthOrderBrentSolver(1.0e-12, 1.0e-12, 1.0e-14, 5);
+        }
+
+        public ODEEventHandler getHandler() {
+            return this;
+        }
+
+    }
+
+    /** Detector for crossing of the x axis, slightly damping velocity at each crossing. */
+    private static class Crossing extends BaseDetector {
+
+        private final Action action;
+
+        Crossing(final Action action) {
+            this.action = action;
+        }
+
+        public double g(final ODEStateAndDerivative s) {
+            return s.getPrimaryState()[1];
+        }
+
+        public Action eventOccurred(final ODEStateAndDerivative s, final ODEEventDetector detector,
+                                    final boolean increasing) {
+            return action;
+        }
+
+        @Override
+        public ODEState resetState(final ODEEventDetector detector, final ODEStateAndDerivative s) {
+            final double[] y = s.getPrimaryState();
+            y[2] *= 0.999;
+            y[3] *= 0.999;
+            return new ODEState(s.getTime(), y);
+        }
+
+    }
+
+    /** Detector stopping integration when radius exceeds a threshold. */
+    private static class Stop extends BaseDetector {
+
+        private final double radius;
+
+        Stop(final double radius) {
+            this.radius = radius;
+        }
+
+        public double g(final ODEStateAndDerivative s) {
+            final double[] y = s.getPrimaryState();
+            return FastMath.hypot(y[0], y[1]) - radius;
+        }
+
+        public Action eventOccurred(final ODEStateAndDerivative s, final ODEEventDetector detector,
+                                    final boolean increasing) {
+            return Action.STOP;
+        }
+
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.nonstiff;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEIntegrator;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+class RungeKuttaWorkspaceTest {
+
+    @Test
+    void testDormandPrince853() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 1.0e-12);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 3.0, -5.0, 1.0e-12);
+    }
+
+    @Test
+    void testDormandPrince54() {
+        final DormandPrince54Integrator integrator = new DormandPrince54Integrator(1.0e-8, 100.0, 1.0e-8, 1.0e-8);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 1.0e-12);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 3.0, -5.0, 1.0e-12);
+    }
+
+    @Test
+    void testHighamHall54() {
+        final HighamHall54Integrator integrator =
+                        new HighamHall54Integrator(1.0e-8, 100.0,
+                                                   new double[] { 1.0e-8, 1.0e-8, 1.0e-9, 1.0e-9 },
+                                                   new double[] { 1.0e-8, 1.0e-8, 1.0e-8, 1.0e-8 });
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 1.0e-12);
+    }
+
+    @Test
+    void testInitialStepSize() {
+        final DormandPrince54Integrator integrator = new DormandPrince54Integrator(1.0e-8, 100.0, 1.0e-8, 1.0e-8);
+        integrator.setInitialStepSize(0.25);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 1.0e-12);
+    }
+
+    @Test
+    void testClassicalRungeKutta() {
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 0.0);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 3.0, -5.0, 0.0);
+    }
+
+    @Test
+    void testLuther() {
+        final LutherIntegrator integrator = new LutherIntegrator(0.03);
+        checkSameAsIntegrator(integrator, new RungeKuttaWorkspace(integrator, 4), 0.0, 20.0, 0.0);
+    }
+
+    @Test
+    void testReuse() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 4);
+        final Kepler kepler = new Kepler(0.6);
+        final double[] first = kepler.initialState();
+        workspace.integrate(kepler, 0.0, first, 10.0);
+        final int evaluations = workspace.getEvaluations();
+
+        // an unrelated integration in between must not leave any trace
+        workspace.integrate(new Kepler(0.1), 1.0, new Kepler(0.1).initialState(), 2.0);
+
+        final double[] second = kepler.initialState();
+        workspace.integrate(kepler, 0.0, second, 10.0);
+        assertArrayEquals(first, second, 0.0);
+        assertEquals(evaluations, workspace.getEvaluations());
+
+        // integrating back should recover initial state
+        workspace.integrate(kepler, 10.0, second, 0.0);
+        assertArrayEquals(kepler.initialState(), second, 1.0e-7);
+    }
+
+    @Test
+    void testNoAllocation() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 4);
+        final Kepler   kepler = new Kepler(0.6);
+        final double[] state  = new double[4];
+
+        // warm up, so measurements are not polluted by class loading
+        for (int i = 0; i < 20; ++i) {
+            kepler.resetState(state);
+            workspace.integrate(kepler, 0.0, state, 50.0);
+        }
+
+        // short integration
+        kepler.resetState(state);
+        final long shortAllocated = allocatedBytes(threadBean, workspace, kepler, state, 1.0);
+        final int  shortEvaluations = workspace.getEvaluations();
+
+        // long integration, with thousands of steady-state steps
+        kepler.resetState(state);
+        final long longAllocated = allocatedBytes(threadBean, workspace, kepler, state, 2000.0);
+        final int  longEvaluations = workspace.getEvaluations();
+        assertTrue(longEvaluations > shortEvaluations + 10000);
+
+        // the additional steps did not allocate anything
+        // (some slack is allowed for the measurement itself)
+        assertTrue(longAllocated - shortAllocated < 1024,
+                   "steady-state steps allocated " + (longAllocated - shortAllocated) + " bytes");
+
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 3);
+        assertEquals(3, workspace.getDimension());
+        final Kepler kepler = new Kepler(0.5);
+        MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> workspace.integrate(kepler, 0.0, kepler.initialState(), 1.0));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new RungeKuttaWorkspace(integrator, 0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+    }
+
+    @Test
+    void testTooSmallInterval() {
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 4);
+        final Kepler kepler = new Kepler(0.5);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> workspace.integrate(kepler, 1.0, kepler.initialState(), 1.0));
+        assertEquals(LocalizedODEFormats.TOO_SMALL_INTEGRATION_INTERVAL, miae.getSpecifier());
+    }
+
+    @Test
+    void testMinimalStep() {
+        final DormandPrince54Integrator integrator = new DormandPrince54Integrator(0.1, 100.0, 1.0e-12, 1.0e-12);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 4);
+        final Kepler kepler = new Kepler(0.9);
+        final MathIllegalArgumentException miae =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> workspace.integrate(kepler, 0.0, kepler.initialState(), 10.0));
+        assertEquals(LocalizedODEFormats.MINIMAL_STEPSIZE_REACHED_DURING_INTEGRATION, miae.getSpecifier());
+    }
+
+    @Test
+    void testMaxEvaluations() {
+        final DormandPrince853Integrator integrator = new DormandPrince853Integrator(1.0e-8, 100.0, 1.0e-10, 1.0e-10);
+        integrator.setMaxEvaluations(500);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 4);
+        final Kepler kepler = new Kepler(0.6);
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> workspace.integrate(kepler, 0.0, kepler.initialState(), 100.0));
+        assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, mise.getSpecifier());
+        assertEquals(500, workspace.getEvaluations());
+    }
+
+    @Test
+    void testNaN() {
+        final ClassicalRungeKuttaIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        final RungeKuttaWorkspace workspace = new RungeKuttaWorkspace(integrator, 1);
+        final OrdinaryDifferentialEquation blowUp = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return 1;
+            }
+            public double[] computeDerivatives(double t, double[] y) {
+                return new double[] { t < 0.5 ? y[0] : Double.NaN };
+            }
+        };
+        final MathIllegalStateException mise =
+                        assertThrows(MathIllegalStateException.class,
+                                     () -> workspace.integrate(blowUp, 0.0, new double[] { 1.0 }, 1.0));
+        assertEquals(LocalizedODEFormats.NAN_APPEARING_DURING_INTEGRATION, mise.getSpecifier());
+    }
+
+    private long allocatedBytes(final com.sun.management.ThreadMXBean threadBean,
+                                final RungeKuttaWorkspace workspace, final Kepler kepler,
+                                final double[] state, final double finalTime) {
+        final long id     = Thread.currentThread().getId();
+        final long before = threadBean.getThreadAllocatedBytes(id);
+        workspace.integrate(kepler, 0.0, state, finalTime);
+        final long after  = threadBean.getThreadAllocatedBytes(id);
+        return after - before;
+    }
+
+    private void checkSameAsIntegrator(final ODEIntegrator integrator, final RungeKuttaWorkspace workspace,
+                                       final double t0, final double t1, final double tolerance) {
+        final Kepler kepler = new Kepler(0.6);
+        final ODEStateAndDerivative reference =
+                        integrator.integrate(kepler, new ODEState(t0, kepler.initialState()), t1);
+        final double[] state = kepler.initialState();
+        workspace.integrate(kepler, t0, state, t1);
+        assertArrayEquals(reference.getPrimaryState(), state, tolerance);
+        assertEquals(integrator.getEvaluations(), workspace.getEvaluations());
+    }
+
+    /** Kepler problem with in-place derivatives. */
+    private static class Kepler implements OrdinaryDifferentialEquation {
+
+        private final double e;
+
+        Kepler(final double e) {
+            this.e = e;
+        }
+
+        double[] initialState() {
+            final double[] y = new double[4];
+            resetState(y);
+            return y;
+        }
+
+        void resetState(final double[] y) {
+            y[0] = 1 - e;
+            y[1] = 0;
+            y[2] = 0;
+            y[3] = FastMath.sqrt((1 + e) / (1 - e));
+        }
+
+        public int getDimension() {
+            return 4;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] y) {
+            final double[] yDot = new double[4];
+            computeDerivatives(t, y, yDot);
+            return yDot;
+        }
+
+        @Override
+        public void computeDerivatives(final double t, final double[] y, final double[] yDot) {
+            final double r2 = y[0] * y[0] + y[1] * y[1];
+            final double r3 = r2 * FastMath.sqrt(r2);
+            yDot[0] = y[2];
+            yDot[1] = y[3];
+            yDot[2] = -y[0] / r3;
+            yDot[3] = -y[1] / r3;
+        }
+
+    }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.ode.stiff;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.DenseOutputModel;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEJacobiansProvider;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.TestProblem1;
+import org.hipparchus.ode.TestProblem3;
+import org.hipparchus.ode.TestProblem4;
+import org.hipparchus.ode.TestProblemHandler;
+import org.hipparchus.ode.events.ODEEventDetector;
+import org.hipparchus.ode.nonstiff.DormandPrince54Integrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.ode.sampling.ODEStepHandler;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Rosenbrock23IntegratorTest {
+
+    @Test
+    void testAccuracy() {
+        TestProblem1 pb = new TestProblem1();
+        double previousError = Double.POSITIVE_INFINITY;
+        for (int i = 4; i < 9; ++i) {
+            double tol = FastMath.pow(10.0, -i);
+            Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, pb.getFinalTime() - pb.getInitialTime(),
+                                                                      tol, tol);
+            TestProblemHandler handler = new TestProblemHandler(pb, integ);
+            integ.addStepHandler(handler);
+            integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+            assertEquals(pb.getFinalTime(), handler.getLastTime(), 1.0e-15);
+            // global error of an order 2 method
+            assertTrue(handler.getMaximalValueError() < FastMath.cbrt(tol * tol));
+            assertTrue(handler.getMaximalValueError() < previousError);
+            assertEquals(0, handler.getMaximalTimeError(), 1.0e-12);
+            previousError = handler.getMaximalValueError();
+        }
+    }
+
+    @Test
+    void testBackward() {
+        TestProblem3 pb = new TestProblem3(0.1);
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        TestProblemHandler handler = new TestProblemHandler(pb, integ);
+        integ.addStepHandler(handler);
+        ODEStateAndDerivative end = integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        ODEStateAndDerivative back = integ.integrate(pb, end, pb.getInitialTime());
+        assertEquals(pb.getInitialTime(), back.getTime(), 1.0e-15);
+        for (int i = 0; i < pb.getDimension(); ++i) {
+            assertEquals(pb.getInitialState().getPrimaryState()[i], back.getPrimaryState()[i], 2.0e-5);
+        }
+        assertTrue(handler.getMaximalValueError() < 4.0e-4);
+        assertEquals("Rosenbrock 2 (3)", integ.getName());
+    }
+
+    @Test
+    void testEvents() {
+        TestProblem4 pb = new TestProblem4();
+        double maxStep = pb.getFinalTime() - pb.getInitialTime();
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, maxStep, 1.0e-9, 1.0e-9);
+        TestProblemHandler handler = new TestProblemHandler(pb, integ);
+        integ.addStepHandler(handler);
+        for (final ODEEventDetector detector : pb.getEventDetectors(Double.POSITIVE_INFINITY, 1.0e-8 * maxStep, 1000)) {
+            integ.addEventDetector(detector);
+        }
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        assertTrue(handler.getMaximalValueError() < 1.0e-5);
+        assertEquals(0, handler.getMaximalTimeError(), 1.0e-8 * maxStep);
+    }
+
+    @Test
+    void testStiffVanDerPol() {
+
+        VanDerPol vdp = new VanDerPol(1.0e-4);
+        ODEState  s0  = new ODEState(0.0, new double[] { 2.0, -0.66 });
+        double    t1  = 2.0;
+
+        // tight explicit reference
+        DormandPrince853Integrator reference = new DormandPrince853Integrator(1.0e-14, 1.0e-4, 1.0e-12, 1.0e-12);
+        double[] yRef = reference.integrate(vdp, s0, t1).getPrimaryState();
+
+        StepCounter rosenbrockSteps = new StepCounter();
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-5, 1.0e-5);
+        integ.addStepHandler(rosenbrockSteps);
+        double[] y = integ.integrate(vdp, s0, t1).getPrimaryState();
+        assertEquals(yRef[0], y[0], 2.0e-4);
+        assertEquals(yRef[1], y[1], 2.0e-4);
+        assertEquals(rosenbrockSteps.steps, integ.getJacobianEvaluations());
+
+        // an explicit method is limited by stability, not accuracy
+        StepCounter explicitSteps = new StepCounter();
+        DormandPrince54Integrator explicit = new DormandPrince54Integrator(1.0e-12, 1.0e-2, 1.0e-5, 1.0e-5);
+        explicit.addStepHandler(explicitSteps);
+        explicit.integrate(vdp, s0, t1);
+        assertTrue(8 * rosenbrockSteps.steps < explicitSteps.steps);
+
+    }
+
+    @Test
+    void testConstantJacobian() {
+
+        // linear problem with eigenvalues -1000 and -1
+        ODEJacobiansProvider linear = new ODEJacobiansProvider() {
+            public int getDimension() {
+                return 2;
+            }
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return new double[] { -1000 * y[0] + y[1], -y[1] };
+            }
+            public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+                return new double[][] { { -1000, 1 }, { 0, -1 } };
+            }
+        };
+        ODEState s0 = new ODEState(0.0, new double[] { 1.0, 1.0 });
+
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-12, 1.0, 1.0e-10, 1.0e-6);
+        assertFalse(integ.isConstantJacobian());
+        StepCounter everyStep = new StepCounter();
+        integ.addStepHandler(everyStep);
+        integ.integrate(linear, s0, 10.0);
+        assertEquals(everyStep.steps, integ.getJacobianEvaluations());
+        assertTrue(integ.getDecompositions() >= everyStep.steps);
+        integ.clearStepHandlers();
+
+        integ.setConstantJacobian(true);
+        assertTrue(integ.isConstantJacobian());
+        StepCounter constant = new StepCounter();
+        integ.addStepHandler(constant);
+        double[] y = integ.integrate(linear, s0, 10.0).getPrimaryState();
+        assertEquals(1, integ.getJacobianEvaluations());
+        assertTrue(20 * integ.getDecompositions() < constant.steps);
+        assertEquals(FastMath.exp(-10.0) / 999.0, y[0], 2.0e-11);
+        assertEquals(FastMath.exp(-10.0), y[1], 2.0e-8);
+
+    }
+
+    @Test
+    void testAnalyticalJacobian() {
+
+        final Robertson withJacobian = new Robertson();
+        final OrdinaryDifferentialEquation withoutJacobian = new OrdinaryDifferentialEquation() {
+            public int getDimension() {
+                return withJacobian.getDimension();
+            }
+            public double[] computeDerivatives(final double t, final double[] y) {
+                return withJacobian.computeDerivatives(t, y);
+            }
+        };
+        ODEState  s0 = new ODEState(0.0, new double[] { 1.0, 0.0, 0.0 });
+        double    t1 = 40.0;
+
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(1.0e-10, 10.0,
+                                                                  new double[] { 1.0e-8, 1.0e-12, 1.0e-8 },
+                                                                  new double[] { 1.0e-6, 1.0e-6, 1.0e-6 });
+        double[] yA = integ.integrate(withJacobian, s0, t1).getPrimaryState();
+        int evaluationsA = integ.getEvaluations();
+        double[] yF = integ.integrate(withoutJacobian, s0, t1).getPrimaryState();
+        int evaluationsF = integ.getEvaluations();
+
+        // reference values from E. Hairer and G. Wanner test set
+        assertEquals(0.7158270687193e+00, yA[0], 1.0e-5);
+        assertEquals(0.9185534764557e-05, yA[1], 1.0e-10);
+        assertEquals(0.2841637457501e+00, yA[2], 1.0e-5);
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(yA[i], yF[i], 1.0e-6 * FastMath.max(1.0e-5, FastMath.abs(yA[i])));
+        }
+        assertEquals(yA[0] + yA[1] + yA[2], 1.0, 1.0e-12);
+
+        // finite differences need additional derivatives evaluations
+        assertTrue(evaluationsA < evaluationsF);
+
+    }
+
+    @Test
+    void testDenseOutput() {
+        TestProblem1 pb = new TestProblem1();
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        DenseOutputModel model = new DenseOutputModel();
+        integ.addStepHandler(model);
+        integ.integrate(pb, pb.getInitialState(), pb.getFinalTime());
+        for (double t = pb.getInitialTime(); t <= pb.getFinalTime(); t += 0.01) {
+            ODEStateAndDerivative s = model.getInterpolatedState(t);
+            double[] theoretical = pb.computeTheoreticalState(t);
+            double[] derivative  = pb.computeDerivatives(t, theoretical);
+            for (int i = 0; i < pb.getDimension(); ++i) {
+                assertEquals(theoretical[i], s.getPrimaryState()[i], 1.5e-6);
+                assertEquals(derivative[i], s.getPrimaryDerivative()[i], 6.0e-6);
+            }
+        }
+    }
+
+    @Test
+    void testSettings() {
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        assertEquals(2, integ.getOrder());
+        assertEquals(0.9, integ.getSafety(), 1.0e-15);
+        assertEquals(0.2, integ.getMinReduction(), 1.0e-15);
+        assertEquals(5.0, integ.getMaxGrowth(), 1.0e-15);
+        integ.setSafety(0.8);
+        integ.setMinReduction(0.3);
+        integ.setMaxGrowth(4.0);
+        assertEquals(0.8, integ.getSafety(), 1.0e-15);
+        assertEquals(0.3, integ.getMinReduction(), 1.0e-15);
+        assertEquals(4.0, integ.getMaxGrowth(), 1.0e-15);
+    }
+
+    @Test
+    void testDimensionCheck() {
+        TestProblem1 pb = new TestProblem1();
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(0, 1.0, 1.0e-8, 1.0e-8);
+        MathIllegalArgumentException miae =
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> integ.integrate(pb, new ODEState(0.0, new double[pb.getDimension() + 10]), 1.0));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+    }
+
+    @Test
+    void testMinStep() {
+        TestProblem1 pb = new TestProblem1();
+        double minStep = 0.1 * (pb.getFinalTime() - pb.getInitialTime());
+        Rosenbrock23Integrator integ = new Rosenbrock23Integrator(minStep, 1.0, 1.0e-12, 1.0e-12);
+        MathIllegalArgumentException miae =
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> integ.integrate(pb, pb.getInitialState(), pb.getFinalTime()));
+        assertEquals(LocalizedODEFormats.MINIMAL_STEPSIZE_REACHED_DURING_INTEGRATION, miae.getSpecifier());
+    }
+
+    /** Step counter. */
+    private static class StepCounter implements ODEStepHandler {
+        int steps;
+        public void handleStep(ODEStateInterpolator interpolator) {
+            ++steps;
+        }
+    }
+
+    /** Van der Pol oscillator, stiff for small epsilon. */
+    private static class VanDerPol implements OrdinaryDifferentialEquation {
+        private final double epsilon;
+        VanDerPol(final double epsilon) {
+            this.epsilon = epsilon;
+        }
+        public int getDimension() {
+            return 2;
+        }
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { y[1], ((1 - y[0] * y[0]) * y[1] - y[0]) / epsilon };
+        }
+    }
+
+    /** Robertson chemical kinetics problem. */
+    private static class Robertson implements ODEJacobiansProvider {
+        public int getDimension() {
+            return 3;
+        }
+        public double[] computeDerivatives(final double t, final double[] y) {
+            final double r1 = 0.04 * y[0];
+            final double r2 = 1.0e4 * y[1] * y[2];
+            final double r3 = 3.0e7 * y[1] * y[1];
+            return new double[] { r2 - r1, r1 - r2 - r3, r3 };
+        }
+        public double[][] computeMainStateJacobian(final double t, final double[] y, final double[] yDot) {
+            return new double[][] {
+                { -0.04,  1.0e4 * y[2],                1.0e4 * y[1] },
+                {  0.04, -1.0e4 * y[2] - 6.0e7 * y[1], -1.0e4 * y[1] },
+                {  0.0,   6.0e7 * y[1],                0.0 }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,634 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.linear;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.optim.LocalizedOptimFormats;
+import org.hipparchus.optim.OptimizationData;
+import org.hipparchus.optim.PointValuePair;
+import org.hipparchus.optim.nonlinear.scalar.GoalType;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Solves a linear problem using the two-phase revised simplex method.
+ * <p>
+ * Contrary to {@link SimplexSolver}, which performs pivots on a dense tableau
+ * whose size is the number of constraints times the number of variables, this
+ * solver keeps the constraints in sparse storage and only maintains a sparse LU
+ * factorization of the current basis. Basis changes are applied to the
+ * factorization as product form updates, and the basis is factorized again from
+ * scratch periodically to limit both the cost of the updates and the accumulation
+ * of rounding errors. This allows to solve large sparse problems (tens of thousands
+ * of constraints) that would not fit in memory with a dense tableau. For small dense
+ * problems, {@link SimplexSolver} is often faster.
+ * </p>
+ * <p>
+ * Coefficients of the constraints are read through {@link RealVector#sparseIterator()},
+ * so providing them as {@link org.hipparchus.linear.OpenMapRealVector OpenMapRealVector}
+ * avoids dense storage of the problem altogether.
+ * </p>
+ * <p>
+ * The {@link RevisedSimplexSolver} supports the following {@link OptimizationData} data provided
+ * as arguments to {@link #optimize(OptimizationData...)}:
+ * <ul>
+ *   <li>objective function: {@link LinearObjectiveFunction} - mandatory</li>
+ *   <li>linear constraints {@link LinearConstraintSet} - mandatory</li>
+ *   <li>type of optimization: {@link GoalType} - optional, default: {@link GoalType#MINIMIZE MINIMIZE}</li>
+ *   <li>whether to allow negative values as solution: {@link NonNegativeConstraint} - optional, default: true</li>
+ *   <li>pivot selection rule: {@link PivotSelectionRule} - optional, default {@link PivotSelectionRule#DANTZIG}</li>
+ *   <li>maximum number of iterations: {@link org.hipparchus.optim.MaxIter} - optional, default: {@link Integer#MAX_VALUE}</li>
+ * </ul>
+ * <p>
+ * As there is no tableau, {@link SolutionCallback} is not supported by this solver.
+ * </p>
+ * <p>
+ * Default convergence criteria:
+ * <ul>
+ *   <li>Algorithm convergence: 1e-6</li>
+ *   <li>Cut-Off value: 1e-10</li>
+ *   <li>Refactorization period: 100 basis changes</li>
+ * </ul>
+ * @since 4.0
+ */
+public class RevisedSimplexSolver extends LinearOptimizer {
+
+    /** Default amount of error to accept for algorithm convergence. */
+    private static final double DEFAULT_EPSILON = 1.0e-6;
+
+    /** Default number of basis changes between refactorizations. */
+    private static final int DEFAULT_REFACTORIZATION_PERIOD = 100;
+
+    /** Amount of error to accept for algorithm convergence. */
+    private final double epsilon;
+
+    /** Cut-off value for pivot elements. */
+    private final double cutOff;
+
+    /** Number of basis changes between refactorizations. */
+    private final int refactorizationPeriod;
+
+    /** The pivot selection method to use. */
+    private PivotSelectionRule pivotSelection;
+
+    /**
+     * Builds a revised simplex solver with default settings.
+     */
+    public RevisedSimplexSolver() {
+        this(DEFAULT_EPSILON, SimplexSolver.DEFAULT_CUT_OFF, DEFAULT_REFACTORIZATION_PERIOD);
+    }
+
+    /**
+     * Builds a revised simplex solver with a specified accepted amount of error.
+     *
+     * @param epsilon Amount of error to accept for algorithm convergence.
+     */
+    public RevisedSimplexSolver(final double epsilon) {
+        this(epsilon, SimplexSolver.DEFAULT_CUT_OFF, DEFAULT_REFACTORIZATION_PERIOD);
+    }
+
+    /**
+     * Builds a revised simplex solver with a specified accepted amount of error.
+     *
+     * @param epsilon Amount of error to accept for algorithm convergence.
+     * @param cutOff Pivot elements smaller than the cutOff are treated as zero.
+     */
+    public RevisedSimplexSolver(final double epsilon, final double cutOff) {
+        this(epsilon, cutOff, DEFAULT_REFACTORIZATION_PERIOD);
+    }
+
+    /**
+     * Builds a revised simplex solver with a specified accepted amount of error.
+     *
+     * @param epsilon Amount of error to accept for algorithm convergence.
+     * @param cutOff Pivot elements smaller than the cutOff are treated as zero.
+     * @param refactorizationPeriod Number of basis changes between refactorizations.
+     * @exception MathIllegalArgumentException if refactorization period is not strictly positive
+     */
+    public RevisedSimplexSolver(final double epsilon, final double cutOff, final int refactorizationPeriod)
+        throws MathIllegalArgumentException {
+        if (refactorizationPeriod <= 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   refactorizationPeriod, 0);
+        }
+        this.epsilon               = epsilon;
+        this.cutOff                = cutOff;
+        this.refactorizationPeriod = refactorizationPeriod;
+        this.pivotSelection        = PivotSelectionRule.DANTZIG;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param optData Optimization data. In addition to those documented in
+     * {@link LinearOptimizer#optimize(OptimizationData...)
+     * LinearOptimizer}, this method will register the following data:
+     * <ul>
+     *  <li>{@link PivotSelectionRule}</li>
+     * </ul>
+     *
+     * @return {@inheritDoc}
+     * @throws MathIllegalStateException if the maximal number of iterations is exceeded.
+     * @throws MathIllegalArgumentException if the dimension
+     * of the constraints does not match the dimension of the objective function
+     */
+    @Override
+    public PointValuePair optimize(OptimizationData... optData)
+        throws MathIllegalStateException {
+        // Set up base class and perform computation.
+        return super.optimize(optData);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param optData Optimization data.
+     * In addition to those documented in
+     * {@link LinearOptimizer#parseOptimizationData(OptimizationData[])
+     * LinearOptimizer}, this method will register the following data:
+     * <ul>
+     *  <li>{@link PivotSelectionRule}</li>
+     * </ul>
+     */
+    @Override
+    protected void parseOptimizationData(OptimizationData... optData) {
+        // Allow base class to register its own data.
+        super.parseOptimizationData(optData);
+
+        for (OptimizationData data : optData) {
+            if (data instanceof PivotSelectionRule) {
+                pivotSelection = (PivotSelectionRule) data;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PointValuePair doOptimize()
+        throws MathIllegalStateException {
+
+        final Problem problem = new Problem(getFunction(), getConstraints(),
+                                            getGoalType() == GoalType.MAXIMIZE,
+                                            isRestrictedToNonNegative(),
+                                            refactorizationPeriod);
+
+        // phase 1: minimize the sum of artificial variables
+        if (problem.nArtificial > 0) {
+            final double[] phase1Cost = new double[problem.nColumns];
+            Arrays.fill(phase1Cost, problem.artificialOffset, problem.nColumns, 1.0);
+            iterate(problem, phase1Cost, true);
+
+            double infeasibility = 0;
+            for (int k = 0; k < problem.m; ++k) {
+                if (problem.basis[k] >= problem.artificialOffset) {
+                    infeasibility += problem.xB[k];
+                }
+            }
+            if (!Precision.equals(infeasibility, 0d, epsilon)) {
+                throw new MathIllegalStateException(LocalizedOptimFormats.NO_FEASIBLE_SOLUTION);
+            }
+
+            driveOutArtificials(problem);
+        }
+
+        // phase 2: optimize the real objective, artificial variables are not allowed to enter
+        iterate(problem, problem.cost, false);
+
+        // extract solution
+        final double[] x = new double[problem.nColumns];
+        for (int k = 0; k < problem.m; ++k) {
+            x[problem.basis[k]] = problem.xB[k];
+        }
+        final double[] coeff = new double[problem.nOriginal];
+        final double mostNegative = problem.restrictToNonNegative ? 0 : x[problem.nOriginal];
+        for (int i = 0; i < coeff.length; ++i) {
+            coeff[i] = x[i] - mostNegative;
+        }
+
+        // check that the solution respects the nonNegative restriction in case
+        // the epsilon/cutOff values are too large for the actual linear problem
+        if (isRestrictedToNonNegative()) {
+            for (int i = 0; i < coeff.length; i++) {
+                if (Precision.compareTo(coeff[i], 0, epsilon) < 0) {
+                    throw new MathIllegalStateException(LocalizedOptimFormats.NO_FEASIBLE_SOLUTION);
+                }
+            }
+        }
+
+        return new PointValuePair(coeff, getFunction().value(coeff));
+
+    }
+
+    /** Run simplex iterations until optimality.
+     * @param problem problem to solve
+     * @param cost cost of all columns
+     * @param allowArtificial if true, artificial variables may enter the basis
+     * @throws MathIllegalStateException if the allowed number of iterations has been exhausted,
+     * or if the model is found not to have a bounded solution
+     */
+    private void iterate(final Problem problem, final double[] cost, final boolean allowArtificial)
+        throws MathIllegalStateException {
+
+        final int      m     = problem.m;
+        final int      end   = allowArtificial ? problem.nColumns : problem.artificialOffset;
+        final double[] y     = new double[m];
+        final double[] d     = new double[m];
+
+        while (true) {
+
+            // compute simplex multipliers y = B^-T c_B
+            for (int k = 0; k < m; ++k) {
+                y[k] = cost[problem.basis[k]];
+            }
+            problem.factorization.solveTransposed(y);
+
+            // pricing: select entering column among non-basic columns with negative reduced cost
+            int    entering = -1;
+            double minValue = 0;
+            for (int j = 0; j < end; ++j) {
+                if (problem.position[j] >= 0) {
+                    continue;
+                }
+                final double reducedCost = cost[j] - problem.dot(y, j);
+                if (Precision.compareTo(reducedCost, 0d, epsilon) < 0 && reducedCost < minValue) {
+                    minValue = reducedCost;
+                    entering = j;
+                    if (pivotSelection == PivotSelectionRule.BLAND) {
+                        // Bland's rule: chose the entering column with the lowest index
+                        break;
+                    }
+                }
+            }
+            if (entering < 0) {
+                // optimal
+                return;
+            }
+
+            incrementIterationCount();
+
+            // compute entering direction d = B^-1 a_q
+            problem.loadColumn(entering, d);
+            problem.factorization.solve(d);
+
+            // ratio test
+            final int leaving = selectLeaving(problem, d);
+            if (leaving < 0) {
+                throw new MathIllegalStateException(LocalizedOptimFormats.UNBOUNDED_SOLUTION);
+            }
+
+            problem.pivot(entering, leaving, d);
+
+        }
+
+    }
+
+    /** Select the leaving basis position using minimum ratio test.
+     * @param problem problem to solve
+     * @param d entering direction
+     * @return leaving basis position, or -1 if problem is unbounded
+     */
+    private int selectLeaving(final Problem problem, final double[] d) {
+
+        int    leaving  = -1;
+        double minRatio = Double.MAX_VALUE;
+        for (int k = 0; k < problem.m; ++k) {
+            // only consider pivot elements larger than the cutOff threshold
+            // selecting others may lead to degeneracy or numerical instabilities
+            if (Precision.compareTo(d[k], 0d, cutOff) > 0) {
+                final double ratio = FastMath.max(problem.xB[k], 0.0) / d[k];
+                final int cmp = Double.compare(ratio, minRatio);
+                if (cmp < 0) {
+                    minRatio = ratio;
+                    leaving  = k;
+                } else if (cmp == 0) {
+                    // degeneracy: first try to force an artificial variable out of the basis,
+                    // then apply Bland's rule to prevent cycling
+                    final int candidate = problem.basis[k];
+                    final int current   = problem.basis[leaving];
+                    final boolean candidateArtificial = candidate >= problem.artificialOffset;
+                    final boolean currentArtificial   = current   >= problem.artificialOffset;
+                    if (candidateArtificial && !currentArtificial ||
+                        candidateArtificial == currentArtificial && candidate < current) {
+                        leaving = k;
+                    }
+                }
+            }
+        }
+
+        return leaving;
+
+    }
+
+    /** Drive artificial variables out of the basis after phase 1.
+     * <p>
+     * Artificial variables remaining basic at zero level are replaced by non-artificial
+     * variables using degenerate pivots. If no such replacement exists, the corresponding
+     * constraint is redundant and the artificial variable is left in the basis, where it
+     * stays at zero as no other column has a non-zero entry in its row.
+     * </p>
+     * @param problem problem to solve
+     */
+    private void driveOutArtificials(final Problem problem) {
+        final int m = problem.m;
+        final double[] rho = new double[m];
+        final double[] d   = new double[m];
+        for (int r = 0; r < m; ++r) {
+            if (problem.basis[r] < problem.artificialOffset) {
+                continue;
+            }
+
+            // compute row r of B^-1 A
+            Arrays.fill(rho, 0.0);
+            rho[r] = 1.0;
+            problem.factorization.solveTransposed(rho);
+
+            for (int j = 0; j < problem.artificialOffset; ++j) {
+                if (problem.position[j] < 0 && FastMath.abs(problem.dot(rho, j)) > cutOff) {
+                    problem.loadColumn(j, d);
+                    problem.factorization.solve(d);
+                    problem.pivot(j, r, d);
+                    break;
+                }
+            }
+
+        }
+    }
+
+    /** Internal representation of a linear problem in standard form.
+     * <p>
+     * Columns are ordered as decision variables, extra variable to allow negative
+     * values (if any), slack variables and artificial variables, as in {@link
+     * SimplexTableau}. Constraints are normalized to have non-negative right hand sides.
+     * </p>
+     */
+    private static class Problem {
+
+        /** Number of constraints. */
+        private final int m;
+
+        /** Number of original decision variables. */
+        private final int nOriginal;
+
+        /** Whether to restrict the variables to non-negative values. */
+        private final boolean restrictToNonNegative;
+
+        /** Number of artificial variables. */
+        private final int nArtificial;
+
+        /** Index of the first artificial variable. */
+        private final int artificialOffset;
+
+        /** Total number of columns. */
+        private final int nColumns;
+
+        /** Column pointers of the constraint matrix. */
+        private final int[] colPtr;
+
+        /** Row indices of the constraint matrix. */
+        private final int[] rowIdx;
+
+        /** Values of the constraint matrix. */
+        private final double[] values;
+
+        /** Right hand side. */
+        private final double[] rhs;
+
+        /** Cost of columns (for minimization). */
+        private final double[] cost;
+
+        /** Columns in the basis. */
+        private final int[] basis;
+
+        /** Basis position of columns (-1 for non-basic columns). */
+        private final int[] position;
+
+        /** Values of basic variables. */
+        private final double[] xB;
+
+        /** Factorization of the basis. */
+        private final SparseBasisFactorization factorization;
+
+        /** Build the standard form of a problem.
+         * @param f objective function
+         * @param constraints linear constraints
+         * @param maximize if true, goal is to maximize the objective function
+         * @param restrictToNonNegative whether to restrict the variables to non-negative values
+         * @param refactorizationPeriod number of basis changes between refactorizations
+         * @throws MathIllegalArgumentException if the dimension of the constraints does not match the
+         *   dimension of the objective function
+         */
+        Problem(final LinearObjectiveFunction f, final Collection<LinearConstraint> constraints,
+                final boolean maximize, final boolean restrictToNonNegative,
+                final int refactorizationPeriod)
+            throws MathIllegalArgumentException {
+
+            this.m                     = constraints.size();
+            this.nOriginal             = f.getCoefficients().getDimension();
+            this.restrictToNonNegative = restrictToNonNegative;
+            final int nDecision        = nOriginal + (restrictToNonNegative ? 0 : 1);
+
+            // count slack and artificial variables, and non-zeros per column
+            final LinearConstraint[] normalized = new LinearConstraint[m];
+            final int[]    counts  = new int[nDecision + 1];
+            final double[] rowSums = new double[m];
+            int nSlack  = 0;
+            int nArt    = 0;
+            int r       = 0;
+            for (final LinearConstraint constraint : constraints) {
+                final int dimension = constraint.getCoefficients().getDimension();
+                if (dimension != nOriginal) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                           dimension, nOriginal);
+                }
+                normalized[r] = constraint.getValue() < 0 ?
+                                new LinearConstraint(constraint.getCoefficients().mapMultiply(-1),
+                                                     constraint.getRelationship().oppositeRelationship(),
+                                                     -1 * constraint.getValue()) :
+                                constraint;
+                for (final Iterator<RealVector.Entry> iterator = normalized[r].getCoefficients().sparseIterator();
+                     iterator.hasNext();) {
+                    final RealVector.Entry entry = iterator.next();
+                    if (entry.getValue() != 0.0) {
+                        ++counts[entry.getIndex()];
+                        rowSums[r] -= entry.getValue();
+                    }
+                }
+                if (!restrictToNonNegative && rowSums[r] != 0.0) {
+                    ++counts[nOriginal];
+                }
+                final Relationship relationship = normalized[r].getRelationship();
+                if (relationship != Relationship.EQ) {
+                    ++nSlack;
+                }
+                if (relationship != Relationship.LEQ) {
+                    ++nArt;
+                }
+                ++r;
+            }
+            this.nArtificial      = nArt;
+            this.artificialOffset = nDecision + nSlack;
+            this.nColumns         = artificialOffset + nArtificial;
+
+            // build the constraint matrix in compressed sparse column format
+            this.colPtr = new int[nColumns + 1];
+            for (int j = 0; j < nDecision; ++j) {
+                colPtr[j + 1] = colPtr[j] + counts[j];
+            }
+            for (int j = nDecision; j < nColumns; ++j) {
+                colPtr[j + 1] = colPtr[j] + 1;
+            }
+            this.rowIdx = new int[colPtr[nColumns]];
+            this.values = new double[colPtr[nColumns]];
+            this.rhs    = new double[m];
+            this.basis  = new int[m];
+            final int[] fill = Arrays.copyOf(colPtr, nDecision);
+            int slack      = nDecision;
+            int artificial = artificialOffset;
+            for (int i = 0; i < m; ++i) {
+                for (final Iterator<RealVector.Entry> iterator = normalized[i].getCoefficients().sparseIterator();
+                     iterator.hasNext();) {
+                    final RealVector.Entry entry = iterator.next();
+                    if (entry.getValue() != 0.0) {
+                        final int p = fill[entry.getIndex()]++;
+                        rowIdx[p] = i;
+                        values[p] = entry.getValue();
+                    }
+                }
+                if (!restrictToNonNegative && rowSums[i] != 0.0) {
+                    final int p = fill[nOriginal]++;
+                    rowIdx[p] = i;
+                    values[p] = rowSums[i];
+                }
+                rhs[i] = normalized[i].getValue();
+                switch (normalized[i].getRelationship()) {
+                    case LEQ :
+                        // slack variable is basic
+                        basis[i] = slack;
+                        setUnit(slack++, i, 1.0);
+                        break;
+                    case GEQ :
+                        // surplus variable is non-basic, artificial variable is basic
+                        setUnit(slack++, i, -1.0);
+                        basis[i] = artificial;
+                        setUnit(artificial++, i, 1.0);
+                        break;
+                    default :
+                        // artificial variable is basic
+                        basis[i] = artificial;
+                        setUnit(artificial++, i, 1.0);
+                        break;
+                }
+            }
+
+            // phase 2 costs
+            this.cost = new double[nColumns];
+            final RealVector coefficients = f.getCoefficients();
+            double sum = 0;
+            for (int j = 0; j < nOriginal; ++j) {
+                cost[j] = maximize ? -coefficients.getEntry(j) : coefficients.getEntry(j);
+                sum    -= cost[j];
+            }
+            if (!restrictToNonNegative) {
+                cost[nOriginal] = sum;
+            }
+
+            // initial basis is the identity matrix
+            this.position = new int[nColumns];
+            Arrays.fill(position, -1);
+            for (int k = 0; k < m; ++k) {
+                position[basis[k]] = k;
+            }
+            this.xB            = rhs.clone();
+            this.factorization = new SparseBasisFactorization(m, refactorizationPeriod);
+            factorization.factorize(colPtr, rowIdx, values, basis);
+
+        }
+
+        /** Set a unit column.
+         * @param j column index
+         * @param i row index of the single non-zero
+         * @param v value of the single non-zero
+         */
+        private void setUnit(final int j, final int i, final double v) {
+            rowIdx[colPtr[j]] = i;
+            values[colPtr[j]] = v;
+        }
+
+        /** Compute the dot product of a row vector with a column of the constraint matrix.
+         * @param y row vector
+         * @param j column index
+         * @return dot product
+         */
+        double dot(final double[] y, final int j) {
+            double sum = 0;
+            for (int p = colPtr[j]; p < colPtr[j + 1]; ++p) {
+                sum += y[rowIdx[p]] * values[p];
+            }
+            return sum;
+        }
+
+        /** Load a column of the constraint matrix into a dense vector.
+         * @param j column index
+         * @param a dense vector to fill up
+         */
+        void loadColumn(final int j, final double[] a) {
+            Arrays.fill(a, 0.0);
+            for (int p = colPtr[j]; p < colPtr[j + 1]; ++p) {
+                a[rowIdx[p]] = values[p];
+            }
+        }
+
+        /** Perform a basis change.
+         * @param entering entering column
+         * @param leaving leaving basis position
+         * @param d entering direction B<sup>-1</sup> a<sub>q</sub>
+         */
+        void pivot(final int entering, final int leaving, final double[] d) {
+
+            // update basic variables values
+            final double theta = FastMath.max(xB[leaving], 0.0) / d[leaving];
+            for (int k = 0; k < m; ++k) {
+                xB[k] -= theta * d[k];
+            }
+            xB[leaving] = theta;
+
+            // update basis
+            position[basis[leaving]] = -1;
+            basis[leaving]           = entering;
+            position[entering]       = leaving;
+
+            if (factorization.needsRefactorization()) {
+                // factorize again from scratch, and recompute basic variables
+                factorization.factorize(colPtr, rowIdx, values, basis);
+                System.arraycopy(rhs, 0, xB, 0, m);
+                factorization.solve(xB);
+            } else {
+                factorization.update(leaving, d);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Factorization of a simplex basis matrix, for use by the {@link RevisedSimplexSolver}.
+ * <p>
+ * The basis matrix B is built from columns of a sparse constraint matrix stored
+ * in compressed sparse column format. It is factorized as P B Q = L U using a
+ * left-looking sparse LU decomposition with partial pivoting (Gilbert-Peierls
+ * algorithm), where L is unit lower triangular, U is upper triangular, P is a row
+ * permutation and Q is a column permutation that moves the sparsest columns first.
+ * </p>
+ * <p>
+ * Basis changes are handled in product form: each change appends an eta matrix
+ * to a file of updates, so {@link #solve(double[]) solving} and {@link
+ * #solveTransposed(double[]) solving with transpose} remain cheap. The caller
+ * is expected to {@link #factorize(int[], int[], double[], int[]) factorize}
+ * again from scratch when {@link #needsRefactorization()} returns true, which
+ * both limits the cost of the updates and removes accumulated rounding errors.
+ * </p>
+ * @since 4.0
+ */
+class SparseBasisFactorization {
+
+    /** Dimension of the basis. */
+    private final int m;
+
+    /** Maximum number of updates before refactorization. */
+    private final int maxUpdates;
+
+    /** Column permutation (basis position of the k<sup>th</sup> factorized column). */
+    private final int[] q;
+
+    /** Inverse row permutation (pivot index of each row). */
+    private final int[] pinv;
+
+    /** Column pointers of L. */
+    private final int[] lp;
+
+    /** Row indices of L (after factorization, in pivot order). */
+    private int[] li;
+
+    /** Values of L (unit diagonal stored first in each column). */
+    private double[] lx;
+
+    /** Column pointers of U. */
+    private final int[] up;
+
+    /** Row indices of U. */
+    private int[] ui;
+
+    /** Values of U (diagonal stored last in each column). */
+    private double[] ux;
+
+    /** Number of eta matrices. */
+    private int nEta;
+
+    /** Basis position of the pivot of each eta matrix. */
+    private int[] etaPivot;
+
+    /** Pointers to the start of each eta matrix in the eta arrays. */
+    private int[] etaStart;
+
+    /** Basis positions of the off-pivot entries of the eta matrices. */
+    private int[] etaIndex;
+
+    /** Values of the eta matrices (pivot first, then off-pivot entries). */
+    private double[] etaValue;
+
+    /** Dense work vector. */
+    private final double[] work;
+
+    /** Work stack for depth-first searches (also holds the reach). */
+    private final int[] stack;
+
+    /** Work array for depth-first searches (position in adjacency list). */
+    private final int[] next;
+
+    /** Marks for depth-first searches. */
+    private final int[] mark;
+
+    /** Current mark stamp. */
+    private int stamp;
+
+    /** Simple constructor.
+     * @param m dimension of the basis
+     * @param maxUpdates maximum number of updates before refactorization
+     */
+    SparseBasisFactorization(final int m, final int maxUpdates) {
+        this.m          = m;
+        this.maxUpdates = maxUpdates;
+        this.q          = new int[m];
+        this.pinv       = new int[m];
+        this.lp         = new int[m + 1];
+        this.li         = new int[4 * m + 1];
+        this.lx         = new double[li.length];
+        this.up         = new int[m + 1];
+        this.ui         = new int[4 * m + 1];
+        this.ux         = new double[ui.length];
+        this.etaPivot   = new int[maxUpdates];
+        this.etaStart   = new int[maxUpdates + 1];
+        this.etaIndex   = new int[4 * m + 1];
+        this.etaValue   = new double[etaIndex.length];
+        this.work       = new double[m];
+        this.stack      = new int[m];
+        this.next       = new int[m];
+        this.mark       = new int[m];
+    }
+
+    /** Factorize a basis from scratch.
+     * <p>
+     * This method also clears the file of updates.
+     * </p>
+     * @param colPtr column pointers of the constraint matrix
+     * @param rowIdx row indices of the constraint matrix
+     * @param values values of the constraint matrix
+     * @param basis indices of the constraint matrix columns in the basis
+     * @exception MathIllegalStateException if basis is singular
+     */
+    void factorize(final int[] colPtr, final int[] rowIdx, final double[] values, final int[] basis)
+        throws MathIllegalStateException {
+
+        // order columns by increasing number of non-zeros, to reduce fill-in
+        final Integer[] order = new Integer[m];
+        for (int k = 0; k < m; ++k) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (k1, k2) -> Integer.compare(colPtr[basis[k1] + 1] - colPtr[basis[k1]],
+                                                        colPtr[basis[k2] + 1] - colPtr[basis[k2]]));
+
+        Arrays.fill(pinv, -1);
+        Arrays.fill(work, 0.0);
+        int lnz = 0;
+        int unz = 0;
+        for (int k = 0; k < m; ++k) {
+
+            q[k]  = order[k];
+            lp[k] = lnz;
+            up[k] = unz;
+            final int col = basis[q[k]];
+
+            // make sure there is enough room for this column
+            ensureLCapacity(lnz + m);
+            ensureUCapacity(unz + m);
+
+            // sparse triangular solve x = L \ B(:, k), with the pattern in stack[top .. m-1]
+            final int top = reach(colPtr, rowIdx, col);
+            for (int p = colPtr[col]; p < colPtr[col + 1]; ++p) {
+                work[rowIdx[p]] = values[p];
+            }
+            for (int px = top; px < m; ++px) {
+                final int j = stack[px];
+                final int jj = pinv[j];
+                if (jj >= 0) {
+                    final double xj = work[j];
+                    for (int p = lp[jj] + 1; p < lp[jj + 1]; ++p) {
+                        work[li[p]] -= lx[p] * xj;
+                    }
+                }
+            }
+
+            // find pivot, and store U part
+            int    ipiv = -1;
+            double a    = -1;
+            for (int px = top; px < m; ++px) {
+                final int i = stack[px];
+                if (pinv[i] < 0) {
+                    final double t = FastMath.abs(work[i]);
+                    if (t > a) {
+                        a    = t;
+                        ipiv = i;
+                    }
+                } else {
+                    ui[unz]   = pinv[i];
+                    ux[unz++] = work[i];
+                }
+            }
+            if (ipiv < 0 || a <= 0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            // store diagonal of U, and L part
+            final double pivot = work[ipiv];
+            ui[unz]    = k;
+            ux[unz++]  = pivot;
+            pinv[ipiv] = k;
+            li[lnz]    = ipiv;
+            lx[lnz++]  = 1.0;
+            for (int px = top; px < m; ++px) {
+                final int i = stack[px];
+                if (pinv[i] < 0) {
+                    li[lnz]   = i;
+                    lx[lnz++] = work[i] / pivot;
+                }
+                work[i] = 0.0;
+            }
+
+        }
+        lp[m] = lnz;
+        up[m] = unz;
+
+        // renumber L rows in pivot order
+        for (int p = 0; p < lnz; ++p) {
+            li[p] = pinv[li[p]];
+        }
+
+        nEta = 0;
+        etaStart[0] = 0;
+
+    }
+
+    /** Compute the set of rows reachable from the non-zeros of a column in the graph of L.
+     * <p>
+     * The reachable rows are stored in topological order in {@code stack[top .. m-1]}.
+     * </p>
+     * @param colPtr column pointers of the constraint matrix
+     * @param rowIdx row indices of the constraint matrix
+     * @param col column of the constraint matrix
+     * @return top index of the reach in {@link #stack}
+     */
+    private int reach(final int[] colPtr, final int[] rowIdx, final int col) {
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+
+        int top = m;
+        for (int p = colPtr[col]; p < colPtr[col + 1]; ++p) {
+            final int start = rowIdx[p];
+            if (mark[start] == stamp) {
+                continue;
+            }
+
+            // iterative depth-first search, using stack[0 .. head] as the recursion stack
+            int head = 0;
+            stack[0] = start;
+            while (head >= 0) {
+                final int j  = stack[head];
+                final int jj = pinv[j];
+                if (mark[j] != stamp) {
+                    mark[j] = stamp;
+                    next[head] = jj < 0 ? 0 : lp[jj] + 1;
+                }
+                boolean done = true;
+                if (jj >= 0) {
+                    final int end = lp[jj + 1];
+                    while (next[head] < end) {
+                        final int i = li[next[head]++];
+                        if (mark[i] != stamp) {
+                            // descend to child
+                            stack[++head] = i;
+                            done = false;
+                            break;
+                        }
+                    }
+                }
+                if (done) {
+                    // all children visited, j is finished
+                    --head;
+                    stack[--top] = j;
+                }
+            }
+        }
+
+        return top;
+
+    }
+
+    /** Check if the basis should be factorized again from scratch.
+     * @return true if the maximum number of updates has been reached
+     */
+    boolean needsRefactorization() {
+        return nEta >= maxUpdates;
+    }
+
+    /** Update the factorization after a basis change.
+     * @param r basis position of the leaving column
+     * @param d solution of B d = a<sub>q</sub>, where a<sub>q</sub> is the entering column
+     */
+    void update(final int r, final double[] d) {
+        int start = etaStart[nEta];
+        if (etaIndex.length < start + m) {
+            final int newLength = FastMath.max(2 * etaIndex.length, start + m);
+            etaIndex = Arrays.copyOf(etaIndex, newLength);
+            etaValue = Arrays.copyOf(etaValue, newLength);
+        }
+        etaPivot[nEta]    = r;
+        etaValue[start++] = d[r];
+        for (int i = 0; i < m; ++i) {
+            if (i != r && d[i] != 0.0) {
+                etaIndex[start]   = i;
+                etaValue[start++] = d[i];
+            }
+        }
+        etaStart[++nEta] = start;
+    }
+
+    /** Solve B x = b in place.
+     * @param x right hand side on input, solution on output (indexed by basis positions)
+     */
+    void solve(final double[] x) {
+
+        // apply row permutation
+        for (int i = 0; i < m; ++i) {
+            work[pinv[i]] = x[i];
+        }
+
+        // solve L z = P b
+        for (int j = 0; j < m; ++j) {
+            final double zj = work[j];
+            if (zj != 0.0) {
+                for (int p = lp[j] + 1; p < lp[j + 1]; ++p) {
+                    work[li[p]] -= lx[p] * zj;
+                }
+            }
+        }
+
+        // solve U w = z
+        for (int j = m - 1; j >= 0; --j) {
+            final int diag = up[j + 1] - 1;
+            final double wj = work[j] / ux[diag];
+            work[j] = wj;
+            if (wj != 0.0) {
+                for (int p = up[j]; p < diag; ++p) {
+                    work[ui[p]] -= ux[p] * wj;
+                }
+            }
+        }
+
+        // apply column permutation
+        for (int k = 0; k < m; ++k) {
+            x[q[k]] = work[k];
+        }
+
+        // apply eta file
+        for (int e = 0; e < nEta; ++e) {
+            final int r = etaPivot[e];
+            final double xr = x[r] / etaValue[etaStart[e]];
+            x[r] = xr;
+            if (xr != 0.0) {
+                for (int p = etaStart[e] + 1; p < etaStart[e + 1]; ++p) {
+                    x[etaIndex[p]] -= etaValue[p] * xr;
+                }
+            }
+        }
+
+    }
+
+    /** Solve B<sup>T</sup> y = c in place.
+     * @param y right hand side on input (indexed by basis positions),
+     * solution on output (indexed by rows)
+     */
+    void solveTransposed(final double[] y) {
+
+        // apply eta file in reverse order
+        for (int e = nEta - 1; e >= 0; --e) {
+            final int r = etaPivot[e];
+            double yr = y[r];
+            for (int p = etaStart[e] + 1; p < etaStart[e + 1]; ++p) {
+                yr -= etaValue[p] * y[etaIndex[p]];
+            }
+            y[r] = yr / etaValue[etaStart[e]];
+        }
+
+        // apply column permutation
+        for (int k = 0; k < m; ++k) {
+            work[k] = y[q[k]];
+        }
+
+        // solve U^T z = Q^T c
+        for (int j = 0; j < m; ++j) {
+            final int diag = up[j + 1] - 1;
+            double zj = work[j];
+            for (int p = up[j]; p < diag; ++p) {
+                zj -= ux[p] * work[ui[p]];
+            }
+            work[j] = zj / ux[diag];
+        }
+
+        // solve L^T w = z
+        for (int j = m - 1; j >= 0; --j) {
+            double wj = work[j];
+            for (int p = lp[j] + 1; p < lp[j + 1]; ++p) {
+                wj -= lx[p] * work[li[p]];
+            }
+            work[j] = wj;
+        }
+
+        // apply row permutation
+        for (int i = 0; i < m; ++i) {
+            y[i] = work[pinv[i]];
+        }
+
+    }
+
+    /** Ensure L storage can hold a number of entries.
+     * @param capacity required capacity
+     */
+    private void ensureLCapacity(final int capacity) {
+        if (li.length < capacity) {
+            final int newLength = FastMath.max(2 * li.length, capacity);
+            li = Arrays.copyOf(li, newLength);
+            lx = Arrays.copyOf(lx, newLength);
+        }
+    }
+
+    /** Ensure U storage can hold a number of entries.
+     * @param capacity required capacity
+     */
+    private void ensureUCapacity(final int capacity) {
+        if (ui.length < capacity) {
+            final int newLength = FastMath.max(2 * ui.length, capacity);
+            ui = Arrays.copyOf(ui, newLength);
+            ux = Arrays.copyOf(ux, newLength);
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.OpenMapRealVector;
+import org.hipparchus.optim.MaxIter;
+import org.hipparchus.optim.PointValuePair;
+import org.hipparchus.optim.nonlinear.scalar.GoalType;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevisedSimplexSolverTest {
+
+    private static final MaxIter DEFAULT_MAX_ITER = new MaxIter(100);
+
+    @Test
+    void testMath842Cycle() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 10, -57, -9, -24}, 0);
+
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] {0.5, -5.5, -2.5, 9}, Relationship.LEQ, 0));
+        constraints.add(new LinearConstraint(new double[] {0.5, -1.5, -0.5, 1}, Relationship.LEQ, 0));
+        constraints.add(new LinearConstraint(new double[] {  1,    0,    0, 0}, Relationship.LEQ, 1));
+
+        double epsilon = 1e-6;
+        PointValuePair solution = new RevisedSimplexSolver().optimize(f, new LinearConstraintSet(constraints),
+                                                                      GoalType.MAXIMIZE,
+                                                                      new NonNegativeConstraint(true),
+                                                                      PivotSelectionRule.BLAND);
+        assertEquals(1.0d, solution.getValue(), epsilon);
+        assertTrue(validSolution(solution, constraints, epsilon));
+    }
+
+    @Test
+    void testMath781() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 2, 6, 7 }, 0);
+
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] { 1, 2, 1 }, Relationship.LEQ, 2));
+        constraints.add(new LinearConstraint(new double[] { -1, 1, 1 }, Relationship.LEQ, -1));
+        constraints.add(new LinearConstraint(new double[] { 2, -3, 1 }, Relationship.LEQ, -1));
+
+        double epsilon = 1e-6;
+        PointValuePair solution = new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                                      new LinearConstraintSet(constraints),
+                                                                      GoalType.MAXIMIZE,
+                                                                      new NonNegativeConstraint(false));
+        assertEquals(2.0d, solution.getValue(), epsilon);
+        assertTrue(validSolution(solution, constraints, epsilon));
+    }
+
+    @Test
+    void testEqualityAndRedundantConstraints() {
+        // minimize x + y + z subject to x + y = 2, 2x + 2y = 4 (redundant), y + z >= 1, z <= 5
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 1, 1, 1 }, 3);
+
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] { 1, 1, 0 }, Relationship.EQ, 2));
+        constraints.add(new LinearConstraint(new double[] { 2, 2, 0 }, Relationship.EQ, 4));
+        constraints.add(new LinearConstraint(new double[] { 0, 1, 1 }, Relationship.GEQ, 1));
+        constraints.add(new LinearConstraint(new double[] { 0, 0, 1 }, Relationship.LEQ, 5));
+
+        double epsilon = 1e-10;
+        PointValuePair solution = new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                                      new LinearConstraintSet(constraints),
+                                                                      GoalType.MINIMIZE,
+                                                                      new NonNegativeConstraint(true));
+        assertEquals(5.0d, solution.getValue(), epsilon);
+        assertTrue(validSolution(solution, constraints, epsilon));
+    }
+
+    @Test
+    void testInfeasible() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 1, 1 }, 0);
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] { 1, 1 }, Relationship.LEQ, 1));
+        constraints.add(new LinearConstraint(new double[] { 1, 1 }, Relationship.GEQ, 3));
+        assertThrows(MathIllegalStateException.class,
+                     () -> new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                               new LinearConstraintSet(constraints),
+                                                               GoalType.MAXIMIZE,
+                                                               new NonNegativeConstraint(true)));
+    }
+
+    @Test
+    void testUnbounded() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 1, 1 }, 0);
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] { 1, -1 }, Relationship.LEQ, 1));
+        assertThrows(MathIllegalStateException.class,
+                     () -> new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                               new LinearConstraintSet(constraints),
+                                                               GoalType.MAXIMIZE,
+                                                               new NonNegativeConstraint(true)));
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        LinearObjectiveFunction f = new LinearObjectiveFunction(new double[] { 1, 1 }, 0);
+        List<LinearConstraint> constraints = new ArrayList<>();
+        constraints.add(new LinearConstraint(new double[] { 1, -1, 1 }, Relationship.LEQ, 1));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RevisedSimplexSolver().optimize(DEFAULT_MAX_ITER, f,
+                                                               new LinearConstraintSet(constraints)));
+    }
+
+    @Test
+    void testWrongRefactorizationPeriod() {
+        assertThrows(MathIllegalArgumentException.class, () -> new RevisedSimplexSolver(1.0e-6, 1.0e-10, 0));
+    }
+
+    @Test
+    void testSameAsSimplexSolver() {
+        final RandomGenerator random = new Well19937a(0x1f4e0c2a9b57d663L);
+        for (int trial = 0; trial < 200; ++trial) {
+            final int n = 2 + random.nextInt(8);
+            final int m = 1 + random.nextInt(8);
+            final double[] c = new double[n];
+            for (int j = 0; j < n; ++j) {
+                c[j] = random.nextInt(21) - 10;
+            }
+            final LinearObjectiveFunction f = new LinearObjectiveFunction(c, random.nextDouble());
+            final List<LinearConstraint> constraints = new ArrayList<>();
+            for (int i = 0; i < m; ++i) {
+                final double[] a = new double[n];
+                for (int j = 0; j < n; ++j) {
+                    a[j] = random.nextDouble() < 0.5 ? 0 : random.nextInt(11) - 3;
+                }
+                final Relationship relationship = Relationship.values()[random.nextInt(3)];
+                constraints.add(new LinearConstraint(a, relationship, random.nextInt(21) - 5));
+            }
+            // bounding box ensures problems are not unbounded
+            for (int j = 0; j < n; ++j) {
+                final double[] a = new double[n];
+                a[j] = 1;
+                constraints.add(new LinearConstraint(a, Relationship.LEQ, 10));
+                a[j] = -1;
+                constraints.add(new LinearConstraint(a, Relationship.LEQ, 10));
+            }
+            final GoalType goal = random.nextBoolean() ? GoalType.MAXIMIZE : GoalType.MINIMIZE;
+            final NonNegativeConstraint nonNegative = new NonNegativeConstraint(random.nextBoolean());
+
+            PointValuePair reference;
+            try {
+                reference = new SimplexSolver().optimize(new MaxIter(1000), f, new LinearConstraintSet(constraints),
+                                                         goal, nonNegative, PivotSelectionRule.BLAND);
+            } catch (MathIllegalStateException e) {
+                reference = null;
+            }
+
+            // use a very short refactorization period to exercise both updates and refactorizations
+            final RevisedSimplexSolver solver = new RevisedSimplexSolver(1.0e-6, 1.0e-10, 3);
+            if (reference == null) {
+                assertThrows(MathIllegalStateException.class,
+                             () -> solver.optimize(new MaxIter(1000), f, new LinearConstraintSet(constraints),
+                                                   goal, nonNegative, PivotSelectionRule.BLAND));
+            } else {
+                final PointValuePair solution =
+                        solver.optimize(new MaxIter(1000), f, new LinearConstraintSet(constraints),
+                                        goal, nonNegative, PivotSelectionRule.BLAND);
+                assertEquals(reference.getValue(), solution.getValue(), 1.0e-8 * (1 + FastMath.abs(reference.getValue())));
+                assertTrue(validSolution(solution, constraints, 1.0e-8));
+            }
+        }
+    }
+
+    @Test
+    void testSparseTransportation() {
+        // transportation problem with 40 sources and 40 destinations, i.e. 80 constraints
+        // and 1600 variables, but only 2 non-zeros per column
+        final int nS = 40;
+        final int nD = 40;
+        final RandomGenerator random = new Well19937a(0x6a09e667f3bcc908L);
+        final double[] cost = new double[nS * nD];
+        for (int k = 0; k < cost.length; ++k) {
+            cost[k] = 1 + random.nextInt(100);
+        }
+        final List<LinearConstraint> constraints = new ArrayList<>();
+        for (int s = 0; s < nS; ++s) {
+            final OpenMapRealVector a = new OpenMapRealVector(nS * nD);
+            for (int d = 0; d < nD; ++d) {
+                a.setEntry(s * nD + d, 1.0);
+            }
+            constraints.add(new LinearConstraint(a, Relationship.LEQ, 12.0));
+        }
+        for (int d = 0; d < nD; ++d) {
+            final OpenMapRealVector a = new OpenMapRealVector(nS * nD);
+            for (int s = 0; s < nS; ++s) {
+                a.setEntry(s * nD + d, 1.0);
+            }
+            constraints.add(new LinearConstraint(a, Relationship.GEQ, 10.0));
+        }
+        final LinearObjectiveFunction f = new LinearObjectiveFunction(new OpenMapRealVector(cost), 0);
+
+        final PointValuePair solution =
+                new RevisedSimplexSolver().optimize(new MaxIter(10000), f,
+                                                    new LinearConstraintSet(constraints),
+                                                    GoalType.MINIMIZE, new NonNegativeConstraint(true));
+        assertTrue(validSolution(solution, constraints, 1.0e-8));
+
+        final PointValuePair reference =
+                new SimplexSolver().optimize(new MaxIter(10000), f,
+                                             new LinearConstraintSet(constraints),
+                                             GoalType.MINIMIZE, new NonNegativeConstraint(true));
+        assertEquals(reference.getValue(), solution.getValue(), 1.0e-8 * reference.getValue());
+
+    }
+
+    private boolean validSolution(PointValuePair solution, List<LinearConstraint> constraints, double epsilon) {
+        double[] vals = solution.getPoint();
+        for (LinearConstraint c : constraints) {
+            double[] coeffs = c.getCoefficients().toArray();
+            double result = 0.0d;
+            for (int i = 0; i < vals.length; i++) {
+                result += vals[i] * coeffs[i];
+            }
+
+            switch (c.getRelationship()) {
+                case EQ:
+                    if (FastMath.abs(result - c.getValue()) > epsilon) {
+                        return false;
+                    }
+                    break;
+                case GEQ:
+                    if (result < c.getValue() - epsilon) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (result > c.getValue() + epsilon) {
+                        return false;
+                    }
+                    break;
+            }
+        }
+        return true;
+    }
+
+}
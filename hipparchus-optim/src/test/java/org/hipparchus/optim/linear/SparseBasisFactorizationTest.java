@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.optim.linear;
+
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.LUDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SparseBasisFactorizationTest {
+
+    @Test
+    void testSolveWithUpdates() {
+        final RandomGenerator random = new Well19937a(0x42d1b7a3e0c95f18L);
+        final int m = 30;
+        final int n = 90;
+
+        // sparse random matrix, with identity in the first m columns
+        final double[][] dense = new double[m][n];
+        for (int i = 0; i < m; ++i) {
+            dense[i][i] = 1.0;
+        }
+        for (int j = m; j < n; ++j) {
+            for (int i = 0; i < m; ++i) {
+                if (random.nextDouble() < 0.1) {
+                    dense[i][j] = 2 * random.nextDouble() - 1;
+                }
+            }
+            dense[random.nextInt(m)][j] = 1 + random.nextDouble();
+        }
+        final int[]    colPtr = new int[n + 1];
+        final int[]    rowIdx = new int[m * n];
+        final double[] values = new double[m * n];
+        for (int j = 0; j < n; ++j) {
+            colPtr[j + 1] = colPtr[j];
+            for (int i = 0; i < m; ++i) {
+                if (dense[i][j] != 0) {
+                    rowIdx[colPtr[j + 1]]   = i;
+                    values[colPtr[j + 1]++] = dense[i][j];
+                }
+            }
+        }
+
+        final int[] basis = new int[m];
+        for (int k = 0; k < m; ++k) {
+            basis[k] = k;
+        }
+        final SparseBasisFactorization factorization = new SparseBasisFactorization(m, 5);
+        factorization.factorize(colPtr, rowIdx, values, basis);
+
+        for (int iteration = 0; iteration < 40; ++iteration) {
+
+            // replace one basis column, with a valid pivot
+            final int entering = m + random.nextInt(n - m);
+            final double[] d = new double[m];
+            for (int i = 0; i < m; ++i) {
+                d[i] = dense[i][entering];
+            }
+            factorization.solve(d);
+            int leaving = 0;
+            for (int k = 1; k < m; ++k) {
+                if (FastMath.abs(d[k]) > FastMath.abs(d[leaving])) {
+                    leaving = k;
+                }
+            }
+            basis[leaving] = entering;
+            if (factorization.needsRefactorization()) {
+                factorization.factorize(colPtr, rowIdx, values, basis);
+            } else {
+                factorization.update(leaving, d);
+            }
+
+            // check against dense decomposition
+            final RealMatrix b = new Array2DRowRealMatrix(m, m);
+            for (int k = 0; k < m; ++k) {
+                for (int i = 0; i < m; ++i) {
+                    b.setEntry(i, k, dense[i][basis[k]]);
+                }
+            }
+            final double[] rhs = new double[m];
+            for (int i = 0; i < m; ++i) {
+                rhs[i] = random.nextDouble();
+            }
+            final double[] x = rhs.clone();
+            factorization.solve(x);
+            assertArrayEquals(new LUDecomposition(b).getSolver().solve(new ArrayRealVector(rhs)).toArray(),
+                              x, 1.0e-9);
+            final double[] y = rhs.clone();
+            factorization.solveTransposed(y);
+            assertArrayEquals(new LUDecomposition(b.transpose()).getSolver().solve(new ArrayRealVector(rhs)).toArray(),
+                              y, 1.0e-9);
+
+        }
+
+    }
+
+    @Test
+    void testSingular() {
+        // two identical columns
+        final int[]    colPtr = new int[] { 0, 2, 4 };
+        final int[]    rowIdx = new int[] { 0, 1, 0, 1 };
+        final double[] values = new double[] { 1.0, 2.0, 1.0, 2.0 };
+        assertThrows(MathIllegalStateException.class,
+                     () -> new SparseBasisFactorization(2, 10).factorize(colPtr, rowIdx, values, new int[] { 0, 1 }));
+    }
+
+}
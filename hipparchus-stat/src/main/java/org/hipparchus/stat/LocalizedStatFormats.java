@@ -38,6 +38,9 @@ public enum LocalizedStatFormats implements Localizable {
     /** TIES_ARE_NOT_ALLOWED. */
     TIES_ARE_NOT_ALLOWED("Ties are not allowed."),
 
+    /** INCOMPATIBLE_HISTOGRAMS. */
+    INCOMPATIBLE_HISTOGRAMS("incompatible histograms, {0} bins on [{1}, {2}] vs {3} bins on [{4}, {5}]"),
+
     /** INSUFFICIENT_DATA_FOR_T_STATISTIC. */
     INSUFFICIENT_DATA_FOR_T_STATISTIC("insufficient data for t statistic, needs at least 2, got {0}"),
 
@@ -47,6 +50,9 @@ public enum LocalizedStatFormats implements Localizable {
     /** INVALID_REGRESSION_OBSERVATION. */
     INVALID_REGRESSION_OBSERVATION("length of regressor array = {0} does not match the number of variables = {1} in the model"),
 
+    /** INVALID_SKETCH_ENCODING. */
+    INVALID_SKETCH_ENCODING("invalid quantile sketch encoding"),
+
     /** NOT_ENOUGH_DATA_FOR_NUMBER_OF_PREDICTORS. */
     NOT_ENOUGH_DATA_FOR_NUMBER_OF_PREDICTORS("not enough data ({0} rows) for this many predictors ({1} predictors)"),
 
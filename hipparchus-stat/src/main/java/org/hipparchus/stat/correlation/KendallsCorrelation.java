@@ -22,6 +22,7 @@
 package org.hipparchus.stat.correlation;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.linear.BlockRealMatrix;
@@ -115,22 +116,42 @@ public class KendallsCorrelation {
     /**
      * Computes the Kendall's Tau rank correlation matrix for the columns of
      * the input matrix.
+     * <p>
+     * Each column is sorted only once, and the sorts are reused for all the
+     * pairs the column belongs to. The result is exactly the same as calling
+     * {@link #correlation(double[], double[])} on each pair of columns.
+     * </p>
      *
      * @param matrix matrix with columns representing variables to correlate
      * @return correlation matrix
      */
     public RealMatrix computeCorrelationMatrix(final RealMatrix matrix) {
-        int nVars = matrix.getColumnDimension();
-        RealMatrix outMatrix = new BlockRealMatrix(nVars, nVars);
-        for (int i = 0; i < nVars; i++) {
-            for (int j = 0; j < i; j++) {
-                double corr = correlation(matrix.getColumn(i), matrix.getColumn(j));
-                outMatrix.setEntry(i, j, corr);
-                outMatrix.setEntry(j, i, corr);
-            }
-            outMatrix.setEntry(i, i, 1d);
-        }
-        return outMatrix;
+        final RankedColumn[] columns = rankColumns(matrix);
+        return PairwiseCorrelations.compute(columns.length,
+                                            (i, j) -> correlation(columns[i], columns[j]));
+    }
+
+    /**
+     * Computes the Kendall's Tau rank correlation matrix for the columns of
+     * the input matrix, using a fork/join pool.
+     * <p>
+     * Columns are sorted concurrently, then pairs of columns are spread across
+     * the workers of the pool. The result is exactly the same as the one computed
+     * by {@link #computeCorrelationMatrix(RealMatrix)}.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param pool pool to use for computation
+     * @return correlation matrix
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ForkJoinPool pool) {
+        final double[][]     data    = PairwiseCorrelations.columns(matrix);
+        final RankedColumn[] columns = new RankedColumn[data.length];
+        PairwiseCorrelations.forEach(data.length, i -> columns[i] = new RankedColumn(data[i]), pool);
+        return PairwiseCorrelations.compute(columns.length,
+                                            (i, j) -> correlation(columns[i], columns[j]),
+                                            pool);
     }
 
     /**
@@ -254,6 +275,102 @@ public class KendallsCorrelation {
         return concordantMinusDiscordant / FastMath.sqrt(nonTiedPairsMultiplied);
     }
 
+    /**
+     * Sort all columns of a matrix.
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @return sorted columns
+     */
+    private static RankedColumn[] rankColumns(final RealMatrix matrix) {
+        final RankedColumn[] columns = new RankedColumn[matrix.getColumnDimension()];
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i] = new RankedColumn(matrix.getColumn(i));
+        }
+        return columns;
+    }
+
+    /**
+     * Computes the Kendall's Tau rank correlation coefficient between two sorted columns.
+     * <p>
+     * This is the same algorithm as {@link #correlation(double[], double[])}, but
+     * values are replaced by their dense ranks so the sort by x is reused and only
+     * ties in x need sorting by y.
+     * </p>
+     *
+     * @param x first column
+     * @param y second column
+     * @return Kendall's Tau rank correlation coefficient for the two columns
+     */
+    private static double correlation(final RankedColumn x, final RankedColumn y) {
+
+        final int n = x.order.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        final long numPairs = sum(n - 1);
+
+        // y ranks, in x order, sorting ties in x by y
+        int[] ys = new int[n];
+        for (int k = 0; k < n; ++k) {
+            ys[k] = y.ranks[x.order[k]];
+        }
+        long tiedXYPairs = 0;
+        int groupStart = 0;
+        for (int k = 1; k <= n; ++k) {
+            if (k == n || x.ranks[x.order[k]] != x.ranks[x.order[groupStart]]) {
+                if (k - groupStart > 1) {
+                    Arrays.sort(ys, groupStart, k);
+                    long consecutiveXYTies = 1;
+                    for (int l = groupStart + 1; l < k; ++l) {
+                        if (ys[l] == ys[l - 1]) {
+                            consecutiveXYTies++;
+                        } else {
+                            tiedXYPairs += sum(consecutiveXYTies - 1);
+                            consecutiveXYTies = 1;
+                        }
+                    }
+                    tiedXYPairs += sum(consecutiveXYTies - 1);
+                }
+                groupStart = k;
+            }
+        }
+
+        // count strict inversions in y using a bottom-up merge sort
+        long swaps = 0;
+        int[] destination = new int[n];
+        for (int segmentSize = 1; segmentSize < n; segmentSize <<= 1) {
+            for (int offset = 0; offset < n; offset += 2 * segmentSize) {
+                int i = offset;
+                final int iEnd = FastMath.min(i + segmentSize, n);
+                int j = iEnd;
+                final int jEnd = FastMath.min(j + segmentSize, n);
+                int copyLocation = offset;
+                while (i < iEnd && j < jEnd) {
+                    if (ys[i] <= ys[j]) {
+                        destination[copyLocation++] = ys[i++];
+                    } else {
+                        destination[copyLocation++] = ys[j++];
+                        swaps += iEnd - i;
+                    }
+                }
+                while (i < iEnd) {
+                    destination[copyLocation++] = ys[i++];
+                }
+                while (j < jEnd) {
+                    destination[copyLocation++] = ys[j++];
+                }
+            }
+            final int[] tmp = ys;
+            ys = destination;
+            destination = tmp;
+        }
+
+        final long concordantMinusDiscordant = numPairs - x.tiedPairs - y.tiedPairs + tiedXYPairs - 2 * swaps;
+        final double nonTiedPairsMultiplied = (numPairs - x.tiedPairs) * (double) (numPairs - y.tiedPairs);
+        return concordantMinusDiscordant / FastMath.sqrt(nonTiedPairsMultiplied);
+
+    }
+
     /**
      * Returns the sum of the number from 1 .. n according to Gauss' summation formula:
      * \[ \sum\limits_{k=1}^n k = \frac{n(n + 1)}{2} \]
@@ -265,6 +382,54 @@ public class KendallsCorrelation {
         return n * (n + 1) / 2l;
     }
 
+    /**
+     * Helper data structure holding a column sorted once for all pairs.
+     */
+    private static class RankedColumn {
+
+        /** Row indices sorted by increasing values. */
+        private final int[] order;
+
+        /** Dense ranks of the values (equal values share the same rank). */
+        private final int[] ranks;
+
+        /** Number of tied pairs in the column. */
+        private final long tiedPairs;
+
+        /**
+         * @param values column values
+         */
+        RankedColumn(final double[] values) {
+            final int n = values.length;
+            final Integer[] boxed = new Integer[n];
+            for (int i = 0; i < n; ++i) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (i1, i2) -> Double.compare(values[i1], values[i2]));
+
+            order = new int[n];
+            ranks = new int[n];
+            long tied = 0;
+            long consecutiveTies = 1;
+            int rank = 0;
+            for (int k = 0; k < n; ++k) {
+                order[k] = boxed[k];
+                if (k > 0) {
+                    if (Double.compare(values[order[k]], values[order[k - 1]]) == 0) {
+                        consecutiveTies++;
+                    } else {
+                        tied += sum(consecutiveTies - 1);
+                        consecutiveTies = 1;
+                        rank++;
+                    }
+                }
+                ranks[order[k]] = rank;
+            }
+            tiedPairs = tied + sum(consecutiveTies - 1);
+        }
+
+    }
+
     /**
      * Helper data structure holding a (double, double) pair.
      */
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.correlation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.hipparchus.linear.BlockRealMatrix;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * All-pairs engine for symmetric correlation matrices.
+ * <p>
+ * The lower triangle of the matrix is split into square tiles of {@link #TILE_SIZE}
+ * columns, so that the columns involved in one tile remain in cache while all
+ * pairs of the tile are computed. Tiles are processed either sequentially or
+ * concurrently in a {@link ForkJoinPool}. As each pair is computed exactly the
+ * same way in both cases, results do not depend on the number of workers.
+ * </p>
+ * @since 4.0
+ */
+final class PairwiseCorrelations {
+
+    /** Number of columns per tile. */
+    static final int TILE_SIZE = 16;
+
+    /** Private constructor for a utility class. */
+    private PairwiseCorrelations() {
+        // nothing to do
+    }
+
+    /** Kernel computing the correlation between two columns. */
+    @FunctionalInterface
+    interface PairKernel {
+
+        /** Compute the correlation between two columns.
+         * @param i index of the first column
+         * @param j index of the second column, always smaller than {@code i}
+         * @return correlation between columns {@code i} and {@code j}
+         */
+        double correlation(int i, int j);
+
+    }
+
+    /**
+     * Extract all columns of a matrix.
+     *
+     * @param matrix matrix
+     * @return columns of the matrix
+     */
+    static double[][] columns(final RealMatrix matrix) {
+        final double[][] columns = new double[matrix.getColumnDimension()][];
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i] = matrix.getColumn(i);
+        }
+        return columns;
+    }
+
+    /**
+     * Compute a correlation matrix sequentially.
+     *
+     * @param nVars number of variables
+     * @param kernel kernel for one pair of columns
+     * @return correlation matrix, with unit diagonal
+     */
+    static RealMatrix compute(final int nVars, final PairKernel kernel) {
+        final double[][] out = initialize(nVars);
+        final int nTiles = tiles(nVars);
+        for (int tile = 0; tile < nTiles; ++tile) {
+            computeTile(tile, kernel, out);
+        }
+        return new BlockRealMatrix(out);
+    }
+
+    /**
+     * Compute a correlation matrix using a fork/join pool.
+     *
+     * @param nVars number of variables
+     * @param kernel kernel for one pair of columns (must be thread-safe)
+     * @param pool pool to use for computation
+     * @return correlation matrix, with unit diagonal
+     */
+    static RealMatrix compute(final int nVars, final PairKernel kernel, final ForkJoinPool pool) {
+        MathUtils.checkNotNull(pool);
+        final double[][] out = initialize(nVars);
+        pool.invoke(new IndicesAction(0, tiles(nVars), tile -> computeTile(tile, kernel, out)));
+        return new BlockRealMatrix(out);
+    }
+
+    /**
+     * Apply a kernel to a range of indices using a fork/join pool.
+     *
+     * @param count number of indices (indices range from 0 to count - 1)
+     * @param kernel kernel to apply to each index (must be thread-safe)
+     * @param pool pool to use for computation
+     */
+    static void forEach(final int count, final IntConsumer kernel, final ForkJoinPool pool) {
+        MathUtils.checkNotNull(pool);
+        pool.invoke(new IndicesAction(0, count, kernel));
+    }
+
+    /**
+     * Create output array with unit diagonal.
+     *
+     * @param nVars number of variables
+     * @return initialized output array
+     */
+    private static double[][] initialize(final int nVars) {
+        final double[][] out = new double[nVars][nVars];
+        for (int i = 0; i < nVars; ++i) {
+            out[i][i] = 1.0;
+        }
+        return out;
+    }
+
+    /**
+     * Get the number of tiles in the lower triangle (including diagonal tiles).
+     *
+     * @param nVars number of variables
+     * @return number of tiles
+     */
+    private static int tiles(final int nVars) {
+        final int nBlocks = (nVars + TILE_SIZE - 1) / TILE_SIZE;
+        return nBlocks * (nBlocks + 1) / 2;
+    }
+
+    /**
+     * Compute all pairs of one tile.
+     *
+     * @param tile tile index, tiles being numbered row by row in the lower triangle
+     * @param kernel kernel for one pair of columns
+     * @param out output array
+     */
+    private static void computeTile(final int tile, final PairKernel kernel, final double[][] out) {
+
+        // find the tile coordinates, such that tile = bi (bi + 1) / 2 + bj with bj <= bi
+        int bi = (int) FastMath.floor((FastMath.sqrt(8.0 * tile + 1) - 1) / 2);
+        while (bi * (bi + 1) / 2 > tile) {
+            --bi;
+        }
+        while ((bi + 1) * (bi + 2) / 2 <= tile) {
+            ++bi;
+        }
+        final int bj = tile - bi * (bi + 1) / 2;
+
+        final int iStart = bi * TILE_SIZE;
+        final int iEnd   = FastMath.min(iStart + TILE_SIZE, out.length);
+        final int jStart = bj * TILE_SIZE;
+        for (int i = iStart; i < iEnd; ++i) {
+            final int jEnd = FastMath.min(jStart + TILE_SIZE, i);
+            for (int j = jStart; j < jEnd; ++j) {
+                final double corr = kernel.correlation(i, j);
+                out[i][j] = corr;
+                out[j][i] = corr;
+            }
+        }
+
+    }
+
+    /** Recursive action applying a kernel to a range of indices. */
+    private static class IndicesAction extends RecursiveAction {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Start index (inclusive). */
+        private final int start;
+
+        /** End index (exclusive). */
+        private final int end;
+
+        /** Kernel to apply to each index. */
+        private final transient IntConsumer kernel;
+
+        /** Simple constructor.
+         * @param start start index (inclusive)
+         * @param end end index (exclusive)
+         * @param kernel kernel to apply to each index
+         */
+        IndicesAction(final int start, final int end, final IntConsumer kernel) {
+            this.start  = start;
+            this.end    = end;
+            this.kernel = kernel;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                for (int index = start; index < end; ++index) {
+                    kernel.accept(index);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new IndicesAction(start, middle, kernel),
+                          new IndicesAction(middle, end, kernel));
+            }
+        }
+
+    }
+
+}
@@ -21,6 +21,8 @@
  */
 package org.hipparchus.stat.correlation;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.distribution.continuous.TDistribution;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -228,17 +230,33 @@ public class PearsonsCorrelation {
      */
     public RealMatrix computeCorrelationMatrix(RealMatrix matrix) {
         checkSufficientData(matrix);
-        int nVars = matrix.getColumnDimension();
-        RealMatrix outMatrix = new BlockRealMatrix(nVars, nVars);
-        for (int i = 0; i < nVars; i++) {
-            for (int j = 0; j < i; j++) {
-              double corr = correlation(matrix.getColumn(i), matrix.getColumn(j));
-              outMatrix.setEntry(i, j, corr);
-              outMatrix.setEntry(j, i, corr);
-            }
-            outMatrix.setEntry(i, i, 1d);
-        }
-        return outMatrix;
+        final double[][] columns = PairwiseCorrelations.columns(matrix);
+        return PairwiseCorrelations.compute(columns.length,
+                                            (i, j) -> correlation(columns[i], columns[j]));
+    }
+
+    /**
+     * Computes the correlation matrix for the columns of the
+     * input matrix, using a fork/join pool.
+     * <p>
+     * Pairs of columns are spread across the workers of the pool. The
+     * result is exactly the same as the one computed by {@link
+     * #computeCorrelationMatrix(RealMatrix)}.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param pool pool to use for computation
+     * @return correlation matrix
+     * @throws MathIllegalArgumentException if the matrix does not contain sufficient data
+     * @see #correlation(double[], double[])
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ForkJoinPool pool) {
+        checkSufficientData(matrix);
+        final double[][] columns = PairwiseCorrelations.columns(matrix);
+        return PairwiseCorrelations.compute(columns.length,
+                                            (i, j) -> correlation(columns[i], columns[j]),
+                                            pool);
     }
 
     /**
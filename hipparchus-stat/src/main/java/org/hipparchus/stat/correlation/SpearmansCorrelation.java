@@ -22,6 +22,8 @@
 
 package org.hipparchus.stat.correlation;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.linear.BlockRealMatrix;
@@ -154,6 +156,26 @@ public class SpearmansCorrelation {
         return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy);
     }
 
+    /**
+     * Computes the Spearman's rank correlation matrix for the columns of the
+     * input matrix, using a fork/join pool.
+     * <p>
+     * Each column is rank-transformed once, sequentially as the ranking algorithm
+     * may not be thread-safe, then pairs of ranked columns are spread across the
+     * workers of the pool. The result is exactly the same as the one computed by
+     * {@link #computeCorrelationMatrix(RealMatrix)}.
+     * </p>
+     *
+     * @param matrix matrix with columns representing variables to correlate
+     * @param pool pool to use for computation
+     * @return correlation matrix
+     * @since 4.0
+     */
+    public RealMatrix computeCorrelationMatrix(final RealMatrix matrix, final ForkJoinPool pool) {
+        final RealMatrix matrixCopy = rankTransform(matrix);
+        return new PearsonsCorrelation().computeCorrelationMatrix(matrixCopy, pool);
+    }
+
     /**
      * Computes the Spearman's rank correlation matrix for the columns of the
      * input rectangular array.  The columns of the array represent values
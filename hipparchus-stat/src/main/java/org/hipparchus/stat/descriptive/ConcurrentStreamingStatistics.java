@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.descriptive;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleConsumer;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Thread-safe variant of {@link StreamingStatistics} for concurrent ingestion.
+ * <p>
+ * Values are dispatched to a fixed number of stripes according to the calling
+ * thread, each stripe being a regular {@link StreamingStatistics} guarded by its
+ * own lock, so threads adding values concurrently seldom contend. Statistics are
+ * computed by merging all stripes using {@link StreamingStatistics#aggregate(StreamingStatistics)},
+ * which combines counts, Welford moments, extrema, sums of squares, sums of logs
+ * and percentile sketches.
+ * </p>
+ * <p>
+ * Each getter merges the stripes, so when several statistics are needed it is
+ * more efficient to call {@link #getSnapshot()} once and to query the returned
+ * instance. The snapshot is consistent: all stripes are locked while it is built.
+ * </p>
+ * <p>
+ * If percentiles are needed, the stripes must not share their random generator,
+ * hence the builder should be configured using
+ * {@link StreamingStatistics.StreamingStatisticsBuilder#percentilesPerInstance(double, java.util.function.Supplier)}.
+ * </p>
+ * @since 4.0
+ */
+public class ConcurrentStreamingStatistics implements StatisticalSummary, DoubleConsumer {
+
+    /** Stripes. */
+    private final StreamingStatistics[] stripes;
+
+    /** Locks guarding the stripes. */
+    private final ReentrantLock[] locks;
+
+    /** Mask used to select a stripe. */
+    private final int mask;
+
+    /**
+     * Construct an instance maintaining all statistics other than percentiles,
+     * with one stripe per available processor.
+     */
+    public ConcurrentStreamingStatistics() {
+        this(StreamingStatistics.builder());
+    }
+
+    /**
+     * Construct an instance with one stripe per available processor.
+     * @param builder builder for the stripes
+     */
+    public ConcurrentStreamingStatistics(final StreamingStatistics.StreamingStatisticsBuilder builder) {
+        this(builder, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct an instance.
+     * @param builder builder for the stripes
+     * @param concurrency expected number of concurrent threads (rounded up
+     * to the next power of two to give the number of stripes)
+     * @exception MathIllegalArgumentException if concurrency is not strictly positive
+     */
+    public ConcurrentStreamingStatistics(final StreamingStatistics.StreamingStatisticsBuilder builder,
+                                         final int concurrency) {
+        MathUtils.checkNotNull(builder);
+        if (concurrency < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, concurrency, 1);
+        }
+        int size = 1;
+        while (size < concurrency && size < (1 << 16)) {
+            size <<= 1;
+        }
+        this.stripes = new StreamingStatistics[size];
+        this.locks   = new ReentrantLock[size];
+        for (int i = 0; i < size; ++i) {
+            stripes[i] = builder.build();
+            locks[i]   = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Get the number of stripes.
+     * @return number of stripes
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Add a value to the data.
+     * <p>
+     * This method can be called concurrently from several threads.
+     * </p>
+     * @param value the value to add
+     */
+    public void addValue(final double value) {
+        final int index = stripe();
+        locks[index].lock();
+        try {
+            stripes[index].addValue(value);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Add several values to the data.
+     * <p>
+     * The stripe lock is acquired only once for all values, which is much
+     * more efficient than adding them one at a time.
+     * </p>
+     * @param values the values to add
+     */
+    public void addValues(final double... values) {
+        MathUtils.checkNotNull(values);
+        final int index = stripe();
+        locks[index].lock();
+        try {
+            for (final double value : values) {
+                stripes[index].addValue(value);
+            }
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Merge statistics accumulated elsewhere into this instance.
+     * @param other statistics to merge (not modified, but it must not be used
+     * concurrently while this method runs)
+     */
+    public void aggregate(final StreamingStatistics other) {
+        MathUtils.checkNotNull(other);
+        final int index = stripe();
+        locks[index].lock();
+        try {
+            stripes[index].aggregate(other.copy());
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void accept(final double value) {
+        addValue(value);
+    }
+
+    /**
+     * Resets all statistics.
+     */
+    public void clear() {
+        lockAll();
+        try {
+            for (final StreamingStatistics stripe : stripes) {
+                stripe.clear();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Get a consistent snapshot of the statistics accumulated so far.
+     * <p>
+     * The snapshot is independent of this instance as far as data is concerned,
+     * so values added afterwards are not reflected in it. If percentiles are
+     * computed, the snapshot sketch may still share random generators with the
+     * stripes, so the snapshot should only be queried, not updated.
+     * </p>
+     * @return merged statistics
+     */
+    public StreamingStatistics getSnapshot() {
+        lockAll();
+        try {
+            final StreamingStatistics snapshot = stripes[0].copy();
+            for (int i = 1; i < stripes.length; ++i) {
+                // aggregation may reuse internal buffers of the aggregated instance, so use a copy
+                snapshot.aggregate(stripes[i].copy());
+            }
+            return snapshot;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getN() {
+        long n = 0;
+        for (int i = 0; i < stripes.length; ++i) {
+            locks[i].lock();
+            try {
+                n += stripes[i].getN();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMean() {
+        return getSnapshot().getMean();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getVariance() {
+        return getSnapshot().getVariance();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getStandardDeviation() {
+        return getSnapshot().getStandardDeviation();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMax() {
+        return getSnapshot().getMax();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMin() {
+        return getSnapshot().getMin();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSum() {
+        return getSnapshot().getSum();
+    }
+
+    /**
+     * Returns an estimate of the given percentile of the values that have been entered.
+     * @param percentile the desired percentile (must be between 0 and 100)
+     * @return estimated percentile, or NaN if percentiles are not computed
+     * @see StreamingStatistics#getPercentile(double)
+     */
+    public double getPercentile(final double percentile) {
+        return getSnapshot().getPercentile(percentile);
+    }
+
+    /** Select the stripe associated with the current thread.
+     * @return index of the stripe
+     */
+    private int stripe() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+
+    /** Lock all stripes, in index order. */
+    private void lockAll() {
+        for (final ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    /** Unlock all stripes. */
+    private void unlockAll() {
+        for (final ReentrantLock lock : locks) {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,753 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.descriptive;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.stat.LocalizedStatFormats;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Sliding-window variant of {@link DescriptiveStatistics} with incremental updates.
+ * <p>
+ * {@link DescriptiveStatistics} recomputes every statistic from the stored
+ * window on each call, which costs O(window) per query. This class maintains
+ * the statistics incrementally as values enter and leave the window:
+ * </p>
+ * <ul>
+ *   <li>mean, variance, skewness and kurtosis are computed from running central
+ *   moments updated on insertion and downdated on removal, sums, sums of squares
+ *   and sums of logs are maintained the same way,</li>
+ *   <li>minimum, maximum and percentiles are selected from an order-statistic
+ *   tree (a randomized balanced binary search tree augmented with subtree sizes).</li>
+ * </ul>
+ * <p>
+ * Adding or removing a value and querying a percentile therefore cost O(log window),
+ * and moments queries cost O(1). In order to prevent rounding errors from
+ * accumulating through downdates, running sums are recomputed from the stored
+ * values once every window size updates (and at each update for very small
+ * samples), which keeps the amortized update cost constant. Results are therefore equal to the ones of {@link DescriptiveStatistics}
+ * only up to rounding errors. Percentiles are estimated as in {@link
+ * org.hipparchus.stat.descriptive.rank.Percentile.EstimationType#LEGACY LEGACY}
+ * estimation, which is the one used by {@link DescriptiveStatistics}.
+ * </p>
+ * <p>
+ * When the window contains NaN or infinite values, the running sums are not
+ * meaningful and the statistics are computed from the stored values as in
+ * {@link DescriptiveStatistics}.
+ * </p>
+ * <p>
+ * Note: this class is not threadsafe.
+ * </p>
+ * @since 4.0
+ */
+public class SlidingWindowStatistics extends DescriptiveStatistics {
+
+    /** Serialization UID */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Number of values below which running sums are always recomputed from scratch. */
+    private static final int SMALL_SAMPLE = 16;
+
+    /** Ratio between peak and current sum of squared deviations triggering a recomputation. */
+    private static final double CANCELLATION_RATIO = 16.0;
+
+    /** Null node index. */
+    private static final int NIL = -1;
+
+    /** Sequence number of the oldest value in the window. */
+    private long first;
+
+    /** Number of updates since last recomputation of running sums. */
+    private int updates;
+
+    /** Number of finite values in the window. */
+    private long finite;
+
+    /** Number of NaN or infinite values in the window. */
+    private long nonFinite;
+
+    /** Number of negative values in the window. */
+    private long negative;
+
+    /** Number of zero values in the window. */
+    private long zero;
+
+    /** Running mean of finite values. */
+    private double m1;
+
+    /** Running sum of squared deviations from the mean of finite values. */
+    private double m2;
+
+    /** Running sum of cubed deviations from the mean of finite values. */
+    private double m3;
+
+    /** Running sum of fourth powers of deviations from the mean of finite values. */
+    private double m4;
+
+    /** Largest value of {@link #m2} seen by a downdate since last recomputation. */
+    private double m2Peak;
+
+    /** Largest value of {@link #m4} seen by a downdate since last recomputation. */
+    private double m4Peak;
+
+    /** Running sum of finite values. */
+    private double sum;
+
+    /** Running sum of squares of finite values. */
+    private double sumOfSquares;
+
+    /** Running sum of logs of strictly positive finite values. */
+    private double sumOfLogs;
+
+    /** Root of the order-statistic tree. */
+    private int root;
+
+    /** Values of tree nodes (one node per window slot). */
+    private double[] keys;
+
+    /** Sequence numbers of tree nodes, used to break ties between equal values. */
+    private long[] sequences;
+
+    /** Heap priorities of tree nodes. */
+    private int[] priorities;
+
+    /** Left children of tree nodes. */
+    private int[] left;
+
+    /** Right children of tree nodes. */
+    private int[] right;
+
+    /** Sizes of subtrees rooted at tree nodes. */
+    private int[] sizes;
+
+    /** Left part of last split. */
+    private int splitLeft;
+
+    /** Right part of last split. */
+    private int splitRight;
+
+    /**
+     * Construct an instance with the specified window.
+     *
+     * @param windowSize the window size
+     * @throws MathIllegalArgumentException if window size is less than 1
+     */
+    public SlidingWindowStatistics(final int windowSize) throws MathIllegalArgumentException {
+        super(checkWindowSize(windowSize));
+        allocate(windowSize);
+        reset();
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param original instance to copy
+     * @throws org.hipparchus.exception.NullArgumentException if original is null
+     */
+    protected SlidingWindowStatistics(final SlidingWindowStatistics original) {
+        super(original);
+        this.first        = original.first;
+        this.updates      = original.updates;
+        this.finite       = original.finite;
+        this.nonFinite    = original.nonFinite;
+        this.negative     = original.negative;
+        this.zero         = original.zero;
+        this.m1           = original.m1;
+        this.m2           = original.m2;
+        this.m3           = original.m3;
+        this.m4           = original.m4;
+        this.m2Peak       = original.m2Peak;
+        this.m4Peak       = original.m4Peak;
+        this.sum          = original.sum;
+        this.sumOfSquares = original.sumOfSquares;
+        this.sumOfLogs    = original.sumOfLogs;
+        this.root         = original.root;
+        this.keys         = original.keys.clone();
+        this.sequences    = original.sequences.clone();
+        this.priorities   = original.priorities.clone();
+        this.left         = original.left.clone();
+        this.right        = original.right.clone();
+        this.sizes        = original.sizes.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SlidingWindowStatistics copy() {
+        return new SlidingWindowStatistics(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addValue(final double v) {
+        if (getN() == getWindowSize()) {
+            // the oldest value will be discarded
+            remove(first, getElement(0));
+            ++first;
+        }
+        super.addValue(v);
+        insert(first + getN() - 1, v);
+        afterUpdate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        super.clear();
+        reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeMostRecentValue() throws MathIllegalStateException {
+        final long n = getN();
+        if (n == 0) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.NO_DATA);
+        }
+        final double v = getElement((int) n - 1);
+        super.removeMostRecentValue();
+        remove(first + n - 1, v);
+        afterUpdate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double replaceMostRecentValue(final double v) throws MathIllegalStateException {
+        final double replaced = super.replaceMostRecentValue(v);
+        final long sequence = first + getN() - 1;
+        remove(sequence, replaced);
+        insert(sequence, v);
+        afterUpdate();
+        return replaced;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The window cannot be infinite.
+     * </p>
+     * @throws MathIllegalArgumentException if window size is less than 1
+     */
+    @Override
+    public void setWindowSize(final int windowSize) throws MathIllegalArgumentException {
+        super.setWindowSize(checkWindowSize(windowSize));
+        // tree nodes are associated with window slots, rebuild everything
+        allocate(windowSize);
+        rebuild();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMean() {
+        return useRunningSums() ? m1 : super.getMean();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getGeometricMean() {
+        if (useRunningSums()) {
+            if (negative > 0) {
+                return Double.NaN;
+            } else if (zero > 0) {
+                return 0.0;
+            } else {
+                return FastMath.exp(sumOfLogs / finite);
+            }
+        }
+        return super.getGeometricMean();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getVariance() {
+        return useRunningSums() ? (finite == 1 ? 0.0 : m2 / (finite - 1)) : super.getVariance();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getPopulationVariance() {
+        return useRunningSums() ? (finite == 1 ? 0.0 : m2 / finite) : super.getPopulationVariance();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSkewness() {
+        if (useRunningSums()) {
+            if (finite < 3) {
+                return Double.NaN;
+            }
+            final double n0       = finite;
+            final double variance = m2 / (n0 - 1);
+            return (n0 / ((n0 - 1) * (n0 - 2))) * m3 / (variance * FastMath.sqrt(variance));
+        }
+        return super.getSkewness();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getKurtosis() {
+        if (useRunningSums()) {
+            if (finite < 4) {
+                return Double.NaN;
+            }
+            final double n0       = finite;
+            final double variance = m2 / (n0 - 1);
+            final double coefficientOne = (n0 * (n0 + 1)) / ((n0 - 1) * (n0 - 2) * (n0 - 3));
+            final double termTwo        = (3 * (n0 - 1) * (n0 - 1)) / ((n0 - 2) * (n0 - 3));
+            return coefficientOne * m4 / (variance * variance) - termTwo;
+        }
+        return super.getKurtosis();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMax() {
+        return useRunningSums() ? select(sizes[root] - 1) : super.getMax();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getMin() {
+        return useRunningSums() ? select(0) : super.getMin();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSum() {
+        return useRunningSums() ? sum : super.getSum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSumOfSquares() {
+        return useRunningSums() ? sumOfSquares : super.getSumOfSquares();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getPercentile(final double p) throws MathIllegalArgumentException {
+        if (!useRunningSums()) {
+            return super.getPercentile(p);
+        }
+        if (p > 100 || p <= 0) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.OUT_OF_BOUNDS_QUANTILE_VALUE,
+                                                   p, 0, 100);
+        }
+
+        // legacy estimation: index = (N + 1) p, with linear interpolation
+        final int    length = sizes[root];
+        final double q      = p / 100;
+        final double pos    = Double.compare(q, 1d) == 0 ? length : q * (length + 1);
+        if (pos < 1) {
+            return select(0);
+        }
+        if (pos >= length) {
+            return select(length - 1);
+        }
+        final double fpos  = FastMath.floor(pos);
+        final int    index = (int) fpos;
+        final double lower = select(index - 1);
+        final double upper = select(index);
+        return lower + (pos - fpos) * (upper - lower);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getSortedValues() {
+        final double[] sorted = new double[(int) getN()];
+        if (root != NIL) {
+            // iterative in-order traversal
+            final int[] stack = new int[sorted.length];
+            int top  = 0;
+            int node = root;
+            int k    = 0;
+            while (node != NIL || top > 0) {
+                while (node != NIL) {
+                    stack[top++] = node;
+                    node = left[node];
+                }
+                node = stack[--top];
+                sorted[k++] = keys[node];
+                node = right[node];
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Check window size.
+     *
+     * @param windowSize window size
+     * @return window size
+     * @throws MathIllegalArgumentException if window size is less than 1
+     */
+    private static int checkWindowSize(final int windowSize) throws MathIllegalArgumentException {
+        if (windowSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_WINDOW_SIZE,
+                                                   windowSize);
+        }
+        return windowSize;
+    }
+
+    /**
+     * Check if running sums can be used.
+     *
+     * @return true if running sums can be used
+     */
+    private boolean useRunningSums() {
+        return nonFinite == 0 && finite > 0;
+    }
+
+    /**
+     * Allocate tree nodes.
+     *
+     * @param capacity number of nodes
+     */
+    private void allocate(final int capacity) {
+        keys       = new double[capacity];
+        sequences  = new long[capacity];
+        priorities = new int[capacity];
+        left       = new int[capacity];
+        right      = new int[capacity];
+        sizes      = new int[capacity];
+    }
+
+    /** Reset running sums and tree. */
+    private void reset() {
+        first     = 0;
+        root      = NIL;
+        resetSums();
+    }
+
+    /** Reset running sums. */
+    private void resetSums() {
+        updates      = 0;
+        finite       = 0;
+        nonFinite    = 0;
+        negative     = 0;
+        zero         = 0;
+        m1           = 0;
+        m2           = 0;
+        m3           = 0;
+        m4           = 0;
+        m2Peak       = 0;
+        m4Peak       = 0;
+        sum          = 0;
+        sumOfSquares = 0;
+        sumOfLogs    = 0;
+    }
+
+    /** Rebuild running sums and tree from stored values. */
+    private void rebuild() {
+        reset();
+        final int n = (int) getN();
+        for (int i = 0; i < n; ++i) {
+            insert(i, getElement(i));
+        }
+    }
+
+    /** Update bookkeeping after a window update. */
+    private void afterUpdate() {
+        if (++updates >= getWindowSize() || getN() <= SMALL_SAMPLE ||
+            m2 * CANCELLATION_RATIO < m2Peak ||
+            m4 * CANCELLATION_RATIO * CANCELLATION_RATIO < m4Peak) {
+            // recompute running sums from scratch to avoid accumulating errors,
+            // downdates being especially ill-conditioned for small samples
+            // and when removed values dominated the moments (outliers, level shifts),
+            // as the errors of downdates are proportional to the moments before removal
+            resetSums();
+            final int n = (int) getN();
+            for (int i = 0; i < n; ++i) {
+                increment(getElement(i));
+            }
+        }
+    }
+
+    /**
+     * Insert a value.
+     *
+     * @param sequence sequence number of the value
+     * @param v value
+     */
+    private void insert(final long sequence, final double v) {
+        increment(v);
+        final int node = (int) (sequence % keys.length);
+        keys[node]       = v;
+        sequences[node]  = sequence;
+        priorities[node] = priority(sequence);
+        left[node]       = NIL;
+        right[node]      = NIL;
+        sizes[node]      = 1;
+        root = insert(root, node);
+    }
+
+    /**
+     * Remove a value.
+     *
+     * @param sequence sequence number of the value
+     * @param v value
+     */
+    private void remove(final long sequence, final double v) {
+        decrement(v);
+        root = remove(root, (int) (sequence % keys.length));
+    }
+
+    /**
+     * Add a value to running sums.
+     *
+     * @param v value
+     */
+    private void increment(final double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            ++nonFinite;
+            return;
+        }
+
+        // central moments update (same as FourthMoment)
+        final double n0         = finite++;
+        final double n          = finite;
+        final double delta      = v - m1;
+        final double deltaN     = delta / n;
+        final double deltaN2    = deltaN * deltaN;
+        final double term1      = delta * deltaN * n0;
+        m1 += deltaN;
+        m4 += term1 * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 += term1;
+
+        sum          += v;
+        sumOfSquares += v * v;
+        updateLogs(v, 1);
+    }
+
+    /**
+     * Remove a value from running sums.
+     *
+     * @param v value
+     */
+    private void decrement(final double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            --nonFinite;
+            return;
+        }
+
+        m2Peak = FastMath.max(m2Peak, m2);
+        m4Peak = FastMath.max(m4Peak, m4);
+
+        if (finite == 1) {
+            // back to empty state
+            finite       = 0;
+            m1           = 0;
+            m2           = 0;
+            m3           = 0;
+            m4           = 0;
+            sum          = 0;
+            sumOfSquares = 0;
+        } else {
+            // inverse of the central moments update
+            final double n       = finite--;
+            final double n0      = finite;
+            final double oldM1   = (n * m1 - v) / n0;
+            final double delta   = v - oldM1;
+            final double deltaN  = delta / n;
+            final double deltaN2 = deltaN * deltaN;
+            final double term1   = delta * deltaN * n0;
+            m1  = oldM1;
+            m2  = FastMath.max(0.0, m2 - term1);
+            m3 -= term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+            m4 -= term1 * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+            sum          -= v;
+            sumOfSquares -= v * v;
+        }
+        updateLogs(v, -1);
+    }
+
+    /**
+     * Update sum of logs and sign counters.
+     *
+     * @param v value
+     * @param sign +1 for insertion, -1 for removal
+     */
+    private void updateLogs(final double v, final int sign) {
+        if (v < 0) {
+            negative += sign;
+        } else if (v == 0) {
+            zero += sign;
+        } else {
+            sumOfLogs += sign * FastMath.log(v);
+        }
+    }
+
+    /**
+     * Compute a pseudo-random heap priority.
+     *
+     * @param sequence sequence number of the value
+     * @return priority
+     */
+    private static int priority(final long sequence) {
+        // SplitMix64 finalizer
+        long z = sequence + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    /**
+     * Compare two nodes.
+     *
+     * @param a first node
+     * @param b second node
+     * @return true if a is before b
+     */
+    private boolean before(final int a, final int b) {
+        final int c = Double.compare(keys[a], keys[b]);
+        return c < 0 || c == 0 && sequences[a] < sequences[b];
+    }
+
+    /**
+     * Update size of a node.
+     *
+     * @param node node to update
+     */
+    private void update(final int node) {
+        sizes[node] = 1 +
+                      (left[node]  == NIL ? 0 : sizes[left[node]]) +
+                      (right[node] == NIL ? 0 : sizes[right[node]]);
+    }
+
+    /**
+     * Insert a node in a subtree.
+     *
+     * @param subtree root of the subtree
+     * @param node node to insert
+     * @return new root of the subtree
+     */
+    private int insert(final int subtree, final int node) {
+        if (subtree == NIL) {
+            return node;
+        }
+        if (priorities[node] > priorities[subtree]) {
+            split(subtree, node);
+            left[node]  = splitLeft;
+            right[node] = splitRight;
+            update(node);
+            return node;
+        }
+        if (before(node, subtree)) {
+            left[subtree] = insert(left[subtree], node);
+        } else {
+            right[subtree] = insert(right[subtree], node);
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    /**
+     * Split a subtree around a node.
+     * <p>
+     * The results are stored in {@link #splitLeft} and {@link #splitRight}.
+     * </p>
+     *
+     * @param subtree root of the subtree
+     * @param node node to split around (not in the subtree)
+     */
+    private void split(final int subtree, final int node) {
+        if (subtree == NIL) {
+            splitLeft  = NIL;
+            splitRight = NIL;
+        } else if (before(subtree, node)) {
+            split(right[subtree], node);
+            right[subtree] = splitLeft;
+            update(subtree);
+            splitLeft = subtree;
+        } else {
+            split(left[subtree], node);
+            left[subtree] = splitRight;
+            update(subtree);
+            splitRight = subtree;
+        }
+    }
+
+    /**
+     * Remove a node from a subtree.
+     *
+     * @param subtree root of the subtree
+     * @param node node to remove
+     * @return new root of the subtree
+     */
+    private int remove(final int subtree, final int node) {
+        if (subtree == node) {
+            return merge(left[node], right[node]);
+        }
+        if (before(node, subtree)) {
+            left[subtree] = remove(left[subtree], node);
+        } else {
+            right[subtree] = remove(right[subtree], node);
+        }
+        update(subtree);
+        return subtree;
+    }
+
+    /**
+     * Merge two subtrees.
+     *
+     * @param a root of the first subtree (all values before the second one)
+     * @param b root of the second subtree
+     * @return root of the merged subtree
+     */
+    private int merge(final int a, final int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+    }
+
+    /**
+     * Select the k<sup>th</sup> smallest value.
+     *
+     * @param k index of the value (0 for smallest)
+     * @return k<sup>th</sup> smallest value
+     */
+    private double select(final int k) {
+        int node = root;
+        int index = k;
+        while (true) {
+            final int leftSize = left[node] == NIL ? 0 : sizes[left[node]];
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return keys[node];
+            } else {
+                index -= leftSize + 1;
+                node   = right[node];
+            }
+        }
+    }
+
+}
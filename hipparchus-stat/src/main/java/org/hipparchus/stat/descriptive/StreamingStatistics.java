@@ -23,6 +23,9 @@ package org.hipparchus.stat.descriptive;
 
 import java.io.Serializable;
 import java.util.function.DoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
 
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.random.RandomGenerator;
@@ -54,7 +57,14 @@ import org.hipparchus.util.Precision;
  * on. Other stats can also be selectively disabled using
  * {@code StreamingStatisticsBulder}.
  * <p>
- * Note: This class is not thread-safe.
+ * Instances can be merged using {@link #aggregate(StreamingStatistics)}, which
+ * makes it possible to accumulate partial statistics independently and combine
+ * them afterwards. The {@link StreamingStatisticsBuilder#collect(DoubleStream)}
+ * and {@link StreamingStatisticsBuilder#collector()} methods use this to support
+ * parallel streams.
+ * <p>
+ * Note: This class is not thread-safe. See {@link ConcurrentStreamingStatistics}
+ * for a variant that supports concurrent ingestion.
  */
 public class StreamingStatistics
     implements StatisticalSummary, AggregatableStatistic<StreamingStatistics>,
@@ -542,10 +552,10 @@ public class StreamingStatistics
          * @since 2.3
          */
         private double epsilon;
-        /** PRNG used in sampling and merge operations.
-         * @since 2.3
+        /** Factory for the PRNGs used in sampling and merge operations.
+         * @since 4.0
          */
-        private RandomGenerator randomGenerator;
+        private Supplier<? extends RandomGenerator> generatorFactory;
 
         /** Simple constructor.
          */
@@ -601,8 +611,30 @@ public class StreamingStatistics
          * @since 2.3
          */
         public StreamingStatisticsBuilder percentiles(final double epsilonBound, final RandomGenerator generator) {
-            this.epsilon         = epsilonBound;
-            this.randomGenerator = generator;
+            this.epsilon          = epsilonBound;
+            this.generatorFactory = generator == null ? null : () -> generator;
+            return this;
+        }
+
+        /**
+         * Sets the computePercentiles setting of the factory, with one PRNG per built instance.
+         * <p>
+         * As PRNGs are not thread-safe, instances built with a shared generator (see
+         * {@link #percentiles(double, RandomGenerator)}) cannot be fed from different
+         * threads. This method should be used instead when instances are built for
+         * parallel accumulation, as in {@link #collect(DoubleStream)}, {@link #collector()}
+         * or {@link ConcurrentStreamingStatistics}.
+         * </p>
+         * @param epsilonBound bound on quantile estimation error (see {@link RandomGenerator})
+         * @param factory factory called once by each {@link #build()} call to create
+         * the PRNG used in sampling and merge operations (null if percentiles should not be computed)
+         * @return a factory with the given computePercentiles property set
+         * @since 4.0
+         */
+        public StreamingStatisticsBuilder percentilesPerInstance(final double epsilonBound,
+                                                                 final Supplier<? extends RandomGenerator> factory) {
+            this.epsilon          = epsilonBound;
+            this.generatorFactory = factory;
             return this;
         }
 
@@ -627,7 +659,45 @@ public class StreamingStatistics
             return new StreamingStatistics(computeMoments,
                                            computeSumOfLogs, computeSumOfSquares,
                                            computeExtrema,
-                                           epsilon, randomGenerator);
+                                           epsilon, generatorFactory == null ? null : generatorFactory.get());
+        }
+
+        /**
+         * Computes statistics from a stream of values.
+         * <p>
+         * If the stream is parallel, each worker accumulates values into its own
+         * instance built by this builder and the partial results are merged using
+         * {@link StreamingStatistics#aggregate(StreamingStatistics)}. When percentiles
+         * are computed on a parallel stream, they must be configured using
+         * {@link #percentilesPerInstance(double, Supplier)}.
+         * </p>
+         * @param values stream of values
+         * @return statistics of the values
+         * @since 4.0
+         */
+        public StreamingStatistics collect(final DoubleStream values) {
+            MathUtils.checkNotNull(values);
+            return values.collect(this::build, StreamingStatistics::addValue, StreamingStatistics::aggregate);
+        }
+
+        /**
+         * Returns a collector computing statistics from a stream of boxed values.
+         * <p>
+         * The same restrictions as in {@link #collect(DoubleStream)} apply when the
+         * collector is used on a parallel stream.
+         * </p>
+         * @return collector computing statistics using instances built by this builder
+         * @since 4.0
+         */
+        public Collector<Double, StreamingStatistics, StreamingStatistics> collector() {
+            return Collector.of(this::build,
+                                StreamingStatistics::addValue,
+                                (left, right) -> {
+                                    left.aggregate(right);
+                                    return left;
+                                },
+                                Collector.Characteristics.UNORDERED,
+                                Collector.Characteristics.IDENTITY_FINISH);
         }
     }
 }
@@ -87,6 +87,10 @@ import org.hipparchus.util.Precision;
  * based on the same data, users should set the data array once using either one
  * of the {@link #evaluate(double[], double)} or {@link #setData(double[])} methods
  * and thereafter {@link #evaluate(double)} with just the percentile provided.
+ * Alternatively, {@link #evaluate(double[], double[])} computes several percentiles
+ * at once, selecting all the needed order statistics in a single partitioning pass,
+ * and {@link #evaluateInPlace(double[], double[])} does the same without copying
+ * the input array.
  * <p>
  * <strong>Note that this implementation is not synchronized.</strong> If
  * multiple threads access an instance of this class concurrently, and at least
@@ -347,6 +351,217 @@ public class Percentile extends AbstractUnivariateStatistic implements Serializa
                     estimationType.evaluate(work, pivotsHeap, p, kthSelector);
     }
 
+    /**
+     * Returns estimates of several percentiles of the values in the {@code values} array.
+     * <p>
+     * All order statistics needed by the requested percentiles are selected in a
+     * single recursive partitioning pass over one working copy of the data, which
+     * is much faster than calling {@link #evaluate(double[], double)} once per
+     * percentile on large arrays. Results are identical to the ones of the single
+     * percentile methods.
+     * </p>
+     * <p>
+     * Calls to this method do not modify the internal <code>quantile</code>
+     * state of this statistic.
+     * </p>
+     *
+     * @param values input array of values
+     * @param quantiles percentiles to compute (each must be greater than 0
+     * and less than or equal to 100)
+     * @return percentile values, in the same order as {@code quantiles}
+     * (all NaN if the array is empty)
+     * @throws MathIllegalArgumentException if <code>values</code> or {@code quantiles}
+     * is null or one quantile is invalid
+     * @since 4.0
+     */
+    public double[] evaluate(final double[] values, final double[] quantiles)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(values, LocalizedCoreFormats.INPUT_ARRAY);
+        return evaluate(values, 0, values.length, quantiles);
+    }
+
+    /**
+     * Returns estimates of several percentiles of the values in the {@code values}
+     * array, starting with the element in (0-based) position {@code begin} in the
+     * array and including {@code length} values.
+     * <p>
+     * See {@link #evaluate(double[], double[])}.
+     * </p>
+     *
+     * @param values array of input values
+     * @param begin  the first (0-based) element to include in the computation
+     * @param length  the number of array elements to include
+     * @param quantiles percentiles to compute (each must be greater than 0
+     * and less than or equal to 100)
+     * @return percentile values, in the same order as {@code quantiles}
+     * @throws MathIllegalArgumentException if the parameters are not valid or the
+     * input array is null
+     * @since 4.0
+     */
+    public double[] evaluate(final double[] values, final int begin, final int length,
+                             final double[] quantiles)
+        throws MathIllegalArgumentException {
+        MathArrays.verifyValues(values, begin, length);
+        checkQuantiles(quantiles);
+        if (length == 0) {
+            return constantResult(quantiles, Double.NaN);
+        }
+        if (length == 1) {
+            return constantResult(quantiles, values[begin]); // always return single value for n = 1
+        }
+        final double[] work = getWorkArray(values, begin, length);
+        if (work.length == 0) {
+            // all values were NaNs removed by the strategy
+            return constantResult(quantiles, Double.NaN);
+        }
+        if (work.length == 1) {
+            return constantResult(quantiles, work[0]);
+        }
+        return evaluateAll(work, work.length, getPivots(values), quantiles);
+    }
+
+    /**
+     * Returns estimates of several percentiles of the values in the {@code values}
+     * array, working directly on the array.
+     * <p>
+     * This method behaves as {@link #evaluate(double[], double[])} but avoids the
+     * defensive copy of the input. The {@code values} array is reordered on return,
+     * and NaNs it contains are replaced according to the {@link NaNStrategy} (with
+     * {@link NaNStrategy#REMOVED}, they are moved to the end of the array).
+     * </p>
+     *
+     * @param values input array of values, reordered on return
+     * @param quantiles percentiles to compute (each must be greater than 0
+     * and less than or equal to 100)
+     * @return percentile values, in the same order as {@code quantiles}
+     * (all NaN if the array is empty)
+     * @throws MathIllegalArgumentException if <code>values</code> or {@code quantiles}
+     * is null, if one quantile is invalid, or if the array contains NaNs and the
+     * strategy is {@link NaNStrategy#FAILED}
+     * @since 4.0
+     */
+    public double[] evaluateInPlace(final double[] values, final double[] quantiles)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(values, LocalizedCoreFormats.INPUT_ARRAY);
+        checkQuantiles(quantiles);
+
+        int length = values.length;
+        if (values != getDataRef()) {
+            switch (nanStrategy) {
+                case MAXIMAL:// Replace NaNs with +INFs
+                    replaceInPlace(values, Double.POSITIVE_INFINITY);
+                    break;
+                case MINIMAL:// Replace NaNs with -INFs
+                    replaceInPlace(values, Double.NEGATIVE_INFINITY);
+                    break;
+                case REMOVED:// Move NaNs to the end of the array
+                    length = 0;
+                    for (int i = 0; i < values.length; i++) {
+                        if (!Double.isNaN(values[i])) {
+                            final double tmp = values[length];
+                            values[length++] = values[i];
+                            values[i] = tmp;
+                        }
+                    }
+                    break;
+                case FAILED:// just throw exception as NaN is un-acceptable
+                    MathArrays.checkNotNaN(values);
+                    break;
+                default: //FIXED
+                    break;
+            }
+        }
+
+        if (length == 0) {
+            return constantResult(quantiles, Double.NaN);
+        }
+        if (length == 1) {
+            return constantResult(quantiles, values[0]);
+        }
+        return evaluateAll(values, length, getPivots(values), quantiles);
+    }
+
+    /**
+     * Computes several percentiles on a work array.
+     * <p>
+     * The order statistics needed by the {@link EstimationType} are first
+     * collected for all quantiles, then selected at once, and the estimates
+     * are finally computed from the selected values.
+     * </p>
+     *
+     * @param work work array, reordered on return
+     * @param length number of leading elements of the work array to consider
+     * @param pivotsHeap cached pivots heap
+     * @param quantiles percentiles to compute
+     * @return percentile values
+     */
+    private double[] evaluateAll(final double[] work, final int length, final int[] pivotsHeap,
+                                 final double[] quantiles) {
+
+        // find the order statistics needed
+        final double[] positions = new double[quantiles.length];
+        final IndicesRecorder recorder = new IndicesRecorder();
+        for (int i = 0; i < quantiles.length; i++) {
+            positions[i] = estimationType.index(quantiles[i] / 100d, length);
+            estimationType.estimate(work, null, positions[i], length, recorder);
+        }
+
+        // select all of them in one pass
+        kthSelector.selectAll(work, length, pivotsHeap, recorder.getIndices());
+
+        // compute the estimates from the selected order statistics
+        final double[] results = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            results[i] = estimationType.estimate(work, null, positions[i], length, SELECTED);
+        }
+        return results;
+
+    }
+
+    /**
+     * Check quantiles.
+     *
+     * @param quantiles percentiles to check
+     * @throws MathIllegalArgumentException if quantiles is null or one quantile is invalid
+     */
+    private static void checkQuantiles(final double[] quantiles)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(quantiles);
+        for (final double p : quantiles) {
+            if (p > 100 || p <= 0) {
+                throw new MathIllegalArgumentException(LocalizedStatFormats.OUT_OF_BOUNDS_QUANTILE_VALUE,
+                                                       p, 0, 100);
+            }
+        }
+    }
+
+    /**
+     * Build a result array with all elements set to the same value.
+     *
+     * @param quantiles percentiles to compute
+     * @param value value for all percentiles
+     * @return result array
+     */
+    private static double[] constantResult(final double[] quantiles, final double value) {
+        final double[] results = new double[quantiles.length];
+        Arrays.fill(results, value);
+        return results;
+    }
+
+    /**
+     * Replace NaNs in an array.
+     *
+     * @param values the array to modify
+     * @param replacement the value to be used for replacement
+     */
+    private static void replaceInPlace(final double[] values, final double replacement) {
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isNaN(values[i])) {
+                values[i] = replacement;
+            }
+        }
+    }
+
     /**
      * Returns the value of the quantile field (determines what percentile is
      * computed when evaluate() is called with no quantile argument).
@@ -621,6 +836,54 @@ public class Percentile extends AbstractUnivariateStatistic implements Serializa
         return new Percentile(quantile, estimationType, nanStrategy, newKthSelector);
     }
 
+    /** Selector for work arrays where order statistics have already been selected. */
+    private static final KthSelector SELECTED = new SelectedKthSelector();
+
+    /** {@link KthSelector} recording the indices it is asked for, without selecting anything. */
+    private static class IndicesRecorder extends KthSelector {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Recorded indices. */
+        private int[] indices = new int[4];
+
+        /** Number of recorded indices. */
+        private int size;
+
+        /** {@inheritDoc} */
+        @Override
+        public double select(final double[] work, final int[] pivotsHeap, final int k) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, 2 * size);
+            }
+            indices[size++] = k;
+            return 0;
+        }
+
+        /** Get the recorded indices.
+         * @return recorded indices
+         */
+        public int[] getIndices() {
+            return Arrays.copyOf(indices, size);
+        }
+
+    }
+
+    /** {@link KthSelector} for arrays where all needed order statistics are already at their sorted position. */
+    private static class SelectedKthSelector extends KthSelector {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** {@inheritDoc} */
+        @Override
+        public double select(final double[] work, final int[] pivotsHeap, final int k) {
+            return work[k];
+        }
+
+    }
+
     /**
      * An enum for various estimation strategies of a percentile referred in
      * <a href="http://en.wikipedia.org/wiki/Quantile">wikipedia on quantile</a>
@@ -17,6 +17,9 @@
 package org.hipparchus.stat.descriptive.rank;
 
 import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -33,6 +36,7 @@ import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well19937c;
+import org.hipparchus.stat.LocalizedStatFormats;
 import org.hipparchus.stat.StatUtils;
 import org.hipparchus.stat.descriptive.AbstractStorelessUnivariateStatistic;
 import org.hipparchus.stat.descriptive.AggregatableStatistic;
@@ -83,6 +87,14 @@ import org.hipparchus.util.MathArrays;
  * initialize the {@code RandomGenerator} provided to it.  By default, it uses a
  * {@link Well19937c} generator with the default seed.
  * <p>
+ * Instances can be converted to a compact, platform-independent binary form using
+ * {@link #encode()} and rebuilt using {@link #decode(byte[], RandomGenerator)}, so
+ * sketches built on different JVMs can be shipped and combined using
+ * {@link #merge(RandomGenerator, byte[]...)}. As only the buffers contents are
+ * encoded, the encoded size is bounded by {@code 8 * }{@link #maxValuesRetained(double)
+ * maxValuesRetained(epsilon)} plus a few bytes per buffer, regardless of the number
+ * of values consumed.
+ * <p>
  * Note: This implementation is not thread-safe.
  */
 public class RandomPercentile
@@ -91,6 +103,14 @@ public class RandomPercentile
 
     /** Default quantile estimation error setting */
     public static final double DEFAULT_EPSILON = 1e-4;
+    /** Magic number at the start of encoded instances ("RPCT"). */
+    private static final int ENCODING_MAGIC = 0x52504354;
+    /** Version of the binary encoding. */
+    private static final int ENCODING_VERSION = 1;
+    /** Size in bytes of the encoding header (magic, version, epsilon, n, number of buffers). */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    /** Size in bytes of the encoded buffer metadata (level, block size, weight, next, consumed, nextToTake). */
+    private static final int BUFFER_HEADER_SIZE = 4 + 8 + 8 + 4 + 8 + 8;
     /** Serialization version id */
     private static final long serialVersionUID = 1L;
     /** Storage size of each buffer */
@@ -176,6 +196,15 @@ public class RandomPercentile
         this.epsilon = original.epsilon;
         this.bufferMap = new BufferMap(original.bufferMap);
         this.randomGenerator = original.randomGenerator;
+        this.currentBuffer = selectCurrentBuffer();
+    }
+
+    /**
+     * Selects the buffer to fill after buffers have been set up by copy or decoding.
+     *
+     * @return partially filled buffer if there is one, last buffer otherwise
+     */
+    private Buffer selectCurrentBuffer() {
         Iterator<Buffer> iterator = bufferMap.iterator();
         Buffer current = null;
         Buffer curr = null;
@@ -189,7 +218,7 @@ public class RandomPercentile
         // If there is no partially filled buffer, just assign the last one.
         // Next increment() will find no capacity and create a new one or trigger
         // a merge.
-        this.currentBuffer = current == null ? curr : current;
+        return current == null ? curr : current;
     }
 
     @Override
@@ -365,7 +394,7 @@ public class RandomPercentile
         Iterator<Buffer> bufferIterator = bufferMap.iterator();
         while (bufferIterator.hasNext()) {
             Buffer buffer = bufferIterator.next();
-            rankSum += buffer.rankOf(value) * FastMath.pow(2, buffer.level);
+            rankSum += buffer.rankOf(value) * buffer.weight;
         }
         return rankSum;
     }
@@ -421,7 +450,7 @@ public class RandomPercentile
      */
     private static class Buffer implements Serializable {
         /** Serialization version id */
-        private static final long serialVersionUID = 1L;
+        private static final long serialVersionUID = 20261017L;
         /** Number of values actually stored in the buffer */
         private final int size;
         /** Data sampled from the stream */
@@ -432,6 +461,10 @@ public class RandomPercentile
         private int level;
         /** Block size  = 2^level */
         private long blockSize;
+        /** Number of stream values represented by each retained value
+         * (2^level, unless the buffer absorbed a lower level buffer)
+         */
+        private double weight;
         /** Next location in backing array for stored (taken) value */
         private int next;
         /** Number of values consumed in current 2^level block of values from the stream */
@@ -456,6 +489,25 @@ public class RandomPercentile
             this.randomGenerator = randomGenerator;
             this.id = UUID.randomUUID();
             computeBlockSize();
+            this.weight = blockSize;
+        }
+
+        /**
+         * Creates a copy of a buffer.
+         *
+         * @param original buffer to copy
+         */
+        Buffer(Buffer original) {
+            this.size            = original.size;
+            this.data            = original.data.clone();
+            this.randomGenerator = original.randomGenerator;
+            this.level           = original.level;
+            this.blockSize       = original.blockSize;
+            this.weight          = original.weight;
+            this.next            = original.next;
+            this.consumed        = original.consumed;
+            this.nextToTake      = original.nextToTake;
+            this.id              = UUID.randomUUID();
         }
 
         /**
@@ -533,14 +585,20 @@ public class RandomPercentile
                 throw new MathIllegalArgumentException(LocalizedCoreFormats.INTERNAL_ERROR);
             }
             // Randomly select one of the two entries for each slot
+            // (buffers that absorbed lower level data may have different weights)
+            final double total = weight + other.weight;
             for (int i = 0; i < size; i++) {
-                if (randomGenerator.nextBoolean()) {
+                final boolean selectOther = weight == other.weight ?
+                                            randomGenerator.nextBoolean() :
+                                            randomGenerator.nextDouble() * total < other.weight;
+                if (selectOther) {
                     data[i] = other.data[i];
                 }
             }
             // Re-sort data
             Arrays.sort(data);
             // Bump level of both buffers
+            weight = total;
             other.setLevel(level + 1);
             this.setLevel(level + 1);
             // Clear the free one (and compute new blocksize)
@@ -551,7 +609,9 @@ public class RandomPercentile
          * Merge this into a higher-level buffer.
          * <p>
          * Does not alter this; but after the merge, higher may have some of its
-         * data replaced by data from this.  Levels are not changed for either buffer.
+         * data replaced by data from this.  Levels are not changed for either buffer,
+         * but the weight of the values retained in higher is increased so that ranks
+         * computed from higher account for the values of both buffers.
          * <p>
          * Probability of selection into the newly constituted higher buffer is weighted
          * according to level. So for example, if this has level 0 and higher has level
@@ -583,14 +643,19 @@ public class RandomPercentile
             }
             // Randomly select one of the two entries for each slot in higher, giving
             // m-times higher weight to the entries of higher.
+            final double total = weight + higher.weight;
             for (int i = 0; i < size; i++) {
-                // data[i] <-> {0}, higher.data[i] <-> {1, ..., m}
-                if (randomGenerator.nextInt(m + 1) == 0) {
+                final boolean selectThis = higher.weight == m * weight ?
+                                           randomGenerator.nextInt(m + 1) == 0 : // data[i] <-> {0}, higher.data[i] <-> {1, ..., m}
+                                           randomGenerator.nextDouble() * total < weight;
+                if (selectThis) {
                     higher.data[i] = data[i];
                 }
             }
             // Resort higher's data
             Arrays.sort(higher.data);
+            // Each retained value now represents the values of both buffers
+            higher.weight = total;
         }
 
         /**
@@ -618,6 +683,7 @@ public class RandomPercentile
             consumed = 0;
             next = 0;
             computeBlockSize();
+            weight = blockSize;
         }
 
         /**
@@ -753,14 +819,9 @@ public class RandomPercentile
             this.registry = new HashMap<>();
             Iterator<Buffer> iterator = original.iterator();
             while (iterator.hasNext()) {
-                final Buffer current = iterator.next();
-                // Create and register a new buffer at the same level
-                final Buffer newCopy = create(current.getLevel());
-                // Consume the data
-                final double[] data = current.getData();
-                for (double value : data) {
-                    newCopy.consume(value);
-                }
+                // Register a copy of the buffer, keeping its sampling state
+                register(new Buffer(iterator.next()));
+                count++;
             }
         }
 
@@ -931,10 +992,15 @@ public class RandomPercentile
          * @throws IllegalStateException if the buffer is not registered
          */
         public void deRegister(Buffer buffer) {
-            final Iterator<Buffer> iterator = registry.get(buffer.getLevel()).iterator();
+            final List<Buffer> list = registry.get(buffer.getLevel());
+            final Iterator<Buffer> iterator = list.iterator();
             while (iterator.hasNext()) {
                 if (iterator.next().getId().equals(buffer.getId())) {
                     iterator.remove();
+                    // Iteration assumes there are no empty buffer lists
+                    if (list.isEmpty()) {
+                        registry.remove(buffer.getLevel());
+                    }
                     return;
                 }
             }
@@ -1262,4 +1328,203 @@ public class RandomPercentile
         final long s = (long) FastMath.ceil(FastMath.sqrt(log2(1/epsilon)) / epsilon);
         return (h+1) * s;
     }
+
+    /**
+     * Returns the number of bytes needed to encode this instance.
+     *
+     * @return size of the binary encoding of this instance
+     * @see #encode(ByteBuffer)
+     * @since 4.0
+     */
+    public int getEncodedSize() {
+        int size = HEADER_SIZE;
+        final Iterator<Buffer> iterator = bufferMap.iterator();
+        while (iterator.hasNext()) {
+            size += BUFFER_HEADER_SIZE + Double.BYTES * iterator.next().next;
+        }
+        return size;
+    }
+
+    /**
+     * Encodes this instance in a newly allocated array.
+     *
+     * @return binary encoding of this instance
+     * @see #encode(ByteBuffer)
+     * @since 4.0
+     */
+    public byte[] encode() {
+        final ByteBuffer out = ByteBuffer.allocate(getEncodedSize());
+        encode(out);
+        return out.array();
+    }
+
+    /**
+     * Encodes this instance into a byte buffer.
+     * <p>
+     * The encoding is big-endian regardless of the order of {@code out}, so it
+     * can be decoded on any platform. It contains the estimation error bound,
+     * the number of consumed values and, for each buffer, its sampling state
+     * and retained values. The random generator is not encoded. {@link
+     * #getEncodedSize()} bytes are written, starting at the buffer position.
+     * </p>
+     *
+     * @param out buffer where to encode this instance
+     * @throws java.nio.BufferOverflowException if the buffer has fewer than
+     * {@link #getEncodedSize()} bytes remaining
+     * @since 4.0
+     */
+    public void encode(final ByteBuffer out) {
+        final ByteOrder order = out.order();
+        try {
+            out.order(ByteOrder.BIG_ENDIAN);
+            out.putInt(ENCODING_MAGIC);
+            out.putInt(ENCODING_VERSION);
+            out.putDouble(epsilon);
+            out.putLong(n);
+            int count = 0;
+            for (final Iterator<Buffer> iterator = bufferMap.iterator(); iterator.hasNext(); iterator.next()) {
+                ++count;
+            }
+            out.putInt(count);
+            final Iterator<Buffer> iterator = bufferMap.iterator();
+            while (iterator.hasNext()) {
+                final Buffer buffer = iterator.next();
+                out.putInt(buffer.level);
+                out.putLong(buffer.blockSize);
+                out.putDouble(buffer.weight);
+                out.putInt(buffer.next);
+                out.putLong(buffer.consumed);
+                out.putLong(buffer.nextToTake);
+                for (int i = 0; i < buffer.next; ++i) {
+                    out.putDouble(buffer.data[i]);
+                }
+            }
+        } finally {
+            out.order(order);
+        }
+    }
+
+    /**
+     * Rebuilds an instance from its binary encoding.
+     *
+     * @param encoded binary encoding, as produced by {@link #encode()}
+     * @param randomGenerator PRNG used in sampling and merge operations by the rebuilt instance
+     * @return rebuilt instance
+     * @throws MathIllegalArgumentException if the encoding is invalid
+     * @see #decode(ByteBuffer, RandomGenerator)
+     * @since 4.0
+     */
+    public static RandomPercentile decode(final byte[] encoded, final RandomGenerator randomGenerator)
+        throws MathIllegalArgumentException {
+        if (encoded == null) {
+            throw new NullArgumentException();
+        }
+        return decode(ByteBuffer.wrap(encoded), randomGenerator);
+    }
+
+    /**
+     * Rebuilds an instance from its binary encoding.
+     * <p>
+     * The encoding is read starting at the buffer position, which is
+     * advanced past the encoded instance.
+     * </p>
+     *
+     * @param in buffer containing the binary encoding, as produced by {@link #encode(ByteBuffer)}
+     * @param randomGenerator PRNG used in sampling and merge operations by the rebuilt instance
+     * @return rebuilt instance
+     * @throws MathIllegalArgumentException if the encoding is invalid
+     * @since 4.0
+     */
+    public static RandomPercentile decode(final ByteBuffer in, final RandomGenerator randomGenerator)
+        throws MathIllegalArgumentException {
+        if (in == null || randomGenerator == null) {
+            throw new NullArgumentException();
+        }
+        final ByteOrder order = in.order();
+        try {
+            in.order(ByteOrder.BIG_ENDIAN);
+            checkEncoding(in.getInt() == ENCODING_MAGIC && in.getInt() == ENCODING_VERSION);
+            final double eps = in.getDouble();
+            checkEncoding(eps > 0 && eps < 1);
+            final RandomPercentile decoded = new RandomPercentile(eps, randomGenerator);
+            decoded.n = in.getLong();
+            final int count = in.getInt();
+            checkEncoding(decoded.n >= 0 && count > 0 && count <= decoded.bufferMap.capacity);
+            decoded.bufferMap.clear();
+            for (int k = 0; k < count; ++k) {
+                final int level = in.getInt();
+                checkEncoding(level >= 0 && level < Long.SIZE - 1);
+                final Buffer buffer = new Buffer(decoded.s, level, randomGenerator);
+                // the block size of a full buffer is not updated when its level is bumped by a merge
+                buffer.blockSize  = in.getLong();
+                buffer.weight     = in.getDouble();
+                buffer.next       = in.getInt();
+                buffer.consumed   = in.getLong();
+                buffer.nextToTake = in.getLong();
+                checkEncoding(buffer.blockSize > 0 && Long.bitCount(buffer.blockSize) == 1 &&
+                              buffer.blockSize <= 1L << level && buffer.weight >= 1L << level &&
+                              buffer.next >= 0 && buffer.next <= decoded.s &&
+                              buffer.consumed >= 0 && buffer.consumed <= buffer.blockSize &&
+                              buffer.nextToTake >= 0 && buffer.nextToTake < buffer.blockSize);
+                for (int i = 0; i < buffer.next; ++i) {
+                    buffer.data[i] = in.getDouble();
+                }
+                decoded.bufferMap.register(buffer);
+                decoded.bufferMap.count++;
+            }
+            decoded.currentBuffer = decoded.selectCurrentBuffer();
+            return decoded;
+        } catch (BufferUnderflowException e) {
+            throw new MathIllegalArgumentException(e, LocalizedStatFormats.INVALID_SKETCH_ENCODING);
+        } finally {
+            in.order(order);
+        }
+    }
+
+    /**
+     * Merges encoded instances.
+     * <p>
+     * All instances must have been built with the same {@code epsilon}. The
+     * result describes the combined sample of all data consumed by the encoded
+     * instances, it can be encoded again to be merged further.
+     * </p>
+     *
+     * @param randomGenerator PRNG used in sampling and merge operations
+     * @param encoded binary encodings, as produced by {@link #encode()}
+     * @return merged instance
+     * @throws MathIllegalArgumentException if an encoding is invalid, if no
+     * encodings are provided or if they were built with different {@code epsilon}
+     * @since 4.0
+     */
+    public static RandomPercentile merge(final RandomGenerator randomGenerator, final byte[]... encoded)
+        throws MathIllegalArgumentException {
+        if (encoded == null) {
+            throw new NullArgumentException();
+        }
+        if (encoded.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, 0, 1);
+        }
+        final RandomPercentile merged = decode(encoded[0], randomGenerator);
+        for (int i = 1; i < encoded.length; ++i) {
+            final RandomPercentile other = decode(encoded[i], randomGenerator);
+            if (other.s != merged.s) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       other.s, merged.s);
+            }
+            merged.aggregate(other);
+        }
+        return merged;
+    }
+
+    /**
+     * Checks a condition on an encoding.
+     *
+     * @param condition condition that must hold for a valid encoding
+     * @throws MathIllegalArgumentException if condition is false
+     */
+    private static void checkEncoding(final boolean condition) throws MathIllegalArgumentException {
+        if (!condition) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.INVALID_SKETCH_ENCODING);
+        }
+    }
 }
@@ -108,6 +108,9 @@ import org.hipparchus.util.MathUtils;
  *    by 10. </li>
  *<li>The input file <i>must</i> be a plain text file containing one valid numeric
  *    entry per line.</li>
+ *<li>When data cannot be read twice or do not fit in memory, a {@link StreamingHistogram}
+ *    can be accumulated in one pass (possibly by several workers whose partial
+ *    histograms are then merged) and used to build the distribution.</li>
  * </ul>
  *
  */
@@ -149,6 +152,9 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
     /** upper bounds of subintervals in (0,1) "belonging" to the bins */
     private double[] upperBounds;
 
+    /** guide table, entry j is the first bin whose generator upper bound is at least j / binCount */
+    private int[] guide;
+
     /**
      * Creates a new EmpiricalDistribution with the default bin count.
      */
@@ -207,6 +213,74 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         binStats = new ArrayList<>();
     }
 
+    /**
+     * Creates a new EmpiricalDistribution from a streaming histogram.
+     * <p>
+     * The bins of the distribution are the bins of the histogram, from the first
+     * to the last non-empty one, so the support of the distribution spans from the
+     * lower bound of the first non-empty bin to the upper bound of the last non-empty
+     * bin. The distribution is loaded upon construction and is independent of the
+     * histogram, which can continue to accumulate values afterwards.
+     * </p>
+     *
+     * @param histogram histogram to use
+     * @param generator random data generator
+     * @throws MathIllegalArgumentException if the histogram is empty
+     * @since 4.0
+     */
+    public EmpiricalDistribution(StreamingHistogram histogram, RandomGenerator generator)
+        throws MathIllegalArgumentException {
+        this(nonEmptyRange(histogram), RandomDataGenerator.of(generator));
+
+        final StreamingStatistics[] bins = histogram.getBins();
+        int first = 0;
+        while (bins[first] == null) {
+            ++first;
+        }
+
+        sampleStats = new StreamingStatistics();
+        for (int i = first; i < first + binCount; ++i) {
+            final StreamingStatistics stats = new StreamingStatistics();
+            if (bins[i] != null) {
+                stats.aggregate(bins[i]);
+                sampleStats.aggregate(bins[i]);
+            }
+            binStats.add(stats);
+        }
+        min   = histogram.getBinLowerBound(first);
+        max   = histogram.getBinLowerBound(first + binCount);
+        delta = histogram.getBinWidth();
+
+        fillGeneratorBounds();
+        loaded = true;
+
+    }
+
+    /**
+     * Computes the number of bins between the first and last non-empty bins of a histogram.
+     *
+     * @param histogram histogram to check
+     * @return number of bins from the first to the last non-empty bins, inclusive
+     * @throws MathIllegalArgumentException if the histogram is empty
+     */
+    private static int nonEmptyRange(final StreamingHistogram histogram)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(histogram);
+        if (histogram.getN() == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NO_DATA);
+        }
+        final StreamingStatistics[] bins = histogram.getBins();
+        int first = 0;
+        while (bins[first] == null) {
+            ++first;
+        }
+        int last = bins.length - 1;
+        while (bins[last] == null) {
+            --last;
+        }
+        return last - first + 1;
+    }
+
     /**
      * Computes the empirical distribution from the provided
      * array of numbers.
@@ -430,6 +504,14 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         // Filling data in binStats Array
         da.computeBinStats();
 
+        fillGeneratorBounds();
+    }
+
+    /**
+     * Fills the upperBounds array and the guide table from the bins statistics.
+     */
+    private void fillGeneratorBounds() {
+
         // Assign upperBounds based on bin counts
         upperBounds = new double[binCount];
         upperBounds[0] =
@@ -439,6 +521,18 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
             ((double) binStats.get(i).getN()) / (double) sampleStats.getN();
         }
         upperBounds[binCount-1] = 1.0d;
+
+        // Set up guide table for constant expected time bin lookup
+        guide = new int[binCount];
+        int i = 0;
+        for (int j = 0; j < binCount; ++j) {
+            final double p = ((double) j) / binCount;
+            while (upperBounds[i] < p) {
+                ++i;
+            }
+            guide[j] = i;
+        }
+
     }
 
     /**
@@ -453,6 +547,26 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
                 binCount - 1);
     }
 
+    /**
+     * Returns the upper bound of a bin.
+     *
+     * @param i index of the bin
+     * @return upper bound of bin i
+     */
+    private double binUpperBound(int i) {
+        return i == binCount - 1 ? max : min + delta * (i + 1);
+    }
+
+    /**
+     * Returns the lower bound of a bin.
+     *
+     * @param i index of the bin
+     * @return lower bound of bin i
+     */
+    private double binLowerBound(int i) {
+        return i == 0 ? min : binUpperBound(i - 1);
+    }
+
     /**
      * Generates a random value from this distribution.
      * <strong>Preconditions:</strong><ul>
@@ -618,9 +732,8 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
                 return pBminus + pB;
             }
         }
-        final double[] binBounds = getUpperBounds();
         final double kB = kB(binIndex);
-        final double lower = binIndex == 0 ? min : binBounds[binIndex - 1];
+        final double lower = binLowerBound(binIndex);
         final double withinBinCum =
             (kernel.cumulativeProbability(x) -  kernel.cumulativeProbability(lower)) / kB;
         return pBminus + pB * withinBinCum;
@@ -658,15 +771,11 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
             return getSupportUpperBound();
         }
 
-        int i = 0;
-        while (cumBinP(i) < p) {
-            i++;
-        }
+        final int i = findGeneratorBin(p);
 
         final RealDistribution kernel = getKernel(binStats.get(i));
         final double kB = kB(i);
-        final double[] binBounds = getUpperBounds();
-        final double lower = i == 0 ? min : binBounds[i - 1];
+        final double lower = binLowerBound(i);
         final double kBminus = kernel.cumulativeProbability(lower);
         final double pB = pB(i);
         final double pBminus = pBminus(i);
@@ -755,10 +864,8 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
      * upper and lower endpoints of bin i
      */
     private double kB(int i) {
-        final double[] binBounds = getUpperBounds();
         final RealDistribution kernel = getKernel(binStats.get(i));
-        return i == 0 ? kernel.probability(min, binBounds[0]) :
-            kernel.probability(binBounds[i - 1], binBounds[i]);
+        return kernel.probability(binLowerBound(i), binUpperBound(i));
     }
 
     /**
@@ -782,6 +889,29 @@ public class EmpiricalDistribution extends AbstractRealDistribution {
         return upperBounds[binIndex];
     }
 
+    /**
+     * Finds the smallest bin index such that the sum of the masses of the bins
+     * through this index is at least p.
+     * <p>
+     * The search starts from the guide table entry associated with p, so it
+     * takes constant expected time.
+     * </p>
+     *
+     * @param p cumulative probability, in (0, 1)
+     * @return smallest index i such that {@code cumBinP(i) >= p}
+     */
+    private int findGeneratorBin(double p) {
+        int i = guide[FastMath.min((int) (p * binCount), binCount - 1)];
+        while (i > 0 && cumBinP(i - 1) >= p) {
+            // rounding in the guide index computation may overshoot
+            i--;
+        }
+        while (cumBinP(i) < p) {
+            i++;
+        }
+        return i;
+    }
+
     /**
      * The within-bin smoothing kernel. Returns a Gaussian distribution
      * parameterized by {@code bStats}, unless the bin contains less than 2
@@ -24,17 +24,19 @@ package org.hipparchus.stat.fitting;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.hipparchus.distribution.multivariate.MixtureMultivariateNormalDistribution;
 import org.hipparchus.distribution.multivariate.MultivariateNormalDistribution;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
-import org.hipparchus.linear.Array2DRowRealMatrix;
-import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.CholeskyDecomposition;
 import org.hipparchus.stat.correlation.Covariance;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
 import org.hipparchus.util.Pair;
 
 /**
@@ -56,6 +58,8 @@ public class MultivariateNormalMixtureExpectationMaximization {
     private static final int DEFAULT_MAX_ITERATIONS = 1000;
     /** Default convergence threshold for fitting. */
     private static final double DEFAULT_THRESHOLD = 1E-5;
+    /** Maximum number of rows in a block of the expectation step. */
+    private static final int ROWS_PER_TASK = 256;
     /** The data to fit. */
     private final double[][] data;
     /** The model fit against the data. */
@@ -122,6 +126,63 @@ public class MultivariateNormalMixtureExpectationMaximization {
                     final int maxIterations,
                     final double threshold)
         throws MathIllegalArgumentException {
+        doFit(initialMixture, maxIterations, threshold, null);
+    }
+
+    /**
+     * Fit a mixture model to the data supplied to the constructor, using a fork/join pool.
+     * <p>
+     * The expectation step is split into blocks of rows spread across the workers of
+     * the pool, each block accumulating its own sufficient statistics. As blocks and
+     * the order in which their statistics are combined do not depend on the pool, the
+     * fitted model is exactly the same as the one computed by {@link
+     * #fit(MixtureMultivariateNormalDistribution, int, double)}.
+     * </p>
+     *
+     * @param initialMixture Model containing initial values of weights and
+     * multivariate normals
+     * @param maxIterations Maximum iterations allowed for fit
+     * @param threshold Convergence threshold computed as difference in
+     * logLikelihoods between successive iterations
+     * @param pool pool to use for computation
+     * @throws MathIllegalArgumentException if any component's covariance matrix is
+     * singular during fitting
+     * @throws MathIllegalArgumentException if numComponents is less than one
+     * or threshold is less than Double.MIN_VALUE
+     * @throws MathIllegalArgumentException if initialMixture mean vector and data
+     * number of columns are not equal
+     * @since 4.0
+     */
+    public void fit(final MixtureMultivariateNormalDistribution initialMixture,
+                    final int maxIterations,
+                    final double threshold,
+                    final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(pool);
+        doFit(initialMixture, maxIterations, threshold, pool);
+    }
+
+    /**
+     * Fit a mixture model to the data supplied to the constructor.
+     *
+     * @param initialMixture Model containing initial values of weights and
+     * multivariate normals
+     * @param maxIterations Maximum iterations allowed for fit
+     * @param threshold Convergence threshold computed as difference in
+     * logLikelihoods between successive iterations
+     * @param pool pool to use for computation (null for sequential computation)
+     * @throws MathIllegalArgumentException if any component's covariance matrix is
+     * singular during fitting
+     * @throws MathIllegalArgumentException if numComponents is less than one
+     * or threshold is less than Double.MIN_VALUE
+     * @throws MathIllegalArgumentException if initialMixture mean vector and data
+     * number of columns are not equal
+     */
+    private void doFit(final MixtureMultivariateNormalDistribution initialMixture,
+                       final int maxIterations,
+                       final double threshold,
+                       final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
         if (maxIterations < 1) {
             throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
                                                    maxIterations, 1);
@@ -158,84 +219,49 @@ public class MultivariateNormalMixtureExpectationMaximization {
              numIterations < maxIterations && FastMath.abs(previousLogLikelihood - logLikelihood) > threshold;
              ++numIterations) {
             previousLogLikelihood = logLikelihood;
-            double sumLogLikelihood = 0d;
 
-            // Mixture components
+            // Mixture components, with their Cholesky factors cached for the whole E-step
             final List<Pair<Double, MultivariateNormalDistribution>> components
                 = fittedModel.getComponents();
-
-            // Weight and distribution of each component
-            final double[] weights = new double[k];
-
-            final MultivariateNormalDistribution[] mvns = new MultivariateNormalDistribution[k];
-
+            final Component[] cached = new Component[k];
             for (int j = 0; j < k; j++) {
-                weights[j] = components.get(j).getFirst();
-                mvns[j] = components.get(j).getSecond();
+                cached[j] = new Component(components.get(j).getFirst(), components.get(j).getSecond());
             }
 
             // E-step: compute the data dependent parameters of the expectation
-            // function.
-            // The percentage of row's total density between a row and a
-            // component
-            final double[][] gamma = new double[n][k];
-
-            // Sum of gamma for each component
-            final double[] gammaSums = new double[k];
-
-            // Sum of gamma times its row for each each component
-            final double[][] gammaDataProdSums = new double[k][numCols];
-
-            for (int i = 0; i < n; i++) {
-                final double rowDensity = fittedModel.density(data[i]);
-                sumLogLikelihood += FastMath.log(rowDensity);
-
-                for (int j = 0; j < k; j++) {
-                    gamma[i][j] = weights[j] * mvns[j].density(data[i]) / rowDensity;
-                    gammaSums[j] += gamma[i][j];
-
-                    for (int col = 0; col < numCols; col++) {
-                        gammaDataProdSums[j][col] += gamma[i][j] * data[i][col];
-                    }
-                }
-            }
+            // function, i.e. the sufficient statistics weighted by the percentage
+            // of row's total density between a row and a component
+            final SufficientStatistics sums = pool == null ?
+                                              accumulate(data, cached, 0, n) :
+                                              pool.invoke(new ExpectationTask(data, cached, 0, n));
 
-            logLikelihood = sumLogLikelihood / n;
+            logLikelihood = sums.logLikelihood / n;
 
             // M-step: compute the new parameters based on the expectation
-            // function.
+            // function. Statistics were accumulated around the previous means,
+            // so the new covariances are corrected by the shift of the means.
             final double[] newWeights = new double[k];
             final double[][] newMeans = new double[k][numCols];
+            final double[][][] newCovMatArrays = new double[k][numCols][numCols];
+            final double[] shift = new double[numCols];
 
             for (int j = 0; j < k; j++) {
-                newWeights[j] = gammaSums[j] / n;
+                final double gammaSum = sums.gammaSums[j];
+                newWeights[j] = gammaSum / n;
                 for (int col = 0; col < numCols; col++) {
-                    newMeans[j][col] = gammaDataProdSums[j][col] / gammaSums[j];
+                    shift[col]         = sums.gammaDiffSums[j][col] / gammaSum;
+                    newMeans[j][col]   = cached[j].mean[col] + shift[col];
                 }
-            }
-
-            // Compute new covariance matrices
-            final RealMatrix[] newCovMats = new RealMatrix[k];
-            for (int j = 0; j < k; j++) {
-                newCovMats[j] = new Array2DRowRealMatrix(numCols, numCols);
-            }
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < k; j++) {
-                    final RealMatrix vec
-                        = new Array2DRowRealMatrix(MathArrays.ebeSubtract(data[i], newMeans[j]));
-                    final RealMatrix dataCov
-                        = vec.multiplyTransposed(vec).scalarMultiply(gamma[i][j]);
-                    newCovMats[j] = newCovMats[j].add(dataCov);
+                int index = 0;
+                for (int r = 0; r < numCols; r++) {
+                    for (int c = 0; c <= r; c++) {
+                        final double cov = sums.gammaDiffProdSums[j][index++] / gammaSum - shift[r] * shift[c];
+                        newCovMatArrays[j][r][c] = cov;
+                        newCovMatArrays[j][c][r] = cov;
+                    }
                 }
             }
 
-            // Converting to arrays for use by fitted model
-            final double[][][] newCovMatArrays = new double[k][numCols][numCols];
-            for (int j = 0; j < k; j++) {
-                newCovMats[j] = newCovMats[j].scalarMultiply(1d / gammaSums[j]);
-                newCovMatArrays[j] = newCovMats[j].getData();
-            }
-
             // Update current model
             fittedModel = new MixtureMultivariateNormalDistribution(newWeights,
                                                                     newMeans,
@@ -248,6 +274,94 @@ public class MultivariateNormalMixtureExpectationMaximization {
         }
     }
 
+    /**
+     * Accumulate the sufficient statistics of the expectation step for a range of rows.
+     * <p>
+     * The range is split recursively in halves until blocks contain at most {@link
+     * #ROWS_PER_TASK} rows, exactly as {@link ExpectationTask} does.
+     * </p>
+     * @param data data to fit
+     * @param components mixture components
+     * @param from index of the first row (inclusive)
+     * @param to index of the last row (exclusive)
+     * @return sufficient statistics for the rows
+     */
+    private static SufficientStatistics accumulate(final double[][] data, final Component[] components,
+                                                   final int from, final int to) {
+        if (to - from <= ROWS_PER_TASK) {
+            return accumulateBlock(data, components, from, to);
+        }
+        final int middle = (from + to) >>> 1;
+        final SufficientStatistics sums = accumulate(data, components, from, middle);
+        sums.add(accumulate(data, components, middle, to));
+        return sums;
+    }
+
+    /**
+     * Accumulate the sufficient statistics of the expectation step for a block of rows.
+     * @param data data to fit
+     * @param components mixture components
+     * @param from index of the first row (inclusive)
+     * @param to index of the last row (exclusive)
+     * @return sufficient statistics for the rows
+     */
+    private static SufficientStatistics accumulateBlock(final double[][] data, final Component[] components,
+                                                        final int from, final int to) {
+
+        final int k       = components.length;
+        final int numCols = data[0].length;
+        final SufficientStatistics sums = new SufficientStatistics(k, numCols);
+
+        // weighted log densities, computed component by component so each
+        // Cholesky factor is reused for the whole block while it is in cache
+        final double[][] logDensities = new double[to - from][k];
+        final double[] work = new double[numCols];
+        for (int j = 0; j < k; j++) {
+            for (int i = from; i < to; i++) {
+                logDensities[i - from][j] = components[j].logWeightedDensity(data[i], work);
+            }
+        }
+
+        for (int i = from; i < to; i++) {
+            final double[] row         = data[i];
+            final double[] logDensity  = logDensities[i - from];
+
+            // row density, computed in log space to avoid underflow
+            double maxLogDensity = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < k; j++) {
+                maxLogDensity = FastMath.max(maxLogDensity, logDensity[j]);
+            }
+            double sum = 0;
+            for (int j = 0; j < k; j++) {
+                sum += FastMath.exp(logDensity[j] - maxLogDensity);
+            }
+            final double logRowDensity = maxLogDensity + FastMath.log(sum);
+            sums.logLikelihood += logRowDensity;
+
+            for (int j = 0; j < k; j++) {
+                final double gamma = FastMath.exp(logDensity[j] - logRowDensity);
+                sums.gammaSums[j] += gamma;
+                if (gamma != 0) {
+                    final double[] mean          = components[j].mean;
+                    final double[] diffSums      = sums.gammaDiffSums[j];
+                    final double[] diffProdSums  = sums.gammaDiffProdSums[j];
+                    int index = 0;
+                    for (int r = 0; r < numCols; r++) {
+                        work[r] = row[r] - mean[r];
+                        diffSums[r] += gamma * work[r];
+                        final double gammaDiff = gamma * work[r];
+                        for (int c = 0; c <= r; c++) {
+                            diffProdSums[index++] += gammaDiff * work[c];
+                        }
+                    }
+                }
+            }
+        }
+
+        return sums;
+
+    }
+
     /**
      * Fit a mixture model to the data supplied to the constructor.
      *
@@ -442,5 +556,164 @@ public class MultivariateNormalMixtureExpectationMaximization {
             return row; // NOPMD - returning a reference to an internal array is documented here
         }
     }
-}
 
+    /**
+     * Mixture component prepared for fast evaluation of its log density.
+     */
+    private static class Component {
+
+        /** Mean vector. */
+        private final double[] mean;
+
+        /** Lower triangular Cholesky factor of the covariance matrix. */
+        private final double[][] l;
+
+        /** Logarithm of the component weight times the density normalization factor. */
+        private final double logFactor;
+
+        /**
+         * Simple constructor.
+         * @param weight weight of the component
+         * @param mvn multivariate normal distribution of the component
+         * @throws MathIllegalArgumentException if the covariance matrix is not positive definite
+         */
+        Component(final double weight, final MultivariateNormalDistribution mvn)
+            throws MathIllegalArgumentException {
+            mean = mvn.getMeans();
+            l    = new CholeskyDecomposition(mvn.getCovariances(),
+                                             CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+                                             0.0).getL().getData();
+            double logDetL = 0;
+            for (int i = 0; i < l.length; i++) {
+                logDetL += FastMath.log(l[i][i]);
+            }
+            logFactor = FastMath.log(weight) - 0.5 * l.length * FastMath.log(MathUtils.TWO_PI) - logDetL;
+        }
+
+        /**
+         * Compute the logarithm of the weighted density of a row.
+         * @param row data row
+         * @param work work array, with the same dimension as the row
+         * @return log(weight &times; density(row))
+         */
+        double logWeightedDensity(final double[] row, final double[] work) {
+            // solve L z = row - mean by forward substitution, then use |z|² as
+            // the Mahalanobis distance between row and mean
+            double sum = 0;
+            for (int r = 0; r < l.length; r++) {
+                final double[] lR = l[r];
+                double z = row[r] - mean[r];
+                for (int c = 0; c < r; c++) {
+                    z -= lR[c] * work[c];
+                }
+                z /= lR[r];
+                work[r] = z;
+                sum += z * z;
+            }
+            return logFactor - 0.5 * sum;
+        }
+
+    }
+
+    /**
+     * Sufficient statistics accumulated during the expectation step.
+     * <p>
+     * Row related statistics are accumulated around the component means
+     * used in the expectation step.
+     * </p>
+     */
+    private static class SufficientStatistics {
+
+        /** Sum of log densities of the rows. */
+        private double logLikelihood;
+
+        /** Sum of gamma for each component. */
+        private final double[] gammaSums;
+
+        /** Sum of gamma times row shift from mean for each component. */
+        private final double[][] gammaDiffSums;
+
+        /** Sum of gamma times row shift outer product (packed lower triangle) for each component. */
+        private final double[][] gammaDiffProdSums;
+
+        /**
+         * Simple constructor.
+         * @param k number of components
+         * @param numCols number of data columns
+         */
+        SufficientStatistics(final int k, final int numCols) {
+            gammaSums         = new double[k];
+            gammaDiffSums     = new double[k][numCols];
+            gammaDiffProdSums = new double[k][(numCols * (numCols + 1)) / 2];
+        }
+
+        /**
+         * Add the statistics of another set of rows.
+         * @param other statistics to add
+         */
+        void add(final SufficientStatistics other) {
+            logLikelihood += other.logLikelihood;
+            for (int j = 0; j < gammaSums.length; j++) {
+                gammaSums[j] += other.gammaSums[j];
+                for (int c = 0; c < gammaDiffSums[j].length; c++) {
+                    gammaDiffSums[j][c] += other.gammaDiffSums[j][c];
+                }
+                for (int c = 0; c < gammaDiffProdSums[j].length; c++) {
+                    gammaDiffProdSums[j][c] += other.gammaDiffProdSums[j][c];
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Task computing the sufficient statistics of the expectation step for a range of rows.
+     */
+    private static class ExpectationTask extends RecursiveTask<SufficientStatistics> {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Data to fit. */
+        private final transient double[][] data;
+
+        /** Mixture components. */
+        private final transient Component[] components;
+
+        /** Index of the first row (inclusive). */
+        private final int from;
+
+        /** Index of the last row (exclusive). */
+        private final int to;
+
+        /**
+         * Simple constructor.
+         * @param data data to fit
+         * @param components mixture components
+         * @param from index of the first row (inclusive)
+         * @param to index of the last row (exclusive)
+         */
+        ExpectationTask(final double[][] data, final Component[] components, final int from, final int to) {
+            this.data       = data; // NOPMD - storing a reference to the array is intentional here
+            this.components = components;
+            this.from       = from;
+            this.to         = to;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected SufficientStatistics compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                return accumulateBlock(data, components, from, to);
+            }
+            final int middle = (from + to) >>> 1;
+            final ExpectationTask lower = new ExpectationTask(data, components, from, middle);
+            final ExpectationTask upper = new ExpectationTask(data, components, middle, to);
+            upper.fork();
+            final SufficientStatistics sums = lower.compute();
+            sums.add(upper.join());
+            return sums;
+        }
+
+    }
+}
@@ -0,0 +1,585 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.fitting;
+
+import java.io.Serializable;
+import java.util.function.DoubleConsumer;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.stat.LocalizedStatFormats;
+import org.hipparchus.stat.descriptive.StatisticalSummary;
+import org.hipparchus.stat.descriptive.StreamingStatistics;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * One-pass histogram accumulating per-bin statistics from a stream of values.
+ * <p>
+ * This class is the streaming counterpart of the two-pass digestion performed by
+ * {@link EmpiricalDistribution#load(double[])}: values are seen only once, never
+ * stored, and the resulting histogram can be turned into an empirical distribution
+ * using {@link EmpiricalDistribution#EmpiricalDistribution(StreamingHistogram,
+ * org.hipparchus.random.RandomGenerator)}.
+ * </p>
+ * <p>
+ * Two kinds of bins are supported:
+ * </p>
+ * <ul>
+ *   <li><em>fixed</em> bins, when the range of the data is known beforehand: the
+ *   range is divided into {@code binCount} bins of equal width and values outside
+ *   of the range are counted in the first or last bin,</li>
+ *   <li><em>adaptive</em> bins, when the range is unknown: bins have a width which
+ *   is a power of two and their boundaries are multiples of this width. The first
+ *   {@code binCount} values are buffered to select a width, then each time a value
+ *   falls outside of the current bins, the bins are shifted or pairs of adjacent
+ *   bins are merged, doubling their width.</li>
+ * </ul>
+ * <p>
+ * As in {@link EmpiricalDistribution}, bins are closed on their upper side, i.e.
+ * bin i covers the interval (lower + i w, lower + (i + 1) w]. Empty bins are not
+ * allocated.
+ * </p>
+ * <p>
+ * Histograms built by different workers can be merged using {@link
+ * #aggregate(StreamingHistogram)}, which makes it possible to use them as
+ * containers in parallel streams:
+ * </p>
+ * <pre>
+ *   StreamingHistogram histogram =
+ *       values.parallel().collect(() -&gt; new StreamingHistogram(100),
+ *                                 StreamingHistogram::addValue,
+ *                                 StreamingHistogram::aggregate);
+ * </pre>
+ * <p>
+ * Merging fixed histograms or adaptive histograms is exact: the merged histogram
+ * is the one that would have been obtained by accumulating all values with the
+ * coarsest bins of the merged histograms. Note that the bins selected by adaptive
+ * histograms depend on the order in which values are added.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @since 4.0
+ */
+public class StreamingHistogram implements DoubleConsumer, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20261017L;
+
+    /** Limit on bin indices magnitude, ensuring bin boundaries are exactly representable. */
+    private static final double MAX_INDEX = 0x1.0p52;
+
+    /** Number of binary digits of resolution for adaptive histograms with a single distinct value. */
+    private static final int DEGENERATE_RESOLUTION = 20;
+
+    /** Number of bins. */
+    private final int binCount;
+
+    /** Indicator for adaptive bins. */
+    private final boolean adaptive;
+
+    /** Lower bound of fixed bins. */
+    private final double fixedLower;
+
+    /** Upper bound of fixed bins. */
+    private final double fixedUpper;
+
+    /** Width of bins. */
+    private double width;
+
+    /** Base 2 logarithm of the width of adaptive bins. */
+    private int exponent;
+
+    /** Global index of the first adaptive bin (bin i covers ((offset + i) w, (offset + i + 1) w]). */
+    private long offset;
+
+    /** Statistics of the bins (null for empty bins). */
+    private StreamingStatistics[] bins;
+
+    /** Statistics of all values. */
+    private final StreamingStatistics sampleStats;
+
+    /** Values buffered before adaptive bins are set up (null once bins are set up). */
+    private double[] pending;
+
+    /** Number of buffered values. */
+    private int nPending;
+
+    /**
+     * Creates a histogram with adaptive bins.
+     *
+     * @param binCount number of bins, must be at least 2
+     * @throws MathIllegalArgumentException if {@code binCount < 2}
+     */
+    public StreamingHistogram(final int binCount) throws MathIllegalArgumentException {
+        if (binCount < 2) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, binCount, 2);
+        }
+        this.binCount    = binCount;
+        this.adaptive    = true;
+        this.fixedLower  = Double.NaN;
+        this.fixedUpper  = Double.NaN;
+        this.width       = Double.NaN;
+        this.bins        = new StreamingStatistics[binCount];
+        this.sampleStats = new StreamingStatistics();
+        this.pending     = new double[binCount];
+        this.nPending    = 0;
+    }
+
+    /**
+     * Creates a histogram with fixed bins.
+     *
+     * @param binCount number of bins, must be strictly positive
+     * @param lower lower bound of the first bin
+     * @param upper upper bound of the last bin
+     * @throws MathIllegalArgumentException if {@code binCount <= 0}, or if
+     * {@code lower >= upper}, or if either bound is not finite
+     */
+    public StreamingHistogram(final int binCount, final double lower, final double upper)
+        throws MathIllegalArgumentException {
+        if (binCount <= 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   binCount, 0);
+        }
+        if (!(lower < upper)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.LOWER_BOUND_NOT_BELOW_UPPER_BOUND,
+                                                   lower, upper);
+        }
+        if (Double.isInfinite(lower) || Double.isInfinite(upper)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_FINITE_NUMBER,
+                                                   Double.isInfinite(lower) ? lower : upper);
+        }
+        this.binCount    = binCount;
+        this.adaptive    = false;
+        this.fixedLower  = lower;
+        this.fixedUpper  = upper;
+        this.width       = (upper - lower) / binCount;
+        this.bins        = new StreamingStatistics[binCount];
+        this.sampleStats = new StreamingStatistics();
+        this.pending     = null;
+        this.nPending    = 0;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param original histogram to copy
+     */
+    private StreamingHistogram(final StreamingHistogram original) {
+        this.binCount    = original.binCount;
+        this.adaptive    = original.adaptive;
+        this.fixedLower  = original.fixedLower;
+        this.fixedUpper  = original.fixedUpper;
+        this.width       = original.width;
+        this.exponent    = original.exponent;
+        this.offset      = original.offset;
+        this.bins        = copyBins(original.bins);
+        this.sampleStats = original.sampleStats.copy();
+        this.pending     = original.pending == null ? null : original.pending.clone();
+        this.nPending    = original.nPending;
+    }
+
+    /**
+     * Returns a copy of this histogram.
+     *
+     * @return a copy of this histogram
+     */
+    public StreamingHistogram copy() {
+        return new StreamingHistogram(this);
+    }
+
+    /**
+     * Adds a value to the histogram.
+     *
+     * @param value value to add
+     * @throws MathIllegalArgumentException if value is not finite
+     */
+    public void addValue(final double value) throws MathIllegalArgumentException {
+        if (!Double.isFinite(value)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_FINITE_NUMBER, value);
+        }
+        sampleStats.addValue(value);
+        store(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void accept(final double value) {
+        addValue(value);
+    }
+
+    /**
+     * Adds all the values in an array to the histogram.
+     *
+     * @param values values to add
+     * @throws MathIllegalArgumentException if some value is not finite
+     */
+    public void addValues(final double... values) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(values);
+        for (final double value : values) {
+            addValue(value);
+        }
+    }
+
+    /**
+     * Merges another histogram into this one.
+     * <p>
+     * The other histogram is not modified.
+     * </p>
+     *
+     * @param other histogram to merge
+     * @throws MathIllegalArgumentException if the histograms do not have the same
+     * number of bins, or do not have the same kind of bins, or are fixed histograms
+     * with different bounds
+     */
+    public void aggregate(final StreamingHistogram other) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(other);
+        if (binCount != other.binCount || adaptive != other.adaptive ||
+            (!adaptive && (fixedLower != other.fixedLower || fixedUpper != other.fixedUpper))) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.INCOMPATIBLE_HISTOGRAMS,
+                                                   binCount, getLowerBound(), getUpperBound(),
+                                                   other.binCount, other.getLowerBound(), other.getUpperBound());
+        }
+
+        sampleStats.aggregate(other.sampleStats);
+
+        if (other.pending != null) {
+            // the other histogram has only buffered values
+            for (int k = 0; k < other.nPending; ++k) {
+                store(other.pending[k]);
+            }
+        } else if (pending != null) {
+            // this histogram has only buffered values, we adopt the bins of the other one
+            final double[] buffered = pending;
+            final int      nBuffered = nPending;
+            width    = other.width;
+            exponent = other.exponent;
+            offset   = other.offset;
+            bins     = copyBins(other.bins);
+            pending  = null;
+            nPending = 0;
+            for (int k = 0; k < nBuffered; ++k) {
+                insert(buffered[k]);
+            }
+        } else {
+            while (exponent < other.exponent) {
+                rebin(exponent + 1, offset >> 1);
+            }
+            for (int j = 0; j < binCount; ++j) {
+                if (other.bins[j] != null) {
+                    final int slot = adaptive ? slot(other.offset + j, other.exponent) : j;
+                    if (bins[slot] == null) {
+                        bins[slot] = other.bins[j].copy();
+                    } else {
+                        bins[slot].aggregate(other.bins[j]);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Returns the number of bins.
+     *
+     * @return number of bins
+     */
+    public int getBinCount() {
+        return binCount;
+    }
+
+    /**
+     * Checks if the histogram has adaptive bins.
+     *
+     * @return true if the histogram has adaptive bins
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Returns the number of values added to the histogram.
+     *
+     * @return number of values
+     */
+    public long getN() {
+        return sampleStats.getN();
+    }
+
+    /**
+     * Returns statistics describing all the values added to the histogram.
+     *
+     * @return statistics of all values
+     */
+    public StatisticalSummary getSampleStats() {
+        return sampleStats.getSummary();
+    }
+
+    /**
+     * Returns the width of the bins.
+     * <p>
+     * For adaptive histograms, the width is NaN until some value has been added
+     * and may increase as more values are added.
+     * </p>
+     *
+     * @return width of the bins
+     */
+    public double getBinWidth() {
+        flush();
+        return width;
+    }
+
+    /**
+     * Returns the lower bound of the first bin.
+     * <p>
+     * For adaptive histograms, the bound is NaN until some value has been added
+     * and may change as more values are added.
+     * </p>
+     *
+     * @return lower bound of the first bin
+     */
+    public double getLowerBound() {
+        return getBinLowerBound(0);
+    }
+
+    /**
+     * Returns the upper bound of the last bin.
+     * <p>
+     * For adaptive histograms, the bound is NaN until some value has been added
+     * and may change as more values are added.
+     * </p>
+     *
+     * @return upper bound of the last bin
+     */
+    public double getUpperBound() {
+        return adaptive ? getBinLowerBound(binCount) : fixedUpper;
+    }
+
+    /**
+     * Returns the number of values in a bin.
+     *
+     * @param i index of the bin
+     * @return number of values in bin i
+     */
+    public long getBinN(final int i) {
+        flush();
+        return bins[i] == null ? 0 : bins[i].getN();
+    }
+
+    /**
+     * Returns statistics describing the values in a bin.
+     *
+     * @param i index of the bin
+     * @return statistics of the values in bin i (a fresh copy)
+     */
+    public StreamingStatistics getBinStats(final int i) {
+        flush();
+        return bins[i] == null ? new StreamingStatistics() : bins[i].copy();
+    }
+
+    /**
+     * Returns the lower bound of a bin.
+     *
+     * @param i index of the bin (may be {@link #getBinCount()} to get the upper bound of the last bin)
+     * @return lower bound of bin i
+     */
+    double getBinLowerBound(final int i) {
+        flush();
+        if (adaptive) {
+            return (offset + i) * width;
+        } else {
+            return i == binCount ? fixedUpper : fixedLower + i * width;
+        }
+    }
+
+    /**
+     * Get the internal bins statistics.
+     *
+     * @return internal bins statistics (null for empty bins), a reference
+     * to the internal array is returned
+     */
+    StreamingStatistics[] getBins() {
+        flush();
+        return bins; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * Stores a value, either in the buffer or in its bin.
+     *
+     * @param value value to store
+     */
+    private void store(final double value) {
+        if (pending != null) {
+            pending[nPending++] = value;
+            if (nPending == binCount) {
+                flush();
+            }
+        } else {
+            insert(value);
+        }
+    }
+
+    /**
+     * Sets up adaptive bins from the buffered values, if any.
+     */
+    private void flush() {
+
+        if (pending == null || nPending == 0) {
+            return;
+        }
+
+        double a = Double.POSITIVE_INFINITY;
+        double b = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < nPending; ++k) {
+            a = FastMath.min(a, pending[k]);
+            b = FastMath.max(b, pending[k]);
+        }
+
+        // select the finest width for which all buffered values fit in the bins
+        exponent = b > a ?
+                   FastMath.getExponent((b - a) / binCount) :
+                   FastMath.getExponent(FastMath.max(FastMath.abs(a), Double.MIN_NORMAL)) - DEGENERATE_RESOLUTION;
+        width    = FastMath.scalb(1.0, exponent);
+        while (FastMath.max(FastMath.abs(a), FastMath.abs(b)) >= MAX_INDEX * width ||
+               index(b) - index(a) >= binCount) {
+            ++exponent;
+            width = FastMath.scalb(1.0, exponent);
+        }
+        offset = index(a);
+
+        final double[] buffered  = pending;
+        final int      nBuffered = nPending;
+        pending  = null;
+        nPending = 0;
+        for (int k = 0; k < nBuffered; ++k) {
+            insert(buffered[k]);
+        }
+
+    }
+
+    /**
+     * Inserts a value in its bin.
+     *
+     * @param value value to insert
+     */
+    private void insert(final double value) {
+        final int slot;
+        if (adaptive) {
+            while (FastMath.abs(value) >= MAX_INDEX * width) {
+                rebin(exponent + 1, offset >> 1);
+            }
+            slot = slot(index(value), exponent);
+        } else {
+            slot = FastMath.min(FastMath.max((int) FastMath.ceil((value - fixedLower) / width) - 1, 0),
+                                binCount - 1);
+        }
+        if (bins[slot] == null) {
+            bins[slot] = new StreamingStatistics();
+        }
+        bins[slot].addValue(value);
+    }
+
+    /**
+     * Computes the global index of the adaptive bin containing a value.
+     *
+     * @param value value to locate
+     * @return global index of the bin at current width
+     */
+    private long index(final double value) {
+        return (long) FastMath.ceil(value / width) - 1;
+    }
+
+    /**
+     * Finds the slot of a global bin index, shifting or merging bins as needed.
+     *
+     * @param index global bin index
+     * @param indexExponent base 2 logarithm of the width at which the index is
+     * expressed, must be less than or equal to current exponent
+     * @return slot containing the index, at current width
+     */
+    private int slot(final long index, final int indexExponent) {
+        while (true) {
+
+            final long i = index >> FastMath.min(exponent - indexExponent, 63);
+            if (i >= offset && i - offset < binCount) {
+                return (int) (i - offset);
+            }
+
+            // find the range of global indices that must be covered
+            long lo = i;
+            long hi = i;
+            for (int j = 0; j < binCount; ++j) {
+                if (bins[j] != null) {
+                    lo = FastMath.min(lo, offset + j);
+                    hi = FastMath.max(hi, offset + j);
+                }
+            }
+
+            if (hi - lo < binCount) {
+                // shifting bins is sufficient, we leave as much room as possible
+                // in the direction in which the new index lies
+                rebin(exponent, i < offset ? hi - binCount + 1 : lo);
+            } else {
+                // we need to merge bins pairwise
+                rebin(exponent + 1, offset >> 1);
+            }
+
+        }
+    }
+
+    /**
+     * Moves the adaptive bins to a new grid.
+     *
+     * @param newExponent base 2 logarithm of the new width (must be at least the current one)
+     * @param newOffset global index of the first bin in the new grid (the new
+     * grid must cover all current non-empty bins)
+     */
+    private void rebin(final int newExponent, final long newOffset) {
+        final int shift = FastMath.min(newExponent - exponent, 63);
+        final StreamingStatistics[] newBins = new StreamingStatistics[binCount];
+        for (int j = 0; j < binCount; ++j) {
+            if (bins[j] != null) {
+                final int slot = (int) (((offset + j) >> shift) - newOffset);
+                if (newBins[slot] == null) {
+                    newBins[slot] = bins[j];
+                } else {
+                    newBins[slot].aggregate(bins[j]);
+                }
+            }
+        }
+        exponent = newExponent;
+        width    = FastMath.scalb(1.0, exponent);
+        offset   = newOffset;
+        bins     = newBins;
+    }
+
+    /**
+     * Copies bins statistics.
+     *
+     * @param original bins to copy
+     * @return deep copy of bins
+     */
+    private static StreamingStatistics[] copyBins(final StreamingStatistics[] original) {
+        final StreamingStatistics[] copy = new StreamingStatistics[original.length];
+        for (int j = 0; j < original.length; ++j) {
+            copy[j] = original[j] == null ? null : original[j].copy();
+        }
+        return copy;
+    }
+
+}
@@ -424,6 +424,69 @@ public class KolmogorovSmirnovTest { // NOPMD - this is not a Junit test class,
             (greaterCount + equalCount) / (double) iterations;
     }
 
+    /**
+     * Estimates the <i>p-value</i> of a two-sample
+     * <a href="http://en.wikipedia.org/wiki/Kolmogorov-Smirnov_test"> Kolmogorov-Smirnov test</a>
+     * using a resampling engine.
+     * <p>
+     * This is the same bootstrap as {@link #bootstrap(double[], double[], int, boolean)}, but
+     * resampling iterations are spread across the random streams (and possibly the workers)
+     * of the engine, so results are reproducible regardless of parallelism. Values (and hence
+     * ties) are drawn from the combined sample. As the combined sample is sorted only once,
+     * each iteration only counts the drawn values and does not sort anything, so its cost is
+     * linear in the combined sample size.
+     * </p>
+     * @param x first sample
+     * @param y second sample
+     * @param iterations number of bootstrap resampling iterations
+     * @param strict whether or not the null hypothesis is expressed as a strict inequality
+     * @param engine resampling engine
+     * @return estimated p-value
+     * @throws MathIllegalArgumentException if either {@code x} or {@code y} does not have length at
+     *         least 2, or if iterations is not strictly positive
+     * @since 4.0
+     */
+    public double bootstrap(final double[] x, final double[] y, final int iterations, final boolean strict,
+                            final ResamplingEngine engine) {
+
+        MathUtils.checkNotNull(engine);
+        final long d = integralKolmogorovSmirnovStatistic(x, y);
+        final int  n = x.length;
+        final int  m = y.length;
+
+        // sort combined sample once, identifying groups of equal values
+        final double[] combined = MathArrays.concatenate(x, y);
+        Arrays.sort(combined);
+        final int[] group = new int[combined.length];
+        for (int i = 1; i < combined.length; ++i) {
+            group[i] = group[i - 1] + (Double.compare(combined[i], combined[i - 1]) == 0 ? 0 : 1);
+        }
+        final int nGroups = group[combined.length - 1] + 1;
+
+        return engine.pValue(d, iterations, strict,
+                             () -> new int[2][nGroups],
+                             (random, counts) -> {
+                                 final int[] countX = counts[0];
+                                 final int[] countY = counts[1];
+                                 Arrays.fill(countX, 0);
+                                 Arrays.fill(countY, 0);
+                                 for (int i = 0; i < n; ++i) {
+                                     ++countX[group[random.nextInt(combined.length)]];
+                                 }
+                                 for (int i = 0; i < m; ++i) {
+                                     ++countY[group[random.nextInt(combined.length)]];
+                                 }
+                                 long curD = 0L;
+                                 long supD = 0L;
+                                 for (int g = 0; g < nGroups; ++g) {
+                                     curD += (long) countX[g] * m - (long) countY[g] * n;
+                                     supD  = FastMath.max(supD, FastMath.abs(curD));
+                                 }
+                                 return supD;
+                             });
+
+    }
+
     /**
      * Computes {@code bootstrap(x, y, iterations, true)}.
      * This is equivalent to ks.boot(x,y, nboots=iterations) using the R Matching
@@ -973,6 +1036,72 @@ public class KolmogorovSmirnovTest { // NOPMD - this is not a Junit test class,
         return exactPAtMeshpoint(normalizeD, n, m);
     }
 
+    /**
+     * Estimates \(P(D_{n,m} &gt; d)\) if {@code strict} is {@code true}; otherwise \(P(D_{n,m} \ge
+     * d)\), where \(D_{n,m}\) is the 2-sample Kolmogorov-Smirnov statistic, by Monte Carlo
+     * sampling of random m-n partitions.
+     * <p>
+     * This estimates the same probability as {@link #exactP(double, int, int, boolean)}, with a cost
+     * of O(n + m) per iteration instead of O(n m), so it can be used for large samples when the
+     * asymptotic approximation is not accurate enough. Each iteration draws a random partition
+     * by a partial shuffle of a positions buffer reused by all iterations of a chunk.
+     * </p>
+     *
+     * @param d D-statistic value
+     * @param n first sample size
+     * @param m second sample size
+     * @param strict whether or not the probability to compute is expressed as a strict inequality
+     * @param iterations number of random partitions
+     * @param engine resampling engine
+     * @return estimated probability that a randomly selected m-n partition of m + n generates \(D_{n,m}\)
+     *         greater than (resp. greater than or equal to) {@code d}
+     * @throws MathIllegalArgumentException if iterations is not strictly positive
+     * @since 4.0
+     */
+    public double monteCarloP(final double d, final int n, final int m, final boolean strict,
+                              final int iterations, final ResamplingEngine engine) {
+        MathUtils.checkNotNull(engine);
+        if (d < 1 / ((double) n * m)) {
+            return 1.0;
+        } else if (d >= 1) {
+            return 0;
+        }
+        final long dInt = FastMath.round(normalizeD(d, n, m) * n * m);
+        final int  size = n + m;
+        return engine.pValue(dInt, iterations, strict,
+                             () -> {
+                                 // positions permutation and first sample flags
+                                 final int[][] workspace = new int[2][size];
+                                 for (int i = 0; i < size; ++i) {
+                                     workspace[0][i] = i;
+                                 }
+                                 return workspace;
+                             },
+                             (random, workspace) -> {
+                                 final int[] positions = workspace[0];
+                                 final int[] inX       = workspace[1];
+                                 // partial Fisher-Yates shuffle, which selects a uniform random
+                                 // subset of positions whatever the initial permutation is
+                                 for (int i = 0; i < n; ++i) {
+                                     final int j   = i + random.nextInt(size - i);
+                                     final int tmp = positions[i];
+                                     positions[i] = positions[j];
+                                     positions[j] = tmp;
+                                     inX[positions[i]] = 1;
+                                 }
+                                 long curD = 0L;
+                                 long supD = 0L;
+                                 for (int i = 0; i < size; ++i) {
+                                     curD += inX[i] == 1 ? m : -n;
+                                     supD  = FastMath.max(supD, FastMath.abs(curD));
+                                 }
+                                 for (int i = 0; i < n; ++i) {
+                                     inX[positions[i]] = 0;
+                                 }
+                                 return supD;
+                             });
+    }
+
     /**
      * Normalizes a value to an integral multiple of 1/mn between 0 and 1.
      * If d < 1/mn, 0 is returned; if d > 1, 1 is returned; if d is very close
@@ -35,6 +35,7 @@ import org.hipparchus.stat.ranking.NaNStrategy;
 import org.hipparchus.stat.ranking.NaturalRanking;
 import org.hipparchus.stat.ranking.TiesStrategy;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.hipparchus.util.Precision;
 
 /**
@@ -267,6 +268,60 @@ public class MannWhitneyUTest { // NOPMD - this is not a Junit test class, PMD f
                             varU(x.length, y.length, tiesMap));
     }
 
+    /**
+     * Estimates the 2-sided <i>p-value</i> associated with a <a href=
+     * "http://en.wikipedia.org/wiki/Mann%E2%80%93Whitney_U">Mann-Whitney U
+     * Test</a> by random permutations of the combined sample.
+     * <p>
+     * Ranks of the combined sample are computed only once. Each iteration assigns
+     * a random subset of these ranks to the first sample, using a partial shuffle of
+     * a ranks buffer reused by all iterations of a chunk. The p-value is the proportion
+     * of permutations whose U statistic is at least as extreme as the observed one.
+     * Contrary to the exact test, ties are allowed, and contrary to the normal
+     * approximation, results are accurate for small samples.
+     * </p>
+     *
+     * @param x the first sample
+     * @param y the second sample
+     * @param iterations number of random permutations
+     * @param engine resampling engine
+     * @return estimated 2-sided p-value
+     * @throws NullArgumentException if {@code x}, {@code y} or {@code engine} are {@code null}.
+     * @throws MathIllegalArgumentException if {@code x} or {@code y} are
+     *         zero-length or if iterations is not strictly positive
+     * @since 4.0
+     */
+    public double mannWhitneyUPermutationTest(final double[] x, final double[] y,
+                                              final int iterations, final ResamplingEngine engine)
+        throws MathIllegalArgumentException, NullArgumentException {
+
+        ensureDataConformance(x, y);
+        MathUtils.checkNotNull(engine);
+
+        final int    n1    = x.length;
+        final double n1n2  = (double) n1 * y.length;
+        final double[] ranks = naturalRanking.rank(concatenateSamples(x, y));
+        final double offset = ((long) n1 * (n1 + 1)) / 2;
+
+        // the most extreme U values are the largest values of max(U1, U2)
+        final double observed = n1n2 - mannWhitneyU(x, y);
+        return engine.pValue(observed, iterations, false,
+                             ranks::clone,
+                             (random, shuffled) -> {
+                                 double sumRankX = 0;
+                                 for (int i = 0; i < n1; ++i) {
+                                     final int    j   = i + random.nextInt(shuffled.length - i);
+                                     final double tmp = shuffled[j];
+                                     shuffled[j] = shuffled[i];
+                                     shuffled[i] = tmp;
+                                     sumRankX   += tmp;
+                                 }
+                                 final double u1 = sumRankX - offset;
+                                 return FastMath.max(u1, n1n2 - u1);
+                             });
+
+    }
+
     /**
      * Ensures that the provided arrays fulfills the assumptions.
      *
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.inference;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937c;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Engine for Monte Carlo resampling (bootstrap or permutation) tests.
+ * <p>
+ * Iterations are grouped in chunks of fixed size. Each chunk uses its own random
+ * stream, seeded from the engine seed and the chunk index only, and its own
+ * workspace (for example reusable sort or permutation buffers) reused by all
+ * iterations of the chunk. Chunks can therefore be run sequentially or spread across
+ * the workers of a {@link ForkJoinPool}, and results are exactly the same
+ * regardless of the pool parallelism or scheduling.
+ * </p>
+ * <p>
+ * Resampling tests using this engine are available in {@link
+ * KolmogorovSmirnovTest#bootstrap(double[], double[], int, boolean, ResamplingEngine)},
+ * {@link KolmogorovSmirnovTest#monteCarloP(double, int, int, boolean, int, ResamplingEngine)},
+ * {@link MannWhitneyUTest#mannWhitneyUPermutationTest(double[], double[], int, ResamplingEngine)} and
+ * {@link WilcoxonSignedRankTest#wilcoxonSignedRankPermutationTest(double[], double[], int, ResamplingEngine)}.
+ * </p>
+ * @since 4.0
+ */
+public class ResamplingEngine {
+
+    /** Default number of iterations per chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    /** Seed of the random streams. */
+    private final long seed;
+
+    /** Pool to use for computation (null for sequential computation). */
+    private final ForkJoinPool pool;
+
+    /** Number of iterations per chunk. */
+    private final int chunkSize;
+
+    /**
+     * Resampled statistic.
+     * @param <W> type of the workspace
+     */
+    @FunctionalInterface
+    public interface ResampledStatistic<W> {
+
+        /** Evaluate the statistic on one resample.
+         * @param random random generator to use for resampling
+         * @param workspace workspace, reused by all iterations of the same chunk
+         * @return value of the statistic for one resample
+         */
+        double evaluate(RandomGenerator random, W workspace);
+
+    }
+
+    /**
+     * Build a sequential engine.
+     *
+     * @param seed seed of the random streams
+     */
+    public ResamplingEngine(final long seed) {
+        this(seed, null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Build an engine using a fork/join pool.
+     *
+     * @param seed seed of the random streams
+     * @param pool pool to use for computation
+     */
+    public ResamplingEngine(final long seed, final ForkJoinPool pool) {
+        this(seed, checkPool(pool), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Build an engine using a fork/join pool.
+     * <p>
+     * Results depend on the chunk size, as it defines which random stream is used
+     * by each iteration.
+     * </p>
+     *
+     * @param seed seed of the random streams
+     * @param pool pool to use for computation (null for sequential computation)
+     * @param chunkSize number of iterations per chunk
+     * @throws MathIllegalArgumentException if chunk size is not strictly positive
+     */
+    public ResamplingEngine(final long seed, final ForkJoinPool pool, final int chunkSize)
+        throws MathIllegalArgumentException {
+        if (chunkSize < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, chunkSize, 1);
+        }
+        this.seed      = seed;
+        this.pool      = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Get the seed of the random streams.
+     * @return seed of the random streams
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Get the number of iterations per chunk.
+     * @return number of iterations per chunk
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Create the random stream for one chunk.
+     * <p>
+     * The stream depends only on the engine seed and the chunk index.
+     * </p>
+     *
+     * @param chunk chunk index
+     * @return random generator for the chunk
+     */
+    public RandomGenerator createGenerator(final int chunk) {
+        // SplitMix64 to decorrelate the seeds of consecutive chunks
+        long z = seed + (chunk + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return new Well19937c(z ^ (z >>> 31));
+    }
+
+    /**
+     * Count resampled statistics greater than or equal to an observed value.
+     *
+     * @param observed observed value of the statistic
+     * @param iterations number of resampling iterations
+     * @param workspaces factory for workspaces (called once per chunk)
+     * @param statistic resampled statistic (must be thread-safe apart from the workspace)
+     * @param <W> type of the workspace
+     * @return two elements array containing the number of resampled values strictly
+     * greater than {@code observed} and the number of resampled values equal to {@code observed}
+     * @throws MathIllegalArgumentException if iterations is not strictly positive
+     */
+    public <W> long[] count(final double observed, final int iterations,
+                            final Supplier<? extends W> workspaces,
+                            final ResampledStatistic<W> statistic)
+        throws MathIllegalArgumentException {
+
+        if (iterations < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, iterations, 1);
+        }
+        MathUtils.checkNotNull(workspaces);
+        MathUtils.checkNotNull(statistic);
+
+        final int    nChunks = (iterations + chunkSize - 1) / chunkSize;
+        final long[] greater = new long[nChunks];
+        final long[] equal   = new long[nChunks];
+        final ChunksAction<W> action =
+            new ChunksAction<>(0, nChunks, observed, iterations, workspaces, statistic, greater, equal);
+        if (pool == null) {
+            action.computeDirectly();
+        } else {
+            pool.invoke(action);
+        }
+
+        final long[] counts = new long[2];
+        for (int chunk = 0; chunk < nChunks; ++chunk) {
+            counts[0] += greater[chunk];
+            counts[1] += equal[chunk];
+        }
+        return counts;
+
+    }
+
+    /**
+     * Estimate the p-value associated with an observed statistic.
+     *
+     * @param observed observed value of the statistic
+     * @param iterations number of resampling iterations
+     * @param strict if true, the p-value is the proportion of resampled values
+     * strictly greater than {@code observed}, otherwise it is the proportion of
+     * resampled values greater than or equal to {@code observed}
+     * @param workspaces factory for workspaces (called once per chunk)
+     * @param statistic resampled statistic (must be thread-safe apart from the workspace)
+     * @param <W> type of the workspace
+     * @return estimated p-value
+     * @throws MathIllegalArgumentException if iterations is not strictly positive
+     */
+    public <W> double pValue(final double observed, final int iterations, final boolean strict,
+                             final Supplier<? extends W> workspaces,
+                             final ResampledStatistic<W> statistic)
+        throws MathIllegalArgumentException {
+        final long[] counts = count(observed, iterations, workspaces, statistic);
+        return (strict ? counts[0] : counts[0] + counts[1]) / (double) iterations;
+    }
+
+    /** Check pool is not null.
+     * @param pool pool to check
+     * @return pool
+     */
+    private static ForkJoinPool checkPool(final ForkJoinPool pool) {
+        MathUtils.checkNotNull(pool);
+        return pool;
+    }
+
+    /** Recursive action running a range of chunks.
+     * @param <W> type of the workspace
+     */
+    private class ChunksAction<W> extends RecursiveAction {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Start chunk (inclusive). */
+        private final int start;
+
+        /** End chunk (exclusive). */
+        private final int end;
+
+        /** Observed value of the statistic. */
+        private final double observed;
+
+        /** Total number of iterations. */
+        private final int iterations;
+
+        /** Factory for workspaces. */
+        private final transient Supplier<? extends W> workspaces;
+
+        /** Resampled statistic. */
+        private final transient ResampledStatistic<W> statistic;
+
+        /** Number of resampled values greater than observed, per chunk. */
+        private final long[] greater;
+
+        /** Number of resampled values equal to observed, per chunk. */
+        private final long[] equal;
+
+        /** Simple constructor.
+         * @param start start chunk (inclusive)
+         * @param end end chunk (exclusive)
+         * @param observed observed value of the statistic
+         * @param iterations total number of iterations
+         * @param workspaces factory for workspaces
+         * @param statistic resampled statistic
+         * @param greater number of resampled values greater than observed, per chunk
+         * @param equal number of resampled values equal to observed, per chunk
+         */
+        ChunksAction(final int start, final int end, final double observed, final int iterations,
+                     final Supplier<? extends W> workspaces, final ResampledStatistic<W> statistic,
+                     final long[] greater, final long[] equal) {
+            this.start      = start;
+            this.end        = end;
+            this.observed   = observed;
+            this.iterations = iterations;
+            this.workspaces = workspaces;
+            this.statistic  = statistic;
+            this.greater    = greater;
+            this.equal      = equal;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                computeDirectly();
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new ChunksAction<>(start, middle, observed, iterations,
+                                             workspaces, statistic, greater, equal),
+                          new ChunksAction<>(middle, end, observed, iterations,
+                                             workspaces, statistic, greater, equal));
+            }
+        }
+
+        /** Run all chunks of the range in the current thread. */
+        void computeDirectly() {
+            for (int chunk = start; chunk < end; ++chunk) {
+                // workspaces may keep state between iterations (for example a shuffled buffer),
+                // they are not shared between chunks so results do not depend on scheduling
+                final W               workspace = workspaces.get();
+                final RandomGenerator random    = createGenerator(chunk);
+                final int first = chunk * chunkSize;
+                final int last  = (int) FastMath.min((long) first + chunkSize, iterations);
+                for (int i = first; i < last; ++i) {
+                    final double value = statistic.evaluate(random, workspace);
+                    if (value > observed) {
+                        ++greater[chunk];
+                    } else if (value == observed) {
+                        ++equal[chunk];
+                    }
+                }
+            }
+        }
+
+    }
+
+}
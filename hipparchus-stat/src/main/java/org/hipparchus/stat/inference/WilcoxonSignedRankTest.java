@@ -34,6 +34,7 @@ import org.hipparchus.stat.ranking.NaturalRanking;
 import org.hipparchus.stat.ranking.TiesStrategy;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
 
 /**
  * An implementation of the Wilcoxon signed-rank test.
@@ -352,4 +353,65 @@ public class WilcoxonSignedRankTest { // NOPMD - this is not a Junit test class,
             return calculateAsymptoticPValue(stat, n);
         }
     }
+
+    /**
+     * Estimates the 2-sided <i>p-value</i> associated with a <a
+     * href="http://en.wikipedia.org/wiki/Wilcoxon_signed-rank_test"> Wilcoxon
+     * signed ranked statistic</a> by random sign flips.
+     * <p>
+     * Under the null hypothesis, the signs of the differences are independent of
+     * their ranks. Ranks of the absolute differences are computed only once, and
+     * each iteration assigns random signs to them, using the bits of one random
+     * long for 64 ranks. The p-value is the proportion of sign assignments whose
+     * statistic (the larger of W+ and W-) is at least as large as the observed one.
+     * Contrary to the exact test, this can be used for any number of pairs.
+     * </p>
+     * <p>
+     * Tied pairs are discarded from the data.
+     * </p>
+     *
+     * @param x the first sample
+     * @param y the second sample
+     * @param iterations number of random sign assignments
+     * @param engine resampling engine
+     * @return estimated 2-sided p-value
+     * @throws NullArgumentException if {@code x}, {@code y} or {@code engine} are {@code null}.
+     * @throws MathIllegalArgumentException if {@code x} or {@code y} are
+     *         zero-length or for all i, x[i] == y[i]
+     * @throws MathIllegalArgumentException if {@code x} and {@code y} do not
+     *         have the same length.
+     * @throws MathIllegalArgumentException if iterations is not strictly positive
+     * @since 4.0
+     */
+    public double wilcoxonSignedRankPermutationTest(final double[] x, final double[] y,
+                                                    final int iterations, final ResamplingEngine engine)
+        throws MathIllegalArgumentException, NullArgumentException {
+
+        ensureDataConformance(x, y);
+        MathUtils.checkNotNull(engine);
+
+        final double[] ranks = naturalRanking.rank(calculateAbsoluteDifferences(calculateDifferences(x, y)));
+        final int      n     = ranks.length;
+        final double   total = (n * (n + 1)) / 2.0;
+
+        final double observed = wilcoxonSignedRank(x, y);
+        return engine.pValue(observed, iterations, false,
+                             () -> null,
+                             (random, workspace) -> {
+                                 double wPlus = 0;
+                                 long   bits  = 0;
+                                 for (int i = 0; i < n; ++i) {
+                                     if ((i & 0x3F) == 0) {
+                                         bits = random.nextLong();
+                                     }
+                                     if ((bits & 0x1L) != 0) {
+                                         wPlus += ranks[i];
+                                     }
+                                     bits >>>= 1;
+                                 }
+                                 return FastMath.max(wPlus, total - wPlus);
+                             });
+
+    }
+
 }
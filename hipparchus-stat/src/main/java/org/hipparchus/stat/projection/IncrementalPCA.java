@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.projection;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.SingularValueDecomposition;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.stat.LocalizedStatFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Incremental principal component analysis.
+ * <p>
+ * Contrary to {@link PCA}, which needs the whole data set and decomposes the full
+ * covariance matrix, this class maintains only the mean and a rank-k approximation
+ * of the centered data (k singular values and k principal axes). Each mini-batch
+ * passed to {@link #partialFit(double[][])} is merged into this approximation using
+ * a thin singular value decomposition of a (k + b + 1) &times; d matrix, where b
+ * is the batch size and d the number of features. Memory is therefore O(d&middot;k)
+ * between batches, and the full d &times; d covariance matrix is never built. This is
+ * the algorithm from D. Ross, J. Lim, R.-S. Lin and M.-H. Yang, <em>Incremental
+ * Learning for Robust Visual Tracking</em>, International Journal of Computer Vision,
+ * 77(1-3), 2008.
+ * </p>
+ * <p>
+ * For wide data sets available at once, {@link #fitRandomized(double[][], int, int,
+ * RandomGenerator) fitRandomized} computes the rank-k approximation using the
+ * randomized range finder from N. Halko, P.-G. Martinsson and J. A. Tropp,
+ * <em>Finding structure with randomness: Probabilistic algorithms for constructing
+ * approximate matrix decompositions</em>, SIAM Review, 53(2), 2011. The model can
+ * then be refined with further mini-batches.
+ * </p>
+ * <p>
+ * The data are centered but not scaled. As truncation to k components loses the
+ * variance carried by the other axes at each batch, results are approximations
+ * of those of {@link PCA}, which are exact when the data rank does not exceed k.
+ * The sign of each principal axis is chosen so that its largest component (in
+ * absolute value) is positive.
+ * </p>
+ * @since 4.0
+ */
+public class IncrementalPCA {
+
+    /** Number of components (reduced dimensions) for this projection. */
+    private final int numC;
+
+    /** Number of observations seen so far. */
+    private long n;
+
+    /** By column (feature) averages (means) of the observations seen so far. */
+    private double[] center;
+
+    /** Singular values of the centered observations. */
+    private double[] singularValues;
+
+    /** Principal axes, one per row. */
+    private RealMatrix axes;
+
+    /**
+     * Create an incremental PCA.
+     *
+     * @param numC the number of components
+     * @throws MathIllegalArgumentException if the number of components is not strictly positive
+     */
+    public IncrementalPCA(final int numC) throws MathIllegalArgumentException {
+        if (numC < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, numC, 1);
+        }
+        this.numC = numC;
+    }
+
+    /** Get number of components.
+     * @return the number of components
+     */
+    public int getNumComponents() {
+        return numC;
+    }
+
+    /** Get the number of observations used so far.
+     * @return number of observations used so far
+     */
+    public long getN() {
+        return n;
+    }
+
+    /** Get principal component variances.
+     * @return the principal component variances, ordered from largest to smallest
+     */
+    public double[] getVariance() {
+        validateState("getVariance");
+        final double[] variance = new double[singularValues.length];
+        for (int i = 0; i < variance.length; ++i) {
+            variance[i] = n > 1 ? singularValues[i] * singularValues[i] / (n - 1) : 0.0;
+        }
+        return variance;
+    }
+
+    /** Get singular values of the centered observations.
+     * @return the singular values of the centered observations, ordered from largest to smallest
+     */
+    public double[] getSingularValues() {
+        validateState("getSingularValues");
+        return singularValues.clone();
+    }
+
+    /** Get by column center (or mean) of the fitted data.
+     * @return the by column center (or mean) of the fitted data
+     */
+    public double[] getCenter() {
+        validateState("getCenter");
+        return center.clone();
+    }
+
+    /**
+     * Returns the principal components of our projection model.
+     * <p>
+     * As in {@link PCA#getComponents()}, components are the columns of the returned array.
+     * </p>
+     *
+     * @return the principal components
+     */
+    public double[][] getComponents() {
+        validateState("getComponents");
+        return axes.transpose().getData();
+    }
+
+    /**
+     * Transform the supplied data using our projection model.
+     *
+     * @param data the input data
+     * @return the transformed data
+     * @throws MathIllegalArgumentException if the number of features does not match the model
+     */
+    public double[][] transform(final double[][] data) throws MathIllegalArgumentException {
+        validateState("transform");
+        final double[][] centered = new double[data.length][];
+        for (int s = 0; s < data.length; ++s) {
+            checkFeatures(data[s], center.length);
+            centered[s] = new double[center.length];
+            for (int f = 0; f < center.length; ++f) {
+                centered[s][f] = data[s][f] - center[f];
+            }
+        }
+        return MatrixUtils.createRealMatrix(centered).multiplyTransposed(axes).getData();
+    }
+
+    /**
+     * Update the model with a mini-batch of observations.
+     * <p>
+     * The first batch must contain at least as many observations as the number
+     * of components.
+     * </p>
+     *
+     * @param batch mini-batch, with one observation per row
+     * @return this
+     * @throws MathIllegalArgumentException if the batch is too small or if the number
+     * of features does not match the previous batches
+     */
+    public IncrementalPCA partialFit(final double[][] batch) throws MathIllegalArgumentException {
+
+        MathUtils.checkNotNull(batch);
+        final int b = batch.length;
+        if (b == 0) {
+            return this;
+        }
+
+        final boolean first = center == null;
+        final int     d     = first ? batch[0].length : center.length;
+        if (first && (d < numC || b < numC)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_ROWS_AND_COLUMNS,
+                                                   b, d);
+        }
+
+        // batch mean and updated mean
+        final double[] batchMean = new double[d];
+        for (final double[] row : batch) {
+            checkFeatures(row, d);
+            for (int f = 0; f < d; ++f) {
+                batchMean[f] += row[f];
+            }
+        }
+        final long   newN   = n + b;
+        final double[] newCenter = new double[d];
+        for (int f = 0; f < d; ++f) {
+            batchMean[f] /= b;
+            newCenter[f]  = first ? batchMean[f] : center[f] + (batchMean[f] - center[f]) * b / newN;
+        }
+
+        // stack current approximation, centered batch and mean correction
+        final int k = first ? 0 : singularValues.length;
+        final double[][] stacked = new double[k + b + (n > 0 ? 1 : 0)][d];
+        for (int i = 0; i < k; ++i) {
+            for (int f = 0; f < d; ++f) {
+                stacked[i][f] = singularValues[i] * axes.getEntry(i, f);
+            }
+        }
+        for (int s = 0; s < b; ++s) {
+            for (int f = 0; f < d; ++f) {
+                stacked[k + s][f] = batch[s][f] - batchMean[f];
+            }
+        }
+        if (n > 0) {
+            final double correction = FastMath.sqrt((double) n * b / newN);
+            for (int f = 0; f < d; ++f) {
+                stacked[k + b][f] = correction * (batchMean[f] - center[f]);
+            }
+        }
+
+        n      = newN;
+        center = newCenter;
+        truncate(new SingularValueDecomposition(MatrixUtils.createRealMatrix(stacked)));
+        return this;
+
+    }
+
+    /**
+     * Fit the model to a complete data set using a randomized truncated singular value decomposition.
+     * <p>
+     * This resets any previous state. The range of the centered data is sampled by
+     * numC + oversampling random Gaussian projections, refined by the specified number
+     * of power iterations (one or two are usually sufficient when the singular values
+     * decay slowly). The cost is O(n&middot;d&middot;(numC + oversampling)) per iteration,
+     * which is much cheaper than a full decomposition when both n and d are large.
+     * </p>
+     *
+     * @param data the input data, with one observation per row
+     * @param oversampling number of additional random projections (typically 5 to 10)
+     * @param powerIterations number of power iterations
+     * @param random generator for the random projections
+     * @return this
+     * @throws MathIllegalArgumentException if data has fewer rows or columns than
+     * the number of components, or if oversampling or powerIterations is negative
+     */
+    public IncrementalPCA fitRandomized(final double[][] data, final int oversampling,
+                                        final int powerIterations, final RandomGenerator random)
+        throws MathIllegalArgumentException {
+
+        MathUtils.checkNotNull(data);
+        MathUtils.checkNotNull(random);
+        if (oversampling < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, oversampling, 0);
+        }
+        if (powerIterations < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, powerIterations, 0);
+        }
+        final int rows = data.length;
+        final int d    = rows == 0 ? 0 : data[0].length;
+        if (d < numC || rows < numC) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_ROWS_AND_COLUMNS,
+                                                   rows, d);
+        }
+
+        // center data
+        final double[] mean = new double[d];
+        for (final double[] row : data) {
+            checkFeatures(row, d);
+            for (int f = 0; f < d; ++f) {
+                mean[f] += row[f];
+            }
+        }
+        for (int f = 0; f < d; ++f) {
+            mean[f] /= rows;
+        }
+        final double[][] centered = new double[rows][d];
+        for (int s = 0; s < rows; ++s) {
+            for (int f = 0; f < d; ++f) {
+                centered[s][f] = data[s][f] - mean[f];
+            }
+        }
+        final RealMatrix x = MatrixUtils.createRealMatrix(centered);
+
+        // random range finder
+        final int l = FastMath.min(numC + oversampling, FastMath.min(rows, d));
+        final RealMatrix omega = MatrixUtils.createRealMatrix(d, l);
+        for (int i = 0; i < d; ++i) {
+            for (int j = 0; j < l; ++j) {
+                omega.setEntry(i, j, random.nextGaussian());
+            }
+        }
+        RealMatrix q = orthonormalize(x.multiply(omega));
+        for (int i = 0; i < powerIterations; ++i) {
+            q = orthonormalize(x.multiply(orthonormalize(x.transposeMultiply(q))));
+        }
+
+        // small l x d problem
+        n      = rows;
+        center = mean;
+        truncate(new SingularValueDecomposition(q.transposeMultiply(x)));
+        return this;
+
+    }
+
+    /** Keep the leading components of a decomposition.
+     * @param svd singular value decomposition of the (approximated) centered data
+     */
+    private void truncate(final SingularValueDecomposition svd) {
+        final double[] s  = svd.getSingularValues();
+        final RealMatrix v = svd.getV();
+        final int k = FastMath.min(numC, s.length);
+        singularValues = new double[k];
+        axes           = MatrixUtils.createRealMatrix(k, v.getRowDimension());
+        for (int i = 0; i < k; ++i) {
+            singularValues[i] = s[i];
+            final double[] axis = v.getColumn(i);
+
+            // make the largest component positive, to get deterministic signs
+            int largest = 0;
+            for (int f = 1; f < axis.length; ++f) {
+                if (FastMath.abs(axis[f]) > FastMath.abs(axis[largest])) {
+                    largest = f;
+                }
+            }
+            if (axis[largest] < 0) {
+                for (int f = 0; f < axis.length; ++f) {
+                    axis[f] = -axis[f];
+                }
+            }
+
+            axes.setRow(i, axis);
+        }
+    }
+
+    /** Orthonormalize the columns of a matrix.
+     * <p>
+     * This uses modified Gram-Schmidt with re-orthogonalization, which is
+     * sufficient for the few columns involved in the range finder and avoids
+     * building a full square Q factor. Columns that are numerically dependent
+     * on the previous ones are replaced by zeros.
+     * </p>
+     * @param m matrix to orthonormalize
+     * @return matrix with orthonormal (or zero) columns spanning the same space
+     */
+    private static RealMatrix orthonormalize(final RealMatrix m) {
+        final int rows = m.getRowDimension();
+        final int cols = m.getColumnDimension();
+        final double[][] c = m.transpose().getData();
+        for (int j = 0; j < cols; ++j) {
+            final double initialNorm = norm(c[j]);
+            for (int pass = 0; pass < 2; ++pass) {
+                for (int i = 0; i < j; ++i) {
+                    double dot = 0;
+                    for (int r = 0; r < rows; ++r) {
+                        dot += c[i][r] * c[j][r];
+                    }
+                    for (int r = 0; r < rows; ++r) {
+                        c[j][r] -= dot * c[i][r];
+                    }
+                }
+            }
+            final double norm = norm(c[j]);
+            final double scale = norm <= 1.0e-12 * initialNorm || norm == 0 ? 0.0 : 1.0 / norm;
+            for (int r = 0; r < rows; ++r) {
+                c[j][r] *= scale;
+            }
+        }
+        return MatrixUtils.createRealMatrix(c).transpose();
+    }
+
+    /** Compute the Euclidean norm of a vector.
+     * @param v vector
+     * @return Euclidean norm of v
+     */
+    private static double norm(final double[] v) {
+        double sum = 0;
+        for (final double vi : v) {
+            sum += vi * vi;
+        }
+        return FastMath.sqrt(sum);
+    }
+
+    /** Check the number of features of an observation.
+     * @param observation observation to check
+     * @param d expected number of features
+     * @exception MathIllegalArgumentException if the number of features does not match the model
+     */
+    private static void checkFeatures(final double[] observation, final int d)
+        throws MathIllegalArgumentException {
+        if (observation.length != d) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   observation.length, d);
+        }
+    }
+
+    /** Check if the state allows an operation to be performed.
+     * @param from name of the operation
+     * @exception MathIllegalStateException if the state does not allows operation
+     */
+    private void validateState(final String from) {
+        if (center == null) {
+            throw new MathIllegalStateException(LocalizedStatFormats.ILLEGAL_STATE_PCA, from);
+        }
+    }
+
+}
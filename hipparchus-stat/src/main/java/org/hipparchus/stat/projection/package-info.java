@@ -18,7 +18,8 @@
 /**
  *
  *    <p>
- *      Parent package for projections like decomposition (principal component analysis).
+ *      Parent package for projections like decomposition (principal component analysis),
+ *      either on complete data sets or incrementally on streams of observations.
  *    </p>
  *
  */
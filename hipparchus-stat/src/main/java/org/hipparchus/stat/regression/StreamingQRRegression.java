@@ -0,0 +1,628 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.regression;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.stat.LocalizedStatFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Ordinary least squares regression computed from blocks of observations
+ * using a tall-skinny QR (TSQR) factorization.
+ * <p>
+ * The regression only keeps the upper triangular factor R of the QR decomposition
+ * of the augmented design matrix [X | y], which has p + 1 rows and columns if the
+ * model has p regressors (including the constant if any). Each new block of
+ * observations is factored by Householder reflections and merged into R, so memory
+ * does not depend on the number of observations and observations can come from
+ * arrays, from single rows, or from {@link DoubleBuffer buffers} such as
+ * memory-mapped files. Regression parameters, their covariance and the sum of
+ * squared errors are all extracted from R, which is numerically much more stable
+ * than solving the normal equations.
+ * </p>
+ * <p>
+ * Large blocks are split into chunks of a fixed number of rows. When a {@link
+ * ForkJoinPool} is provided, chunks are factored in parallel and their R factors
+ * are merged pairwise along a binary tree. As the tree only depends on the block
+ * size and on the chunk size, the results are exactly the same with or without a
+ * pool, and with any number of workers.
+ * </p>
+ * <p>
+ * Single observations added with {@link #addObservation(double[], double)} are
+ * buffered and merged one chunk at a time.
+ * </p>
+ * <p>
+ * This class is not thread-safe, parallelism is handled internally.
+ * </p>
+ * @see MillerUpdatingRegression
+ * @since 4.0
+ */
+public class StreamingQRRegression implements UpdatingMultipleLinearRegression {
+
+    /** Default number of rows in a chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /** Default threshold for singularity detection. */
+    public static final double DEFAULT_SINGULARITY_THRESHOLD = 1.0e-12;
+
+    /** Number of regressors, including the constant if any. */
+    private final int nvars;
+
+    /** Indicator for a constant term. */
+    private final boolean hasIntercept;
+
+    /** Threshold for singularity detection, relative to R columns norms. */
+    private final double threshold;
+
+    /** Pool to use for computation (null for sequential computation). */
+    private final ForkJoinPool pool;
+
+    /** Number of rows in a chunk. */
+    private final int chunkSize;
+
+    /** Current factorization. */
+    private Factor factor;
+
+    /** Buffered rows of the augmented design matrix. */
+    private final double[][] pending;
+
+    /** Number of buffered rows. */
+    private int nPending;
+
+    /**
+     * Create a sequential regression.
+     *
+     * @param numberOfVariables number of regressors, not including constant
+     * @param includeConstant include a constant automatically
+     * @throws MathIllegalArgumentException if {@code numberOfVariables is less than 1}
+     */
+    public StreamingQRRegression(final int numberOfVariables, final boolean includeConstant)
+        throws MathIllegalArgumentException {
+        this(numberOfVariables, includeConstant, DEFAULT_SINGULARITY_THRESHOLD, null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a parallel regression.
+     *
+     * @param numberOfVariables number of regressors, not including constant
+     * @param includeConstant include a constant automatically
+     * @param pool pool to use for computation
+     * @throws MathIllegalArgumentException if {@code numberOfVariables is less than 1}
+     */
+    public StreamingQRRegression(final int numberOfVariables, final boolean includeConstant,
+                                 final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        this(numberOfVariables, includeConstant, DEFAULT_SINGULARITY_THRESHOLD,
+             checkPool(pool), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a regression.
+     *
+     * @param numberOfVariables number of regressors, not including constant
+     * @param includeConstant include a constant automatically
+     * @param threshold threshold for singularity detection: the model is singular
+     * if some diagonal element of R is smaller than threshold times the norm of
+     * the corresponding design matrix column
+     * @param pool pool to use for computation (null for sequential computation)
+     * @param chunkSize number of rows in a chunk
+     * @throws MathIllegalArgumentException if {@code numberOfVariables is less than 1}
+     * or {@code chunkSize} is not strictly positive
+     */
+    public StreamingQRRegression(final int numberOfVariables, final boolean includeConstant,
+                                 final double threshold, final ForkJoinPool pool, final int chunkSize)
+        throws MathIllegalArgumentException {
+        if (numberOfVariables < 1) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.NO_REGRESSORS);
+        }
+        if (chunkSize <= 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                   chunkSize, 0);
+        }
+        this.nvars        = includeConstant ? numberOfVariables + 1 : numberOfVariables;
+        this.hasIntercept = includeConstant;
+        this.threshold    = FastMath.abs(threshold);
+        this.pool         = pool;
+        this.chunkSize    = chunkSize;
+        this.factor       = new Factor(nvars + 1);
+        this.pending      = new double[chunkSize][nvars + 1];
+        this.nPending     = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasIntercept() {
+        return hasIntercept;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getN() {
+        return factor.n + nPending;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addObservation(final double[] x, final double y) throws MathIllegalArgumentException {
+        checkRowLength(x.length);
+        fillRow(x, y, pending[nPending++]);
+        if (nPending == chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds a block of observations to the regression model.
+     * <p>
+     * Contrary to {@link MillerUpdatingRegression}, blocks may be smaller than the
+     * number of regressors, only the total number of observations matters when
+     * {@link #regress() regress} is called.
+     * </p>
+     * @param x observations on the regressors
+     * @param y observations on the regressand
+     * @throws MathIllegalArgumentException if {@code x} is not rectangular with
+     * the number of regressors as row length, or does not match the length of {@code y}
+     */
+    @Override
+    public void addObservations(final double[][] x, final double[] y) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(x, LocalizedCoreFormats.INPUT_ARRAY);
+        MathUtils.checkNotNull(y, LocalizedCoreFormats.INPUT_ARRAY);
+        MathUtils.checkDimension(x.length, y.length);
+        for (final double[] row : x) {
+            checkRowLength(row.length);
+        }
+        addRows(x.length, (i, row) -> fillRow(x[i], y[i], row));
+    }
+
+    /**
+     * Adds observations stored in a buffer to the regression model.
+     * <p>
+     * The buffer contains observations stored row by row, each row containing the
+     * regressors (not including the constant) followed by the regressand. All rows
+     * from the buffer current position to its limit are read and the position is
+     * set to the limit. Buffers obtained from memory-mapped files can be used to
+     * process data sets much larger than memory, by mapping successive regions of
+     * the file.
+     * </p>
+     * @param buffer buffer containing the observations
+     * @throws MathIllegalArgumentException if the number of remaining elements in
+     * the buffer is not a multiple of the row length
+     */
+    public void addObservations(final DoubleBuffer buffer) throws MathIllegalArgumentException {
+        MathUtils.checkNotNull(buffer);
+        final int rowLength = hasIntercept ? nvars : nvars + 1;
+        if (buffer.remaining() % rowLength != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   buffer.remaining() % rowLength, 0);
+        }
+        final int start  = buffer.position();
+        final int offset = hasIntercept ? 1 : 0;
+        addRows(buffer.remaining() / rowLength, (i, row) -> {
+            final int base = start + i * rowLength;
+            if (hasIntercept) {
+                row[0] = 1.0;
+            }
+            for (int k = 0; k < rowLength; k++) {
+                row[offset + k] = buffer.get(base + k);
+            }
+        });
+        buffer.position(buffer.limit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        factor   = new Factor(nvars + 1);
+        nPending = 0;
+    }
+
+    /**
+     * Get the current upper triangular R factor of the augmented design matrix [X | y].
+     * <p>
+     * The last diagonal element of R is, up to its sign, the square root of the sum of
+     * squared errors of the full model.
+     * </p>
+     * @return a copy of the R factor, with p + 1 rows and columns
+     */
+    public double[][] getR() {
+        flush();
+        final double[][] copy = new double[nvars + 1][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = factor.r[i].clone();
+        }
+        return copy;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RegressionResults regress() throws MathIllegalArgumentException {
+        final int[] all = new int[nvars];
+        for (int i = 0; i < nvars; i++) {
+            all[i] = i;
+        }
+        return regress(all);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Indices refer to the columns of the design matrix, i.e. if the model has a
+     * constant, index 0 corresponds to the constant and index i to regressor i - 1.
+     * Duplicate indices are ignored and parameters are returned in increasing index
+     * order.
+     * </p>
+     * @throws MathIllegalArgumentException if the model is singular
+     */
+    @Override
+    public RegressionResults regress(final int[] variablesToInclude) throws MathIllegalArgumentException {
+
+        MathUtils.checkNotNull(variablesToInclude);
+        if (variablesToInclude.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.NO_REGRESSORS);
+        }
+        if (variablesToInclude.length > nvars) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.TOO_MANY_REGRESSORS,
+                                                   variablesToInclude.length, nvars);
+        }
+        final int[] columns = Arrays.stream(variablesToInclude).sorted().distinct().toArray();
+        for (final int column : columns) {
+            MathUtils.checkRangeInclusive(column, 0, nvars - 1);
+        }
+
+        flush();
+        if (factor.n <= nvars) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.NOT_ENOUGH_DATA_FOR_NUMBER_OF_PREDICTORS,
+                                                   factor.n, nvars);
+        }
+
+        // triangular factor of the selected columns, followed by the regressand
+        final int q = columns.length;
+        final double[][] r;
+        if (q == nvars) {
+            r = factor.r;
+        } else {
+            final double[][] selected = new double[nvars + 1][q + 1];
+            for (int i = 0; i <= nvars; i++) {
+                for (int j = 0; j < q; j++) {
+                    selected[i][j] = factor.r[i][columns[j]];
+                }
+                selected[i][q] = factor.r[i][nvars];
+            }
+            r = new double[q + 1][q + 1];
+            absorb(r, selected, selected.length);
+        }
+
+        // check singularity
+        for (int j = 0; j < q; j++) {
+            double norm2 = 0;
+            for (int i = 0; i <= j; i++) {
+                norm2 += r[i][j] * r[i][j];
+            }
+            if (FastMath.abs(r[j][j]) <= threshold * FastMath.sqrt(norm2)) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+        }
+
+        // parameters, by back substitution
+        final double[] beta = new double[q];
+        for (int i = q - 1; i >= 0; i--) {
+            double sum = r[i][q];
+            for (int j = i + 1; j < q; j++) {
+                sum -= r[i][j] * beta[j];
+            }
+            beta[i] = sum / r[i][i];
+        }
+
+        // inverse of the triangular factor
+        final double[][] rInv = new double[q][q];
+        for (int j = 0; j < q; j++) {
+            rInv[j][j] = 1.0 / r[j][j];
+            for (int i = j - 1; i >= 0; i--) {
+                double sum = 0;
+                for (int k = i + 1; k <= j; k++) {
+                    sum -= r[i][k] * rInv[k][j];
+                }
+                rInv[i][j] = sum / r[i][i];
+            }
+        }
+
+        // parameters covariance: sigma² (R^T R)^-1 = sigma² R^-1 R^-T, in compressed form
+        final double sse = r[q][q] * r[q][q];
+        final double var = sse / (factor.n - q);
+        final double[] cov = new double[q * (q + 1) / 2];
+        int index = 0;
+        for (int i = 0; i < q; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = 0;
+                for (int k = i; k < q; k++) {
+                    sum += rInv[i][k] * rInv[j][k];
+                }
+                cov[index++] = sum * var;
+            }
+        }
+
+        return new RegressionResults(beta, new double[][] { cov }, true, factor.n, q,
+                                     factor.sumY, factor.sumSqY, sse, hasIntercept, false);
+
+    }
+
+    /** Check pool is not null.
+     * @param pool pool to check
+     * @return pool
+     */
+    private static ForkJoinPool checkPool(final ForkJoinPool pool) {
+        MathUtils.checkNotNull(pool);
+        return pool;
+    }
+
+    /**
+     * Check the length of a regressors row.
+     * @param length length of the row
+     * @throws MathIllegalArgumentException if length does not match the number of regressors
+     */
+    private void checkRowLength(final int length) throws MathIllegalArgumentException {
+        if (length != (hasIntercept ? nvars - 1 : nvars)) {
+            throw new MathIllegalArgumentException(LocalizedStatFormats.INVALID_REGRESSION_OBSERVATION,
+                                                   length, nvars);
+        }
+    }
+
+    /**
+     * Fill a row of the augmented design matrix.
+     * @param x regressors
+     * @param y regressand
+     * @param row row to fill
+     */
+    private void fillRow(final double[] x, final double y, final double[] row) {
+        if (hasIntercept) {
+            row[0] = 1.0;
+            System.arraycopy(x, 0, row, 1, x.length);
+        } else {
+            System.arraycopy(x, 0, row, 0, x.length);
+        }
+        row[nvars] = y;
+    }
+
+    /**
+     * Merge buffered rows into the current factorization.
+     */
+    private void flush() {
+        if (nPending > 0) {
+            final Factor chunk = new Factor(nvars + 1);
+            chunk.absorbRows(pending, nPending);
+            factor.merge(chunk);
+            nPending = 0;
+        }
+    }
+
+    /**
+     * Factor a block of rows and merge it into the current factorization.
+     * @param nRows number of rows in the block
+     * @param source source of the rows
+     */
+    private void addRows(final int nRows, final RowSource source) {
+        if (nRows == 0) {
+            return;
+        }
+        final FactorTask task = new FactorTask(source, 0, nRows, chunkSize, nvars + 1, pool != null);
+        factor.merge(pool == null ? task.compute() : pool.invoke(task));
+    }
+
+    /**
+     * Apply Householder reflections to zero out a set of rows against an upper triangular matrix.
+     * <p>
+     * On exit, {@code r} is the upper triangular factor of the QR decomposition
+     * of the matrix obtained by stacking {@code r} over the rows, which are destroyed.
+     * </p>
+     * @param r upper triangular matrix, updated in place
+     * @param rows rows to absorb (destroyed)
+     * @param nRows number of rows to use
+     */
+    private static void absorb(final double[][] r, final double[][] rows, final int nRows) {
+        final int n = r.length;
+        final double[] u = new double[nRows];
+        final double[] s = new double[n];
+        for (int j = 0; j < n; j++) {
+
+            // reflection mapping (r[j][j], rows[0..nRows-1][j]) to (beta, 0...0)
+            double sigma = 0;
+            for (int i = 0; i < nRows; i++) {
+                sigma += rows[i][j] * rows[i][j];
+            }
+            if (sigma == 0) {
+                continue;
+            }
+            final double alpha = r[j][j];
+            final double beta  = alpha >= 0 ? -FastMath.sqrt(alpha * alpha + sigma) : FastMath.sqrt(alpha * alpha + sigma);
+            final double tau   = (beta - alpha) / beta;
+            final double scale = 1.0 / (alpha - beta);
+            for (int i = 0; i < nRows; i++) {
+                u[i] = rows[i][j] * scale;
+                rows[i][j] = 0;
+            }
+            r[j][j] = beta;
+
+            // apply the reflection to the remaining columns, row by row for locality
+            final double[] rJ = r[j];
+            for (int k = j + 1; k < n; k++) {
+                s[k] = rJ[k];
+            }
+            for (int i = 0; i < nRows; i++) {
+                final double[] row = rows[i];
+                final double   ui  = u[i];
+                for (int k = j + 1; k < n; k++) {
+                    s[k] += ui * row[k];
+                }
+            }
+            for (int k = j + 1; k < n; k++) {
+                s[k] *= tau;
+                rJ[k] -= s[k];
+            }
+            for (int i = 0; i < nRows; i++) {
+                final double[] row = rows[i];
+                final double   ui  = u[i];
+                for (int k = j + 1; k < n; k++) {
+                    row[k] -= s[k] * ui;
+                }
+            }
+
+        }
+    }
+
+    /** Source of rows of the augmented design matrix. */
+    @FunctionalInterface
+    private interface RowSource {
+        /**
+         * Fill a row of the augmented design matrix.
+         * @param i index of the row in the block
+         * @param row row to fill (constant, regressors and regressand)
+         */
+        void fill(int i, double[] row);
+    }
+
+    /** Partial QR factorization of the augmented design matrix. */
+    private static class Factor {
+
+        /** Upper triangular factor. */
+        private final double[][] r;
+
+        /** Number of observations. */
+        private long n;
+
+        /** Sum of regressand values. */
+        private double sumY;
+
+        /** Sum of squared regressand values. */
+        private double sumSqY;
+
+        /**
+         * Create an empty factorization.
+         * @param size number of columns of the augmented design matrix
+         */
+        Factor(final int size) {
+            r = new double[size][size];
+        }
+
+        /**
+         * Absorb rows of the augmented design matrix.
+         * @param rows rows to absorb (destroyed)
+         * @param nRows number of rows to use
+         */
+        void absorbRows(final double[][] rows, final int nRows) {
+            final int last = r.length - 1;
+            for (int i = 0; i < nRows; i++) {
+                final double y = rows[i][last];
+                sumY   += y;
+                sumSqY += y * y;
+            }
+            n += nRows;
+            absorb(r, rows, nRows);
+        }
+
+        /**
+         * Merge another factorization into this one.
+         * @param other factorization to merge (its R factor is destroyed)
+         */
+        void merge(final Factor other) {
+            n      += other.n;
+            sumY   += other.sumY;
+            sumSqY += other.sumSqY;
+            absorb(r, other.r, other.r.length);
+        }
+
+    }
+
+    /** Task factoring a range of rows. */
+    private static class FactorTask extends RecursiveTask<Factor> {
+
+        /** Serializable version identifier. */
+        private static final long serialVersionUID = 20261017L;
+
+        /** Source of rows. */
+        private final transient RowSource source;
+
+        /** Index of the first row (inclusive). */
+        private final int from;
+
+        /** Index of the last row (exclusive). */
+        private final int to;
+
+        /** Number of rows in a chunk. */
+        private final int chunkSize;
+
+        /** Number of columns of the augmented design matrix. */
+        private final int size;
+
+        /** Indicator for parallel computation. */
+        private final boolean parallel;
+
+        /**
+         * Simple constructor.
+         * @param source source of rows
+         * @param from index of the first row (inclusive)
+         * @param to index of the last row (exclusive)
+         * @param chunkSize number of rows in a chunk
+         * @param size number of columns of the augmented design matrix
+         * @param parallel if true, sub-tasks are forked
+         */
+        FactorTask(final RowSource source, final int from, final int to,
+                   final int chunkSize, final int size, final boolean parallel) {
+            this.source    = source;
+            this.from      = from;
+            this.to        = to;
+            this.chunkSize = chunkSize;
+            this.size      = size;
+            this.parallel  = parallel;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Factor compute() {
+            if (to - from <= chunkSize) {
+                final double[][] rows = new double[to - from][size];
+                for (int i = from; i < to; i++) {
+                    source.fill(i, rows[i - from]);
+                }
+                final Factor chunk = new Factor(size);
+                chunk.absorbRows(rows, rows.length);
+                return chunk;
+            }
+            final int middle = (from + to) >>> 1;
+            final FactorTask lower = new FactorTask(source, from, middle, chunkSize, size, parallel);
+            final FactorTask upper = new FactorTask(source, middle, to, chunkSize, size, parallel);
+            final Factor result;
+            if (parallel) {
+                upper.fork();
+                result = lower.compute();
+                result.merge(upper.join());
+            } else {
+                result = lower.compute();
+                result.merge(upper.compute());
+            }
+            return result;
+        }
+
+    }
+
+}
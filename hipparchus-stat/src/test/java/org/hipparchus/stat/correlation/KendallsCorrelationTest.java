@@ -30,6 +30,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -284,4 +285,30 @@ class KendallsCorrelationTest extends PearsonsCorrelationTest {
         double coefficient = correlation.correlation(xArray, yArray);
         assertTrue(1.0 >= coefficient && -1.0 <= coefficient);
     }
+
+    @Test
+    void testParallelKendallMatrix() {
+        final RealMatrix data = createTiedData(200, 37, 0xbb67ae8584caa73bL);
+        data.setEntry(3, 5, Double.NaN);
+        data.setEntry(7, 5, Double.NaN);
+        data.setEntry(11, 6, Double.POSITIVE_INFINITY);
+        data.setEntry(13, 6, -0.0);
+        final RealMatrix serial = correlation.computeCorrelationMatrix(data);
+        for (int i = 0; i < data.getColumnDimension(); ++i) {
+            assertEquals(1.0, serial.getEntry(i, i), 0.0);
+            for (int j = 0; j < i; ++j) {
+                // sorts reuse must not change anything with respect to pairwise computation
+                final double expected = correlation.correlation(data.getColumn(i), data.getColumn(j));
+                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(serial.getEntry(i, j)));
+                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(serial.getEntry(j, i)));
+            }
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkIdentical(serial, correlation.computeCorrelationMatrix(data, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -26,9 +26,13 @@ import org.hipparchus.distribution.continuous.TDistribution;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.linear.BlockRealMatrix;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -323,4 +327,48 @@ public class PearsonsCorrelationTest {
             }
         }
     }
+
+    @Test
+    void testParallelPearsonMatrix() {
+        final RealMatrix data = createTiedData(100, 37, 0x1d5e3c8f0a2b4e67L);
+        final PearsonsCorrelation corrInstance = new PearsonsCorrelation();
+        final RealMatrix serial = corrInstance.computeCorrelationMatrix(data);
+        for (int i = 0; i < data.getColumnDimension(); ++i) {
+            for (int j = 0; j < i; ++j) {
+                assertEquals(corrInstance.correlation(data.getColumn(i), data.getColumn(j)),
+                             serial.getEntry(i, j), 0.0);
+            }
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkIdentical(serial, corrInstance.computeCorrelationMatrix(data, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static RealMatrix createTiedData(final int rows, final int columns, final long seed) {
+        final RandomGenerator random = new Well1024a(seed);
+        final RealMatrix data = new BlockRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            final double common = random.nextGaussian();
+            for (int j = 0; j < columns; ++j) {
+                // rounding creates ties, the common part creates correlations
+                data.setEntry(i, j, FastMath.rint(4 * (common * (j % 3) + random.nextGaussian())));
+            }
+        }
+        return data;
+    }
+
+    static void checkIdentical(final RealMatrix expected, final RealMatrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            for (int j = 0; j < expected.getColumnDimension(); ++j) {
+                assertEquals(Double.doubleToLongBits(expected.getEntry(i, j)),
+                             Double.doubleToLongBits(actual.getEntry(i, j)));
+            }
+        }
+    }
+
 }
@@ -30,6 +30,8 @@ import org.hipparchus.stat.ranking.NaNStrategy;
 import org.hipparchus.stat.ranking.NaturalRanking;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -172,4 +174,17 @@ class SpearmansRankCorrelationTest extends PearsonsCorrelationTest {
     @Test
     public void testCovarianceConsistency() {}
 
+    @Test
+    void testParallelSpearmanMatrix() {
+        final RealMatrix data = createTiedData(100, 37, 0x6a09e667f3bcc908L);
+        final SpearmansCorrelation corrInstance = new SpearmansCorrelation();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkIdentical(corrInstance.computeCorrelationMatrix(data),
+                           corrInstance.computeCorrelationMatrix(data, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.descriptive;
+
+import org.hipparchus.distribution.continuous.UniformRealDistribution;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomDataGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentStreamingStatisticsTest {
+
+    @Test
+    void testStripes() {
+        assertEquals(1, new ConcurrentStreamingStatistics(StreamingStatistics.builder(), 1).getStripes());
+        assertEquals(4, new ConcurrentStreamingStatistics(StreamingStatistics.builder(), 3).getStripes());
+        assertEquals(8, new ConcurrentStreamingStatistics(StreamingStatistics.builder(), 8).getStripes());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new ConcurrentStreamingStatistics(StreamingStatistics.builder(), 0));
+    }
+
+    @Test
+    void testEmpty() {
+        final ConcurrentStreamingStatistics stats = new ConcurrentStreamingStatistics();
+        assertEquals(0, stats.getN());
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Double.isNaN(stats.getMin()));
+        assertTrue(Double.isNaN(stats.getPercentile(50)));
+    }
+
+    @Test
+    void testConcurrentIngestion() throws Exception {
+        final int nbThreads = 6;
+        final int perThread = 20000;
+        final double[][] data = new double[nbThreads][];
+        final StreamingStatistics reference = new StreamingStatistics();
+        for (int i = 0; i < nbThreads; ++i) {
+            data[i] = RandomDataGenerator.of(new Well19937a(0x29e8a4c1b1f7d3e5l + i)).nextDeviates(new UniformRealDistribution(1, 100), perThread);
+            DoubleStream.of(data[i]).forEach(reference);
+        }
+
+        final ConcurrentStreamingStatistics stats =
+                        new ConcurrentStreamingStatistics(StreamingStatistics.builder().
+                                                          percentilesPerInstance(1.0e-3, () -> new Well19937a(0x4b2a7c19e5d3f8a1l)),
+                                                          4);
+        final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < nbThreads; ++i) {
+                final double[] chunk = data[i];
+                futures.add(executor.submit(() -> {
+                    for (int k = 0; k < chunk.length; k += 100) {
+                        if ((k / 100) % 2 == 0) {
+                            for (int j = k; j < k + 100; ++j) {
+                                stats.addValue(chunk[j]);
+                            }
+                        } else {
+                            final double[] block = new double[100];
+                            System.arraycopy(chunk, k, block, 0, block.length);
+                            stats.addValues(block);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final StreamingStatistics snapshot = stats.getSnapshot();
+        assertEquals(reference.getN(), stats.getN());
+        assertEquals(reference.getN(), snapshot.getN());
+        assertEquals(reference.getMin(), snapshot.getMin(), 0.0);
+        assertEquals(reference.getMax(), snapshot.getMax(), 0.0);
+        assertEquals(reference.getMean(), snapshot.getMean(), 1.0e-12 * reference.getMean());
+        assertEquals(reference.getVariance(), snapshot.getVariance(), 1.0e-11 * reference.getVariance());
+        assertEquals(reference.getSumOfLogs(), snapshot.getSumOfLogs(), 1.0e-11 * reference.getSumOfLogs());
+        assertEquals(reference.getSumOfSquares(), snapshot.getSumOfSquares(), 1.0e-11 * reference.getSumOfSquares());
+        assertEquals(reference.getGeometricMean(), snapshot.getGeometricMean(), 1.0e-11 * reference.getGeometricMean());
+        assertEquals(50.5, snapshot.getMedian(), 0.5);
+        assertEquals(reference.getMean(), stats.getMean(), 1.0e-12 * reference.getMean());
+        assertEquals(reference.getVariance(), stats.getVariance(), 1.0e-11 * reference.getVariance());
+        assertEquals(reference.getStandardDeviation(), stats.getStandardDeviation(), 1.0e-11 * reference.getStandardDeviation());
+        assertEquals(reference.getSum(), stats.getSum(), 1.0e-11 * reference.getSum());
+        assertEquals(reference.getMin(), stats.getMin(), 0.0);
+        assertEquals(reference.getMax(), stats.getMax(), 0.0);
+        assertEquals(90.1, stats.getPercentile(90), 0.5);
+
+        stats.clear();
+        assertEquals(0, stats.getN());
+    }
+
+    @Test
+    void testAggregate() {
+        final StreamingStatistics partial = new StreamingStatistics();
+        partial.addValue(1.0);
+        partial.addValue(3.0);
+        final ConcurrentStreamingStatistics stats = new ConcurrentStreamingStatistics();
+        stats.accept(2.0);
+        stats.aggregate(partial);
+        assertEquals(3, stats.getN());
+        assertEquals(2.0, stats.getMean(), 1.0e-15);
+        assertEquals(1.0, stats.getVariance(), 1.0e-15);
+        assertEquals(2, partial.getN());
+    }
+
+}
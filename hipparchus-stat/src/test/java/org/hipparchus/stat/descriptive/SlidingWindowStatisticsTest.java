@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.descriptive;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link SlidingWindowStatistics} class.
+ */
+class SlidingWindowStatisticsTest {
+
+    @Test
+    void testAgainstDescriptiveStatistics() {
+        final RandomGenerator random = new Well19937a(0x3f6c41a7b2d0e5c9L);
+        for (final int window : new int[] { 1, 2, 3, 7, 64, 257 }) {
+            final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(window);
+            final DescriptiveStatistics   reference = new DescriptiveStatistics(window);
+            for (int i = 0; i < 2000; ++i) {
+                // include duplicates and a large offset to stress downdates
+                final double v = random.nextInt(4) == 0 ? 3.0 : 1000.0 + 5.0 * random.nextGaussian();
+                sliding.addValue(v);
+                reference.addValue(v);
+                checkEquals(reference, sliding, 1.0e-9);
+            }
+        }
+    }
+
+    @Test
+    void testOutliers() {
+        // removing an outlier that dominates the window cancels most of the moments
+        final RandomGenerator random = new Well19937a(0x5a0c7e93d1f2b468L);
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(17);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(17);
+        for (int i = 0; i < 20000; ++i) {
+            final double v = random.nextInt(4) == 0 ? 1.0e6 : 10.0 + random.nextGaussian();
+            sliding.addValue(v);
+            reference.addValue(v);
+            checkEquals(reference, sliding, 1.0e-9);
+        }
+    }
+
+    @Test
+    void testLevelShift() {
+        final RandomGenerator random = new Well19937a(0x1d94b6e2c8a37f05L);
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(100);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(100);
+        for (int i = 0; i < 1000; ++i) {
+            final double level = (i / 250) % 2 == 0 ? 1.0e6 : 10.0;
+            final double v     = level * (1.0 + 0.01 * random.nextGaussian());
+            sliding.addValue(v);
+            reference.addValue(v);
+            checkEquals(reference, sliding, 1.0e-9);
+        }
+    }
+
+    @Test
+    void testPositiveValues() {
+        final RandomGenerator random = new Well19937a(0x8e21c35fd47a90b1L);
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(50);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(50);
+        for (int i = 0; i < 500; ++i) {
+            final double v = random.nextDouble() * 10;
+            sliding.addValue(v);
+            reference.addValue(v);
+            assertEquals(reference.getGeometricMean(), sliding.getGeometricMean(), 1.0e-12);
+        }
+        sliding.addValue(0.0);
+        reference.addValue(0.0);
+        assertEquals(reference.getGeometricMean(), sliding.getGeometricMean(), 1.0e-12);
+        sliding.addValue(-1.0);
+        reference.addValue(-1.0);
+        assertTrue(Double.isNaN(sliding.getGeometricMean()));
+        assertEquals(reference.getGeometricMean(), sliding.getGeometricMean(), 1.0e-12);
+    }
+
+    @Test
+    void testNonFiniteValues() {
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(3);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(3);
+        final double[] values = {
+            1.0, Double.NaN, 2.0, 3.0, Double.POSITIVE_INFINITY, 4.0, 5.0, 6.0, Double.NEGATIVE_INFINITY, 7.0, 8.0, 9.0
+        };
+        for (final double v : values) {
+            sliding.addValue(v);
+            reference.addValue(v);
+            checkEquals(reference, sliding, 1.0e-12);
+        }
+    }
+
+    @Test
+    void testRemoveAndReplace() {
+        final RandomGenerator random = new Well19937a(0x51b7e4d20c93fa68L);
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(20);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(20);
+        for (int i = 0; i < 1000; ++i) {
+            final double v = random.nextGaussian();
+            switch (random.nextInt(4)) {
+                case 0 :
+                    if (reference.getN() > 0) {
+                        assertEquals(reference.replaceMostRecentValue(v), sliding.replaceMostRecentValue(v), 0.0);
+                    }
+                    break;
+                case 1 :
+                    if (reference.getN() > 0) {
+                        reference.removeMostRecentValue();
+                        sliding.removeMostRecentValue();
+                    }
+                    break;
+                default :
+                    reference.addValue(v);
+                    sliding.addValue(v);
+            }
+            checkEquals(reference, sliding, 1.0e-10);
+        }
+        sliding.clear();
+        assertEquals(0, sliding.getN());
+        assertThrows(MathIllegalStateException.class, sliding::removeMostRecentValue);
+        sliding.addValue(2.5);
+        assertEquals(2.5, sliding.getPercentile(50), 0.0);
+    }
+
+    @Test
+    void testSetWindowSize() {
+        final SlidingWindowStatistics sliding   = new SlidingWindowStatistics(10);
+        final DescriptiveStatistics   reference = new DescriptiveStatistics(10);
+        for (int i = 0; i < 25; ++i) {
+            sliding.addValue(FastMath.sin(i));
+            reference.addValue(FastMath.sin(i));
+        }
+        sliding.setWindowSize(4);
+        reference.setWindowSize(4);
+        checkEquals(reference, sliding, 1.0e-12);
+        sliding.setWindowSize(12);
+        reference.setWindowSize(12);
+        for (int i = 25; i < 40; ++i) {
+            sliding.addValue(FastMath.sin(i));
+            reference.addValue(FastMath.sin(i));
+            checkEquals(reference, sliding, 1.0e-12);
+        }
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> sliding.setWindowSize(DescriptiveStatistics.INFINITE_WINDOW));
+        assertThrows(MathIllegalArgumentException.class, () -> new SlidingWindowStatistics(0));
+        assertThrows(MathIllegalArgumentException.class, () -> sliding.getPercentile(0));
+        assertThrows(MathIllegalArgumentException.class, () -> sliding.getPercentile(100.5));
+    }
+
+    @Test
+    void testCopy() {
+        final SlidingWindowStatistics original = new SlidingWindowStatistics(5);
+        for (int i = 0; i < 8; ++i) {
+            original.addValue(i * i);
+        }
+        final SlidingWindowStatistics copy = original.copy();
+        checkEquals(original, copy, 0.0);
+        original.addValue(100.0);
+        copy.addValue(-100.0);
+        assertEquals(100.0,  original.getMax(), 0.0);
+        assertEquals(-100.0, copy.getMin(), 0.0);
+        assertEquals(16.0,   original.getMin(), 0.0);
+        assertEquals(49.0,   copy.getMax(), 0.0);
+    }
+
+    private void checkEquals(final DescriptiveStatistics expected, final DescriptiveStatistics actual,
+                             final double tolerance) {
+        assertEquals(expected.getN(), actual.getN());
+        assertArrayEquals(expected.getValues(), actual.getValues(), 0.0);
+        assertArrayEquals(expected.getSortedValues(), actual.getSortedValues(), 0.0);
+        assertEquals(expected.getMin(),  actual.getMin(), 0.0);
+        assertEquals(expected.getMax(),  actual.getMax(), 0.0);
+        assertEquals(expected.getSum(),  actual.getSum(),  relative(expected.getSum(), tolerance));
+        assertEquals(expected.getSumOfSquares(),  actual.getSumOfSquares(),
+                     relative(expected.getSumOfSquares(), tolerance));
+        assertEquals(expected.getMean(), actual.getMean(), relative(expected.getMean(), tolerance));
+        // variances errors are driven by the magnitude of the values, not by the spread
+        final double scale = expected.getN() == 0 ? 0.0 : expected.getSumOfSquares() / expected.getN();
+        assertEquals(expected.getVariance(), actual.getVariance(), relative(scale, tolerance));
+        assertEquals(expected.getPopulationVariance(), actual.getPopulationVariance(), relative(scale, tolerance));
+        assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation(),
+                     FastMath.sqrt(relative(scale, tolerance)));
+        if (expected.getVariance() > 1.0e-6 * scale) {
+            // higher moments are ill-conditioned for nearly constant windows
+            assertEquals(expected.getSkewness(), actual.getSkewness(), relative(expected.getSkewness(), 1.0e-6));
+            assertEquals(expected.getKurtosis(), actual.getKurtosis(), relative(expected.getKurtosis(), 1.0e-6));
+        }
+        if (expected.getN() > 0) {
+            for (final double p : new double[] { 0.1, 1, 10, 25, 50, 75, 90, 99, 100 }) {
+                assertEquals(expected.getPercentile(p), actual.getPercentile(p), 0.0);
+            }
+        }
+    }
+
+    private double relative(final double value, final double tolerance) {
+        return Double.isFinite(value) ? tolerance * FastMath.max(1.0, FastMath.abs(value)) : 0.0;
+    }
+
+}
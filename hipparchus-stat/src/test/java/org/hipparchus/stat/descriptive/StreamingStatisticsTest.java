@@ -30,6 +30,7 @@ import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.stream.DoubleStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -501,6 +502,44 @@ class StreamingStatisticsTest {
         assertTrue(Double.isNaN(stats.getPercentile(10)));
     }
 
+    @Test
+    void testCollectParallelStream() {
+        final double[] data = RandomDataGenerator.of(new Well19937a(0x35a2b4e5ab2fb1a1l)).nextDeviates(new UniformRealDistribution(1, 10), 100000);
+        final StreamingStatistics.StreamingStatisticsBuilder builder =
+                        StreamingStatistics.builder().percentilesPerInstance(1.0e-3, () -> new Well19937a(0x6d6ce8d0d4d4b3cel));
+        final StreamingStatistics serial = builder.build();
+        Arrays.stream(data).forEach(serial);
+        final StreamingStatistics parallel = builder.collect(DoubleStream.of(data).parallel());
+        assertEquals(serial.getN(), parallel.getN());
+        assertEquals(serial.getMin(), parallel.getMin(), 0.0);
+        assertEquals(serial.getMax(), parallel.getMax(), 0.0);
+        assertEquals(serial.getMean(), parallel.getMean(), 1.0e-13 * serial.getMean());
+        assertEquals(serial.getVariance(), parallel.getVariance(), 1.0e-11 * serial.getVariance());
+        assertEquals(serial.getSumOfLogs(), parallel.getSumOfLogs(), 1.0e-11 * serial.getSumOfLogs());
+        assertEquals(serial.getSumOfSquares(), parallel.getSumOfSquares(), 1.0e-11 * serial.getSumOfSquares());
+        assertEquals(serial.getGeometricMean(), parallel.getGeometricMean(), 1.0e-11 * serial.getGeometricMean());
+        assertEquals(5.5, parallel.getMedian(), 0.05);
+        assertEquals(1.9, parallel.getPercentile(10), 0.05);
+    }
+
+    @Test
+    void testCollector() {
+        final double[] data = RandomDataGenerator.of(new Well19937a(0x7e1bf6d3c1a2e4f5l)).nextDeviates(new UniformRealDistribution(-3, 4), 20000);
+        final StreamingStatistics serial = new StreamingStatistics();
+        Arrays.stream(data).forEach(serial);
+        final StreamingStatistics collected =
+                        Arrays.stream(data).boxed().parallel().collect(StreamingStatistics.builder().collector());
+        assertEquals(serial.getN(), collected.getN());
+        assertEquals(serial.getMin(), collected.getMin(), 0.0);
+        assertEquals(serial.getMax(), collected.getMax(), 0.0);
+        assertEquals(serial.getMean(), collected.getMean(), 1.0e-12);
+        assertEquals(serial.getVariance(), collected.getVariance(), 1.0e-11 * serial.getVariance());
+        assertTrue(Double.isNaN(collected.getMedian()));
+        final StreamingStatistics empty = StreamingStatistics.builder().collect(DoubleStream.empty().parallel());
+        assertEquals(0, empty.getN());
+        assertTrue(Double.isNaN(empty.getMean()));
+    }
+
     @Test
     void testBuilderMomentsOff() {
         StreamingStatistics stats = StreamingStatistics.
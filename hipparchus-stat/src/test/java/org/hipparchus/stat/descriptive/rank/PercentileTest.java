@@ -39,6 +39,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Locale;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -569,6 +570,100 @@ public class PercentileTest extends UnivariateStatisticAbstractTest{
         }
     }
 
+    @Test
+    void testMultipleQuantiles() {
+        final RandomDataGenerator randomDataGenerator = new RandomDataGenerator(100);
+        final NormalDistribution normalDistribution = new NormalDistribution(4000, 50);
+        final double[] quantiles = { 99.9, 50, 0.01, 90, 99, 50, 100, 25.5 };
+        for (final int sampleSize : new int[] { 2, 3, TINY, SMALL, NOMINAL, MEDIUM, STANDARD }) {
+            final double[] data = randomDataGenerator.nextDeviates(normalDistribution, sampleSize);
+            for (final Percentile.EstimationType e : Percentile.EstimationType.values()) {
+                for (final PivotingStrategy strategy : PivotingStrategy.values()) {
+                    final Percentile percentile = new Percentile().
+                                                  withEstimationType(e).
+                                                  withKthSelector(new KthSelector(strategy));
+                    final double[] copy = data.clone();
+                    final double[] results = percentile.evaluate(copy, quantiles);
+                    assertArrayEquals(data, copy, 0.0);
+                    final double[] inPlace = percentile.evaluateInPlace(copy, quantiles);
+                    for (int i = 0; i < quantiles.length; i++) {
+                        final double expected = new Percentile(quantiles[i]).withEstimationType(e).evaluate(data);
+                        assertEquals(expected, results[i], 0.0, "Sample=" + sampleSize + ",P=" + quantiles[i] + " e=" + e);
+                        assertEquals(expected, inPlace[i], 0.0, "Sample=" + sampleSize + ",P=" + quantiles[i] + " e=" + e);
+                    }
+                    Arrays.sort(copy);
+                    final double[] sorted = data.clone();
+                    Arrays.sort(sorted);
+                    assertArrayEquals(sorted, copy, 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMultipleQuantilesSegment() {
+        final double[] data = new RandomDataGenerator(200).nextDeviates(new NormalDistribution(0, 1), 5000);
+        final double[] quantiles = { 1, 5, 50, 95, 99 };
+        final double[] segment = new Percentile().evaluate(data, 1000, 2000, quantiles);
+        for (int i = 0; i < quantiles.length; i++) {
+            assertEquals(new Percentile().evaluate(data, 1000, 2000, quantiles[i]), segment[i], 0.0);
+        }
+    }
+
+    @Test
+    void testMultipleQuantilesNaNStrategies() {
+        final double[] data = { 5, Double.NaN, 1, 7, Double.NaN, 3, 9, 2, 8, 6, 4, Double.NaN, 10,
+                                11, 12, 13, 14, 15, 16, 17, 18, 19, Double.NaN, 20 };
+        final double[] quantiles = { 10, 50, 90, 100 };
+        for (final NaNStrategy strategy : new NaNStrategy[] { NaNStrategy.MAXIMAL, NaNStrategy.MINIMAL,
+                                                              NaNStrategy.REMOVED, NaNStrategy.FIXED }) {
+            final Percentile percentile = new Percentile().withNaNStrategy(strategy);
+            final double[] results = percentile.evaluate(data, quantiles);
+            final double[] inPlace = percentile.evaluateInPlace(data.clone(), quantiles);
+            for (int i = 0; i < quantiles.length; i++) {
+                final double expected = new Percentile(quantiles[i]).withNaNStrategy(strategy).evaluate(data);
+                assertEquals(expected, results[i], 0.0, strategy + " " + quantiles[i]);
+                if (strategy != NaNStrategy.FIXED) {
+                    // with FIXED strategy, NaNs order depends on partitioning
+                    assertEquals(expected, inPlace[i], 0.0, strategy + " " + quantiles[i]);
+                }
+            }
+        }
+        final Percentile failing = new Percentile().withNaNStrategy(NaNStrategy.FAILED);
+        assertThrows(MathIllegalArgumentException.class, () -> failing.evaluate(data, quantiles));
+        assertThrows(MathIllegalArgumentException.class, () -> failing.evaluateInPlace(data.clone(), quantiles));
+        final double[] allNaN = { Double.NaN, Double.NaN };
+        final double[] removed = new Percentile().withNaNStrategy(NaNStrategy.REMOVED).evaluateInPlace(allNaN, quantiles);
+        assertTrue(Double.isNaN(removed[0]));
+        final Percentile removing = new Percentile().withNaNStrategy(NaNStrategy.REMOVED);
+        final double[] threeNaN = { Double.NaN, Double.NaN, Double.NaN };
+        assertTrue(Double.isNaN(removing.evaluate(threeNaN, 50)));
+        for (final double r : removing.evaluate(threeNaN, quantiles)) {
+            assertTrue(Double.isNaN(r));
+        }
+        final double[] oneLeft = { Double.NaN, 3.0, Double.NaN };
+        assertEquals(removing.evaluate(oneLeft, 50), removing.evaluate(oneLeft, quantiles)[1], 0.0);
+        assertArrayEquals(new double[] { 3, 3, 3, 3 }, removing.evaluate(oneLeft, quantiles), 0.0);
+    }
+
+    @Test
+    void testMultipleQuantilesSpecialCases() {
+        final Percentile percentile = new Percentile();
+        assertEquals(0, percentile.evaluate(new double[] { 1, 2, 3 }, new double[0]).length);
+        assertTrue(Double.isNaN(percentile.evaluate(new double[0], new double[] { 50 })[0]));
+        assertTrue(Double.isNaN(percentile.evaluateInPlace(new double[0], new double[] { 50 })[0]));
+        assertArrayEquals(new double[] { 4, 4 }, percentile.evaluate(new double[] { 4 }, new double[] { 10, 90 }), 0.0);
+        assertArrayEquals(new double[] { 4, 4 }, percentile.evaluateInPlace(new double[] { 4 }, new double[] { 10, 90 }), 0.0);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> percentile.evaluate(new double[] { 1, 2 }, new double[] { 50, 0 }));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> percentile.evaluateInPlace(new double[] { 1, 2 }, new double[] { 101 }));
+        assertThrows(NullArgumentException.class,
+                     () -> percentile.evaluate(new double[] { 1, 2 }, (double[]) null));
+        assertThrows(NullArgumentException.class,
+                     () -> percentile.evaluate((double[]) null, new double[] { 50 }));
+    }
+
     @Test
     void testPercentileWithDataRef() {
         reset(50.0, Percentile.EstimationType.R_7);
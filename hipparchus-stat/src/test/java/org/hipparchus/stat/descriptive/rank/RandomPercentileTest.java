@@ -23,10 +23,12 @@ import org.hipparchus.distribution.continuous.GammaDistribution;
 import org.hipparchus.distribution.continuous.LogNormalDistribution;
 import org.hipparchus.distribution.continuous.NormalDistribution;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.random.MersenneTwister;
 import org.hipparchus.random.RandomDataGenerator;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well19937c;
+import org.hipparchus.stat.LocalizedStatFormats;
 import org.hipparchus.stat.StatUtils;
 import org.hipparchus.stat.descriptive.StorelessUnivariateStatistic;
 import org.hipparchus.stat.descriptive.StorelessUnivariateStatisticAbstractTest;
@@ -37,15 +39,20 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.SplittableRandom;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * Test cases for the {@link RandomPercentileTest} class.
@@ -492,6 +499,183 @@ public class RandomPercentileTest extends
         }
     }
 
+    @Test
+    void testAggregateLargeDataSets() {
+        final RandomDataGenerator random = new RandomDataGenerator(1000);
+        final RandomPercentile master = new RandomPercentile(1.0e-3, new Well19937c(0x5d4c6a1f8e2b3a79l));
+        final RandomPercentile aggregated = new RandomPercentile(1.0e-3, new Well19937c(0x1e9a3b2c7d4f5e60l));
+        for (int j = 0; j < 4; j++) {
+            // parts have different sizes, hence buffers reach different levels
+            final RandomPercentile part = new RandomPercentile(1.0e-3, new Well19937c(0x3c2f1a5b9d8e7f40l + j));
+            for (int k = 0; k < 20000 * (1 << j); k++) {
+                final double value = random.nextUniform(0, 100);
+                part.accept(value);
+                master.accept(value);
+            }
+            aggregated.aggregate(part.copy());
+        }
+        assertEquals(master.getN(), aggregated.getN());
+        for (int l = 1; l < 10; l++) {
+            final double percentile = l * 10;
+            assertEquals(percentile, master.getResult(percentile), 0.25, "percentile = " + percentile);
+            assertEquals(percentile, aggregated.getResult(percentile), 0.25, "percentile = " + percentile);
+        }
+    }
+
+    @Test
+    void testCopyHighLevelBuffers() {
+        final RandomDataGenerator random = new RandomDataGenerator(1000);
+        final RandomPercentile original = new RandomPercentile(1.0e-3, new Well19937c(0x6a7b8c9d0e1f2a3bl));
+        for (int k = 0; k < 200000; k++) {
+            original.accept(random.nextUniform(0, 100));
+        }
+        final RandomPercentile copy = original.copy();
+        for (int l = 1; l < 10; l++) {
+            final double percentile = l * 10;
+            assertEquals(original.getResult(percentile), copy.getResult(percentile), 1.0e-15);
+            assertEquals(original.getRank(percentile), copy.getRank(percentile), 1.0e-15);
+        }
+    }
+
+    @Test
+    void testEncodeDecode() {
+        final RandomDataGenerator random = new RandomDataGenerator(1000);
+        final RandomPercentile original = new RandomPercentile(1.0e-3, new Well19937c(0x2f8e6d4c1b3a5978l));
+        final int maxSize = (int) (8 * RandomPercentile.maxValuesRetained(1.0e-3) + 1000);
+        int previousSize = 0;
+        for (int k = 0; k < 1000000; k++) {
+            original.accept(random.nextGaussian());
+            if (k % 100000 == 0) {
+                final int size = original.getEncodedSize();
+                assertTrue(size < maxSize);
+                assertTrue(size >= previousSize || k > 20000);
+                previousSize = size;
+            }
+        }
+        final byte[] encoded = original.encode();
+        assertEquals(original.getEncodedSize(), encoded.length);
+        assertTrue(encoded.length < maxSize);
+        final RandomPercentile decoded = RandomPercentile.decode(encoded, new Well19937c(0x7a4b3c2d1e0f9a8bl));
+        assertEquals(original.getN(), decoded.getN());
+        for (int l = 0; l <= 10; l++) {
+            final double percentile = l * 10;
+            assertEquals(original.getResult(percentile), decoded.getResult(percentile), 1.0e-15);
+            assertEquals(original.getRank(percentile / 50), decoded.getRank(percentile / 50), 1.0e-15);
+        }
+
+        // decoded instances can go on consuming data
+        for (int k = 0; k < 1000000; k++) {
+            decoded.accept(random.nextGaussian());
+        }
+        assertEquals(2000000, decoded.getN());
+        assertEquals(0.0, decoded.getResult(50), 0.01);
+        assertArrayEquals(decoded.encode(), RandomPercentile.decode(decoded.encode(), new Well19937c()).encode());
+    }
+
+    @Test
+    void testEncodeByteBuffer() {
+        final RandomPercentile original = new RandomPercentile(1.0e-2, new Well19937c(0x1c5f3e7a9b2d4c6el));
+        for (int k = 0; k < 5000; k++) {
+            original.accept(k % 101);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(original.getEncodedSize() + 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0x123456789abcdefl);
+        original.encode(buffer);
+        buffer.putLong(0xfedcba987654321l);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        buffer.flip();
+        assertEquals(0x123456789abcdefl, buffer.getLong());
+        final RandomPercentile decoded = RandomPercentile.decode(buffer, new Well19937c());
+        assertEquals(0xfedcba987654321l, buffer.getLong());
+        assertEquals(0, buffer.remaining());
+        assertEquals(original.getN(), decoded.getN());
+        assertEquals(original.getResult(25), decoded.getResult(25), 1.0e-15);
+        assertArrayEquals(original.encode(), decoded.encode());
+        assertThrows(BufferOverflowException.class, () -> original.encode(ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    void testMergeEncoded() {
+        final RandomDataGenerator random = new RandomDataGenerator(1000);
+        final RandomPercentile master = new RandomPercentile(1.0e-3, new Well19937c(0x4e3d2c1b0a9f8e7dl));
+        final byte[][] nodes = new byte[3][];
+        for (int j = 0; j < nodes.length; j++) {
+            final RandomPercentile node = new RandomPercentile(1.0e-3, new Well19937c(0x5f6e7d8c9bab0c1dl + j));
+            for (int k = 0; k < 150000 * (j + 1); k++) {
+                final double value = random.nextExponential(1.0);
+                node.accept(value);
+                master.accept(value);
+            }
+            nodes[j] = node.encode();
+        }
+        final RandomPercentile merged = RandomPercentile.merge(new Well19937c(0x6a5b4c3d2e1f0a9bl), nodes);
+        assertEquals(master.getN(), merged.getN());
+        for (int l = 1; l < 10; l++) {
+            // check quantile ranks using exponential distribution cumulative probability
+            final double percentile = l * 10;
+            assertEquals(percentile / 100, 1 - FastMath.exp(-master.getResult(percentile)), 0.01, "percentile = " + percentile);
+            assertEquals(percentile / 100, 1 - FastMath.exp(-merged.getResult(percentile)), 0.01, "percentile = " + percentile);
+        }
+        final RandomPercentile single = RandomPercentile.merge(new Well19937c(), nodes[0]);
+        assertEquals(150000, single.getN());
+    }
+
+    @Test
+    void testMergeEncodedErrors() {
+        final RandomPercentile a = new RandomPercentile(1.0e-3, new Well19937c());
+        final RandomPercentile b = new RandomPercentile(1.0e-2, new Well19937c());
+        a.accept(1.0);
+        b.accept(2.0);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RandomPercentile.merge(new Well19937c(), a.encode(), b.encode()));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RandomPercentile.merge(new Well19937c()));
+        assertThrows(NullArgumentException.class,
+                     () -> RandomPercentile.merge(new Well19937c(), (byte[][]) null));
+    }
+
+    @Test
+    void testDecodeInvalid() {
+        final RandomPercentile original = new RandomPercentile(1.0e-3, new Well19937c());
+        for (int k = 0; k < 100; k++) {
+            original.accept(k);
+        }
+        final byte[] encoded = original.encode();
+
+        // wrong magic number
+        final byte[] wrongMagic = encoded.clone();
+        wrongMagic[0] ^= 0x01;
+        checkInvalidEncoding(wrongMagic);
+
+        // unknown version
+        final byte[] wrongVersion = encoded.clone();
+        wrongVersion[7] = 0x7f;
+        checkInvalidEncoding(wrongVersion);
+
+        // truncated data
+        checkInvalidEncoding(Arrays.copyOf(encoded, encoded.length - 1));
+        checkInvalidEncoding(new byte[3]);
+
+        // corrupted number of values in buffer
+        final byte[] wrongNext = encoded.clone();
+        ByteBuffer.wrap(wrongNext).putInt(28 + 20, -1);
+        checkInvalidEncoding(wrongNext);
+
+        assertThrows(NullArgumentException.class,
+                     () -> RandomPercentile.decode((byte[]) null, new Well19937c()));
+        assertThrows(NullArgumentException.class,
+                     () -> RandomPercentile.decode(encoded, null));
+    }
+
+    private void checkInvalidEncoding(final byte[] encoded) {
+        try {
+            RandomPercentile.decode(encoded, new Well19937c());
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedStatFormats.INVALID_SKETCH_ENCODING, miae.getSpecifier());
+        }
+    }
+
     private Double[] randomTestData(int factor, int values) {
         Double[] test = new Double[values];
         for (int i = 0; i < test.length; i++) {
@@ -33,6 +33,8 @@ import org.hipparchus.distribution.continuous.UniformRealDistribution;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.stat.descriptive.StreamingStatistics;
 import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +48,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -578,6 +581,106 @@ public final class EmpiricalDistributionTest extends RealDistributionAbstractTes
         assertEquals(1, edist.cumulativeProbability(1.5), Double.MIN_VALUE);
     }
 
+    @Test
+    void testGeneratorBinLookup() {
+        final double[] data = new double[2000];
+        final RandomGenerator random = new Well19937a(0x5a2c1e8b7f3d4961L);
+        for (int i = 0; i < data.length; ++i) {
+            // skewed data, so many bins are empty and others are crowded
+            data[i] = FastMath.exp(3 * random.nextGaussian());
+        }
+        final EmpiricalDistribution dist = new EmpiricalDistribution(500);
+        dist.load(data);
+        final double[] generatorBounds = dist.getGeneratorUpperBounds();
+        final double[] binBounds       = dist.getUpperBounds();
+
+        // probabilities exactly at generator bounds and strictly between them
+        final List<Double> probabilities = new ArrayList<>();
+        for (final double b : generatorBounds) {
+            if (b > 0 && b < 1) {
+                probabilities.add(b);
+                probabilities.add(FastMath.nextDown(b));
+                probabilities.add(FastMath.nextUp(b));
+            }
+        }
+        for (int i = 0; i < 1000; ++i) {
+            probabilities.add(random.nextDouble());
+        }
+
+        for (final double p : probabilities) {
+            if (p <= 0 || p >= 1) {
+                continue;
+            }
+            // reference linear search
+            int bin = 0;
+            while (generatorBounds[bin] < p) {
+                ++bin;
+            }
+            final double x = dist.inverseCumulativeProbability(p);
+            final double lower = bin == 0 ? dist.getSupportLowerBound() : binBounds[bin - 1];
+            assertTrue(x >= lower - 1.0e-6 * FastMath.abs(lower));
+            assertTrue(x <= binBounds[bin] + 1.0e-6 * FastMath.abs(binBounds[bin]));
+        }
+    }
+
+    @Test
+    void testFromHistogram() {
+        final double[] data = new double[5000];
+        final RandomGenerator random = new Well19937a(0x1d3f7b2a98c4e605L);
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = 5.0 + 1.5 * random.nextGaussian();
+        }
+
+        // fixed bins on data range reproduce two-pass loading
+        final StreamingStatistics stats = new StreamingStatistics();
+        final StreamingHistogram fixed = new StreamingHistogram(100, minOf(data), maxOf(data));
+        for (double x : data) {
+            stats.addValue(x);
+            fixed.addValue(x);
+        }
+        final EmpiricalDistribution loaded = new EmpiricalDistribution(100);
+        loaded.load(data);
+        final EmpiricalDistribution streamed = new EmpiricalDistribution(fixed, new Well19937a(0x3b8a7c61L));
+        assertTrue(streamed.isLoaded());
+        assertEquals(loaded.getBinCount(), streamed.getBinCount());
+        assertEquals(loaded.getSupportLowerBound(), streamed.getSupportLowerBound(), 1.0e-12);
+        assertEquals(loaded.getSupportUpperBound(), streamed.getSupportUpperBound(), 1.0e-12);
+        assertEquals(stats.getMean(), streamed.getNumericalMean(), 1.0e-12);
+        assertEquals(stats.getVariance(), streamed.getNumericalVariance(), 1.0e-10);
+        for (int i = 0; i < loaded.getBinCount(); ++i) {
+            assertEquals(loaded.getBinStats().get(i).getN(), streamed.getBinStats().get(i).getN());
+        }
+        for (double p = 0.01; p < 1; p += 0.01) {
+            assertEquals(loaded.inverseCumulativeProbability(p), streamed.inverseCumulativeProbability(p), 1.0e-10);
+        }
+
+        // adaptive bins
+        final StreamingHistogram adaptive = new StreamingHistogram(64);
+        adaptive.addValues(data);
+        final EmpiricalDistribution fromAdaptive = new EmpiricalDistribution(adaptive, new Well19937a(0x3b8a7c61L));
+        assertTrue(fromAdaptive.getBinCount() <= 64);
+        assertTrue(fromAdaptive.getSupportLowerBound() < stats.getMin());
+        assertTrue(fromAdaptive.getSupportUpperBound() >= stats.getMax());
+        assertEquals(0.0, fromAdaptive.cumulativeProbability(fromAdaptive.getSupportLowerBound()), 1.0e-15);
+        assertEquals(1.0, fromAdaptive.cumulativeProbability(fromAdaptive.getSupportUpperBound()), 1.0e-15);
+        final StreamingStatistics generated = new StreamingStatistics();
+        for (int i = 0; i < 20000; ++i) {
+            generated.addValue(fromAdaptive.getNextValue());
+        }
+        assertEquals(stats.getMean(), generated.getMean(), 0.05);
+        assertEquals(stats.getStandardDeviation(), generated.getStandardDeviation(), 0.05);
+
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new EmpiricalDistribution(new StreamingHistogram(10), random));
+    }
+
+    private static double minOf(final double[] data) {
+        return Arrays.stream(data).min().getAsDouble();
+    }
+
+    private static double maxOf(final double[] data) {
+        return Arrays.stream(data).max().getAsDouble();
+    }
 
     /**
      * Empirical distribution using a constant smoothing kernel.
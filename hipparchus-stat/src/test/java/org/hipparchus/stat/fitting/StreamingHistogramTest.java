@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.fitting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.stat.descriptive.StreamingStatistics;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+class StreamingHistogramTest {
+
+    @Test
+    void testFixedBins() {
+        final double[] data = gaussian(10000, 0x8c1b4e7d2a3f6051L);
+        final StreamingHistogram histogram = new StreamingHistogram(50, -2.0, 3.0);
+        histogram.addValues(data);
+        assertEquals(data.length, histogram.getN());
+        assertEquals(0.1, histogram.getBinWidth(), 1.0e-15);
+        assertEquals(-2.0, histogram.getLowerBound(), 0.0);
+        assertEquals(3.0, histogram.getUpperBound(), 0.0);
+
+        // values outside of the range are counted in the edge bins
+        long total = 0;
+        for (int i = 0; i < histogram.getBinCount(); ++i) {
+            final double lower = i == 0 ? Double.NEGATIVE_INFINITY : histogram.getBinLowerBound(i);
+            final double upper = i == histogram.getBinCount() - 1 ?
+                                 Double.POSITIVE_INFINITY : histogram.getBinLowerBound(i + 1);
+            assertEquals(count(data, lower, upper), histogram.getBinN(i));
+            total += histogram.getBinN(i);
+        }
+        assertEquals(data.length, total);
+    }
+
+    @Test
+    void testAdaptiveBins() {
+        final double[] data = gaussian(20000, 0x27e9d5a3c1f08b46L);
+        final StreamingHistogram histogram = new StreamingHistogram(64);
+        histogram.addValues(data);
+        checkAdaptive(histogram, data);
+        assertEquals(Arrays.stream(data).average().getAsDouble(), histogram.getSampleStats().getMean(), 1.0e-14);
+    }
+
+    @Test
+    void testAdaptiveDrift() {
+        // monotonic data force bins to shift and merge repeatedly
+        final double[] data = new double[10000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = 1.0e-3 * i * i;
+        }
+        final StreamingHistogram histogram = new StreamingHistogram(16);
+        histogram.addValues(data);
+        checkAdaptive(histogram, data);
+    }
+
+    @Test
+    void testAdaptiveDegenerate() {
+        final double[] data = new double[100];
+        Arrays.fill(data, -3.25);
+        final StreamingHistogram histogram = new StreamingHistogram(10);
+        histogram.addValues(data);
+        checkAdaptive(histogram, data);
+        final EmpiricalDistribution distribution = new EmpiricalDistribution(histogram, new Well19937a(0x2c9e5b13L));
+        assertEquals(-3.25, distribution.getNextValue(), 0.0);
+    }
+
+    @Test
+    void testAdaptiveFewValues() {
+        final StreamingHistogram histogram = new StreamingHistogram(100);
+        assertTrue(Double.isNaN(histogram.getBinWidth()));
+        histogram.addValues(1.0, 4.0, 2.5);
+        checkAdaptive(histogram, new double[] { 1.0, 4.0, 2.5 });
+    }
+
+    @Test
+    void testMergeFixed() {
+        final double[] data = gaussian(10000, 0x4f3a92c7e61d8b05L);
+        final StreamingHistogram single = new StreamingHistogram(40, -3.0, 3.0);
+        single.addValues(data);
+        final StreamingHistogram merged = new StreamingHistogram(40, -3.0, 3.0);
+        for (int k = 0; k < 4; ++k) {
+            final StreamingHistogram partial = new StreamingHistogram(40, -3.0, 3.0);
+            partial.addValues(Arrays.copyOfRange(data, k * 2500, (k + 1) * 2500));
+            merged.aggregate(partial);
+        }
+        assertEquals(single.getN(), merged.getN());
+        for (int i = 0; i < single.getBinCount(); ++i) {
+            final StreamingStatistics s = single.getBinStats(i);
+            final StreamingStatistics m = merged.getBinStats(i);
+            assertEquals(s.getN(), m.getN());
+            assertEquals(s.getMean(), m.getMean(), 1.0e-14);
+            assertEquals(s.getVariance(), m.getVariance(), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testMergeAdaptive() {
+        // workers see data with very different ranges and sizes
+        final double[] data = gaussian(30000, 0x6ad1f03b5c8e2947L);
+        for (int i = 20000; i < 25000; ++i) {
+            data[i] = 1000 + 0.001 * data[i];
+        }
+        final int[] cuts = { 0, 7, 20000, 25000, 30000 };
+        final StreamingHistogram merged = new StreamingHistogram(32);
+        for (int k = 0; k + 1 < cuts.length; ++k) {
+            final StreamingHistogram partial = new StreamingHistogram(32);
+            partial.addValues(Arrays.copyOfRange(data, cuts[k], cuts[k + 1]));
+            merged.aggregate(partial);
+        }
+        checkAdaptive(merged, data);
+
+        // parallel stream
+        final StreamingHistogram collected =
+            Arrays.stream(data).parallel().collect(() -> new StreamingHistogram(32),
+                                                   StreamingHistogram::addValue,
+                                                   StreamingHistogram::aggregate);
+        checkAdaptive(collected, data);
+    }
+
+    @Test
+    void testCopy() {
+        final double[] data = gaussian(1000, 0x71b3e0c95d2a4f86L);
+        final StreamingHistogram original = new StreamingHistogram(20);
+        original.addValues(Arrays.copyOf(data, 10));
+        final StreamingHistogram copy = original.copy();
+        original.addValues(Arrays.copyOfRange(data, 10, data.length));
+        copy.addValues(Arrays.copyOfRange(data, 10, data.length));
+        checkAdaptive(copy, data);
+        assertEquals(original.getBinWidth(), copy.getBinWidth(), 0.0);
+        for (int i = 0; i < original.getBinCount(); ++i) {
+            assertEquals(original.getBinN(i), copy.getBinN(i));
+        }
+    }
+
+    @Test
+    void testErrors() {
+        assertThrows(MathIllegalArgumentException.class, () -> new StreamingHistogram(1));
+        assertThrows(MathIllegalArgumentException.class, () -> new StreamingHistogram(0, 0.0, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> new StreamingHistogram(10, 1.0, 1.0));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new StreamingHistogram(10, 0.0, Double.POSITIVE_INFINITY));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new StreamingHistogram(10).addValue(Double.NaN));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new StreamingHistogram(10, 0.0, 1.0).aggregate(new StreamingHistogram(10, 0.0, 2.0)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new StreamingHistogram(10, 0.0, 1.0).aggregate(new StreamingHistogram(10)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new StreamingHistogram(10).aggregate(new StreamingHistogram(20)));
+    }
+
+    private void checkAdaptive(final StreamingHistogram histogram, final double[] data) {
+
+        assertEquals(data.length, histogram.getN());
+
+        // width is a power of two and bins boundaries are multiples of the width
+        final double width = histogram.getBinWidth();
+        assertEquals(1.0, FastMath.scalb(width, -FastMath.getExponent(width)), 0.0);
+        assertEquals(0.0, FastMath.IEEEremainder(histogram.getLowerBound(), width), 0.0);
+
+        // each value is in its bin
+        long total = 0;
+        for (int i = 0; i < histogram.getBinCount(); ++i) {
+            final double lower = histogram.getBinLowerBound(i);
+            final double upper = histogram.getBinLowerBound(i + 1);
+            assertEquals(count(data, lower, upper), histogram.getBinN(i));
+            total += histogram.getBinN(i);
+        }
+        assertEquals(data.length, total);
+
+    }
+
+    private long count(final double[] data, final double lower, final double upper) {
+        return Arrays.stream(data).filter(x -> x > lower && x <= upper).count();
+    }
+
+    private double[] gaussian(final int n, final long seed) {
+        final RandomGenerator random = new Well19937a(seed);
+        final double[] data = new double[n];
+        for (int i = 0; i < n; ++i) {
+            data[i] = random.nextGaussian();
+        }
+        return data;
+    }
+
+}
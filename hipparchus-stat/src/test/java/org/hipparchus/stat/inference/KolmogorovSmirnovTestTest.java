@@ -38,6 +38,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -811,4 +812,65 @@ public class KolmogorovSmirnovTestTest {
         return (boolean) method.invoke(KolmogorovSmirnovTest.class, x, y);
     }
 
+    @Test
+    void testEngineBootstrapReferences() {
+        // same references as the legacy bootstrap tests
+        final KolmogorovSmirnovTest test   = new KolmogorovSmirnovTest();
+        final ResamplingEngine      engine = new ResamplingEngine(1000L);
+        assertEquals(0.0059,
+                     test.bootstrap(new double[] {0, 2, 4, 6, 8, 8, 10, 15, 22, 30, 33, 36, 38},
+                                    new double[] {9, 17, 20, 33, 40, 51, 60, 60, 72, 90, 101},
+                                    10000, false, engine),
+                     1E-3);
+        assertEquals(0.0237, test.bootstrap(gaussian, gaussian2, 10000, true, engine), 1E-2);
+        assertEquals(0.06303,
+                     test.bootstrap(new double[] {2, 4, 6, 8, 9, 10, 11, 12, 13}, new double[] {0, 1, 3, 5, 7},
+                                    10000, false, engine),
+                     1E-2);
+    }
+
+    @Test
+    void testEngineReproducibility() {
+        final KolmogorovSmirnovTest test = new KolmogorovSmirnovTest();
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final double sequential = test.bootstrap(gaussian, gaussian2, 5000, true, new ResamplingEngine(42L));
+            final double parallel   = test.bootstrap(gaussian, gaussian2, 5000, true, new ResamplingEngine(42L, pool));
+            assertEquals(sequential, parallel, 0.0);
+            assertEquals(test.monteCarloP(0.3, 40, 35, false, 5000, new ResamplingEngine(17L)),
+                         test.monteCarloP(0.3, 40, 35, false, 5000, new ResamplingEngine(17L, pool)),
+                         0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMonteCarloP() {
+        final KolmogorovSmirnovTest test   = new KolmogorovSmirnovTest();
+        final ResamplingEngine      engine = new ResamplingEngine(0x4b3a1e57L);
+        final int n = 40;
+        final int m = 35;
+        for (final double d : new double[] { 0.2, 0.25, 3.0 / 7.0 }) {
+            for (final boolean strict : new boolean[] { true, false }) {
+                assertEquals(test.exactP(d, n, m, strict), test.monteCarloP(d, n, m, strict, 20000, engine), 0.01);
+            }
+        }
+        assertEquals(1.0, test.monteCarloP(0.0, n, m, true, 100, engine), 0.0);
+        assertEquals(0.0, test.monteCarloP(1.0, n, m, true, 100, engine), 0.0);
+    }
+
+    @Test
+    void testMonteCarloPLargeSamples() {
+        // n m = 2^32 overflows int arithmetic
+        final KolmogorovSmirnovTest test   = new KolmogorovSmirnovTest();
+        final ResamplingEngine      engine = new ResamplingEngine(0x2c9e5f07L);
+        final int n = 65536;
+        final int m = 65536;
+        final double d = 0.005;
+        final double p = test.monteCarloP(d, n, m, false, 50, engine);
+        assertTrue(p < 1.0);
+        assertEquals(test.approximateP(d, n, m), p, 0.25);
+    }
+
 }
@@ -25,6 +25,8 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -379,4 +381,29 @@ class MannWhitneyUTestTest {
         assertEquals(1.0, testStatistic.mannWhitneyUTest(d1, d2, false),
                             1E-7);
     }
+
+    @Test
+    void testPermutationTest() {
+        final double[] x = {19, 22, 16, 29, 24};
+        final double[] y = {20, 11, 17, 12};
+        final ResamplingEngine engine = new ResamplingEngine(0x7a3d2c1bL);
+        assertEquals(testStatistic.mannWhitneyUTest(x, y, true),
+                     testStatistic.mannWhitneyUPermutationTest(x, y, 50000, engine), 0.005);
+
+        // with ties, exact test is not available but permutation test is
+        final double[] xTies = {1, 2, 2, 3, 5, 5, 7, 9, 9, 10};
+        final double[] yTies = {4, 6, 6, 8, 11, 12, 12, 13, 14};
+        assertEquals(testStatistic.mannWhitneyUTest(xTies, yTies, false),
+                     testStatistic.mannWhitneyUPermutationTest(xTies, yTies, 50000, engine), 0.01);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(testStatistic.mannWhitneyUPermutationTest(xTies, yTies, 3000, new ResamplingEngine(5L)),
+                         testStatistic.mannWhitneyUPermutationTest(xTies, yTies, 3000, new ResamplingEngine(5L, pool)),
+                         0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
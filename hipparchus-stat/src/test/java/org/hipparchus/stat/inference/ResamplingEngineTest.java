@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.inference;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResamplingEngineTest {
+
+    @Test
+    void testCounts() {
+        final ResamplingEngine engine = new ResamplingEngine(123L, null, 100);
+        final AtomicInteger workspaces = new AtomicInteger();
+        // 1050 iterations do not fill the last chunk
+        final long[] counts = engine.count(5.0, 1050,
+                                           () -> workspaces.incrementAndGet(),
+                                           (random, w) -> random.nextInt(10));
+        assertEquals(11, workspaces.get());
+        assertEquals(1050, counts[0] + counts[1] + countBelow(engine, 1050));
+        assertEquals(0.4, counts[0] / 1050.0, 0.05);
+        assertEquals(0.1, counts[1] / 1050.0, 0.03);
+        assertEquals(counts[0] / 1050.0,
+                     engine.pValue(5.0, 1050, true, () -> null, (random, w) -> random.nextInt(10)),
+                     0.0);
+        assertEquals((counts[0] + counts[1]) / 1050.0,
+                     engine.pValue(5.0, 1050, false, () -> null, (random, w) -> random.nextInt(10)),
+                     0.0);
+    }
+
+    @Test
+    void testReproducibility() {
+        final ResamplingEngine.ResampledStatistic<double[]> statistic = (random, buffer) -> {
+            // the workspace carries state from one iteration to the next
+            buffer[0] += random.nextGaussian();
+            return buffer[0];
+        };
+        final long[] reference = new ResamplingEngine(7L).count(0.0, 10000, () -> new double[1], statistic);
+        for (final int parallelism : new int[] { 1, 2, 5 }) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                assertArrayEquals(reference,
+                                  new ResamplingEngine(7L, pool).count(0.0, 10000, () -> new double[1], statistic));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertNotEquals(new ResamplingEngine(7L).createGenerator(0).nextLong(),
+                        new ResamplingEngine(7L).createGenerator(1).nextLong());
+        assertNotEquals(new ResamplingEngine(7L).createGenerator(0).nextLong(),
+                        new ResamplingEngine(8L).createGenerator(0).nextLong());
+    }
+
+    @Test
+    void testErrors() {
+        MathIllegalArgumentException miae =
+            assertThrows(MathIllegalArgumentException.class, () -> new ResamplingEngine(1L, null, 0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> new ResamplingEngine(1L).count(0.0, 0, () -> null, (random, w) -> 0.0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        assertThrows(NullArgumentException.class, () -> new ResamplingEngine(1L, null));
+        assertEquals(1L, new ResamplingEngine(1L).getSeed());
+        assertEquals(ResamplingEngine.DEFAULT_CHUNK_SIZE, new ResamplingEngine(1L).getChunkSize());
+    }
+
+    private long countBelow(final ResamplingEngine engine, final int iterations) {
+        return engine.count(-5.0, iterations, () -> null, (random, w) -> -random.nextInt(10))[0];
+    }
+
+}
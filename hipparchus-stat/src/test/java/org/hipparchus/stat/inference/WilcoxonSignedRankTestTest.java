@@ -23,8 +23,11 @@ package org.hipparchus.stat.inference;
 
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -288,4 +291,32 @@ class WilcoxonSignedRankTestTest {
         assertEquals(1.0, testStatistic.wilcoxonSignedRankTest(x,y, true), 0);
     }
 
+    @Test
+    void testPermutationTest() {
+        final double[] x = {1.83, 0.50, 1.62, 2.48, 1.68, 1.88, 1.55, 3.06, 1.30, 2.01};
+        final double[] y = {0.878, 0.647, 0.598, 2.05, 1.06, 1.29, 1.06, 3.14, 1.29, 1.52};
+        final ResamplingEngine engine = new ResamplingEngine(0x5eedL);
+        assertEquals(testStatistic.wilcoxonSignedRankTest(x, y, true),
+                     testStatistic.wilcoxonSignedRankPermutationTest(x, y, 50000, engine), 0.005);
+
+        // more than 30 pairs, exact test is not available but permutation test is
+        final double[] u = new double[80];
+        final double[] v = new double[80];
+        for (int i = 0; i < u.length; ++i) {
+            u[i] = FastMath.sin(i);
+            v[i] = FastMath.sin(i) + 0.1 * FastMath.cos(3 * i) + 0.01;
+        }
+        assertEquals(testStatistic.wilcoxonSignedRankTest(u, v, false),
+                     testStatistic.wilcoxonSignedRankPermutationTest(u, v, 50000, engine), 0.01);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(testStatistic.wilcoxonSignedRankPermutationTest(u, v, 3000, new ResamplingEngine(5L)),
+                         testStatistic.wilcoxonSignedRankPermutationTest(u, v, 3000, new ResamplingEngine(5L, pool)),
+                         0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.projection;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.stat.LocalizedStatFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IncrementalPCATest {
+
+    @Test
+    void testAllComponentsMatchPCA() {
+        // when all components are kept, no information is lost and results are exact
+        final double[][] data = createData(new Well19937a(0x7f4a7c159e3779b9L), 203, 6, 6, 0.0);
+        final PCA pca = new PCA(6).fit(data);
+        final IncrementalPCA incremental = new IncrementalPCA(6);
+        for (int start = 0; start < data.length; start += 25) {
+            incremental.partialFit(Arrays.copyOfRange(data, start, FastMath.min(start + 25, data.length)));
+        }
+        assertEquals(data.length, incremental.getN());
+        assertArrayEquals(pca.getCenter(), incremental.getCenter(), 1.0e-12);
+        assertArrayEquals(pca.getVariance(), incremental.getVariance(), 1.0e-10);
+        checkComponents(pca.getComponents(), incremental.getComponents(), 1.0e-10);
+        checkComponents(pca.transform(data), incremental.transform(data), 1.0e-10);
+    }
+
+    @Test
+    void testLowRankStream() {
+        // data of rank 3 embedded in 40 dimensions, only 3 components are needed
+        final double[][] data = createData(new Well19937a(0x243f6a8885a308d3L), 500, 40, 3, 0.0);
+        final PCA pca = new PCA(3).fit(data);
+        final IncrementalPCA incremental = new IncrementalPCA(3);
+        for (int start = 0; start < data.length; start += 10) {
+            incremental.partialFit(Arrays.copyOfRange(data, start, start + 10));
+        }
+        assertArrayEquals(pca.getCenter(), incremental.getCenter(), 1.0e-12);
+        assertArrayEquals(Arrays.copyOf(pca.getVariance(), 3), incremental.getVariance(), 1.0e-9);
+        checkComponents(pca.getComponents(), incremental.getComponents(), 1.0e-9);
+    }
+
+    @Test
+    void testNoisyStream() {
+        // with noise, truncation loses a little variance at each batch
+        final double[][] data = createData(new Well19937a(0x13198a2e03707344L), 2000, 30, 2, 0.01);
+        final PCA pca = new PCA(2).fit(data);
+        final IncrementalPCA incremental = new IncrementalPCA(2);
+        for (int start = 0; start < data.length; start += 50) {
+            incremental.partialFit(Arrays.copyOfRange(data, start, start + 50));
+        }
+        final double[] expected = pca.getVariance();
+        final double[] actual   = incremental.getVariance();
+        for (int i = 0; i < 2; ++i) {
+            assertEquals(expected[i], actual[i], 1.0e-3 * expected[i]);
+        }
+        checkComponents(pca.getComponents(), incremental.getComponents(), 1.0e-3);
+    }
+
+    @Test
+    void testRandomizedWideData() {
+        final RandomGenerator random = new Well19937a(0xa4093822299f31d0L);
+        final double[][] data = createData(random, 60, 300, 4, 0.001);
+        final PCA pca = new PCA(4).fit(data);
+        final IncrementalPCA randomized = new IncrementalPCA(4).fitRandomized(data, 6, 2, random);
+        final double[] expected = pca.getVariance();
+        final double[] actual   = randomized.getVariance();
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(expected[i], actual[i], 1.0e-6 * expected[0]);
+        }
+        checkComponents(pca.getComponents(), randomized.getComponents(), 1.0e-6);
+
+        // the randomized fit can be refined with more observations
+        final double[][] more = createData(random, 20, 300, 4, 0.001);
+        randomized.partialFit(more);
+        assertEquals(80, randomized.getN());
+    }
+
+    @Test
+    void testErrors() {
+        final IncrementalPCA incremental = new IncrementalPCA(2);
+        final MathIllegalStateException mise =
+            assertThrows(MathIllegalStateException.class, () -> incremental.transform(new double[][] { { 1, 2 } }));
+        assertEquals(LocalizedStatFormats.ILLEGAL_STATE_PCA, mise.getSpecifier());
+        assertEquals("transform", mise.getParts()[0]);
+
+        MathIllegalArgumentException miae =
+            assertThrows(MathIllegalArgumentException.class, () -> new IncrementalPCA(0));
+        assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> incremental.partialFit(new double[][] { { 1, 2, 3 } }));
+        assertEquals(LocalizedCoreFormats.INSUFFICIENT_ROWS_AND_COLUMNS, miae.getSpecifier());
+        assertThrows(MathIllegalStateException.class, incremental::getCenter);
+
+        incremental.partialFit(new double[][] { { 1, 2, 3 }, { 4, 5, 7 }, { 0, 1, 1 } });
+        miae = assertThrows(MathIllegalArgumentException.class,
+                            () -> incremental.partialFit(new double[][] { { 1, 2 } }));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        assertEquals(3, incremental.getN());
+
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> incremental.fitRandomized(new double[][] { { 1, 2, 3 }, { 4, 5, 7 } }, -1, 0,
+                                                     new Well19937a(1)));
+    }
+
+    private static double[][] createData(final RandomGenerator random, final int rows, final int columns,
+                                         final int rank, final double noise) {
+        final double[][] directions = new double[rank][columns];
+        final double[]   offset     = new double[columns];
+        for (int f = 0; f < columns; ++f) {
+            offset[f] = 10 * random.nextDouble();
+            for (int r = 0; r < rank; ++r) {
+                directions[r][f] = random.nextGaussian();
+            }
+        }
+        final double[][] data = new double[rows][columns];
+        for (int s = 0; s < rows; ++s) {
+            for (int f = 0; f < columns; ++f) {
+                data[s][f] = offset[f] + noise * random.nextGaussian();
+            }
+            for (int r = 0; r < rank; ++r) {
+                // decreasing scales give well separated components
+                final double coordinate = (rank - r) * random.nextGaussian();
+                for (int f = 0; f < columns; ++f) {
+                    data[s][f] += coordinate * directions[r][f];
+                }
+            }
+        }
+        return data;
+    }
+
+    /** Check columns are equal, give or take sign. */
+    private static void checkComponents(final double[][] expected, final double[][] actual, final double tolerance) {
+        assertEquals(expected.length, actual.length);
+        for (int c = 0; c < actual[0].length; ++c) {
+            double scale = 0;
+            double dot   = 0;
+            for (int f = 0; f < expected.length; ++f) {
+                scale = FastMath.max(scale, FastMath.abs(expected[f][c]));
+                dot  += expected[f][c] * actual[f][c];
+            }
+            final double sign = FastMath.copySign(1.0, dot);
+            for (int f = 0; f < expected.length; ++f) {
+                assertEquals(expected[f][c], sign * actual[f][c], tolerance * FastMath.max(1.0, scale));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.stat.regression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+class StreamingQRRegressionTest {
+
+    @Test
+    void testAgainstOLS() {
+        final double[][] x = new double[5000][4];
+        final double[]   y = new double[x.length];
+        createData(x, y, 0x3e5a7c19b2d40f68L);
+
+        final OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
+        ols.newSampleData(y, x);
+
+        final StreamingQRRegression regression = new StreamingQRRegression(4, true, 1.0e-12, null, 300);
+        regression.addObservations(x, y);
+        final RegressionResults results = regression.regress();
+
+        assertEquals(x.length, results.getN());
+        assertArrayEquals(ols.estimateRegressionParameters(), results.getParameterEstimates(), 1.0e-10);
+        assertArrayEquals(ols.estimateRegressionParametersStandardErrors(), results.getStdErrorOfEstimates(), 1.0e-12);
+        assertEquals(ols.calculateResidualSumOfSquares(), results.getErrorSumSquares(), 1.0e-8);
+        assertEquals(ols.calculateRSquared(), results.getRSquared(), 1.0e-12);
+        assertEquals(ols.calculateAdjustedRSquared(), results.getAdjustedRSquared(), 1.0e-12);
+
+        final double[][] covariance = ols.estimateRegressionParametersVariance();
+        final double sigma2 = ols.estimateErrorVariance();
+        for (int i = 0; i < covariance.length; i++) {
+            for (int j = 0; j < covariance.length; j++) {
+                assertEquals(covariance[i][j] * sigma2, results.getCovarianceOfParameters(i, j), 1.0e-14);
+            }
+        }
+    }
+
+    @Test
+    void testSubset() {
+        final double[][] x = new double[1000][5];
+        final double[]   y = new double[x.length];
+        createData(x, y, 0x91c4f2a07b3e6d58L);
+
+        final StreamingQRRegression regression = new StreamingQRRegression(5, true);
+        regression.addObservations(x, y);
+
+        // regress on constant and regressors 1 and 3
+        final RegressionResults results = regression.regress(new int[] { 4, 0, 2, 2 });
+        final double[][] xSubset = new double[x.length][];
+        for (int i = 0; i < x.length; i++) {
+            xSubset[i] = new double[] { x[i][1], x[i][3] };
+        }
+        final OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
+        ols.newSampleData(y, xSubset);
+        assertArrayEquals(ols.estimateRegressionParameters(), results.getParameterEstimates(), 1.0e-10);
+        assertArrayEquals(ols.estimateRegressionParametersStandardErrors(), results.getStdErrorOfEstimates(), 1.0e-12);
+        assertEquals(ols.calculateResidualSumOfSquares(), results.getErrorSumSquares(), 1.0e-8);
+
+        // full model is still available afterwards
+        final MillerUpdatingRegression miller = new MillerUpdatingRegression(5, true);
+        miller.addObservations(x, y);
+        assertArrayEquals(miller.regress().getParameterEstimates(),
+                          regression.regress().getParameterEstimates(), 1.0e-10);
+    }
+
+    @Test
+    void testNoIntercept() {
+        final double[][] x = new double[500][3];
+        final double[]   y = new double[x.length];
+        createData(x, y, 0x5d08b3e7c4a9f162L);
+
+        final OLSMultipleLinearRegression ols = new OLSMultipleLinearRegression();
+        ols.setNoIntercept(true);
+        ols.newSampleData(y, x);
+
+        final StreamingQRRegression regression = new StreamingQRRegression(3, false);
+        for (int i = 0; i < x.length; i++) {
+            regression.addObservation(x[i], y[i]);
+        }
+        assertEquals(x.length, regression.getN());
+        final RegressionResults results = regression.regress();
+        assertArrayEquals(ols.estimateRegressionParameters(), results.getParameterEstimates(), 1.0e-10);
+        assertEquals(ols.calculateResidualSumOfSquares(), results.getErrorSumSquares(), 1.0e-8);
+    }
+
+    @Test
+    void testParallelAndSources() {
+        final double[][] x = new double[20000][6];
+        final double[]   y = new double[x.length];
+        createData(x, y, 0x27fa90c3e65b1d48L);
+
+        final StreamingQRRegression sequential = new StreamingQRRegression(6, true, 1.0e-12, null, 512);
+        sequential.addObservations(x, y);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final StreamingQRRegression parallel = new StreamingQRRegression(6, true, 1.0e-12, pool, 512);
+            parallel.addObservations(x, y);
+
+            // the reduction tree is independent of the pool, results are identical
+            final double[][] rs = sequential.getR();
+            final double[][] rp = parallel.getR();
+            for (int i = 0; i < rs.length; i++) {
+                assertArrayEquals(rs[i], rp[i], 0.0);
+            }
+            assertArrayEquals(sequential.regress().getParameterEstimates(),
+                              parallel.regress().getParameterEstimates(), 0.0);
+
+            // same data, read from a direct buffer as with a memory-mapped file
+            final DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * x.length * 7).asDoubleBuffer();
+            for (int i = 0; i < x.length; i++) {
+                buffer.put(x[i]).put(y[i]);
+            }
+            buffer.flip();
+            final StreamingQRRegression buffered = new StreamingQRRegression(6, true, 1.0e-12, pool, 512);
+            buffered.addObservations(buffer);
+            assertEquals(buffer.limit(), buffer.position());
+            assertArrayEquals(sequential.regress().getParameterEstimates(),
+                              buffered.regress().getParameterEstimates(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+
+        // small blocks and single rows give the same model up to rounding
+        final StreamingQRRegression mixed = new StreamingQRRegression(6, true);
+        mixed.addObservations(Arrays.copyOfRange(x, 0, 3), Arrays.copyOfRange(y, 0, 3));
+        for (int i = 3; i < 10000; i++) {
+            mixed.addObservation(x[i], y[i]);
+        }
+        mixed.addObservations(Arrays.copyOfRange(x, 10000, x.length), Arrays.copyOfRange(y, 10000, y.length));
+        assertEquals(x.length, mixed.getN());
+        assertArrayEquals(sequential.regress().getParameterEstimates(),
+                          mixed.regress().getParameterEstimates(), 1.0e-10);
+
+        mixed.clear();
+        assertEquals(0, mixed.getN());
+    }
+
+    @Test
+    void testErrors() {
+        assertThrows(MathIllegalArgumentException.class, () -> new StreamingQRRegression(0, true));
+        assertThrows(MathIllegalArgumentException.class, () -> new StreamingQRRegression(2, true, 1.0e-12, null, 0));
+
+        final StreamingQRRegression regression = new StreamingQRRegression(2, true);
+        assertThrows(MathIllegalArgumentException.class, () -> regression.addObservation(new double[3], 1.0));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> regression.addObservations(DoubleBuffer.wrap(new double[] { 1, 2, 3, 4 })));
+
+        // not enough data
+        regression.addObservation(new double[] { 1, 2 }, 3);
+        regression.addObservation(new double[] { 2, 1 }, 3);
+        assertThrows(MathIllegalArgumentException.class, () -> regression.regress());
+
+        // collinear regressors
+        for (int i = 0; i < 10; i++) {
+            regression.addObservation(new double[] { i, 2 * i }, i + 1);
+        }
+        regression.clear();
+        for (int i = 0; i < 10; i++) {
+            regression.addObservation(new double[] { i, 2 * i }, i + 1);
+        }
+        assertThrows(MathIllegalArgumentException.class, () -> regression.regress());
+        assertThrows(MathIllegalArgumentException.class, () -> regression.regress(new int[0]));
+        assertThrows(MathIllegalArgumentException.class, () -> regression.regress(new int[] { 3 }));
+        assertEquals(1.0, regression.regress(new int[] { 0, 1 }).getParameterEstimate(1), 1.0e-12);
+    }
+
+    private void createData(final double[][] x, final double[] y, final long seed) {
+        final RandomGenerator random = new Well19937a(seed);
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 3.0;
+            for (int j = 0; j < x[i].length; j++) {
+                x[i][j] = 10.0 * random.nextDouble() + j;
+                y[i] += (j + 1) * 0.5 * x[i][j];
+            }
+            y[i] += random.nextGaussian();
+        }
+    }
+
+}